@@ -1,4 +1,20 @@
 #!/bin/sh
+set -e
 
-echo "The application will start in ${SLEEP_APPLICATION}s..." && sleep ${SLEEP_APPLICATION}
-exec java -jar app.jar
+# Em vez de um tempo fixo, o pool do Hikari tenta abrir a primeira conexão com o banco, com login, até
+# DB_WAIT_TIMEOUT segundos antes de falhar a inicialização. DB_WAIT_TIMEOUT=0 mantém o padrão do Hikari: uma única
+# tentativa.
+limite=${DB_WAIT_TIMEOUT:-60}
+espera_banco=""
+if [ "$limite" -gt 0 ]; then
+    espera_banco="-Dspring.datasource.hikari.initialization-fail-timeout=$((limite * 1000))"
+fi
+
+# Imagem nativa
+if [ -n "${APP_COMMAND:-}" ]; then
+    exec $APP_COMMAND $espera_banco "$@"
+fi
+
+# O contexto processado pelo Spring AOT foi gerado para o backend JPA; para o perfil edge use SPRING_AOT_ENABLED=false.
+exec java -XX:SharedArchiveFile=/app/app.jsa -Dspring.aot.enabled="${SPRING_AOT_ENABLED:-true}" $espera_banco \
+    $JAVA_OPTS -jar /app/app.jar "$@"
@@ -0,0 +1,32 @@
+package com.rocksti.coopvote.analise;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração das estatísticas de participação nas pautas.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.analise")
+public class AnaliseProperties {
+
+    /**
+     * Tarefas de agregação executadas ao mesmo tempo. Cada uma ocupa uma conexão com o banco enquanto consulta.
+     */
+    private int paralelismo = 4;
+
+    /**
+     * Pautas agregadas por tarefa; as consultas de cada tarefa cobrem as pautas de uma faixa contínua de IDs.
+     */
+    private int pautasPorTarefa = 200;
+
+    /**
+     * Tempo após o fim de um período para que as suas estatísticas sejam guardadas em cache. Deve cobrir o prazo em
+     * que votos ainda podem chegar às pautas do período, como a importação de votos em papel antes do arquivamento.
+     */
+    private Duration carencia = Duration.ofDays(30);
+}
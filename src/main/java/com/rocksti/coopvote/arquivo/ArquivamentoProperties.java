@@ -0,0 +1,37 @@
+package com.rocksti.coopvote.arquivo;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuração do arquivamento das pautas encerradas no backend JPA.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.arquivamento")
+public class ArquivamentoProperties {
+
+    /**
+     * Diretório dos arquivos de votos das pautas arquivadas.
+     */
+    private Path diretorio = Path.of("dados", "arquivo");
+
+    /**
+     * Tempo após o fim da sessão para que os votos da pauta saiam da tabela de votos.
+     */
+    private Duration idadeMinima = Duration.ofDays(30);
+
+    /**
+     * Intervalo entre execuções do arquivamento.
+     */
+    private Duration intervalo = Duration.ofHours(1);
+
+    /**
+     * Quantidade máxima de arquivos de votos mantidos mapeados em memória; os usados há mais tempo são liberados.
+     */
+    private int maximoAbertos = 256;
+}
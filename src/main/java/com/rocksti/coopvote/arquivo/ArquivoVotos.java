@@ -0,0 +1,74 @@
+package com.rocksti.coopvote.arquivo;
+
+import com.rocksti.coopvote.cooperativa.ContextoCooperativa;
+import com.rocksti.coopvote.segmento.SegmentoPauta;
+import com.rocksti.coopvote.segmento.SegmentosAbertos;
+import com.rocksti.coopvote.segmento.VotoCompacto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Arquivos de votos das pautas arquivadas, um {@link SegmentoPauta} por pauta. Os arquivos abertos ficam mapeados
+ * em memória em {@link SegmentosAbertos}, até {@code coopvote.arquivamento.maximo-abertos}.
+ * <p>
+ * Quem consulta já sabe pela pauta se ela foi arquivada: {@link #buscar(Long)} só deve ser chamado para pautas
+ * arquivadas, e não é usado para descobrir se há arquivo.
+ * <p>
+ * Com o roteamento por cooperativa, cada cooperativa tem seu subdiretório, pois os IDs de pauta se repetem entre elas.
+ */
+@Component
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class ArquivoVotos {
+
+    private final ArquivamentoProperties propriedades;
+    private final SegmentosAbertos<Path> abertos;
+
+    public ArquivoVotos(ArquivamentoProperties propriedades) {
+        this.propriedades = propriedades;
+        this.abertos = new SegmentosAbertos<>(propriedades.getMaximoAbertos());
+    }
+
+    /**
+     * @param pautaId ID de uma pauta arquivada.
+     * @return O arquivo de votos da pauta, ou vazio se ele não foi encontrado no diretório do arquivamento.
+     */
+    public Optional<SegmentoPauta> buscar(Long pautaId) {
+        try {
+            return Optional.ofNullable(abertos.buscar(caminho(pautaId),
+                    arquivo -> Files.exists(arquivo) ? SegmentoPauta.abrir(arquivo) : null));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Arquivo de votos da pauta " + pautaId + " indisponível", e);
+        }
+    }
+
+    /**
+     * Grava o arquivo de votos de uma pauta, substituindo um arquivo de uma tentativa anterior.
+     *
+     * @param pautaId          ID da pauta.
+     * @param quantidadeOpcoes Quantidade de opções de voto da pauta.
+     * @param votos            Votos da pauta.
+     * @return O arquivo gravado, já mapeado para leitura.
+     * @throws IOException Se o arquivo não puder ser gravado.
+     */
+    public SegmentoPauta gravar(Long pautaId, int quantidadeOpcoes, List<VotoCompacto> votos) throws IOException {
+        Path arquivo = caminho(pautaId);
+        Files.createDirectories(arquivo.getParent());
+        SegmentoPauta.gravar(arquivo, pautaId, quantidadeOpcoes, votos);
+        SegmentoPauta segmento = SegmentoPauta.abrir(arquivo);
+        abertos.guardar(arquivo, segmento);
+        return segmento;
+    }
+
+    // Métodos auxiliares privados
+
+    private Path caminho(Long pautaId) {
+        return ContextoCooperativa.resolver(propriedades.getDiretorio()).resolve("pauta-" + pautaId + ".seg");
+    }
+}
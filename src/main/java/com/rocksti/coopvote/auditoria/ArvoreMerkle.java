@@ -0,0 +1,250 @@
+package com.rocksti.coopvote.auditoria;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * Árvore de Merkle só de acréscimo, com os hashes da RFC 6962 (Certificate Transparency): SHA-256, prefixo
+ * {@code 0x00} nas folhas e {@code 0x01} nos nós internos. A raiz de uma árvore com um número qualquer de folhas é a
+ * mesma da RFC, de modo que as provas podem ser verificadas por ferramentas de terceiros.
+ * <p>
+ * Só os nós de subárvores completas são guardados, identificados pela posição {@code (indice << (nivel + 1)) +
+ * (1 << nivel) - 1} (numeração em ordem da árvore binária plana). Acrescentar uma folha lê apenas os picos, as
+ * subárvores completas sem pai, e uma prova de inclusão usa no máximo um nó por nível. As duas operações são
+ * O(log n).
+ * <p>
+ * Uma instância acumula as folhas de um lote e não é segura para uso por várias threads.
+ */
+public final class ArvoreMerkle {
+
+    public static final int TAMANHO_HASH = 32;
+
+    private static final byte PREFIXO_FOLHA = 0x00;
+    private static final byte PREFIXO_NO = 0x01;
+
+    private final MessageDigest sha256 = novoSha256();
+    private final Map<Long, byte[]> picos;
+    private final Map<Long, byte[]> novosNos = new LinkedHashMap<>();
+    private long folhas;
+
+    /**
+     * @param folhas Quantidade de folhas já acumuladas.
+     * @param picos  Hashes dos picos da árvore, pelas posições de {@link #posicoesPicos(long)}.
+     */
+    public ArvoreMerkle(long folhas, Map<Long, byte[]> picos) {
+        this.folhas = folhas;
+        this.picos = new HashMap<>(picos);
+        for (long posicao : posicoesPicos(folhas)) {
+            if (!this.picos.containsKey(posicao)) {
+                throw new IllegalArgumentException("Pico ausente na posição " + posicao);
+            }
+        }
+    }
+
+    /**
+     * Acrescenta uma folha e cria os nós das subárvores que ela completa.
+     *
+     * @param hashFolha Hash da folha, de {@link #hashFolha(String)}.
+     * @return O índice da folha, a partir de zero.
+     */
+    public long acrescentar(byte[] hashFolha) {
+        long indice = folhas;
+        byte[] atual = hashFolha;
+        int nivel = 0;
+        long indiceNivel = indice;
+        guardar(posicao(nivel, indiceNivel), atual);
+        while ((indiceNivel & 1) == 1) {
+            byte[] esquerda = picos.remove(posicao(nivel, indiceNivel - 1));
+            picos.remove(posicao(nivel, indiceNivel));
+            atual = hashNo(sha256, esquerda, atual);
+            nivel++;
+            indiceNivel >>= 1;
+            guardar(posicao(nivel, indiceNivel), atual);
+        }
+        folhas++;
+        return indice;
+    }
+
+    public long getFolhas() {
+        return folhas;
+    }
+
+    /**
+     * @return Os nós criados desde a construção, pela posição, para serem gravados.
+     */
+    public Map<Long, byte[]> getNovosNos() {
+        return novosNos;
+    }
+
+    /**
+     * @return A raiz da árvore: o pico mais à direita combinado sucessivamente com os picos à sua esquerda.
+     */
+    public byte[] raiz() {
+        List<Long> posicoes = posicoesPicos(folhas);
+        if (posicoes.isEmpty()) {
+            return sha256.digest();
+        }
+        byte[] raiz = picos.get(posicoes.getLast());
+        for (int i = posicoes.size() - 2; i >= 0; i--) {
+            raiz = hashNo(sha256, picos.get(posicoes.get(i)), raiz);
+        }
+        return raiz;
+    }
+
+    /**
+     * @param folhas Quantidade de folhas.
+     * @return As posições dos picos de uma árvore com essa quantidade de folhas, da maior subárvore para a menor.
+     */
+    public static List<Long> posicoesPicos(long folhas) {
+        List<Long> posicoes = new ArrayList<>(Long.bitCount(folhas));
+        long inicio = 0;
+        for (int nivel = 62; nivel >= 0; nivel--) {
+            long tamanho = 1L << nivel;
+            if ((folhas & tamanho) != 0) {
+                posicoes.add(posicao(nivel, inicio >> nivel));
+                inicio += tamanho;
+            }
+        }
+        return posicoes;
+    }
+
+    /**
+     * @param folha  Índice da folha provada.
+     * @param folhas Quantidade de folhas da árvore.
+     * @return As posições dos nós lidos por {@link #caminho(long, long, LongFunction)}.
+     */
+    public static Set<Long> posicoesCaminho(long folha, long folhas) {
+        Set<Long> posicoes = new LinkedHashSet<>();
+        percorrerCaminho(folha, 0, folhas, new ArrayList<>(), posicao -> {
+            posicoes.add(posicao);
+            return new byte[TAMANHO_HASH];
+        }, novoSha256());
+        return posicoes;
+    }
+
+    /**
+     * Monta a prova de inclusão de uma folha (o caminho de auditoria da RFC 6962), da folha em direção à raiz.
+     *
+     * @param folha  Índice da folha provada.
+     * @param folhas Quantidade de folhas da árvore.
+     * @param nos    Hash de cada posição de {@link #posicoesCaminho(long, long)}.
+     * @return Os hashes dos irmãos no caminho até a raiz.
+     */
+    public static List<byte[]> caminho(long folha, long folhas, LongFunction<byte[]> nos) {
+        if (folha < 0 || folha >= folhas) {
+            throw new IllegalArgumentException("Folha " + folha + " fora de uma árvore com " + folhas + " folhas");
+        }
+        List<byte[]> caminho = new ArrayList<>();
+        percorrerCaminho(folha, 0, folhas, caminho, nos, novoSha256());
+        return caminho;
+    }
+
+    /**
+     * Verifica uma prova de inclusão como na seção 2.1.3.2 da RFC 9162, sem precisar das demais folhas.
+     *
+     * @param hashFolha Hash da folha, recalculado a partir do voto.
+     * @param folha     Índice da folha.
+     * @param folhas    Quantidade de folhas da árvore da raiz.
+     * @param caminho   Hashes dos irmãos, da folha em direção à raiz.
+     * @param raiz      Raiz esperada.
+     * @return {@code true} se o caminho leva da folha à raiz.
+     */
+    public static boolean verificar(byte[] hashFolha, long folha, long folhas, List<byte[]> caminho, byte[] raiz) {
+        if (folha < 0 || folha >= folhas) {
+            return false;
+        }
+        MessageDigest sha256 = novoSha256();
+        long fn = folha;
+        long sn = folhas - 1;
+        byte[] atual = hashFolha;
+        for (byte[] irmao : caminho) {
+            if (sn == 0) {
+                return false;
+            }
+            if ((fn & 1) == 1 || fn == sn) {
+                atual = hashNo(sha256, irmao, atual);
+                while ((fn & 1) == 0 && fn != 0) {
+                    fn >>= 1;
+                    sn >>= 1;
+                }
+            } else {
+                atual = hashNo(sha256, atual, irmao);
+            }
+            fn >>= 1;
+            sn >>= 1;
+        }
+        return sn == 0 && MessageDigest.isEqual(atual, raiz);
+    }
+
+    /**
+     * @param dados Representação canônica do voto.
+     * @return O hash da folha do voto.
+     */
+    public static byte[] hashFolha(String dados) {
+        MessageDigest sha256 = novoSha256();
+        sha256.update(PREFIXO_FOLHA);
+        return sha256.digest(dados.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Métodos auxiliares privados
+
+    private static long posicao(int nivel, long indice) {
+        return (indice << (nivel + 1)) + (1L << nivel) - 1;
+    }
+
+    private void guardar(long posicao, byte[] hash) {
+        picos.put(posicao, hash);
+        novosNos.put(posicao, hash);
+    }
+
+    /**
+     * PATH(m, D[inicio:inicio+n]) da RFC 6962: o irmão de cada nível é uma subárvore completa, lida de um único nó, ou
+     * o restante à direita da árvore, combinado a partir dos seus picos.
+     */
+    private static void percorrerCaminho(long folha, long inicio, long tamanho, List<byte[]> caminho,
+                                         LongFunction<byte[]> nos, MessageDigest sha256) {
+        if (tamanho == 1) {
+            return;
+        }
+        long k = Long.highestOneBit(tamanho - 1);
+        if (folha < k) {
+            percorrerCaminho(folha, inicio, k, caminho, nos, sha256);
+            caminho.add(hashSubarvore(inicio + k, tamanho - k, nos, sha256));
+        } else {
+            percorrerCaminho(folha - k, inicio + k, tamanho - k, caminho, nos, sha256);
+            caminho.add(hashSubarvore(inicio, k, nos, sha256));
+        }
+    }
+
+    private static byte[] hashSubarvore(long inicio, long tamanho, LongFunction<byte[]> nos, MessageDigest sha256) {
+        if (Long.bitCount(tamanho) == 1) {
+            int nivel = Long.numberOfTrailingZeros(tamanho);
+            return nos.apply(posicao(nivel, inicio >> nivel));
+        }
+        long k = Long.highestOneBit(tamanho - 1);
+        return hashNo(sha256, hashSubarvore(inicio, k, nos, sha256), hashSubarvore(inicio + k, tamanho - k, nos, sha256));
+    }
+
+    private static byte[] hashNo(MessageDigest sha256, byte[] esquerda, byte[] direita) {
+        sha256.update(PREFIXO_NO);
+        sha256.update(esquerda);
+        return sha256.digest(direita);
+    }
+
+    private static MessageDigest novoSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
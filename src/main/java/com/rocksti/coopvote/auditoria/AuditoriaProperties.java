@@ -0,0 +1,33 @@
+package com.rocksti.coopvote.auditoria;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do acumulador de Merkle dos votos de cada pauta.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.auditoria")
+public class AuditoriaProperties {
+
+    /**
+     * Intervalo entre as extensões dos acumuladores com os votos gravados desde a execução anterior.
+     */
+    private Duration intervalo = Duration.ofSeconds(2);
+
+    /**
+     * Votos acrescentados ao acumulador de uma pauta por transação.
+     */
+    private int lote = 1_000;
+
+    /**
+     * Tempo após o fim da sessão até a raiz ser finalizada sem o encerramento explícito da pauta. Até lá a pauta
+     * aceita os arquivos de votos em papel da assembleia; importações em andamento também adiam a finalização. Deve
+     * ser menor que {@code coopvote.arquivamento.idade-minima}, já que só pautas finalizadas são arquivadas.
+     */
+    private Duration carencia = Duration.ofDays(7);
+}
@@ -0,0 +1,28 @@
+package com.rocksti.coopvote.busca;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração da busca textual de pautas.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.busca")
+public class BuscaProperties {
+
+    /**
+     * Intervalo entre as leituras das pautas cadastradas por outras instâncias da aplicação, que não passam pelo
+     * índice desta instância.
+     */
+    private Duration intervaloSincronizacao = Duration.ofMinutes(1);
+
+    /**
+     * Quantidade de IDs abaixo do maior já lido que cada sincronização relê. Os IDs são reservados na inserção, mas as
+     * transações terminam fora de ordem: uma pauta de ID menor pode ficar visível depois de outra de ID maior já lida.
+     */
+    private int janelaReleitura = 1_000;
+}
@@ -0,0 +1,237 @@
+package com.rocksti.coopvote.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória de textos curtos, com relevância BM25.
+ * <p>
+ * Os termos são normalizados sem acentos e em minúsculas, e as palavras mais comuns do português são descartadas,
+ * de modo que "Eleição" e "eleicao" são o mesmo termo. O último termo da consulta também é buscado como prefixo,
+ * para a busca enquanto o usuário digita. Uma consulta percorre apenas as listas de ocorrências dos seus termos,
+ * sem passar pelos documentos que não os contêm, e mantém somente os melhores resultados até a página pedida.
+ * <p>
+ * Seguro para uso concorrente: as buscas compartilham um bloqueio de leitura e as inclusões são serializadas.
+ */
+public final class IndiceInvertido {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * Tamanho mínimo do último termo para ser expandido como prefixo, e quantidade máxima de termos da expansão.
+     */
+    private static final int TAMANHO_MINIMO_PREFIXO = 3;
+    private static final int MAXIMO_TERMOS_PREFIXO = 64;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> PALAVRAS_IGNORADAS = Set.of(
+            "a", "o", "as", "os", "ao", "aos", "de", "da", "do", "das", "dos", "e", "em", "na", "no", "nas", "nos",
+            "um", "uma", "para", "por", "pela", "pelo", "com", "que", "se");
+
+    private final ReadWriteLock bloqueio = new ReentrantReadWriteLock();
+
+    /**
+     * Frequência de cada termo em cada documento, por termo em ordem alfabética para a expansão de prefixos.
+     */
+    private final NavigableMap<String, Map<Long, Integer>> ocorrencias = new TreeMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private long totalTermos;
+
+    /**
+     * Inclui um documento no índice, substituindo a versão anterior se o ID já foi indexado.
+     *
+     * @param id    ID do documento.
+     * @param texto Texto indexado, devolvido como está nos resultados.
+     */
+    public void adicionar(long id, String texto) {
+        List<String> termos = termos(texto);
+        Map<String, Integer> frequencias = new HashMap<>();
+        termos.forEach(termo -> frequencias.merge(termo, 1, Integer::sum));
+
+        bloqueio.writeLock().lock();
+        try {
+            remover(id);
+            frequencias.forEach((termo, frequencia) ->
+                    ocorrencias.computeIfAbsent(termo, t -> new HashMap<>()).put(id, frequencia));
+            documentos.put(id, new Documento(texto, termos.size(), frequencias.keySet()));
+            totalTermos += termos.size();
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os documentos que contêm ao menos um termo da consulta, do mais para o menos relevante; empates ficam
+     * com o documento de maior ID.
+     *
+     * @param consulta     Texto da consulta.
+     * @param deslocamento Quantidade de resultados a pular.
+     * @param limite       Quantidade máxima de resultados.
+     * @return O total de documentos encontrados e os resultados da página.
+     */
+    public Resultado buscar(String consulta, int deslocamento, int limite) {
+        List<String> termos = new ArrayList<>(new LinkedHashSet<>(termos(consulta)));
+        if (termos.isEmpty()) {
+            return new Resultado(0, List.of());
+        }
+        bloqueio.readLock().lock();
+        try {
+            Map<Long, Double> pontuacoes = new HashMap<>();
+            for (int i = 0; i < termos.size(); i++) {
+                boolean ultimo = i == termos.size() - 1;
+                pontuar(expandir(termos.get(i), ultimo), pontuacoes);
+            }
+
+            Comparator<Map.Entry<Long, Double>> relevancia = Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey());
+            int mantidos = deslocamento + limite;
+            PriorityQueue<Map.Entry<Long, Double>> melhores = new PriorityQueue<>(relevancia);
+            for (Map.Entry<Long, Double> pontuacao : pontuacoes.entrySet()) {
+                melhores.offer(pontuacao);
+                if (melhores.size() > mantidos) {
+                    melhores.poll();
+                }
+            }
+            List<Ocorrencia> pagina = new ArrayList<>(melhores.size());
+            while (!melhores.isEmpty()) {
+                Map.Entry<Long, Double> melhor = melhores.poll();
+                pagina.add(new Ocorrencia(melhor.getKey(), documentos.get(melhor.getKey()).texto(), melhor.getValue()));
+            }
+            List<Ocorrencia> ordenada = pagina.reversed();
+            return new Resultado(pontuacoes.size(),
+                    ordenada.subList(Math.min(deslocamento, ordenada.size()), ordenada.size()));
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param id ID do documento.
+     * @return {@code true} se o documento já foi indexado.
+     */
+    public boolean contem(long id) {
+        bloqueio.readLock().lock();
+        try {
+            return documentos.containsKey(id);
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Quantidade de documentos indexados.
+     */
+    public int tamanho() {
+        bloqueio.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    /**
+     * Divide o texto em termos sem acentos, em minúsculas e sem as palavras ignoradas.
+     *
+     * @param texto Texto a dividir.
+     * @return Os termos na ordem do texto, com repetições.
+     */
+    static List<String> termos(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> termos = new ArrayList<>();
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (!termo.isEmpty() && !PALAVRAS_IGNORADAS.contains(termo)) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+
+    // Métodos auxiliares privados
+
+    private void remover(long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String termo : anterior.termos()) {
+            Map<Long, Integer> documentosDoTermo = ocorrencias.get(termo);
+            documentosDoTermo.remove(id);
+            if (documentosDoTermo.isEmpty()) {
+                ocorrencias.remove(termo);
+            }
+        }
+        totalTermos -= anterior.tamanho();
+    }
+
+    private List<String> expandir(String termo, boolean ultimo) {
+        if (!ultimo || termo.length() < TAMANHO_MINIMO_PREFIXO) {
+            return List.of(termo);
+        }
+        return ocorrencias.subMap(termo, true, termo + Character.MAX_VALUE, false).keySet().stream()
+                .limit(MAXIMO_TERMOS_PREFIXO)
+                .toList();
+    }
+
+    /**
+     * Soma a pontuação BM25 de um termo da consulta a cada documento. Quando o termo foi expandido por prefixo,
+     * cada documento conta apenas a melhor das expansões, para que um documento com várias palavras do mesmo
+     * prefixo não passe à frente de um que contém o termo exato.
+     */
+    private void pontuar(List<String> expansoes, Map<Long, Double> pontuacoes) {
+        int quantidadeDocumentos = documentos.size();
+        double tamanhoMedio = (double) totalTermos / quantidadeDocumentos;
+        Map<Long, Double> melhorDoTermo = new HashMap<>();
+        for (String expansao : expansoes) {
+            Map<Long, Integer> documentosDoTermo = ocorrencias.get(expansao);
+            if (documentosDoTermo == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (quantidadeDocumentos - documentosDoTermo.size() + 0.5)
+                    / (documentosDoTermo.size() + 0.5));
+            documentosDoTermo.forEach((id, frequencia) -> {
+                double normalizacao = K1 * (1 - B + B * documentos.get(id).tamanho() / tamanhoMedio);
+                double pontuacao = idf * frequencia * (K1 + 1) / (frequencia + normalizacao);
+                melhorDoTermo.merge(id, pontuacao, Math::max);
+            });
+        }
+        melhorDoTermo.forEach((id, pontuacao) -> pontuacoes.merge(id, pontuacao, Double::sum));
+    }
+
+    private record Documento(String texto, int tamanho, Set<String> termos) {
+    }
+
+    /**
+     * @param total       Quantidade de documentos encontrados.
+     * @param ocorrencias Documentos da página, do mais para o menos relevante.
+     */
+    public record Resultado(long total, List<Ocorrencia> ocorrencias) {
+    }
+
+    /**
+     * @param id        ID do documento.
+     * @param texto     Texto indexado.
+     * @param pontuacao Relevância do documento para a consulta.
+     */
+    public record Ocorrencia(long id, String texto, double pontuacao) {
+    }
+}
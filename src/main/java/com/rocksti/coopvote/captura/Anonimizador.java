@@ -0,0 +1,175 @@
+package com.rocksti.coopvote.captura;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rocksti.coopvote.formato.FormatosMensagem;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Substitui os dados pessoais e o texto das pautas por pseudônimos antes da gravação da captura, nos corpos, nas
+ * consultas e nos caminhos.
+ * <p>
+ * Os pseudônimos são HMAC-SHA256 com a chave da captura: o mesmo associado tem sempre o mesmo pseudônimo, de modo que
+ * os votos repetidos continuam repetidos na reprodução, mas o identificador original não pode ser recuperado sem a
+ * chave. Identificadores numéricos continuam numéricos e com o mesmo número de dígitos (no mínimo 11); com 11 dígitos,
+ * a chance de dois associados de uma assembleia de 100 mil votantes receberem o mesmo pseudônimo fica abaixo de 5%.
+ * <p>
+ * Um corpo que não pode ser lido é descartado em vez de gravado como veio. Instâncias não são seguras para uso por
+ * várias threads.
+ */
+public final class Anonimizador {
+
+    private static final int DIGITOS_MINIMOS = 11;
+    private static final Pattern CAMINHO_COM_ASSOCIADO =
+            Pattern.compile("^(/api/v1/pautas/[^/]+/auditoria/votos/)([^/]+)$");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Mac hmac;
+
+    /**
+     * @param chave Chave dos pseudônimos.
+     */
+    public Anonimizador(byte[] chave) {
+        try {
+            hmac = Mac.getInstance("HmacSHA256");
+            hmac.init(new SecretKeySpec(chave, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível", e);
+        }
+    }
+
+    /**
+     * @return O pseudônimo do associado: dígitos para um identificador numérico, hexadecimal para os demais.
+     */
+    public String pseudonimoAssociado(String associadoId) {
+        byte[] hash = hmac.doFinal(("associado|" + associadoId).getBytes(StandardCharsets.UTF_8));
+        if (!associadoId.isEmpty() && associadoId.chars().allMatch(Character::isDigit)) {
+            int tamanho = Math.max(DIGITOS_MINIMOS, associadoId.length());
+            StringBuilder digitos = new StringBuilder(tamanho + 80);
+            while (digitos.length() < tamanho) {
+                // O primeiro dígito do número é enviesado e fica de fora
+                digitos.append(new BigInteger(1, hash).toString().substring(1));
+                hash = hmac.doFinal(hash);
+            }
+            return digitos.substring(0, tamanho);
+        }
+        return "x" + HEX.formatHex(hash, 0, 12);
+    }
+
+    /**
+     * Anonimiza, em qualquer nível do corpo, os campos {@code associadoId}, {@code descricao} e {@code opcoes}, e
+     * devolve o corpo no mesmo formato.
+     *
+     * @param corpo       Corpo da requisição.
+     * @param contentType Formato do corpo.
+     * @return O corpo anonimizado, ou vazio se o corpo não pôde ser lido.
+     */
+    public byte[] anonimizarCorpo(byte[] corpo, String contentType) {
+        if (corpo.length == 0) {
+            return corpo;
+        }
+        ObjectMapper mapeador = FormatosMensagem.mapeador(contentType);
+        try {
+            JsonNode arvore = mapeador.readTree(corpo);
+            if (arvore == null) {
+                return new byte[0];
+            }
+            anonimizar(arvore);
+            return mapeador.writeValueAsBytes(arvore);
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    /**
+     * @param caminho Caminho da URL, sem a consulta.
+     * @return O caminho com o associado da prova de inclusão da auditoria substituído pelo seu pseudônimo, o mesmo
+     * dos corpos dos votos.
+     */
+    public String anonimizarCaminho(String caminho) {
+        Matcher comAssociado = CAMINHO_COM_ASSOCIADO.matcher(caminho);
+        if (!comAssociado.matches()) {
+            return caminho;
+        }
+        String associadoId = URLDecoder.decode(comAssociado.group(2), StandardCharsets.UTF_8);
+        return comAssociado.group(1)
+                + URLEncoder.encode(pseudonimoAssociado(associadoId), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param consulta Consulta da URL, ou nulo.
+     * @return A consulta com o texto da busca de pautas ({@code q}) substituído por um pseudônimo.
+     */
+    public String anonimizarConsulta(String consulta) {
+        if (consulta == null) {
+            return null;
+        }
+        StringJoiner anonimizada = new StringJoiner("&");
+        for (String parametro : consulta.split("&")) {
+            if (parametro.startsWith("q=")) {
+                String texto = URLDecoder.decode(parametro.substring(2), StandardCharsets.UTF_8);
+                anonimizada.add("q=" + URLEncoder.encode(pseudonimoTexto("busca", texto), StandardCharsets.UTF_8));
+            } else {
+                anonimizada.add(parametro);
+            }
+        }
+        return anonimizada.toString();
+    }
+
+    // Métodos auxiliares privados
+
+    private void anonimizar(JsonNode no) {
+        if (no instanceof ObjectNode objeto) {
+            Iterator<Map.Entry<String, JsonNode>> campos = objeto.fields();
+            while (campos.hasNext()) {
+                Map.Entry<String, JsonNode> campo = campos.next();
+                JsonNode valor = campo.getValue();
+                switch (campo.getKey()) {
+                    case "associadoId" -> {
+                        if (valor.isTextual()) {
+                            campo.setValue(objeto.textNode(pseudonimoAssociado(valor.asText())));
+                        }
+                    }
+                    case "descricao" -> {
+                        if (valor.isTextual()) {
+                            campo.setValue(objeto.textNode(pseudonimoTexto("pauta", valor.asText())));
+                        }
+                    }
+                    case "opcoes" -> {
+                        if (valor instanceof ArrayNode opcoes) {
+                            for (int i = 0; i < opcoes.size(); i++) {
+                                if (opcoes.get(i).isTextual()) {
+                                    opcoes.set(i, objeto.textNode("opcao-" + (i + 1)));
+                                }
+                            }
+                        }
+                    }
+                    default -> anonimizar(valor);
+                }
+            }
+        } else if (no instanceof ArrayNode lista) {
+            lista.forEach(this::anonimizar);
+        }
+    }
+
+    private String pseudonimoTexto(String prefixo, String texto) {
+        byte[] hash = hmac.doFinal((prefixo + "|" + texto).getBytes(StandardCharsets.UTF_8));
+        return prefixo + "-" + HEX.formatHex(hash, 0, 6);
+    }
+}
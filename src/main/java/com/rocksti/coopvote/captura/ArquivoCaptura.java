@@ -0,0 +1,142 @@
+package com.rocksti.coopvote.captura;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivo de captura, só de acréscimo.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * cabeçalho  int MAGICO | short VERSAO | long inicioEpochMillis
+ * registros  int tamanho | int crc32c | {@link RequisicaoCapturada} codificada
+ * </pre>
+ * As requisições são gravadas na ordem em que terminam. Na leitura, um registro incompleto ou com CRC inválido no final
+ * do arquivo, de uma instância que parou durante a gravação, encerra a leitura sem erro.
+ */
+public final class ArquivoCaptura implements Closeable {
+
+    private static final int MAGICO = 0x43564350; // "CVCP"
+    private static final short VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = Integer.BYTES + Short.BYTES + Long.BYTES;
+    private static final int TAMANHO_MOLDURA = Integer.BYTES * 2;
+
+    private final FileChannel canal;
+    private long tamanho;
+
+    private ArquivoCaptura(FileChannel canal, long tamanho) {
+        this.canal = canal;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Cria o arquivo e grava o cabeçalho.
+     *
+     * @param inicio Início da captura, a que as chegadas das requisições se referem.
+     */
+    public static ArquivoCaptura criar(Path arquivo, Instant inicio) throws IOException {
+        Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO)
+                .putInt(MAGICO)
+                .putShort(VERSAO)
+                .putLong(inicio.toEpochMilli())
+                .flip();
+        escrever(canal, cabecalho);
+        return new ArquivoCaptura(canal, TAMANHO_CABECALHO);
+    }
+
+    /**
+     * Acrescenta as requisições com uma única escrita, sem sincronizar com o disco.
+     */
+    public void gravar(List<RequisicaoCapturada> requisicoes) throws IOException {
+        List<ByteBuffer> conteudos = requisicoes.stream().map(RequisicaoCapturada::codificar).toList();
+        ByteBuffer lote = ByteBuffer.allocate(conteudos.stream().mapToInt(c -> TAMANHO_MOLDURA + c.remaining()).sum());
+        CRC32C crc = new CRC32C();
+        for (ByteBuffer conteudo : conteudos) {
+            crc.reset();
+            crc.update(conteudo.duplicate());
+            lote.putInt(conteudo.remaining()).putInt((int) crc.getValue()).put(conteudo);
+        }
+        tamanho += lote.flip().remaining();
+        escrever(canal, lote);
+    }
+
+    /**
+     * @return O tamanho do arquivo em bytes.
+     */
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.force(false);
+        canal.close();
+    }
+
+    /**
+     * Lê um arquivo de captura inteiro.
+     *
+     * @return O início da captura e as requisições na ordem do arquivo.
+     * @throws IOException Se o arquivo não existir ou não for um arquivo de captura.
+     */
+    public static Leitura ler(Path arquivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+            if (entrada.readInt() != MAGICO || entrada.readShort() != VERSAO) {
+                throw new IOException("Formato de arquivo de captura desconhecido: " + arquivo);
+            }
+            Instant inicio = Instant.ofEpochMilli(entrada.readLong());
+            List<RequisicaoCapturada> requisicoes = new ArrayList<>();
+            CRC32C crc = new CRC32C();
+            long restante = Files.size(arquivo) - TAMANHO_CABECALHO;
+            while (restante >= TAMANHO_MOLDURA) {
+                int tamanho = entrada.readInt();
+                int crcEsperado = entrada.readInt();
+                restante -= TAMANHO_MOLDURA;
+                if (tamanho < 0 || tamanho > restante) {
+                    break;
+                }
+                byte[] conteudo = new byte[tamanho];
+                entrada.readFully(conteudo);
+                restante -= tamanho;
+                crc.reset();
+                crc.update(conteudo);
+                if ((int) crc.getValue() != crcEsperado) {
+                    break;
+                }
+                requisicoes.add(RequisicaoCapturada.decodificar(ByteBuffer.wrap(conteudo)));
+            }
+            return new Leitura(inicio, requisicoes);
+        }
+    }
+
+    /**
+     * Conteúdo de um arquivo de captura.
+     *
+     * @param inicio      Início da captura.
+     * @param requisicoes Requisições na ordem em que terminaram.
+     */
+    public record Leitura(Instant inicio, List<RequisicaoCapturada> requisicoes) {
+    }
+
+    // Métodos auxiliares privados
+
+    private static void escrever(FileChannel canal, ByteBuffer conteudo) throws IOException {
+        while (conteudo.hasRemaining()) {
+            canal.write(conteudo);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.rocksti.coopvote.captura;
+
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registra o {@link CapturaFilter} depois da identificação da cooperativa e do encaminhamento do cluster, inclusive
+ * nos despachos {@code FORWARD} do prefixo {@code /cooperativas/{id}}.
+ * <p>
+ * Sem {@code coopvote.captura.habilitado}, o filtro fica registrado mas desativado.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CapturaConfig {
+
+    @Bean
+    public FilterRegistrationBean<CapturaFilter> capturaFilter(CapturaTrafego captura) {
+        FilterRegistrationBean<CapturaFilter> registro = new FilterRegistrationBean<>(new CapturaFilter(captura));
+        registro.setEnabled(captura.isHabilitado());
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        registro.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.FORWARD);
+        return registro;
+    }
+}
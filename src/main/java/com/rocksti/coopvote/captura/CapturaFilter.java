@@ -0,0 +1,99 @@
+package com.rocksti.coopvote.captura;
+
+import com.rocksti.coopvote.cooperativa.ContextoCooperativa;
+import com.rocksti.coopvote.recebimento.RecebimentoFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Captura as requisições de {@code /api/v1/votos} e {@code /api/v1/pautas}: método, caminho, formato, corpo, chegada,
+ * duração e status da resposta, entregues ao {@link CapturaTrafego} depois da resposta.
+ * <p>
+ * O corpo é guardado à medida que o controller o lê, sem uma leitura a mais. A resposta só é guardada nos cadastros de
+ * pautas, para que a reprodução relacione os IDs capturados aos IDs que criar; as demais respostas, inclusive as
+ * exportações em andamento, seguem direto para o cliente.
+ * <p>
+ * Registrado pelo {@link CapturaConfig} depois do encaminhamento do cluster, de modo que cada requisição é capturada
+ * uma única vez, na instância que a atende.
+ */
+public class CapturaFilter extends OncePerRequestFilter {
+
+    private static final Pattern CAMINHOS = Pattern.compile("^/api/v1/(votos|pautas)(/.*)?$");
+    private static final Pattern CADASTRO_PAUTAS = Pattern.compile("^/api/v1/pautas(/lote)?$");
+
+    private final CapturaTrafego captura;
+    private final UrlPathHelper caminhos = new UrlPathHelper();
+
+    public CapturaFilter(CapturaTrafego captura) {
+        this.captura = captura;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !CAMINHOS.matcher(caminhos.getPathWithinApplication(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long chegadaNanos = request.getAttribute(RecebimentoFilter.ATRIBUTO_RECEBIMENTO) instanceof Long nanos
+                ? nanos : System.nanoTime();
+        String caminho = caminhos.getPathWithinApplication(request);
+        CorpoGuardado requisicao = new CorpoGuardado(request, captura.getCorpoMaximo());
+        ContentCachingResponseWrapper cadastro = "POST".equals(request.getMethod())
+                && CADASTRO_PAUTAS.matcher(caminho).matches() ? new ContentCachingResponseWrapper(response) : null;
+        boolean concluida = false;
+        try {
+            filterChain.doFilter(requisicao, cadastro != null ? cadastro : response);
+            concluida = true;
+        } finally {
+            long duracaoNanos = System.nanoTime() - chegadaNanos;
+            byte[] resposta = null;
+            String tipoResposta = null;
+            if (cadastro != null) {
+                resposta = cadastro.getContentAsByteArray();
+                tipoResposta = cadastro.getContentType();
+                cadastro.copyBodyToResponse();
+            }
+            byte[] corpo = requisicao.isExcedido() ? null : requisicao.getContentAsByteArray();
+            captura.registrar(new CapturaTrafego.Captura(new RequisicaoCapturada(
+                    (chegadaNanos - captura.getInicioNanos()) / 1_000, duracaoNanos / 1_000,
+                    concluida ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    ContextoCooperativa.atual(), request.getMethod(), caminho, request.getContentType(),
+                    request.getHeader(HttpHeaders.ACCEPT), corpo, List.of()),
+                    request.getQueryString(), resposta, tipoResposta));
+        }
+    }
+
+    /**
+     * Guarda o corpo lido pelo controller até o limite de {@code coopvote.captura.corpo-maximo}.
+     */
+    private static final class CorpoGuardado extends ContentCachingRequestWrapper {
+
+        private boolean excedido;
+
+        CorpoGuardado(HttpServletRequest request, int limite) {
+            super(request, limite);
+        }
+
+        @Override
+        protected void handleContentOverflow(int contentCacheLimit) {
+            excedido = true;
+        }
+
+        boolean isExcedido() {
+            return excedido;
+        }
+    }
+}
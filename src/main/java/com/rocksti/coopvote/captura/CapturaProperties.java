@@ -0,0 +1,50 @@
+package com.rocksti.coopvote.captura;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Configuração da captura do tráfego de votos e pautas, para reproduzir uma assembleia real com a
+ * {@link ReproducaoCaptura}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.captura")
+public class CapturaProperties {
+
+    /**
+     * Grava as requisições de {@code /api/v1/votos} e {@code /api/v1/pautas} em um arquivo de captura.
+     */
+    private boolean habilitado;
+
+    /**
+     * Diretório dos arquivos de captura, um por inicialização da instância.
+     */
+    private Path diretorio = Path.of("captura");
+
+    /**
+     * Chave dos pseudônimos de associados e descrições, em Base64. Com a mesma chave, capturas de instâncias
+     * diferentes usam os mesmos pseudônimos; sem ela, cada captura sorteia a sua e a descarta.
+     */
+    private String chave;
+
+    /**
+     * Tamanho do arquivo a partir do qual a captura é interrompida.
+     */
+    private DataSize tamanhoMaximo = DataSize.ofGigabytes(1);
+
+    /**
+     * Corpo máximo gravado por requisição. Requisições maiores são gravadas sem o corpo e ignoradas na reprodução.
+     */
+    private DataSize corpoMaximo = DataSize.ofMegabytes(1);
+
+    /**
+     * Requisições aguardando gravação. Com a fila cheia, as requisições seguintes não são capturadas, para que a
+     * captura nunca atrase as respostas.
+     */
+    private int capacidadeFila = 10_000;
+}
@@ -0,0 +1,204 @@
+package com.rocksti.coopvote.captura;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rocksti.coopvote.dto.CapturaMetricasDto;
+import com.rocksti.coopvote.formato.FormatosMensagem;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Grava as requisições capturadas pelo {@link CapturaFilter} no arquivo de captura da instância.
+ * <p>
+ * A requisição entra em uma fila limitada e é anonimizada e gravada por uma thread própria, em lotes com o que estiver
+ * na fila, fora do caminho da resposta. Com a fila cheia ou o arquivo no tamanho máximo, as requisições deixam de ser
+ * capturadas e são contadas como descartadas.
+ * <p>
+ * Sem {@code coopvote.captura.habilitado}, nenhum arquivo é criado e a thread de gravação não é iniciada.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class CapturaTrafego {
+
+    private static final DateTimeFormatter FORMATO_NOME_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int LOTE = 256;
+
+    private final CapturaProperties propriedades;
+
+    private final LongAdder capturadas = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private BlockingQueue<Captura> fila;
+    private ArquivoCaptura arquivo;
+    private Path caminhoArquivo;
+    private Anonimizador anonimizador;
+    private long inicioNanos;
+    private Thread gravacao;
+    private volatile boolean ativa;
+
+    @PostConstruct
+    public void iniciar() throws IOException {
+        if (!propriedades.isHabilitado()) {
+            return;
+        }
+        byte[] chave = StringUtils.hasText(propriedades.getChave())
+                ? Base64.getDecoder().decode(propriedades.getChave()) : new SecureRandom().generateSeed(32);
+        anonimizador = new Anonimizador(chave);
+        fila = new ArrayBlockingQueue<>(propriedades.getCapacidadeFila());
+        caminhoArquivo = propriedades.getDiretorio().resolve("captura-"
+                + FORMATO_NOME_ARQUIVO.format(LocalDateTime.now()) + "-" + ProcessHandle.current().pid() + ".cvcp");
+        inicioNanos = System.nanoTime();
+        arquivo = ArquivoCaptura.criar(caminhoArquivo, Instant.now());
+        ativa = true;
+        gravacao = Thread.ofPlatform().name("captura-trafego").daemon().start(this::gravarContinuamente);
+        log.info("Captura de tráfego iniciada em {}", caminhoArquivo.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void encerrar() throws IOException, InterruptedException {
+        if (gravacao == null) {
+            return;
+        }
+        // Sem interromper a thread: a interrupção fecharia o canal do arquivo no meio de uma escrita
+        ativa = false;
+        gravacao.join(TimeUnit.SECONDS.toMillis(10));
+        gravarPendentes();
+        arquivo.close();
+        log.info("Captura de tráfego encerrada com {} requisições em {}", capturadas.sum(), caminhoArquivo);
+    }
+
+    /**
+     * Coloca a requisição na fila de gravação, sem esperar.
+     *
+     * @param captura Requisição com o corpo original, que é anonimizado antes da gravação.
+     */
+    public void registrar(Captura captura) {
+        if (!ativa || !fila.offer(captura)) {
+            descartadas.increment();
+        }
+    }
+
+    public boolean isHabilitado() {
+        return propriedades.isHabilitado();
+    }
+
+    /**
+     * @return O instante de referência das chegadas, em {@link System#nanoTime()}.
+     */
+    public long getInicioNanos() {
+        return inicioNanos;
+    }
+
+    public int getCorpoMaximo() {
+        return (int) propriedades.getCorpoMaximo().toBytes();
+    }
+
+    public CapturaMetricasDto metricas() {
+        return new CapturaMetricasDto(caminhoArquivo.toAbsolutePath().toString(), ativa, capturadas.sum(),
+                descartadas.sum(), arquivo.getTamanho());
+    }
+
+    /**
+     * Requisição como chegou ao filtro, antes da anonimização.
+     *
+     * @param requisicao   Requisição com o corpo original e o caminho sem a consulta.
+     * @param consulta     Consulta da URL, ou nulo.
+     * @param resposta     Corpo da resposta de um cadastro de pautas, para os IDs criados, ou nulo.
+     * @param tipoResposta Formato do corpo da resposta.
+     */
+    public record Captura(RequisicaoCapturada requisicao, String consulta, byte[] resposta, String tipoResposta) {
+    }
+
+    // Métodos auxiliares privados
+
+    private void gravarContinuamente() {
+        while (ativa) {
+            try {
+                Captura primeira = fila.poll(1, TimeUnit.SECONDS);
+                if (primeira != null) {
+                    List<Captura> lote = new ArrayList<>(LOTE);
+                    lote.add(primeira);
+                    fila.drainTo(lote, LOTE - 1);
+                    gravar(lote);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("Falha ao gravar a captura de tráfego; a captura foi interrompida", e);
+                ativa = false;
+            }
+        }
+    }
+
+    private void gravarPendentes() throws IOException {
+        List<Captura> pendentes = new ArrayList<>();
+        fila.drainTo(pendentes);
+        if (!pendentes.isEmpty()) {
+            gravar(pendentes);
+        }
+    }
+
+    private void gravar(List<Captura> lote) throws IOException {
+        if (arquivo.getTamanho() >= propriedades.getTamanhoMaximo().toBytes()) {
+            if (ativa) {
+                log.warn("Arquivo de captura {} atingiu {}; a captura foi interrompida", caminhoArquivo,
+                        propriedades.getTamanhoMaximo());
+                ativa = false;
+            }
+            descartadas.add(lote.size());
+            return;
+        }
+        arquivo.gravar(lote.stream().map(this::anonimizar).toList());
+        capturadas.add(lote.size());
+    }
+
+    private RequisicaoCapturada anonimizar(Captura captura) {
+        RequisicaoCapturada original = captura.requisicao();
+        String consulta = anonimizador.anonimizarConsulta(captura.consulta());
+        byte[] corpo = original.corpo() != null
+                ? anonimizador.anonimizarCorpo(original.corpo(), original.contentType()) : null;
+        return new RequisicaoCapturada(original.chegadaMicros(), original.duracaoMicros(), original.status(),
+                original.cooperativa(), original.metodo(),
+                anonimizador.anonimizarCaminho(original.caminho()) + (consulta != null ? "?" + consulta : ""),
+                original.contentType(), original.accept(), corpo,
+                captura.resposta() != null ? lerPautasCriadas(captura.resposta(), captura.tipoResposta()) : List.of());
+    }
+
+    /**
+     * @return Os IDs do cadastro de uma pauta ({@code id}) ou de um lote ({@code pautas[].pautaId}), com zero para as
+     * pautas rejeitadas.
+     */
+    static List<Long> lerPautasCriadas(byte[] resposta, String tipoResposta) {
+        try {
+            JsonNode corpo = FormatosMensagem.mapeador(tipoResposta).readTree(resposta);
+            if (corpo == null) {
+                return List.of();
+            }
+            if (corpo.has("id")) {
+                return List.of(corpo.get("id").asLong());
+            }
+            List<Long> ids = new ArrayList<>();
+            corpo.path("pautas").forEach(pauta -> ids.add(pauta.path("pautaId").asLong(0)));
+            return ids;
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+}
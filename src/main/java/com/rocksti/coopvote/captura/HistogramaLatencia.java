@@ -0,0 +1,80 @@
+package com.rocksti.coopvote.captura;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências em microssegundos com faixas log-lineares: valores abaixo de 16 têm uma faixa cada e, acima
+ * deles, cada potência de dois é dividida em 8 faixas, o que limita o erro dos percentis a 12,5% com memória fixa.
+ * Seguro para uso por várias threads.
+ */
+public final class HistogramaLatencia {
+
+    private static final int BITS_SUBFAIXA = 3;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int LINEARES = 2 * SUBFAIXAS;
+    private static final int FAIXAS = LINEARES + (Long.SIZE - 1 - Long.numberOfTrailingZeros(LINEARES)) * SUBFAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * @param micros Latência em microssegundos; valores negativos contam como zero.
+     */
+    public void registrar(long micros) {
+        long valor = Math.max(0, micros);
+        contagens.incrementAndGet(faixa(valor));
+        total.incrementAndGet();
+        maximo.accumulateAndGet(valor, Math::max);
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * @param percentil Percentil entre 0 e 100.
+     * @return O limite superior da faixa do percentil, sem passar do máximo registrado, ou zero sem registros.
+     */
+    public long percentil(double percentil) {
+        long registros = total.get();
+        if (registros == 0) {
+            return 0;
+        }
+        long posicao = Math.max(1, (long) Math.ceil(percentil / 100 * registros));
+        long acumulado = 0;
+        for (int faixa = 0; faixa < FAIXAS; faixa++) {
+            acumulado += contagens.get(faixa);
+            if (acumulado >= posicao) {
+                return Math.min(limiteSuperior(faixa), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    // Métodos auxiliares privados
+
+    private static int faixa(long valor) {
+        if (valor < LINEARES) {
+            return (int) valor;
+        }
+        int expoente = Long.SIZE - 1 - Long.numberOfLeadingZeros(valor);
+        int subfaixa = (int) (valor >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1);
+        return LINEARES + (expoente - BITS_SUBFAIXA - 1) * SUBFAIXAS + subfaixa;
+    }
+
+    private static long limiteSuperior(int faixa) {
+        if (faixa < LINEARES) {
+            return faixa;
+        }
+        int expoente = (faixa - LINEARES) / SUBFAIXAS + BITS_SUBFAIXA + 1;
+        int subfaixa = (faixa - LINEARES) % SUBFAIXAS;
+        long inicio = (long) (SUBFAIXAS + subfaixa) << (expoente - BITS_SUBFAIXA);
+        return inicio + (1L << (expoente - BITS_SUBFAIXA)) - 1;
+    }
+}
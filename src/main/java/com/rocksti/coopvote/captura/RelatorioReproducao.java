@@ -0,0 +1,127 @@
+package com.rocksti.coopvote.captura;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Comparação de uma reprodução com a captura, por operação: histogramas de latência e distribuição dos status.
+ * <p>
+ * As latências da captura vão da chegada da requisição à aplicação até o fim do atendimento; as da reprodução, do envio
+ * da requisição até o recebimento da resposta completa, e incluem a rede até a instância reproduzida.
+ */
+public final class RelatorioReproducao {
+
+    /**
+     * Status das requisições que não tiveram resposta na reprodução.
+     */
+    public static final int SEM_RESPOSTA = 0;
+
+    private final Map<String, Operacao> operacoes = new ConcurrentSkipListMap<>();
+    private final LongAdder ignoradas = new LongAdder();
+
+    void registrarCaptura(String operacao, long duracaoMicros, int status) {
+        operacao(operacao).captura.registrar(duracaoMicros, status);
+    }
+
+    void registrarReproducao(String operacao, long latenciaMicros, int status) {
+        operacao(operacao).reproducao.registrar(latenciaMicros, status);
+    }
+
+    void registrarIgnorada() {
+        ignoradas.increment();
+    }
+
+    /**
+     * @return As operações, como {@code POST /api/v1/pautas/{id}/abrir-sessao}, em ordem alfabética.
+     */
+    public Map<String, Operacao> getOperacoes() {
+        return operacoes;
+    }
+
+    /**
+     * @return As requisições da captura sem o corpo, que passou do limite da captura, e por isso não reproduzidas.
+     */
+    public long getIgnoradas() {
+        return ignoradas.sum();
+    }
+
+    /**
+     * @return Uma tabela com as duas medições de cada operação, com as latências em milissegundos.
+     */
+    public String formatar() {
+        StringBuilder tabela = new StringBuilder(String.format("%-52s %-10s %8s %9s %9s %9s %9s  %s%n",
+                "operação", "medição", "n", "p50", "p90", "p99", "máx", "status"));
+        operacoes.forEach((nome, operacao) -> {
+            formatar(tabela, nome, "captura", operacao.captura);
+            formatar(tabela, "", "reprodução", operacao.reproducao);
+        });
+        if (getIgnoradas() > 0) {
+            tabela.append(String.format("%d requisições sem o corpo na captura não foram reproduzidas%n",
+                    getIgnoradas()));
+        }
+        return tabela.toString();
+    }
+
+    /**
+     * As duas medições de uma operação.
+     */
+    public static final class Operacao {
+
+        private final Medicao captura = new Medicao();
+        private final Medicao reproducao = new Medicao();
+
+        public Medicao getCaptura() {
+            return captura;
+        }
+
+        public Medicao getReproducao() {
+            return reproducao;
+        }
+    }
+
+    /**
+     * Latências e status das requisições de uma operação.
+     */
+    public static final class Medicao {
+
+        private final HistogramaLatencia latencia = new HistogramaLatencia();
+        private final Map<Integer, LongAdder> status = new ConcurrentSkipListMap<>();
+
+        public HistogramaLatencia getLatencia() {
+            return latencia;
+        }
+
+        /**
+         * @return A quantidade de respostas de cada status, com {@link #SEM_RESPOSTA} para as falhas de conexão.
+         */
+        public Map<Integer, Long> getStatus() {
+            Map<Integer, Long> contagem = new TreeMap<>();
+            status.forEach((codigo, quantidade) -> contagem.put(codigo, quantidade.sum()));
+            return contagem;
+        }
+
+        private void registrar(long micros, int codigo) {
+            latencia.registrar(micros);
+            status.computeIfAbsent(codigo, c -> new LongAdder()).increment();
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    private Operacao operacao(String nome) {
+        return operacoes.computeIfAbsent(nome, n -> new Operacao());
+    }
+
+    private static void formatar(StringBuilder tabela, String operacao, String nome, Medicao medicao) {
+        HistogramaLatencia latencia = medicao.getLatencia();
+        tabela.append(String.format("%-52s %-10s %8d %9.2f %9.2f %9.2f %9.2f  %s%n", operacao, nome,
+                latencia.getTotal(), milis(latencia.percentil(50)), milis(latencia.percentil(90)),
+                milis(latencia.percentil(99)), milis(latencia.getMaximo()), medicao.getStatus()));
+    }
+
+    private static double milis(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,353 @@
+package com.rocksti.coopvote.captura;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rocksti.coopvote.formato.FormatosMensagem;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reproduz um arquivo de captura contra uma instância da aplicação, na velocidade original, acelerada ou o mais rápido
+ * possível, e compara as latências e os status da reprodução com os da captura.
+ * <p>
+ * As requisições saem na ordem de chegada da captura, cada uma no seu instante dividido pela velocidade. As que
+ * envolvem a mesma pauta esperam as anteriores dessa pauta terminarem, de modo que um voto nunca chega antes da
+ * abertura da sessão; as demais correm em paralelo, até {@code simultaneas} de cada vez.
+ * <p>
+ * As pautas ganham novos IDs na instância reproduzida. Os IDs das pautas cadastradas durante a captura são
+ * relacionados aos da reprodução pela resposta do cadastro; as pautas cadastradas antes da captura são cadastradas na
+ * primeira requisição que as usa, com a sessão aberta por {@value #SESSAO_MINUTOS} minutos quando a requisição não é a
+ * própria abertura. Os IDs são trocados no caminho, no parâmetro {@code ids} e nos campos {@code pautaId} e
+ * {@code pautaIds} ou na lista de IDs do corpo.
+ * <p>
+ * Uso, a partir do jar da aplicação:
+ * <pre>
+ * java -cp coopvote.jar -Dloader.main=com.rocksti.coopvote.captura.ReproducaoCaptura \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher &lt;arquivo&gt; &lt;url&gt; [1|10|max]
+ * </pre>
+ */
+@Log4j2
+public final class ReproducaoCaptura {
+
+    static final long SESSAO_MINUTOS = 1_440;
+
+    private static final Pattern PAUTA_NO_CAMINHO = Pattern.compile("^(/api/v1/pautas/(?:resultado/)?)(\\d+)(/.*)?$");
+    private static final Pattern CADASTRO = Pattern.compile("^/api/v1/pautas(/lote)?$");
+    private static final Pattern ABERTURA = Pattern.compile("^/api/v1/pautas/(\\d+/abrir-sessao|sessoes)$");
+    private static final Pattern SEGMENTO_NUMERICO = Pattern.compile("/\\d+(?=/|$)");
+    private static final long PAUTA_INEXISTENTE = Long.MAX_VALUE;
+    private static final int SIMULTANEAS_PADRAO = 256;
+
+    private final URI destino;
+    private final double velocidade;
+    private final Semaphore simultaneas;
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, Long> pautas = new ConcurrentHashMap<>();
+
+    /**
+     * @param destino     Endereço da instância reproduzida, como {@code http://localhost:8080}.
+     * @param velocidade  Multiplicador da velocidade da captura, ou zero para enviar o mais rápido possível.
+     * @param simultaneas Limite de requisições em andamento.
+     */
+    public ReproducaoCaptura(URI destino, double velocidade, int simultaneas) {
+        if (velocidade < 0 || simultaneas < 1) {
+            throw new IllegalArgumentException("Velocidade negativa ou limite de requisições simultâneas menor que 1");
+        }
+        this.destino = URI.create(destino.toString().replaceAll("/+$", ""));
+        this.velocidade = velocidade;
+        this.simultaneas = new Semaphore(simultaneas);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Uso: ReproducaoCaptura <arquivo> <url> [1|10|max]");
+            System.exit(2);
+        }
+        String velocidade = args.length > 2 ? args[2].replaceAll("x$", "") : "1";
+        ReproducaoCaptura reproducao = new ReproducaoCaptura(URI.create(args[1]),
+                "max".equalsIgnoreCase(velocidade) ? 0 : Double.parseDouble(velocidade), SIMULTANEAS_PADRAO);
+        System.out.print(reproducao.reproduzir(Path.of(args[0])).formatar());
+    }
+
+    /**
+     * Reproduz o arquivo e espera todas as respostas.
+     *
+     * @return As latências e os status da captura e da reprodução.
+     */
+    public RelatorioReproducao reproduzir(Path arquivo) throws IOException, InterruptedException {
+        List<RequisicaoCapturada> requisicoes = new ArrayList<>(ArquivoCaptura.ler(arquivo).requisicoes());
+        requisicoes.sort(Comparator.comparingLong(RequisicaoCapturada::chegadaMicros));
+        RelatorioReproducao relatorio = new RelatorioReproducao();
+        Map<String, CompletableFuture<Void>> ultimasPorPauta = new HashMap<>();
+        List<CompletableFuture<Void>> enviadas = new ArrayList<>(requisicoes.size());
+        long inicio = System.nanoTime();
+        long primeiraChegada = requisicoes.isEmpty() ? 0 : requisicoes.get(0).chegadaMicros();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (RequisicaoCapturada requisicao : requisicoes) {
+                String operacao = operacao(requisicao);
+                relatorio.registrarCaptura(operacao, requisicao.duracaoMicros(), requisicao.status());
+                if (requisicao.corpo() == null) {
+                    relatorio.registrarIgnorada();
+                    continue;
+                }
+                if (velocidade > 0) {
+                    aguardarAte(inicio + (long) ((requisicao.chegadaMicros() - primeiraChegada) * 1_000 / velocidade));
+                }
+                Set<String> chaves = chavesPautas(requisicao);
+                CompletableFuture<Void> anteriores = CompletableFuture.allOf(chaves.stream()
+                        .map(ultimasPorPauta::get)
+                        .filter(Objects::nonNull)
+                        .toArray(CompletableFuture[]::new));
+                simultaneas.acquire();
+                CompletableFuture<Void> enviada = anteriores.thenRunAsync(() -> {
+                    try {
+                        enviar(requisicao, operacao, relatorio);
+                    } finally {
+                        simultaneas.release();
+                    }
+                }, executor);
+                chaves.forEach(chave -> ultimasPorPauta.put(chave, enviada));
+                enviadas.add(enviada);
+            }
+            CompletableFuture.allOf(enviadas.toArray(CompletableFuture[]::new)).join();
+        }
+        return relatorio;
+    }
+
+    /**
+     * @return O método e o caminho sem a consulta, com os segmentos numéricos trocados por {@code {id}}.
+     */
+    static String operacao(RequisicaoCapturada requisicao) {
+        return requisicao.metodo() + " " + SEGMENTO_NUMERICO.matcher(semConsulta(requisicao.caminho()))
+                .replaceAll("/{id}");
+    }
+
+    // Métodos auxiliares privados
+
+    private void enviar(RequisicaoCapturada requisicao, String operacao, RelatorioReproducao relatorio) {
+        try {
+            URI uri = uri(requisicao.cooperativa(), trocarIdsCaminho(requisicao));
+            HttpRequest.Builder pedido = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(30))
+                    .method(requisicao.metodo(), requisicao.corpo().length == 0
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofByteArray(trocarIdsCorpo(requisicao)));
+            if (requisicao.contentType() != null) {
+                pedido.header(HttpHeaders.CONTENT_TYPE, requisicao.contentType());
+            }
+            if (requisicao.accept() != null) {
+                pedido.header(HttpHeaders.ACCEPT, requisicao.accept());
+            }
+            long envio = System.nanoTime();
+            HttpResponse<byte[]> resposta = cliente.send(pedido.build(), HttpResponse.BodyHandlers.ofByteArray());
+            relatorio.registrarReproducao(operacao, (System.nanoTime() - envio) / 1_000, resposta.statusCode());
+            if (!requisicao.pautasCriadas().isEmpty()) {
+                relacionarPautasCriadas(requisicao, resposta);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao reproduzir {} {}: {}", requisicao.metodo(), requisicao.caminho(), e.toString());
+            relatorio.registrarReproducao(operacao, 0, RelatorioReproducao.SEM_RESPOSTA);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void relacionarPautasCriadas(RequisicaoCapturada requisicao, HttpResponse<byte[]> resposta) {
+        List<Long> criadas = CapturaTrafego.lerPautasCriadas(resposta.body(),
+                resposta.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(null));
+        List<Long> originais = requisicao.pautasCriadas();
+        for (int i = 0; i < Math.min(originais.size(), criadas.size()); i++) {
+            if (originais.get(i) != 0 && criadas.get(i) != 0) {
+                pautas.put(chave(requisicao.cooperativa(), originais.get(i)), criadas.get(i));
+            }
+        }
+    }
+
+    /**
+     * @return O ID da pauta na instância reproduzida, cadastrando-a se ela foi cadastrada antes da captura.
+     */
+    private long pautaReproduzida(RequisicaoCapturada requisicao, long original)
+            throws IOException, InterruptedException {
+        Long reproduzida = pautas.get(chave(requisicao.cooperativa(), original));
+        if (reproduzida != null) {
+            return reproduzida;
+        }
+        if (requisicao.status() == 404) {
+            return PAUTA_INEXISTENTE;
+        }
+        HttpRequest pedido = HttpRequest.newBuilder(uri(requisicao.cooperativa(), "/api/v1/pautas"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"descricao\":\"Pauta reproduzida " + original + "\"}"))
+                .build();
+        HttpResponse<byte[]> cadastro = cliente.send(pedido, HttpResponse.BodyHandlers.ofByteArray());
+        List<Long> criada = CapturaTrafego.lerPautasCriadas(cadastro.body(), "application/json");
+        if (cadastro.statusCode() != 201 || criada.isEmpty()) {
+            throw new IOException("Cadastro da pauta " + original + " recusado com status " + cadastro.statusCode());
+        }
+        if (!ABERTURA.matcher(semConsulta(requisicao.caminho())).matches()) {
+            cliente.send(HttpRequest.newBuilder(uri(requisicao.cooperativa(),
+                            "/api/v1/pautas/" + criada.get(0) + "/abrir-sessao?tempoSessaoMinutos=" + SESSAO_MINUTOS))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+        pautas.put(chave(requisicao.cooperativa(), original), criada.get(0));
+        return criada.get(0);
+    }
+
+    private String trocarIdsCaminho(RequisicaoCapturada requisicao) throws IOException, InterruptedException {
+        String caminho = semConsulta(requisicao.caminho());
+        String consulta = requisicao.caminho().length() > caminho.length()
+                ? requisicao.caminho().substring(caminho.length() + 1) : null;
+        Matcher pauta = PAUTA_NO_CAMINHO.matcher(caminho);
+        if (pauta.matches()) {
+            caminho = pauta.group(1) + pautaReproduzida(requisicao, Long.parseLong(pauta.group(2)))
+                    + (pauta.group(3) != null ? pauta.group(3) : "");
+        }
+        if (consulta == null) {
+            return caminho;
+        }
+        StringJoiner parametros = new StringJoiner("&");
+        for (String parametro : consulta.split("&")) {
+            if (parametro.startsWith("ids=")) {
+                StringJoiner ids = new StringJoiner(",");
+                for (String id : parametro.substring(4).split(",")) {
+                    ids.add(id.matches("\\d+") ? String.valueOf(pautaReproduzida(requisicao, Long.parseLong(id))) : id);
+                }
+                parametro = "ids=" + ids;
+            }
+            parametros.add(parametro);
+        }
+        return caminho + "?" + parametros;
+    }
+
+    private byte[] trocarIdsCorpo(RequisicaoCapturada requisicao) throws IOException, InterruptedException {
+        if (idsCorpo(requisicao).isEmpty()) {
+            return requisicao.corpo();
+        }
+        ObjectMapper mapeador = FormatosMensagem.mapeador(requisicao.contentType());
+        JsonNode corpo = mapeador.readTree(requisicao.corpo());
+        if (corpo instanceof ArrayNode lista) {
+            trocarIds(requisicao, lista);
+        } else if (corpo instanceof ObjectNode objeto) {
+            if (objeto.path("pautaId").canConvertToLong()) {
+                objeto.put("pautaId", pautaReproduzida(requisicao, objeto.get("pautaId").asLong()));
+            }
+            if (objeto.get("pautaIds") instanceof ArrayNode lista) {
+                trocarIds(requisicao, lista);
+            }
+        }
+        return mapeador.writeValueAsBytes(corpo);
+    }
+
+    private void trocarIds(RequisicaoCapturada requisicao, ArrayNode lista) throws IOException, InterruptedException {
+        for (int i = 0; i < lista.size(); i++) {
+            if (lista.get(i).isIntegralNumber()) {
+                lista.set(i, LongNode.valueOf(pautaReproduzida(requisicao, lista.get(i).asLong())));
+            }
+        }
+    }
+
+    /**
+     * @return As chaves das pautas envolvidas na requisição, que ordenam a reprodução.
+     */
+    private static Set<String> chavesPautas(RequisicaoCapturada requisicao) {
+        Set<Long> ids = new LinkedHashSet<>(requisicao.pautasCriadas());
+        String caminho = semConsulta(requisicao.caminho());
+        Matcher pauta = PAUTA_NO_CAMINHO.matcher(caminho);
+        if (pauta.matches()) {
+            ids.add(Long.parseLong(pauta.group(2)));
+        }
+        if (requisicao.caminho().length() > caminho.length()) {
+            for (String parametro : requisicao.caminho().substring(caminho.length() + 1).split("&")) {
+                if (parametro.startsWith("ids=")) {
+                    for (String id : parametro.substring(4).split(",")) {
+                        if (id.matches("\\d+")) {
+                            ids.add(Long.parseLong(id));
+                        }
+                    }
+                }
+            }
+        }
+        ids.addAll(idsCorpo(requisicao));
+        ids.remove(0L);
+        Set<String> chaves = new LinkedHashSet<>();
+        ids.forEach(id -> chaves.add(chave(requisicao.cooperativa(), id)));
+        return chaves;
+    }
+
+    private static List<Long> idsCorpo(RequisicaoCapturada requisicao) {
+        if (requisicao.corpo() == null || requisicao.corpo().length == 0
+                || CADASTRO.matcher(semConsulta(requisicao.caminho())).matches()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        try {
+            JsonNode corpo = FormatosMensagem.mapeador(requisicao.contentType()).readTree(requisicao.corpo());
+            JsonNode lista = corpo instanceof ArrayNode ? corpo : corpo != null ? corpo.path("pautaIds") : null;
+            if (corpo != null && corpo.path("pautaId").canConvertToLong()) {
+                ids.add(corpo.get("pautaId").asLong());
+            }
+            if (lista != null) {
+                lista.forEach(id -> {
+                    if (id.isIntegralNumber()) {
+                        ids.add(id.asLong());
+                    }
+                });
+            }
+        } catch (IOException e) {
+            return List.of();
+        }
+        return ids;
+    }
+
+    private URI uri(String cooperativa, String caminho) {
+        return URI.create(destino + (cooperativa != null ? "/cooperativas/" + cooperativa : "") + caminho);
+    }
+
+    private static String chave(String cooperativa, long pautaId) {
+        return cooperativa + "|" + pautaId;
+    }
+
+    private static String semConsulta(String caminho) {
+        int consulta = caminho.indexOf('?');
+        return consulta < 0 ? caminho : caminho.substring(0, consulta);
+    }
+
+    private static void aguardarAte(long nanos) throws InterruptedException {
+        long espera = nanos - System.nanoTime();
+        if (espera > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.rocksti.coopvote.captura;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Requisição gravada no arquivo de captura, já com o corpo anonimizado.
+ *
+ * @param chegadaMicros Chegada à aplicação, em microssegundos desde o início da captura.
+ * @param duracaoMicros Tempo entre a chegada e o fim do atendimento.
+ * @param status        Status HTTP da resposta.
+ * @param cooperativa   Cooperativa da requisição, ou nulo com o roteamento desabilitado.
+ * @param metodo        Método HTTP.
+ * @param caminho       Caminho dentro da aplicação, sem o prefixo da cooperativa, com a consulta.
+ * @param contentType   Formato do corpo, ou nulo.
+ * @param accept        Formatos aceitos na resposta, ou nulo.
+ * @param corpo         Corpo anonimizado, vazio se não havia corpo, ou nulo se ele passou de
+ *                      {@code coopvote.captura.corpo-maximo}.
+ * @param pautasCriadas IDs das pautas cadastradas pela requisição, na ordem da resposta, com zero para as rejeitadas.
+ */
+public record RequisicaoCapturada(long chegadaMicros, long duracaoMicros, int status, String cooperativa,
+                                  String metodo, String caminho, String contentType, String accept, byte[] corpo,
+                                  List<Long> pautasCriadas) {
+
+    /**
+     * Codifica a requisição com os campos em big-endian; textos e o corpo levam o tamanho antes, com -1 para nulo.
+     */
+    ByteBuffer codificar() {
+        byte[][] textos = {bytes(cooperativa), bytes(metodo), bytes(caminho), bytes(contentType), bytes(accept)};
+        int tamanho = Long.BYTES * 2 + Short.BYTES + Integer.BYTES * (textos.length + 2)
+                + (corpo != null ? corpo.length : 0) + Long.BYTES * pautasCriadas.size();
+        for (byte[] texto : textos) {
+            tamanho += texto != null ? texto.length : 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho)
+                .putLong(chegadaMicros)
+                .putLong(duracaoMicros)
+                .putShort((short) status);
+        for (byte[] texto : textos) {
+            escrever(buffer, texto);
+        }
+        escrever(buffer, corpo);
+        buffer.putInt(pautasCriadas.size());
+        pautasCriadas.forEach(buffer::putLong);
+        return buffer.flip();
+    }
+
+    static RequisicaoCapturada decodificar(ByteBuffer buffer) {
+        long chegada = buffer.getLong();
+        long duracao = buffer.getLong();
+        int status = buffer.getShort();
+        String cooperativa = texto(ler(buffer));
+        String metodo = texto(ler(buffer));
+        String caminho = texto(ler(buffer));
+        String contentType = texto(ler(buffer));
+        String accept = texto(ler(buffer));
+        byte[] corpo = ler(buffer);
+        int quantidade = buffer.getInt();
+        List<Long> pautasCriadas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            pautasCriadas.add(buffer.getLong());
+        }
+        return new RequisicaoCapturada(chegada, duracao, status, cooperativa, metodo, caminho, contentType, accept,
+                corpo, List.copyOf(pautasCriadas));
+    }
+
+    // Métodos auxiliares privados
+
+    private static byte[] bytes(String texto) {
+        return texto != null ? texto.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String texto(byte[] bytes) {
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private static void escrever(ByteBuffer buffer, byte[] conteudo) {
+        buffer.putInt(conteudo != null ? conteudo.length : -1);
+        if (conteudo != null) {
+            buffer.put(conteudo);
+        }
+    }
+
+    private static byte[] ler(ByteBuffer buffer) {
+        int tamanho = buffer.getInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] conteudo = new byte[tamanho];
+        buffer.get(conteudo);
+        return conteudo;
+    }
+}
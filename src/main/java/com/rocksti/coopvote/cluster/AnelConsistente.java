@@ -0,0 +1,88 @@
+package com.rocksti.coopvote.cluster;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Anel de hash consistente que atribui cada pauta a uma instância do cluster.
+ * <p>
+ * Cada instância ocupa vários pontos do anel, derivados por SHA-256 do seu identificador, e a dona de uma pauta é a
+ * instância do primeiro ponto a partir do hash do ID da pauta. O resultado depende apenas do conjunto de instâncias:
+ * todas as instâncias que leem os mesmos leases chegam à mesma dona, e a entrada ou saída de uma instância move apenas
+ * as pautas dos pontos dela.
+ * <p>
+ * Instâncias são imutáveis e podem ser lidas por várias threads.
+ */
+public final class AnelConsistente {
+
+    private final List<MembroCluster> membros;
+    private final NavigableMap<Long, MembroCluster> pontos = new TreeMap<>();
+
+    /**
+     * @param membros     Instâncias ativas, em qualquer ordem.
+     * @param nosVirtuais Pontos de cada instância no anel.
+     */
+    public AnelConsistente(List<MembroCluster> membros, int nosVirtuais) {
+        if (nosVirtuais < 1) {
+            throw new IllegalArgumentException("Cada instância precisa de ao menos um ponto no anel");
+        }
+        this.membros = membros.stream().sorted(Comparator.comparing(MembroCluster::no)).toList();
+        MessageDigest sha256 = novoSha256();
+        for (MembroCluster membro : this.membros) {
+            for (int i = 0; i < nosVirtuais; i++) {
+                byte[] hash = sha256.digest((membro.no() + "#" + i).getBytes(StandardCharsets.UTF_8));
+                // Em uma colisão, o ponto fica com a instância de menor identificador, em todas as instâncias
+                pontos.putIfAbsent(ByteBuffer.wrap(hash).getLong(), membro);
+            }
+        }
+    }
+
+    /**
+     * @param pautaId ID da pauta.
+     * @return A instância dona da pauta, ou vazio se o anel não tem instâncias.
+     */
+    public Optional<MembroCluster> dono(long pautaId) {
+        if (pontos.isEmpty()) {
+            return Optional.empty();
+        }
+        Map.Entry<Long, MembroCluster> ponto = pontos.ceilingEntry(misturar(pautaId));
+        return Optional.of(ponto != null ? ponto.getValue() : pontos.firstEntry().getValue());
+    }
+
+    /**
+     * @return As instâncias do anel, pelo identificador.
+     */
+    public List<MembroCluster> getMembros() {
+        return membros;
+    }
+
+    // Métodos auxiliares privados
+
+    /**
+     * Finalizador de 64 bits do MurmurHash3: espalha pelo anel os IDs sequenciais das pautas.
+     */
+    private static long misturar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+
+    private static MessageDigest novoSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.rocksti.coopvote.cluster;
+
+import com.rocksti.coopvote.cooperativa.CooperativaProperties;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registra o {@link EncaminhamentoFilter} depois da identificação da cooperativa, inclusive nos despachos
+ * {@code FORWARD} do prefixo {@code /cooperativas/{id}}, em que a cooperativa já está definida.
+ * <p>
+ * Sem {@code coopvote.cluster.habilitado}, o filtro fica registrado mas desativado, e o segredo não é exigido.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ClusterConfig {
+
+    @Bean
+    public FilterRegistrationBean<EncaminhamentoFilter> encaminhamentoFilter(MembrosCluster membros,
+                                                                             ClusterProperties propriedades,
+                                                                             CooperativaProperties cooperativas) {
+        if (propriedades.isHabilitado()
+                && (propriedades.getSegredo() == null || propriedades.getSegredo().isBlank())) {
+            throw new IllegalStateException("Cluster habilitado sem coopvote.cluster.segredo");
+        }
+        FilterRegistrationBean<EncaminhamentoFilter> registro = new FilterRegistrationBean<>(new EncaminhamentoFilter(
+                membros, cooperativas.getCabecalho(), propriedades.getTimeout(), propriedades.getSegredo()));
+        registro.setEnabled(propriedades.isHabilitado());
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registro.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.FORWARD);
+        return registro;
+    }
+}
@@ -0,0 +1,69 @@
+package com.rocksti.coopvote.cluster;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do cluster de instâncias que dividem as pautas entre si, com os leases na tabela
+ * {@code membro_cluster} do banco de cada cooperativa.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.cluster")
+public class ClusterProperties {
+
+    /**
+     * Distribui as pautas entre as instâncias e encaminha os votos e resultados de cada pauta à sua dona.
+     * Desabilitado, cada instância atende todas as pautas.
+     */
+    private boolean habilitado;
+
+    /**
+     * Identificador da instância no cluster. Mantido entre reinicializações, a instância volta a ser dona das mesmas
+     * pautas. Por padrão, o endereço da instância.
+     */
+    private String no;
+
+    /**
+     * Endereço pelo qual as demais instâncias chegam a esta, como {@code http://app-1:8080}. Por padrão,
+     * {@code http://{host}:{porta do servidor}}.
+     */
+    private String endereco;
+
+    /**
+     * Host usado no endereço padrão. Por padrão, o nome da máquina.
+     */
+    private String host;
+
+    /**
+     * Validade do lease de cada instância. Uma instância que para sem sair do cluster deixa de ser dona das suas
+     * pautas depois desse tempo.
+     */
+    private Duration duracaoLease = Duration.ofSeconds(15);
+
+    /**
+     * Intervalo entre as renovações do lease, que também atualizam a lista de instâncias ativas. Precisa ser bem
+     * menor que {@link #duracaoLease}.
+     */
+    private Duration intervaloRenovacao = Duration.ofSeconds(5);
+
+    /**
+     * Pontos de cada instância no anel de hash consistente. Mais pontos dividem as pautas de forma mais uniforme.
+     */
+    private int nosVirtuais = 64;
+
+    /**
+     * Tempo máximo de espera pela resposta da instância dona de uma pauta. Também limita o quanto o horário de
+     * recebimento informado por outra instância pode recuar.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * Segredo comum a todas as instâncias, com que assinam as requisições encaminhadas. Obrigatório com o cluster
+     * habilitado: sem a assinatura, os cabeçalhos de encaminhamento enviados por um cliente seriam aceitos.
+     */
+    private String segredo;
+}
@@ -0,0 +1,317 @@
+package com.rocksti.coopvote.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rocksti.coopvote.cooperativa.ContextoCooperativa;
+import com.rocksti.coopvote.formato.FormatosMensagem;
+import com.rocksti.coopvote.recebimento.RecebimentoFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Encaminha o registro de votos e a consulta de resultado de uma pauta à instância dona dela no cluster, para que o
+ * estado em memória de cada pauta fique em uma única instância.
+ * <p>
+ * A requisição segue para a dona com o corpo e os cabeçalhos de formato originais, e a resposta dela volta sem
+ * alterações, com o status e o {@code Content-Type} que ela escolheu. A requisição encaminhada leva o identificador de
+ * quem a encaminhou e o horário em que foi recebida, e é sempre atendida pela instância que a recebe: duas instâncias
+ * que discordam sobre a dona não a repassam uma à outra, e a espera do encaminhamento não conta contra o associado.
+ * Esses cabeçalhos são assinados com um HMAC do segredo comum do cluster, que cobre também o método, o caminho e o
+ * corpo; sem uma assinatura válida, são ignorados e a requisição é tratada como vinda de um cliente.
+ * <p>
+ * Se a dona não responde em {@code coopvote.cluster.timeout}, a requisição é atendida nesta instância. Os votos e
+ * resultados são lidos e gravados no banco, então o resultado continua correto; só a vantagem do estado em memória se
+ * perde até o lease da dona expirar.
+ * <p>
+ * Registrado pelo {@link ClusterConfig} também para os despachos {@code FORWARD}, que atendem os caminhos com o
+ * prefixo {@code /cooperativas/{id}} já dentro da cooperativa.
+ */
+@Log4j2
+public class EncaminhamentoFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO_ENCAMINHADO_POR = "X-Coopvote-Encaminhado-Por";
+    public static final String CABECALHO_RECEBIDO_EM = "X-Coopvote-Recebido-Em";
+    public static final String CABECALHO_ASSINATURA = "X-Coopvote-Assinatura";
+
+    private static final String ALGORITMO_ASSINATURA = "HmacSHA256";
+
+    private static final Pattern VOTOS = Pattern.compile("^/api/v1/votos$");
+    private static final Pattern RESULTADO = Pattern.compile("^/api/v1/pautas/(?:(\\d+)/resultado|resultado/(\\d+))$");
+
+    private final MembrosCluster membros;
+    private final String cabecalhoCooperativa;
+    private final Duration timeout;
+    private final SecretKeySpec chave;
+    private final HttpClient httpClient;
+    private final UrlPathHelper caminhos = new UrlPathHelper();
+
+    public EncaminhamentoFilter(MembrosCluster membros, String cabecalhoCooperativa, Duration timeout,
+                                String segredo) {
+        this.membros = membros;
+        this.cabecalhoCooperativa = cabecalhoCooperativa;
+        this.timeout = timeout;
+        this.chave = StringUtils.hasText(segredo)
+                ? new SecretKeySpec(segredo.getBytes(StandardCharsets.UTF_8), ALGORITMO_ASSINATURA) : null;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = caminhos.getPathWithinApplication(request);
+        return !("POST".equals(request.getMethod()) && VOTOS.matcher(caminho).matches()
+                || "GET".equals(request.getMethod()) && RESULTADO.matcher(caminho).matches());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Matcher resultado = RESULTADO.matcher(caminhos.getPathWithinApplication(request));
+        byte[] corpo = resultado.matches() ? null : request.getInputStream().readAllBytes();
+        HttpServletRequest atendida = corpo != null ? new CorpoLido(request, corpo) : request;
+
+        String encaminhadoPor = request.getHeader(CABECALHO_ENCAMINHADO_POR);
+        if (encaminhadoPor != null) {
+            if (isAssinaturaValida(request, encaminhadoPor, corpo)) {
+                membros.contarRecebidaEncaminhada();
+                descontarEncaminhamento(request, encaminhadoPor);
+                filterChain.doFilter(atendida, response);
+                return;
+            }
+            log.warn("Cabeçalhos de encaminhamento sem assinatura válida em {}; tratando como requisição de cliente",
+                    request.getRequestURI());
+        }
+
+        Long pautaId = resultado.matches()
+                ? Long.valueOf(resultado.group(1) != null ? resultado.group(1) : resultado.group(2))
+                : lerPautaId(request.getContentType(), corpo);
+        MembroCluster dono = pautaId != null ? membros.donoRemoto(pautaId).orElse(null) : null;
+        if (dono == null || !encaminhar(dono, request, corpo, response)) {
+            filterChain.doFilter(atendida, response);
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    /**
+     * @return {@code false} se a dona não respondeu e a requisição deve ser atendida nesta instância.
+     */
+    private boolean encaminhar(MembroCluster dono, HttpServletRequest request, byte[] corpo,
+                               HttpServletResponse response) throws IOException {
+        String destino = caminhoComConsulta(request);
+        String no = membros.getLocal().no();
+        String recebidoEm = recebidoEm(request).toString();
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(dono.endereco() + destino))
+                .timeout(timeout)
+                .header(CABECALHO_ENCAMINHADO_POR, no)
+                .header(CABECALHO_RECEBIDO_EM, recebidoEm)
+                .header(CABECALHO_ASSINATURA, assinar(request.getMethod(), destino, no, recebidoEm, corpo));
+        copiarCabecalho(request, requisicao, HttpHeaders.ACCEPT);
+        copiarCabecalho(request, requisicao, HttpHeaders.CONTENT_TYPE);
+        if (ContextoCooperativa.atual() != null) {
+            requisicao.header(cabecalhoCooperativa, ContextoCooperativa.atual());
+        }
+        requisicao.method(request.getMethod(), corpo != null
+                ? HttpRequest.BodyPublishers.ofByteArray(corpo) : HttpRequest.BodyPublishers.noBody());
+
+        HttpResponse<byte[]> resposta;
+        try {
+            resposta = httpClient.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Encaminhamento interrompido", e);
+        } catch (IOException e) {
+            membros.contarFalhaEncaminhamento();
+            log.warn("A instância {} não respondeu ao encaminhamento de {}; atendendo nesta instância: {}", dono.no(),
+                    request.getRequestURI(), e.toString());
+            return false;
+        }
+
+        membros.contarEncaminhada();
+        response.setStatus(resposta.statusCode());
+        resposta.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+        response.setContentLength(resposta.body().length);
+        response.getOutputStream().write(resposta.body());
+        return true;
+    }
+
+    /**
+     * Recua o horário de recebimento até o informado por quem encaminhou, limitado a {@code coopvote.cluster.timeout},
+     * e apenas se quem encaminhou tem lease ativo.
+     */
+    private void descontarEncaminhamento(HttpServletRequest request, String encaminhadoPor) {
+        Object recebidoEmNanos = request.getAttribute(RecebimentoFilter.ATRIBUTO_RECEBIMENTO);
+        String informado = request.getHeader(CABECALHO_RECEBIDO_EM);
+        if (!(recebidoEmNanos instanceof Long nanos) || informado == null || !membros.isMembro(encaminhadoPor)) {
+            return;
+        }
+        try {
+            Duration espera = Duration.between(Instant.parse(informado), recebidoEm(request));
+            if (espera.isNegative()) {
+                return;
+            }
+            long descontoNanos = espera.compareTo(timeout) > 0 ? timeout.toNanos() : espera.toNanos();
+            request.setAttribute(RecebimentoFilter.ATRIBUTO_RECEBIMENTO, nanos - descontoNanos);
+        } catch (DateTimeParseException e) {
+            log.warn("Horário de recebimento inválido encaminhado pela instância {}: {}", encaminhadoPor, informado);
+        }
+    }
+
+    private boolean isAssinaturaValida(HttpServletRequest request, String encaminhadoPor, byte[] corpo) {
+        String assinatura = request.getHeader(CABECALHO_ASSINATURA);
+        String recebidoEm = request.getHeader(CABECALHO_RECEBIDO_EM);
+        if (chave == null || assinatura == null || recebidoEm == null) {
+            return false;
+        }
+        String esperada = assinar(request.getMethod(), caminhoComConsulta(request), encaminhadoPor, recebidoEm, corpo);
+        return MessageDigest.isEqual(esperada.getBytes(StandardCharsets.US_ASCII),
+                assinatura.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * HMAC dos cabeçalhos de encaminhamento junto com o método, o caminho e o corpo, para que não possam ser
+     * reaproveitados em outra requisição.
+     */
+    private String assinar(String metodo, String caminho, String no, String recebidoEm, byte[] corpo) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO_ASSINATURA);
+            mac.init(chave);
+            for (String parte : new String[]{metodo, caminho, no, recebidoEm}) {
+                mac.update(parte.getBytes(StandardCharsets.UTF_8));
+                mac.update((byte) '\n');
+            }
+            if (corpo != null) {
+                mac.update(corpo);
+            }
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Assinatura " + ALGORITMO_ASSINATURA + " indisponível", e);
+        }
+    }
+
+    private String caminhoComConsulta(HttpServletRequest request) {
+        String consulta = request.getQueryString();
+        return caminhos.getPathWithinApplication(request) + (consulta != null ? "?" + consulta : "");
+    }
+
+    private static Instant recebidoEm(HttpServletRequest request) {
+        Object recebidoEmNanos = request.getAttribute(RecebimentoFilter.ATRIBUTO_RECEBIMENTO);
+        Instant agora = Instant.now();
+        return recebidoEmNanos instanceof Long nanos
+                ? agora.minusNanos(Math.max(0, System.nanoTime() - nanos)) : agora;
+    }
+
+    /**
+     * @return O ID da pauta do voto, ou nulo se o corpo não puder ser lido; nesse caso o voto é atendido aqui e
+     * recusado pela validação de sempre.
+     */
+    private static Long lerPautaId(String contentType, byte[] corpo) {
+        try {
+            JsonNode pautaId = FormatosMensagem.mapeador(contentType).readTree(corpo).get("pautaId");
+            return pautaId != null && pautaId.canConvertToLong() ? pautaId.asLong() : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void copiarCabecalho(HttpServletRequest request, HttpRequest.Builder requisicao, String nome) {
+        String valor = request.getHeader(nome);
+        if (valor != null) {
+            requisicao.header(nome, valor);
+        }
+    }
+
+    /**
+     * Requisição com o corpo já lido para descobrir a pauta, entregue de novo ao controller.
+     */
+    private static final class CorpoLido extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoLido(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int inicio, int tamanho) {
+                    return entrada.read(destino, inicio, tamanho);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
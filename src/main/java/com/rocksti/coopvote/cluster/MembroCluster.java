@@ -0,0 +1,10 @@
+package com.rocksti.coopvote.cluster;
+
+/**
+ * Instância com lease ativo no cluster.
+ *
+ * @param no       Identificador da instância.
+ * @param endereco Endereço HTTP da instância, sem barra no final.
+ */
+public record MembroCluster(String no, String endereco) {
+}
@@ -0,0 +1,191 @@
+package com.rocksti.coopvote.cluster;
+
+import com.rocksti.coopvote.cooperativa.ContextoCooperativa;
+import com.rocksti.coopvote.cooperativa.Cooperativas;
+import com.rocksti.coopvote.dto.ClusterMetricasDto;
+import com.rocksti.coopvote.repository.MembroClusterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Participação da instância no cluster: mantém o seu lease em cada cooperativa e o anel de hash consistente montado
+ * com os leases ativos, que decide a instância dona de cada pauta.
+ * <p>
+ * A instância entra no cluster quando o servidor web começa a aceitar conexões, renova o lease a cada
+ * {@code coopvote.cluster.intervalo-renovacao} e o remove ao ser encerrada, para que as suas pautas passem às demais
+ * na próxima renovação delas. Uma instância que para sem sair deixa de ser dona quando o lease expira. Entre duas
+ * renovações, instâncias diferentes podem discordar sobre a dona de uma pauta; o {@link EncaminhamentoFilter} não
+ * encaminha de novo uma requisição encaminhada, então a discordância não forma ciclos.
+ * <p>
+ * Sem {@code coopvote.cluster.habilitado}, a instância nunca entra no cluster e é dona de todas as pautas.
+ */
+@Log4j2
+@Component
+public class MembrosCluster {
+
+    private final ClusterProperties propriedades;
+    private final Cooperativas cooperativas;
+    private final MembroClusterRepository repository;
+
+    private final Map<String, AnelConsistente> aneis = new ConcurrentHashMap<>();
+    private final LongAdder encaminhadas = new LongAdder();
+    private final LongAdder recebidasEncaminhadas = new LongAdder();
+    private final LongAdder falhasEncaminhamento = new LongAdder();
+    private volatile MembroCluster local;
+
+    public MembrosCluster(ClusterProperties propriedades, Cooperativas cooperativas,
+                          ObjectProvider<MembroClusterRepository> repository) {
+        this.propriedades = propriedades;
+        this.cooperativas = cooperativas;
+        this.repository = repository.getIfAvailable();
+        if (!propriedades.isHabilitado()) {
+            return;
+        }
+        if (this.repository == null) {
+            throw new IllegalStateException("O cluster guarda os leases no banco e requer coopvote.store.tipo=jpa");
+        }
+        if (propriedades.getIntervaloRenovacao().compareTo(propriedades.getDuracaoLease()) >= 0) {
+            throw new IllegalStateException("coopvote.cluster.intervalo-renovacao precisa ser menor que "
+                    + "coopvote.cluster.duracao-lease");
+        }
+    }
+
+    @EventListener
+    public void entrar(WebServerInitializedEvent evento) {
+        if (!propriedades.isHabilitado() || evento.getApplicationContext().getServerNamespace() != null) {
+            return;
+        }
+        String endereco = StringUtils.hasText(propriedades.getEndereco())
+                ? StringUtils.trimTrailingCharacter(propriedades.getEndereco(), '/')
+                : "http://" + host() + ":" + evento.getWebServer().getPort();
+        String no = StringUtils.hasText(propriedades.getNo()) ? propriedades.getNo() : endereco;
+        local = new MembroCluster(no, endereco);
+        cooperativas.paraCada(this::renovar);
+        log.info("Instância {} entrou no cluster com o endereço {}", no, endereco);
+    }
+
+    /**
+     * Execução periódica de {@link #renovar()}, no intervalo de {@code coopvote.cluster.intervalo-renovacao}, em
+     * cada cooperativa.
+     */
+    @Scheduled(initialDelayString = "${coopvote.cluster.intervalo-renovacao:PT5S}",
+            fixedDelayString = "${coopvote.cluster.intervalo-renovacao:PT5S}")
+    public void renovarAgendado() {
+        if (local != null) {
+            cooperativas.paraCada(this::renovar);
+        }
+    }
+
+    /**
+     * Prorroga o lease da instância na cooperativa atual e remonta o anel se as instâncias ativas mudaram. Se a
+     * renovação falhar, o anel anterior continua em uso até a próxima.
+     */
+    public void renovar() {
+        repository.renovar(local, propriedades.getDuracaoLease());
+        List<MembroCluster> ativos = repository.listarAtivos();
+        AnelConsistente atual = aneis.get(ContextoCooperativa.chave());
+        if (atual == null || !atual.getMembros().equals(ativos)) {
+            aneis.put(ContextoCooperativa.chave(), new AnelConsistente(ativos, propriedades.getNosVirtuais()));
+            log.info("Instâncias ativas no cluster{}: {}", cooperativa(),
+                    ativos.stream().map(MembroCluster::no).toList());
+        }
+    }
+
+    @PreDestroy
+    public void sair() {
+        if (local != null) {
+            cooperativas.paraCada(() -> repository.remover(local.no()));
+            log.info("Instância {} saiu do cluster", local.no());
+        }
+    }
+
+    /**
+     * @param pautaId ID da pauta.
+     * @return A instância dona da pauta na cooperativa atual, ou a própria instância enquanto ela não conhece as
+     * demais.
+     */
+    public MembroCluster dono(long pautaId) {
+        AnelConsistente anel = aneis.get(ContextoCooperativa.chave());
+        return Optional.ofNullable(anel).flatMap(encontrado -> encontrado.dono(pautaId)).orElse(local);
+    }
+
+    /**
+     * @return A instância dona da pauta, se não for esta.
+     */
+    public Optional<MembroCluster> donoRemoto(long pautaId) {
+        MembroCluster dono = dono(pautaId);
+        return dono == null || dono.equals(local) ? Optional.empty() : Optional.of(dono);
+    }
+
+    /**
+     * @param no Identificador informado por quem encaminhou uma requisição.
+     * @return {@code true} se a instância tem lease ativo na cooperativa atual.
+     */
+    public boolean isMembro(String no) {
+        AnelConsistente anel = aneis.get(ContextoCooperativa.chave());
+        return anel != null && anel.getMembros().stream().anyMatch(membro -> membro.no().equals(no));
+    }
+
+    public boolean isHabilitado() {
+        return propriedades.isHabilitado();
+    }
+
+    public MembroCluster getLocal() {
+        return local;
+    }
+
+    void contarEncaminhada() {
+        encaminhadas.increment();
+    }
+
+    void contarRecebidaEncaminhada() {
+        recebidasEncaminhadas.increment();
+    }
+
+    void contarFalhaEncaminhamento() {
+        falhasEncaminhamento.increment();
+    }
+
+    /**
+     * @return As instâncias ativas, somadas entre as cooperativas, e os contadores de encaminhamento.
+     */
+    public ClusterMetricasDto metricas() {
+        TreeSet<String> ativos = new TreeSet<>();
+        aneis.values().forEach(anel -> anel.getMembros().forEach(membro -> ativos.add(membro.no())));
+        return new ClusterMetricasDto(local != null ? local.no() : null, local != null ? local.endereco() : null,
+                List.copyOf(ativos), encaminhadas.sum(), recebidasEncaminhadas.sum(), falhasEncaminhamento.sum());
+    }
+
+    // Métodos auxiliares privados
+
+    private String host() {
+        if (StringUtils.hasText(propriedades.getHost())) {
+            return propriedades.getHost();
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Nome da máquina indisponível; configure coopvote.cluster.endereco", e);
+        }
+    }
+
+    private static String cooperativa() {
+        String atual = ContextoCooperativa.atual();
+        return atual != null ? " da cooperativa " + atual : "";
+    }
+}
@@ -0,0 +1,48 @@
+package com.rocksti.coopvote.controller;
+
+import com.rocksti.coopvote.diagnostico.GravacaoContinua;
+import com.rocksti.coopvote.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Endpoints de administração, servidos apenas na porta de administração e com o token configurado
+ * ({@link com.rocksti.coopvote.diagnostico.AdministracaoFilter}).
+ */
+@Log4j2
+@RestController
+@RequestMapping("/admin/diagnostico")
+@RequiredArgsConstructor
+public class AdministracaoController {
+
+    private static final DateTimeFormatter FORMATO_NOME_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final GravacaoContinua gravacaoContinua;
+
+    /**
+     * Copia o buffer da gravação JFR contínua, para análise no JDK Mission Control ou com {@code jfr print}.
+     *
+     * @return ResponseEntity com o arquivo {@code .jfr}.
+     * @throws NotFoundException Se a gravação contínua não está habilitada.
+     */
+    @GetMapping(value = "/gravacao", produces = "application/octet-stream")
+    public ResponseEntity<StreamingResponseBody> copiarGravacao() {
+        log.info("Recebendo requisição para copiar a gravação JFR contínua");
+        if (!gravacaoContinua.isAtiva()) {
+            throw new NotFoundException("Gravação contínua desabilitada; configure coopvote.diagnostico.gravacao-continua");
+        }
+        String arquivo = "coopvote-" + FORMATO_NOME_ARQUIVO.format(LocalDateTime.now()) + ".jfr";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+                .body(gravacaoContinua::copiar);
+    }
+}
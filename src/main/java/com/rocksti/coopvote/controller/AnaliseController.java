@@ -0,0 +1,42 @@
+package com.rocksti.coopvote.controller;
+
+import com.rocksti.coopvote.dto.ParticipacaoDto;
+import com.rocksti.coopvote.enums.Periodicidade;
+import com.rocksti.coopvote.service.ParticipacaoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Log4j2
+@RestController
+@RequestMapping("/api/v1/analises")
+@RequiredArgsConstructor
+public class AnaliseController {
+
+    private final ParticipacaoService participacaoService;
+
+    /**
+     * Retorna as estatísticas de participação das pautas por período de abertura da sessão.
+     *
+     * @param inicio        Data inicial, no formato ISO (aaaa-mm-dd).
+     * @param fim           Data final, no formato ISO (aaaa-mm-dd).
+     * @param periodicidade Tamanho dos períodos: MES, TRIMESTRE ou ANO.
+     * @return ResponseEntity com as estatísticas de cada período e do intervalo.
+     */
+    @GetMapping("/participacao")
+    public ResponseEntity<ParticipacaoDto> calcularParticipacao(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "MES") Periodicidade periodicidade) {
+        log.info("Recebendo requisição de participação de {} a {} por {}", inicio, fim, periodicidade);
+        return ResponseEntity.ok(participacaoService.calcular(inicio, fim, periodicidade, LocalDateTime.now()));
+    }
+}
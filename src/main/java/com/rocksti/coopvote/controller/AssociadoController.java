@@ -0,0 +1,39 @@
+package com.rocksti.coopvote.controller;
+
+import com.rocksti.coopvote.dto.HistoricoVotosDto;
+import com.rocksti.coopvote.service.VotoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Log4j2
+@RestController
+@RequestMapping("/api/v1/associados")
+@RequiredArgsConstructor
+public class AssociadoController {
+
+    private final VotoService votoService;
+
+    /**
+     * Lista as pautas em que o associado votou, da mais recente para a mais antiga.
+     *
+     * @param associadoId Identificador externo do associado.
+     * @param cursor      {@code proximoCursor} da página anterior; ausente na primeira página.
+     * @param limite      Quantidade de votos por página, no máximo 200.
+     * @return ResponseEntity com a página do histórico.
+     */
+    @GetMapping("/{associadoId}/votos")
+    public ResponseEntity<HistoricoVotosDto> listarVotos(@PathVariable String associadoId,
+                                                         @RequestParam(required = false) Long cursor,
+                                                         @RequestParam(defaultValue = "50") int limite) {
+        log.info("Recebendo requisição para listar votos do associado ID: {}", associadoId);
+        HistoricoVotosDto historico = votoService.listarHistorico(associadoId, cursor, limite);
+        log.info("Histórico do associado ID {} listado: {} votos", associadoId, historico.getVotos().size());
+        return ResponseEntity.ok(historico);
+    }
+}
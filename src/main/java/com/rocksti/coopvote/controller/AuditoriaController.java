@@ -0,0 +1,64 @@
+package com.rocksti.coopvote.controller;
+
+import com.rocksti.coopvote.dto.AuditoriaPautaDto;
+import com.rocksti.coopvote.dto.ProvaInclusaoDto;
+import com.rocksti.coopvote.service.AuditoriaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@Log4j2
+@RestController
+@RequestMapping("/api/v1/pautas/{pautaId}/auditoria")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class AuditoriaController {
+
+    private final AuditoriaService auditoriaService;
+
+    /**
+     * Busca a raiz do acumulador de Merkle dos votos de uma pauta.
+     *
+     * @param pautaId ID da pauta.
+     * @return ResponseEntity com a raiz, a quantidade de votos acumulados e o horário de finalização.
+     */
+    @GetMapping
+    public ResponseEntity<AuditoriaPautaDto> buscarRaiz(@PathVariable Long pautaId) {
+        log.info("Recebendo requisição para buscar a raiz dos votos da pauta ID: {}", pautaId);
+        return ResponseEntity.ok(auditoriaService.buscarRaiz(pautaId));
+    }
+
+    /**
+     * Gera a prova de inclusão do voto de um associado na raiz dos votos da pauta.
+     *
+     * @param pautaId     ID da pauta.
+     * @param associadoId Identificador do associado.
+     * @return ResponseEntity com os dados do voto, o caminho até a raiz e a raiz.
+     */
+    @GetMapping("/votos/{associadoId}")
+    public ResponseEntity<ProvaInclusaoDto> gerarProva(@PathVariable Long pautaId, @PathVariable String associadoId) {
+        log.info("Recebendo requisição para provar o voto do associado {} na pauta ID: {}", associadoId, pautaId);
+        return ResponseEntity.ok(auditoriaService.gerarProva(pautaId, associadoId));
+    }
+
+    /**
+     * Finaliza a raiz dos votos de uma pauta com a sessão encerrada, sem esperar a carência. A pauta deixa de aceitar
+     * importações de votos em papel.
+     *
+     * @param pautaId ID da pauta.
+     * @return ResponseEntity com a raiz finalizada, a quantidade de votos acumulados e o horário de finalização.
+     */
+    @PostMapping("/finalizar")
+    public ResponseEntity<AuditoriaPautaDto> finalizar(@PathVariable Long pautaId) {
+        log.info("Recebendo requisição para finalizar a auditoria da pauta ID: {}", pautaId);
+        return ResponseEntity.ok(auditoriaService.finalizar(pautaId, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.rocksti.coopvote.controller;
+
+import com.rocksti.coopvote.captura.CapturaTrafego;
+import com.rocksti.coopvote.cluster.MembrosCluster;
+import com.rocksti.coopvote.cooperativa.Cooperativas;
+import com.rocksti.coopvote.dto.CapturaMetricasDto;
+import com.rocksti.coopvote.dto.ClusterMetricasDto;
+import com.rocksti.coopvote.dto.CooperativaMetricasDto;
+import com.rocksti.coopvote.dto.OutboxMetricasDto;
+import com.rocksti.coopvote.exception.NotFoundException;
+import com.rocksti.coopvote.service.RelayEventosService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Log4j2
+@RestController
+@RequestMapping("/api/v1/diagnostico")
+@RequiredArgsConstructor
+public class DiagnosticoController {
+
+    private final Cooperativas cooperativas;
+    private final ObjectProvider<RelayEventosService> relayEventos;
+    private final MembrosCluster membrosCluster;
+    private final CapturaTrafego capturaTrafego;
+
+    /**
+     * Métricas de cada cooperativa: requisições atendidas e rejeitadas pelo limite e uso do pool de conexões.
+     *
+     * @return ResponseEntity com as métricas, vazio com o roteamento por cooperativa desabilitado.
+     */
+    @GetMapping("/cooperativas")
+    public ResponseEntity<List<CooperativaMetricasDto>> listarMetricasCooperativas() {
+        log.info("Recebendo requisição para listar as métricas das cooperativas");
+        return ResponseEntity.ok(cooperativas.metricas());
+    }
+
+    /**
+     * Métricas do relay do outbox: eventos e lotes entregues, falhas, vazão e atraso entre a gravação e a entrega.
+     *
+     * @return ResponseEntity com as métricas.
+     * @throws NotFoundException Se o outbox não está habilitado.
+     */
+    @GetMapping("/outbox")
+    public ResponseEntity<OutboxMetricasDto> buscarMetricasOutbox() {
+        log.info("Recebendo requisição para buscar as métricas do outbox");
+        RelayEventosService relay = relayEventos.getIfAvailable();
+        if (relay == null || !relay.isHabilitado()) {
+            throw new NotFoundException("Outbox desabilitado; configure coopvote.outbox.habilitado");
+        }
+        return ResponseEntity.ok(relay.metricas());
+    }
+
+    /**
+     * Participação da instância no cluster: instâncias ativas e requisições encaminhadas às donas das pautas.
+     *
+     * @return ResponseEntity com as métricas.
+     * @throws NotFoundException Se o cluster não está habilitado.
+     */
+    @GetMapping("/cluster")
+    public ResponseEntity<ClusterMetricasDto> buscarMetricasCluster() {
+        log.info("Recebendo requisição para buscar as métricas do cluster");
+        if (!membrosCluster.isHabilitado()) {
+            throw new NotFoundException("Cluster desabilitado; configure coopvote.cluster.habilitado");
+        }
+        return ResponseEntity.ok(membrosCluster.metricas());
+    }
+
+    /**
+     * Situação da captura de tráfego: arquivo, requisições capturadas e descartadas.
+     *
+     * @return ResponseEntity com as métricas.
+     * @throws NotFoundException Se a captura não está habilitada.
+     */
+    @GetMapping("/captura")
+    public ResponseEntity<CapturaMetricasDto> buscarMetricasCaptura() {
+        log.info("Recebendo requisição para buscar as métricas da captura de tráfego");
+        if (!capturaTrafego.isHabilitado()) {
+            throw new NotFoundException("Captura desabilitada; configure coopvote.captura.habilitado");
+        }
+        return ResponseEntity.ok(capturaTrafego.metricas());
+    }
+}
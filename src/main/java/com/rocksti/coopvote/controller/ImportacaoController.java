@@ -0,0 +1,96 @@
+package com.rocksti.coopvote.controller;
+
+import com.rocksti.coopvote.entity.Importacao;
+import com.rocksti.coopvote.enums.FormatoImportacao;
+import com.rocksti.coopvote.recebimento.RecebimentoFilter;
+import com.rocksti.coopvote.service.ImportacaoService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.net.URI;
+
+@Log4j2
+@RestController
+@RequestMapping("/api/v1/importacoes")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class ImportacaoController {
+
+    private final ImportacaoService importacaoService;
+
+    /**
+     * Recebe um arquivo de votos em papel e agenda a sua importação.
+     *
+     * @param pautaId         ID da pauta dos votos.
+     * @param request         Requisição com o arquivo no corpo, em CSV ou NDJSON conforme o Content-Type.
+     * @param recebidoEmNanos Instante de chegada da requisição, registrado pelo {@link RecebimentoFilter}.
+     * @return ResponseEntity com a importação criada e o URI para acompanhar o progresso.
+     * @throws IOException Se o arquivo não puder ser recebido.
+     */
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<Importacao> importarVotos(
+            @RequestParam Long pautaId,
+            HttpServletRequest request,
+            @RequestAttribute(name = RecebimentoFilter.ATRIBUTO_RECEBIMENTO, required = false) Long recebidoEmNanos)
+            throws IOException {
+        log.info("Recebendo requisição para importar votos na pauta ID: {}", pautaId);
+        FormatoImportacao formato = FormatoImportacao.doTipoConteudo(request.getContentType()).orElseThrow();
+        Importacao importacao = importacaoService.iniciar(pautaId, formato, request.getInputStream(),
+                RecebimentoFilter.horarioRecebimento(recebidoEmNanos));
+        log.info("Importação ID: {} recebida com {} bytes", importacao.getId(), importacao.getTamanhoArquivo());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/importacoes/" + importacao.getId()))
+                .body(importacao);
+    }
+
+    /**
+     * Busca o progresso de uma importação.
+     *
+     * @param importacaoId ID da importação.
+     * @return ResponseEntity com a importação.
+     */
+    @GetMapping("/{importacaoId}")
+    public ResponseEntity<Importacao> buscarImportacao(@PathVariable Long importacaoId) {
+        return ResponseEntity.ok(importacaoService.buscarPorId(importacaoId));
+    }
+
+    /**
+     * Retoma uma importação que parou por erro.
+     *
+     * @param importacaoId ID da importação.
+     * @return ResponseEntity com a importação pendente de processamento.
+     */
+    @PostMapping("/{importacaoId}/retomar")
+    public ResponseEntity<Importacao> retomarImportacao(@PathVariable Long importacaoId) {
+        log.info("Recebendo requisição para retomar a importação ID: {}", importacaoId);
+        return ResponseEntity.accepted().body(importacaoService.retomar(importacaoId));
+    }
+
+    /**
+     * Exporta as linhas rejeitadas de uma importação em CSV.
+     *
+     * @param importacaoId ID da importação.
+     * @return ResponseEntity com o relatório de rejeições dos lotes já processados.
+     */
+    @GetMapping(value = "/{importacaoId}/rejeicoes", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportarRejeicoes(@PathVariable Long importacaoId) {
+        importacaoService.buscarPorId(importacaoId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"rejeicoes-importacao-" + importacaoId + ".csv\"")
+                .body(saida -> importacaoService.exportarRejeicoes(importacaoId, saida));
+    }
+}
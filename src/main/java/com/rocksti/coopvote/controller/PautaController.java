@@ -1,10 +1,18 @@
 package com.rocksti.coopvote.controller;
 
+import com.rocksti.coopvote.dto.AberturaSessoesDto;
+import com.rocksti.coopvote.dto.BuscaPautasDto;
 import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.PautasCadastradasDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.ResultadosPautasDto;
+import com.rocksti.coopvote.dto.SessoesAbertasDto;
 import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.service.BuscaPautaService;
 import com.rocksti.coopvote.service.PautaService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -25,6 +34,7 @@ import java.util.List;
 public class PautaController {
 
     private final PautaService pautaService;
+    private final BuscaPautaService buscaPautaService;
 
     /**
      * Cadastra uma nova pauta.
@@ -43,6 +53,30 @@ public class PautaController {
                 .body(pautaCadastrada);
     }
 
+    /**
+     * Cadastra várias pautas em uma requisição, por exemplo a pauta de uma assembleia.
+     *
+     * @param pautasDto Dados das pautas, no máximo 500.
+     * @return ResponseEntity com o resultado de cada pauta, cadastrada ou rejeitada, na ordem enviada.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<PautasCadastradasDto> cadastrarPautas(@RequestBody List<PautaDto> pautasDto) {
+        log.info("Recebendo requisição para cadastrar {} pautas em lote", pautasDto.size());
+        return ResponseEntity.ok(pautaService.cadastrarPautas(pautasDto));
+    }
+
+    /**
+     * Abre ou agenda a sessão de votação de várias pautas de uma vez.
+     *
+     * @param aberturaDto IDs das pautas, no máximo 500, duração das sessões e início opcional, para agendar.
+     * @return ResponseEntity com a situação de cada pauta na ordem pedida.
+     */
+    @PostMapping("/sessoes")
+    public ResponseEntity<SessoesAbertasDto> abrirSessoes(@RequestBody AberturaSessoesDto aberturaDto) {
+        log.info("Recebendo requisição para abrir sessões em lote");
+        return ResponseEntity.ok(pautaService.abrirSessoes(aberturaDto));
+    }
+
     /**
      * Abre a sessão de votação para uma pauta específica.
      *
@@ -99,4 +133,72 @@ public class PautaController {
         log.info("Resultado da votação para a pauta ID {}: {}", pautaId, resultado);
         return ResponseEntity.ok(resultado);
     }
+
+    /**
+     * Busca pautas pela descrição, da mais para a menos relevante.
+     *
+     * @param q       Termos buscados.
+     * @param pagina  Número da página, a partir de zero.
+     * @param tamanho Pautas por página, no máximo 100.
+     * @return ResponseEntity com a página de resultados.
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<BuscaPautasDto> buscarPautas(@RequestParam String q,
+                                                       @RequestParam(defaultValue = "0") int pagina,
+                                                       @RequestParam(defaultValue = "20") int tamanho) {
+        log.info("Recebendo requisição para buscar pautas por '{}'", q);
+        return ResponseEntity.ok(buscaPautaService.buscar(q, pagina, tamanho));
+    }
+
+    /**
+     * Retorna o resultado estruturado da votação de uma pauta, com o total de cada opção na ordem das opções.
+     *
+     * @param pautaId ID da pauta.
+     * @return ResponseEntity com o resultado da votação.
+     */
+    @GetMapping("/{pautaId}/resultado")
+    public ResponseEntity<ResultadoPautaDto> buscarResultado(@PathVariable Long pautaId) {
+        log.info("Recebendo requisição para buscar o resultado da pauta ID: {}", pautaId);
+        return ResponseEntity.ok(pautaService.buscarResultado(pautaId));
+    }
+
+    /**
+     * Retorna o resultado da votação de várias pautas, até 2000 por requisição. IDs sem pauta correspondente são
+     * listados em {@code naoEncontradas}.
+     *
+     * @param ids IDs das pautas, separados por vírgula.
+     * @return ResponseEntity com os resultados na ordem pedida.
+     */
+    @GetMapping("/resultados")
+    public ResponseEntity<ResultadosPautasDto> buscarResultados(@RequestParam List<Long> ids) {
+        log.info("Recebendo requisição para buscar resultados de {} pautas", ids.size());
+        return ResponseEntity.ok(pautaService.buscarResultados(ids));
+    }
+
+    /**
+     * Variante de {@link #buscarResultados(List)} para listas de IDs longas demais para a URL.
+     *
+     * @param ids IDs das pautas.
+     * @return ResponseEntity com os resultados na ordem pedida.
+     */
+    @PostMapping("/resultados")
+    public ResponseEntity<ResultadosPautasDto> buscarResultadosPorLista(@RequestBody List<Long> ids) {
+        log.info("Recebendo requisição para buscar resultados de {} pautas", ids.size());
+        return ResponseEntity.ok(pautaService.buscarResultados(ids));
+    }
+
+    /**
+     * Exporta os votos de uma pauta em CSV.
+     *
+     * @param pautaId ID da pauta.
+     * @return ResponseEntity com o CSV dos votos, gerado à medida que é enviado.
+     */
+    @GetMapping(value = "/{pautaId}/votos/exportacao", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportarVotos(@PathVariable Long pautaId) {
+        log.info("Recebendo requisição para exportar votos da pauta ID: {}", pautaId);
+        pautaService.buscarSessaoPorId(pautaId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"votos-pauta-" + pautaId + ".csv\"")
+                .body(saida -> pautaService.exportarVotos(pautaId, saida));
+    }
 }
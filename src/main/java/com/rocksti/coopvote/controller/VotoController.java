@@ -1,13 +1,16 @@
 package com.rocksti.coopvote.controller;
 
 import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.dto.VotoResponseDto;
 import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.recebimento.RecebimentoFilter;
 import com.rocksti.coopvote.service.VotoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -23,17 +26,20 @@ public class VotoController {
     /**
      * Registra um voto em uma pauta específica.
      *
-     * @param votoDto Dados do voto a ser registrado.
+     * @param votoDto         Dados do voto a ser registrado.
+     * @param recebidoEmNanos Instante de chegada da requisição, registrado pelo {@link RecebimentoFilter}.
      * @return ResponseEntity com o voto registrado.
      */
     @PostMapping
-    public ResponseEntity<Voto> registrarVoto(@RequestBody VotoDto votoDto) {
+    public ResponseEntity<VotoResponseDto> registrarVoto(
+            @RequestBody VotoDto votoDto,
+            @RequestAttribute(name = RecebimentoFilter.ATRIBUTO_RECEBIMENTO, required = false) Long recebidoEmNanos) {
         log.info("Recebendo requisição para registrar voto: Pauta ID {}, Associado ID {}",
                 votoDto.getPautaId(), votoDto.getAssociadoId());
 
-        Voto votoRegistrado = votoService.registrarVoto(votoDto);
+        Voto votoRegistrado = votoService.registrarVoto(votoDto, RecebimentoFilter.horarioRecebimento(recebidoEmNanos));
 
         log.info("Voto registrado com sucesso: ID {}", votoRegistrado.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(votoRegistrado);
+        return ResponseEntity.status(HttpStatus.CREATED).body(VotoResponseDto.from(votoRegistrado, votoDto.getTipoVoto()));
     }
 }
@@ -0,0 +1,80 @@
+package com.rocksti.coopvote.cooperativa;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Cooperativa da thread atual, usada pelo {@link CooperativaDataSource} para escolher o banco e pelos componentes que
+ * guardam estado em memória ou em disco por pauta, cujos IDs se repetem entre cooperativas.
+ * <p>
+ * O contexto é definido pelo {@link CooperativaFilter} nas requisições e por {@link Cooperativas#paraCada(Runnable)}
+ * nas tarefas em segundo plano. Tarefas repassadas a outras threads precisam ser envolvidas com
+ * {@link #propagar(Runnable)}.
+ */
+public final class ContextoCooperativa {
+
+    private static final ThreadLocal<String> ATUAL = new ThreadLocal<>();
+
+    private ContextoCooperativa() {
+    }
+
+    /**
+     * @return O identificador da cooperativa atual, ou nulo fora de uma cooperativa ou com o roteamento desabilitado.
+     */
+    public static String atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * @return O identificador da cooperativa atual, ou vazio, para chavear estado em memória.
+     */
+    public static String chave() {
+        String atual = ATUAL.get();
+        return atual != null ? atual : "";
+    }
+
+    /**
+     * Resolve o diretório de dados da cooperativa atual dentro de um diretório base.
+     *
+     * @param diretorio Diretório base.
+     * @return O subdiretório da cooperativa, ou o próprio diretório base fora de uma cooperativa.
+     */
+    public static Path resolver(Path diretorio) {
+        String atual = ATUAL.get();
+        return atual != null ? diretorio.resolve(atual) : diretorio;
+    }
+
+    public static <T> T executar(String cooperativa, Supplier<T> tarefa) {
+        String anterior = ATUAL.get();
+        definir(cooperativa);
+        try {
+            return tarefa.get();
+        } finally {
+            definir(anterior);
+        }
+    }
+
+    public static void executar(String cooperativa, Runnable tarefa) {
+        executar(cooperativa, () -> {
+            tarefa.run();
+            return null;
+        });
+    }
+
+    /**
+     * @param tarefa Tarefa que será executada em outra thread.
+     * @return A tarefa executada na cooperativa atual, seja qual for a thread.
+     */
+    public static Runnable propagar(Runnable tarefa) {
+        String cooperativa = ATUAL.get();
+        return () -> executar(cooperativa, tarefa);
+    }
+
+    static void definir(String cooperativa) {
+        if (cooperativa == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(cooperativa);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.rocksti.coopvote.cooperativa;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.log4j.Log4j2;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cria o banco da aplicação: com {@code coopvote.cooperativas.habilitado}, um pool por cooperativa, criado a partir do
+ * shard que a hospeda; sem ele, o pool único de {@code spring.datasource.*}, como o do Spring Boot. Só há banco com
+ * {@code coopvote.store.tipo=jpa}.
+ * <p>
+ * Cada pool parte de {@code spring.datasource.hikari.*}, como o pool do banco único: os tempos, o {@code minimum-idle}
+ * e as propriedades do driver do perfil {@code producao} valem para todas as cooperativas. O endereço, as credenciais
+ * e o tamanho do pool vêm do shard e da cooperativa.
+ * <p>
+ * As migrações do Flyway são aplicadas ao banco de cada cooperativa, e as tarefas assíncronas do Spring MVC, como a
+ * exportação de votos, herdam a cooperativa da requisição.
+ */
+@Log4j2
+@Configuration(proxyBeanMethods = false)
+public class CooperativaConfig {
+
+    private static final String PREFIXO_HIKARI = "spring.datasource.hikari";
+
+    @Bean
+    @ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+    public DataSource dataSource(CooperativaProperties propriedades, Cooperativas cooperativas,
+                                 DataSourceProperties banco, Environment ambiente) {
+        if (!propriedades.isHabilitado()) {
+            HikariDataSource unico = banco.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            Binder.get(ambiente).bind(PREFIXO_HIKARI, Bindable.ofInstance(unico));
+            if (StringUtils.hasText(banco.getName())) {
+                unico.setPoolName(banco.getName());
+            }
+            return unico;
+        }
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (String id : cooperativas.ids()) {
+            CooperativaProperties.Cooperativa cooperativa = propriedades.getCooperativas().get(id);
+            CooperativaProperties.Shard shard = propriedades.getShards().get(cooperativa.getShard());
+            HikariConfig configuracao = new HikariConfig();
+            Binder.get(ambiente).bind(PREFIXO_HIKARI, Bindable.ofInstance(configuracao));
+            configuracao.setPoolName("coopvote-" + id);
+            configuracao.setJdbcUrl(shard.getUrl().replace("{cooperativa}", id));
+            configuracao.setUsername(shard.getUsuario());
+            configuracao.setPassword(shard.getSenha());
+            configuracao.setMaximumPoolSize(cooperativa.getMaximoConexoes() != null
+                    ? cooperativa.getMaximoConexoes() : shard.getMaximoConexoes());
+            HikariDataSource pool = new HikariDataSource(configuracao);
+            cooperativas.buscar(id).orElseThrow().setPool(pool);
+            pools.put(id, pool);
+            log.info("Cooperativa {} no shard {} com até {} conexões", id, cooperativa.getShard(),
+                    configuracao.getMaximumPoolSize());
+        }
+        return new CooperativaDataSource(pools);
+    }
+
+    /**
+     * Aplica as migrações a cada cooperativa. Com o Spring AOT o Flyway é criado mesmo com
+     * {@code spring.flyway.enabled=false}, por isso a propriedade também é verificada aqui; a execução de treino do
+     * AppCDS depende dela para subir o contexto sem banco.
+     */
+    @Bean
+    public FlywayMigrationStrategy migracaoPorCooperativa(Cooperativas cooperativas,
+                                                          @Value("${spring.flyway.enabled:true}") boolean habilitado) {
+        if (!habilitado) {
+            return flyway -> log.info("Migrações do Flyway desligadas por spring.flyway.enabled=false");
+        }
+        if (!cooperativas.isHabilitado()) {
+            return Flyway::migrate;
+        }
+        return flyway -> cooperativas.ids().forEach(id -> ContextoCooperativa.executar(id, flyway::migrate));
+    }
+
+    @Bean
+    public TaskDecorator propagacaoCooperativa() {
+        return ContextoCooperativa::propagar;
+    }
+}
@@ -0,0 +1,46 @@
+package com.rocksti.coopvote.cooperativa;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Map;
+
+/**
+ * Encaminha cada conexão para o pool da cooperativa do {@link ContextoCooperativa}, de modo que repositórios,
+ * transações e o JdbcTemplate funcionam sem saber da cooperativa.
+ * <p>
+ * Durante a inicialização, conexões sem cooperativa (validação do esquema pelo Hibernate) usam o pool da primeira
+ * cooperativa. Depois dela, um acesso sem cooperativa é um erro, e não uma consulta silenciosa no banco errado.
+ */
+public class CooperativaDataSource extends AbstractRoutingDataSource implements SmartInitializingSingleton, AutoCloseable {
+
+    private final Map<String, HikariDataSource> pools;
+    private volatile boolean inicializado;
+
+    CooperativaDataSource(Map<String, HikariDataSource> pools) {
+        this.pools = pools;
+        setTargetDataSources(Map.copyOf(pools));
+        setDefaultTargetDataSource(pools.values().iterator().next());
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String cooperativa = ContextoCooperativa.atual();
+        if (cooperativa == null && inicializado) {
+            throw new IllegalStateException("Acesso ao banco fora do contexto de uma cooperativa");
+        }
+        return cooperativa;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        inicializado = true;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
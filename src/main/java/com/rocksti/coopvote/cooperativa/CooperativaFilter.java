@@ -0,0 +1,140 @@
+package com.rocksti.coopvote.cooperativa;
+
+import com.rocksti.coopvote.exception.CooperativaNaoInformadaException;
+import com.rocksti.coopvote.exception.CooperativaSobrecarregadaException;
+import com.rocksti.coopvote.exception.NotFoundException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Identifica a cooperativa de cada requisição da API, pelo cabeçalho configurado ou pelo prefixo
+ * {@code /cooperativas/{id}} do caminho, e a atende no contexto dela enquanto houver vaga no seu limite de requisições
+ * simultâneas. Assim uma assembleia movimentada esgota apenas as vagas e o pool da própria cooperativa.
+ * <p>
+ * Os erros de identificação e de limite seguem pelo tratamento global de exceções, com o mesmo formato de resposta
+ * dos demais erros da API. Os endpoints de diagnóstico não pertencem a uma cooperativa. Sem
+ * {@code coopvote.cooperativas.habilitado}, o filtro não atua.
+ */
+@Log4j2
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class CooperativaFilter extends OncePerRequestFilter {
+
+    private static final Pattern PREFIXO = Pattern.compile("^/cooperativas/([^/]+)(/api/.*)$");
+    private static final String DIAGNOSTICO = "/api/v1/diagnostico/";
+
+    private final Cooperativas cooperativas;
+    private final String cabecalho;
+    private final HandlerExceptionResolver resolvedorExcecoes;
+    private final UrlPathHelper caminhos = new UrlPathHelper();
+
+    public CooperativaFilter(Cooperativas cooperativas, CooperativaProperties propriedades,
+                             @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolvedorExcecoes) {
+        this.cooperativas = cooperativas;
+        this.cabecalho = propriedades.getCabecalho();
+        this.resolvedorExcecoes = resolvedorExcecoes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!cooperativas.isHabilitado()) {
+            return true;
+        }
+        String caminho = caminhos.getPathWithinApplication(request);
+        return caminho.startsWith(DIAGNOSTICO) || !(caminho.startsWith("/api/") || caminho.startsWith("/cooperativas/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Matcher prefixo = PREFIXO.matcher(caminhos.getPathWithinApplication(request));
+        String id = prefixo.matches() ? prefixo.group(1) : request.getHeader(cabecalho);
+        Cooperativas.Estado cooperativa;
+        try {
+            cooperativa = admitir(id);
+        } catch (RuntimeException e) {
+            resolvedorExcecoes.resolveException(request, response, null, e);
+            return;
+        }
+
+        AtomicBoolean liberada = new AtomicBoolean();
+        Runnable liberar = () -> {
+            if (liberada.compareAndSet(false, true)) {
+                cooperativa.liberar();
+            }
+        };
+        ContextoCooperativa.definir(cooperativa.getId());
+        try {
+            if (prefixo.matches()) {
+                request.getRequestDispatcher(prefixo.group(2)).forward(request, response);
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            ContextoCooperativa.definir(null);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new LiberacaoAssincrona(liberar));
+            } else {
+                liberar.run();
+            }
+        }
+    }
+
+    private Cooperativas.Estado admitir(String id) {
+        if (!StringUtils.hasText(id)) {
+            throw new CooperativaNaoInformadaException("Informe a cooperativa no cabeçalho " + cabecalho
+                    + " ou no caminho /cooperativas/{id}");
+        }
+        Cooperativas.Estado cooperativa = cooperativas.buscar(id)
+                .orElseThrow(() -> new NotFoundException("Cooperativa não encontrada"));
+        if (!cooperativa.admitir()) {
+            log.warn("Limite de requisições simultâneas atingido para a cooperativa {}", id);
+            throw new CooperativaSobrecarregadaException("Limite de requisições simultâneas da cooperativa atingido");
+        }
+        return cooperativa;
+    }
+
+    /**
+     * Mantém a vaga de uma resposta assíncrona, como a exportação de votos, até que ela termine.
+     */
+    private record LiberacaoAssincrona(Runnable liberar) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.rocksti.coopvote.cooperativa;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuração das cooperativas atendidas pela instância, cada uma com seu próprio banco em um dos shards.
+ * <p>
+ * Para mover uma cooperativa de shard, copie o esquema dela para o novo servidor e altere {@code shard} na entrada da
+ * cooperativa; nenhuma alteração de código é necessária.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.cooperativas")
+public class CooperativaProperties {
+
+    /**
+     * Habilita o roteamento por cooperativa. Desabilitado, a aplicação usa um único banco em
+     * {@code spring.datasource.*}.
+     */
+    private boolean habilitado;
+
+    /**
+     * Cabeçalho HTTP que identifica a cooperativa. A cooperativa também pode vir no caminho, como em
+     * {@code /cooperativas/{id}/api/v1/pautas}.
+     */
+    private String cabecalho = "X-Cooperativa";
+
+    /**
+     * Servidores de banco, pelo nome usado em {@link Cooperativa#getShard()}.
+     */
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    /**
+     * Cooperativas atendidas, pelo identificador informado nas requisições.
+     */
+    private Map<String, Cooperativa> cooperativas = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        /**
+         * URL JDBC do banco de cada cooperativa no servidor; {@code {cooperativa}} é substituído pelo identificador,
+         * como em {@code jdbc:mysql://db1:3306/coopvote_{cooperativa}}.
+         */
+        private String url;
+
+        private String usuario;
+
+        private String senha;
+
+        /**
+         * Conexões máximas do pool de cada cooperativa neste servidor, salvo quando a cooperativa define o seu.
+         */
+        private int maximoConexoes = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Cooperativa {
+
+        /**
+         * Nome do shard que hospeda o banco da cooperativa.
+         */
+        private String shard;
+
+        /**
+         * Conexões máximas do pool da cooperativa; sem valor, vale o do shard.
+         */
+        private Integer maximoConexoes;
+
+        /**
+         * Requisições simultâneas aceitas para a cooperativa; as excedentes recebem 429.
+         */
+        private int limiteRequisicoes = 64;
+    }
+}
@@ -0,0 +1,150 @@
+package com.rocksti.coopvote.cooperativa;
+
+import com.rocksti.coopvote.dto.CooperativaMetricasDto;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cooperativas configuradas e o estado de cada uma: limite de requisições simultâneas, contadores e pool de conexões.
+ * <p>
+ * Existe também com o roteamento desabilitado, para que as tarefas em segundo plano usem
+ * {@link #paraCada(Runnable)} sem saber se há uma ou várias cooperativas.
+ */
+@Log4j2
+@Component
+public class Cooperativas {
+
+    @Getter
+    private final boolean habilitado;
+    private final Map<String, Estado> estados;
+
+    public Cooperativas(CooperativaProperties propriedades, @Value("${coopvote.store.tipo:jpa}") String tipoStore) {
+        this.habilitado = propriedades.isHabilitado();
+        Map<String, Estado> configuradas = new LinkedHashMap<>();
+        if (habilitado) {
+            if (!"jpa".equals(tipoStore)) {
+                throw new IllegalStateException("O roteamento por cooperativa exige coopvote.store.tipo=jpa");
+            }
+            propriedades.getCooperativas().forEach((id, cooperativa) -> {
+                if (!propriedades.getShards().containsKey(cooperativa.getShard())) {
+                    throw new IllegalStateException("Shard '" + cooperativa.getShard() + "' da cooperativa '" + id
+                            + "' não configurado em coopvote.cooperativas.shards");
+                }
+                configuradas.put(id, new Estado(id, cooperativa.getShard(), cooperativa.getLimiteRequisicoes()));
+            });
+            if (configuradas.isEmpty()) {
+                throw new IllegalStateException("Nenhuma cooperativa configurada em coopvote.cooperativas.cooperativas");
+            }
+        }
+        this.estados = Collections.unmodifiableMap(configuradas);
+    }
+
+    /**
+     * @return Os identificadores das cooperativas, na ordem da configuração; vazio com o roteamento desabilitado.
+     */
+    public Set<String> ids() {
+        return estados.keySet();
+    }
+
+    public Optional<Estado> buscar(String id) {
+        return Optional.ofNullable(estados.get(id));
+    }
+
+    /**
+     * Executa a tarefa no contexto de cada cooperativa, ou uma única vez com o roteamento desabilitado. A falha em
+     * uma cooperativa é registrada e não impede a execução nas demais.
+     *
+     * @param tarefa Tarefa que acessa o banco ou o estado de uma cooperativa.
+     */
+    public void paraCada(Runnable tarefa) {
+        if (!habilitado) {
+            tarefa.run();
+            return;
+        }
+        for (String id : estados.keySet()) {
+            try {
+                ContextoCooperativa.executar(id, tarefa);
+            } catch (RuntimeException e) {
+                log.error("Falha na tarefa da cooperativa {}", id, e);
+            }
+        }
+    }
+
+    /**
+     * @return As métricas de requisições e do pool de conexões de cada cooperativa.
+     */
+    public List<CooperativaMetricasDto> metricas() {
+        return estados.values().stream().map(Estado::metricas).toList();
+    }
+
+    /**
+     * Estado de uma cooperativa durante a execução.
+     */
+    public static final class Estado {
+
+        @Getter
+        private final String id;
+        @Getter
+        private final String shard;
+        private final Semaphore requisicoes;
+        private final LongAdder atendidas = new LongAdder();
+        private final LongAdder rejeitadas = new LongAdder();
+        private volatile HikariDataSource pool;
+
+        Estado(String id, String shard, int limiteRequisicoes) {
+            this.id = id;
+            this.shard = shard;
+            this.requisicoes = new Semaphore(limiteRequisicoes);
+        }
+
+        /**
+         * Reserva uma das requisições simultâneas da cooperativa, sem esperar.
+         *
+         * @return {@code false} se a cooperativa já atende o limite de requisições.
+         */
+        public boolean admitir() {
+            if (requisicoes.tryAcquire()) {
+                atendidas.increment();
+                return true;
+            }
+            rejeitadas.increment();
+            return false;
+        }
+
+        public void liberar() {
+            requisicoes.release();
+        }
+
+        void setPool(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        HikariDataSource getPool() {
+            return pool;
+        }
+
+        CooperativaMetricasDto metricas() {
+            HikariPoolMXBean conexoes = pool != null ? pool.getHikariPoolMXBean() : null;
+            return new CooperativaMetricasDto(id, shard,
+                    atendidas.sum(),
+                    rejeitadas.sum(),
+                    conexoes != null ? conexoes.getActiveConnections() : 0,
+                    conexoes != null ? conexoes.getIdleConnections() : 0,
+                    conexoes != null ? conexoes.getThreadsAwaitingConnection() : 0,
+                    pool != null ? pool.getMaximumPoolSize() : 0);
+        }
+    }
+}
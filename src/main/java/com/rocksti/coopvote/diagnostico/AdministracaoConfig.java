@@ -0,0 +1,51 @@
+package com.rocksti.coopvote.diagnostico;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Abre a porta de administração, quando configurada, como um segundo conector do Tomcat, e registra o
+ * {@link AdministracaoFilter}. Sem {@code coopvote.diagnostico.porta-administracao}, os endpoints de administração
+ * não são servidos em nenhuma porta.
+ */
+@Configuration(proxyBeanMethods = false)
+public class AdministracaoConfig {
+
+    @Bean
+    public PortaAdministracao portaAdministracao(DiagnosticoProperties propriedades) {
+        if (propriedades.getPortaAdministracao() == null) {
+            return new PortaAdministracao(null);
+        }
+        if (!StringUtils.hasText(propriedades.getTokenAdministracao())) {
+            throw new IllegalStateException(
+                    "Configure coopvote.diagnostico.token-administracao para usar a porta de administração");
+        }
+        Connector conector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+        conector.setPort(propriedades.getPortaAdministracao());
+        return new PortaAdministracao(conector);
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> conectorAdministracao(
+            PortaAdministracao porta) {
+        return fabrica -> porta.getConector().ifPresent(fabrica::addAdditionalTomcatConnectors);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdministracaoFilter> administracaoFilter(PortaAdministracao porta,
+            DiagnosticoProperties propriedades,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolvedorExcecoes) {
+        FilterRegistrationBean<AdministracaoFilter> registro = new FilterRegistrationBean<>(
+                new AdministracaoFilter(porta, propriedades.getTokenAdministracao(), resolvedorExcecoes));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+}
@@ -0,0 +1,66 @@
+package com.rocksti.coopvote.diagnostico;
+
+import com.rocksti.coopvote.exception.AcessoNegadoException;
+import com.rocksti.coopvote.exception.NotFoundException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Separa os endpoints de administração ({@code /admin/**}) da API pública: só são servidos pela porta de
+ * administração e com o token de {@code coopvote.diagnostico.token-administracao}, e a porta de administração não
+ * serve a API. Nos demais casos a resposta é 404, como se o endpoint não existisse, ou 401 sem o token correto.
+ */
+public class AdministracaoFilter extends OncePerRequestFilter {
+
+    static final String PREFIXO = "/admin/";
+    private static final String BEARER = "Bearer ";
+
+    private final PortaAdministracao porta;
+    private final byte[] token;
+    private final HandlerExceptionResolver resolvedorExcecoes;
+    private final UrlPathHelper caminhos = new UrlPathHelper();
+
+    public AdministracaoFilter(PortaAdministracao porta, String token, HandlerExceptionResolver resolvedorExcecoes) {
+        this.porta = porta;
+        this.token = token != null ? token.getBytes(StandardCharsets.UTF_8) : null;
+        this.resolvedorExcecoes = resolvedorExcecoes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean administracao = caminhos.getPathWithinApplication(request).startsWith(PREFIXO);
+        try {
+            if (administracao != porta.atende(request)) {
+                throw new NotFoundException("Recurso não encontrado");
+            }
+            if (administracao && !autorizado(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+                throw new AcessoNegadoException("Informe o token de administração no cabeçalho Authorization");
+            }
+        } catch (RuntimeException e) {
+            resolvedorExcecoes.resolveException(request, response, null, e);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Métodos auxiliares privados
+
+    private boolean autorizado(String autorizacao) {
+        if (token == null || autorizacao == null || !autorizacao.startsWith(BEARER)) {
+            return false;
+        }
+        byte[] informado = autorizacao.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(informado, token);
+    }
+}
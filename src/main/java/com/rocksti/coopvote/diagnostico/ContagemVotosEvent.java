@@ -0,0 +1,48 @@
+package com.rocksti.coopvote.diagnostico;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR da contagem dos votos de uma pauta.
+ */
+@Name("coopvote.ContagemVotos")
+@Label("Contagem de Votos")
+@Category({"CoopVote", "Votos"})
+@Description("Contagem dos votos de uma pauta")
+@Threshold("50 ms")
+@StackTrace(false)
+public final class ContagemVotosEvent extends Event {
+
+    @Label("Pauta")
+    private long pautaId;
+
+    @Label("Total de Votos")
+    private long totalVotos;
+
+    public static ContagemVotosEvent iniciar(Long pautaId) {
+        ContagemVotosEvent evento = new ContagemVotosEvent();
+        evento.pautaId = pautaId == null ? 0 : pautaId;
+        evento.begin();
+        return evento;
+    }
+
+    public void setTotalVotos(long totalVotos) {
+        this.totalVotos = totalVotos;
+    }
+
+    /**
+     * Encerra a medição e grava o evento se a duração passou do limite configurado.
+     */
+    public void encerrar() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
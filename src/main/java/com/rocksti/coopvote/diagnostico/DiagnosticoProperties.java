@@ -0,0 +1,55 @@
+package com.rocksti.coopvote.diagnostico;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuração dos eventos do JDK Flight Recorder e da gravação contínua usada em incidentes.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.diagnostico")
+public class DiagnosticoProperties {
+
+    /**
+     * Mantém uma gravação JFR com as configurações de baixo custo do JDK ({@code default.jfc}) em um buffer
+     * circular, que pode ser copiado pelo endpoint de diagnóstico.
+     */
+    private boolean gravacaoContinua;
+
+    /**
+     * Porta exclusiva dos endpoints de administração ({@code /admin/**}), como a cópia da gravação contínua. Sem ela,
+     * esses endpoints não são servidos. Não deve ser exposta fora da rede interna.
+     */
+    private Integer portaAdministracao;
+
+    /**
+     * Token exigido no cabeçalho {@code Authorization: Bearer} dos endpoints de administração; obrigatório com a
+     * porta de administração.
+     */
+    private String tokenAdministracao;
+
+    /**
+     * Idade máxima dos dados mantidos no buffer da gravação contínua.
+     */
+    private Duration idadeMaxima = Duration.ofMinutes(30);
+
+    /**
+     * Tamanho máximo em disco do buffer da gravação contínua.
+     */
+    private DataSize tamanhoMaximo = DataSize.ofMegabytes(64);
+
+    /**
+     * Duração mínima de um registro de voto para que o evento seja gravado.
+     */
+    private Duration limiteRegistroVoto = Duration.ofMillis(20);
+
+    /**
+     * Duração mínima de uma contagem de votos para que o evento seja gravado.
+     */
+    private Duration limiteContagemVotos = Duration.ofMillis(50);
+}
@@ -0,0 +1,102 @@
+package com.rocksti.coopvote.diagnostico;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Gravação JFR mantida durante toda a execução em um buffer circular limitado por idade e tamanho.
+ * <p>
+ * Usa as configurações {@code default} do JDK, de custo abaixo de 1%, e grava os eventos da aplicação apenas acima
+ * dos limites de {@link DiagnosticoProperties}. Em um incidente, o buffer é copiado com {@link #copiar(OutputStream)}
+ * sem interromper a gravação.
+ * <p>
+ * Os eventos do {@code default.jfc} com as variáveis de ambiente, as propriedades de sistema, os argumentos da JVM e
+ * as linhas de comando dos processos ficam desligados: trazem a senha do banco e os demais segredos da instância.
+ * <p>
+ * Sem {@code coopvote.diagnostico.gravacao-continua}, a gravação não é iniciada e {@link #isAtiva()} é falso.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class GravacaoContinua {
+
+    static final List<String> EVENTOS_SENSIVEIS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation", "jdk.SystemProcess");
+
+    private final DiagnosticoProperties propriedades;
+
+    private Recording gravacao;
+
+    @PostConstruct
+    public void iniciar() throws IOException, ParseException {
+        if (!propriedades.isGravacaoContinua()) {
+            return;
+        }
+        gravacao = new Recording(Configuration.getConfiguration("default"));
+        gravacao.setName("coopvote-continua");
+        gravacao.setToDisk(true);
+        gravacao.setMaxAge(propriedades.getIdadeMaxima());
+        gravacao.setMaxSize(propriedades.getTamanhoMaximo().toBytes());
+        EVENTOS_SENSIVEIS.forEach(gravacao::disable);
+        gravacao.enable(RegistroVotoEvent.class).withThreshold(propriedades.getLimiteRegistroVoto());
+        gravacao.enable(ContagemVotosEvent.class).withThreshold(propriedades.getLimiteContagemVotos());
+        gravacao.enable(RejeicaoEvent.class);
+        gravacao.start();
+        log.info("Gravação JFR contínua iniciada: idade máxima {}, tamanho máximo {}",
+                propriedades.getIdadeMaxima(), propriedades.getTamanhoMaximo());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (gravacao != null) {
+            gravacao.close();
+        }
+    }
+
+    public boolean isAtiva() {
+        return gravacao != null;
+    }
+
+    /**
+     * Copia o conteúdo atual do buffer, no formato {@code .jfr}, para a saída informada. A gravação continua ativa.
+     *
+     * @param saida Destino da cópia; não é fechado.
+     */
+    public void copiar(OutputStream saida) {
+        Path arquivo = null;
+        try {
+            arquivo = Files.createTempFile("coopvote-", ".jfr");
+            gravacao.dump(arquivo);
+            Files.copy(arquivo, saida);
+            log.info("Gravação JFR contínua copiada: {} bytes", Files.size(arquivo));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao copiar a gravação JFR", e);
+        } finally {
+            excluir(arquivo);
+        }
+    }
+
+    private static void excluir(Path arquivo) {
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível excluir a cópia temporária da gravação JFR: {}", arquivo, e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.rocksti.coopvote.diagnostico;
+
+import jakarta.servlet.ServletRequest;
+import org.apache.catalina.connector.Connector;
+
+import java.util.Optional;
+
+/**
+ * Conector do Tomcat da porta de administração, ou nenhum quando ela não está configurada.
+ */
+public final class PortaAdministracao {
+
+    private final Connector conector;
+
+    PortaAdministracao(Connector conector) {
+        this.conector = conector;
+    }
+
+    /**
+     * @return A porta em que o conector atende, inclusive quando configurada como zero; -1 sem porta de administração.
+     */
+    public int getPorta() {
+        return conector != null ? conector.getLocalPort() : -1;
+    }
+
+    Optional<Connector> getConector() {
+        return Optional.ofNullable(conector);
+    }
+
+    boolean atende(ServletRequest request) {
+        return conector != null && request.getLocalPort() == conector.getLocalPort();
+    }
+}
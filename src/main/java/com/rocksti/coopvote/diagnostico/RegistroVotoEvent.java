@@ -0,0 +1,110 @@
+package com.rocksti.coopvote.diagnostico;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de um registro de voto, com o tempo de cada etapa.
+ * <p>
+ * A consulta de elegibilidade corre em paralelo às etapas anteriores; {@code esperaElegibilidade} é só o tempo em
+ * que o registro ficou parado aguardando a resposta. Sem configuração da gravação, apenas registros acima do limite
+ * da anotação {@link Threshold} são gravados.
+ */
+@Name("coopvote.RegistroVoto")
+@Label("Registro de Voto")
+@Category({"CoopVote", "Votos"})
+@Description("Registro de um voto, com a duração de cada etapa")
+@Threshold("20 ms")
+@StackTrace(false)
+public final class RegistroVotoEvent extends Event {
+
+    @Label("Pauta")
+    private long pautaId;
+
+    @Label("Busca da Pauta")
+    @Timespan
+    private long buscaPauta;
+
+    @Label("Validação da Sessão")
+    @Timespan
+    private long validacaoSessao;
+
+    @Label("Verificação de Voto Duplicado")
+    @Timespan
+    private long verificacaoDuplicidade;
+
+    @Label("Espera pela Elegibilidade")
+    @Timespan
+    private long esperaElegibilidade;
+
+    @Label("Inserção")
+    @Timespan
+    private long insercao;
+
+    @Label("Rejeição")
+    @Description("Exceção que interrompeu o registro; ausente se o voto foi registrado")
+    private String rejeicao;
+
+    private transient long marca;
+
+    /**
+     * Inicia a medição do registro de um voto.
+     *
+     * @param pautaId ID da pauta do voto.
+     * @return O evento, a ser encerrado com {@link #encerrar()}.
+     */
+    public static RegistroVotoEvent iniciar(Long pautaId) {
+        RegistroVotoEvent evento = new RegistroVotoEvent();
+        evento.pautaId = pautaId == null ? 0 : pautaId;
+        evento.begin();
+        evento.marca = System.nanoTime();
+        return evento;
+    }
+
+    public void buscaPautaConcluida() {
+        buscaPauta = etapa();
+    }
+
+    public void validacaoSessaoConcluida() {
+        validacaoSessao = etapa();
+    }
+
+    public void verificacaoDuplicidadeConcluida() {
+        verificacaoDuplicidade = etapa();
+    }
+
+    public void esperaElegibilidadeConcluida() {
+        esperaElegibilidade = etapa();
+    }
+
+    public void insercaoConcluida() {
+        insercao = etapa();
+    }
+
+    public void rejeitado(RuntimeException excecao) {
+        rejeicao = excecao.getClass().getSimpleName();
+    }
+
+    /**
+     * Encerra a medição e grava o evento se a duração total passou do limite configurado.
+     */
+    public void encerrar() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+
+    private long etapa() {
+        long agora = System.nanoTime();
+        long duracao = agora - marca;
+        marca = agora;
+        return duracao;
+    }
+}
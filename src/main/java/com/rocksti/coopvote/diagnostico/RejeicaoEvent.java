@@ -0,0 +1,45 @@
+package com.rocksti.coopvote.diagnostico;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma requisição respondida com erro pelo tratamento global de exceções.
+ */
+@Name("coopvote.Rejeicao")
+@Label("Rejeição de Requisição")
+@Category({"CoopVote", "HTTP"})
+@Description("Requisição respondida com erro pelo tratamento global de exceções")
+@StackTrace(false)
+public final class RejeicaoEvent extends Event {
+
+    @Label("Status HTTP")
+    private int status;
+
+    @Label("Exceção")
+    private String excecao;
+
+    @Label("Método")
+    private String metodo;
+
+    @Label("Caminho")
+    private String caminho;
+
+    /**
+     * Grava o evento, se estiver habilitado na gravação em andamento.
+     */
+    public static void gravar(int status, Exception excecao, String metodo, String caminho) {
+        RejeicaoEvent evento = new RejeicaoEvent();
+        if (evento.isEnabled()) {
+            evento.status = status;
+            evento.excecao = excecao.getClass().getSimpleName();
+            evento.metodo = metodo;
+            evento.caminho = caminho;
+            evento.commit();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.rocksti.coopvote.dto;
+
+import com.rocksti.coopvote.enums.SituacaoAberturaSessao;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AberturaSessaoPautaDto {
+    private Long pautaId;
+    private SituacaoAberturaSessao situacao;
+}
@@ -0,0 +1,25 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class AberturaSessoesDto {
+    private List<Long> pautaIds;
+
+    /**
+     * Tempo de duração das sessões em minutos. Se não informado, as sessões duram um minuto.
+     */
+    private Long tempoSessaoMinutos;
+
+    /**
+     * Início das sessões, para agendar a abertura. Se não informado, as sessões começam imediatamente.
+     */
+    private LocalDateTime inicioSessao;
+}
@@ -0,0 +1,19 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raiz do acumulador de Merkle dos votos de uma pauta, em hexadecimal. Enquanto {@code finalizadoEm} for nulo a raiz
+ * muda à medida que novos votos são acumulados.
+ */
+@Getter
+@AllArgsConstructor
+public class AuditoriaPautaDto {
+    private Long pautaId;
+    private long folhas;
+    private String raiz;
+    private LocalDateTime finalizadoEm;
+}
@@ -0,0 +1,19 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página dos resultados da busca textual de pautas, da mais para a menos relevante.
+ */
+@Getter
+@AllArgsConstructor
+public class BuscaPautasDto {
+    private String consulta;
+    private long total;
+    private int pagina;
+    private int tamanho;
+    private List<PautaEncontradaDto> pautas;
+}
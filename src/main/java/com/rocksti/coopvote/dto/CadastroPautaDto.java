@@ -0,0 +1,25 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CadastroPautaDto {
+
+    /**
+     * Posição da pauta no lote enviado, a partir de zero.
+     */
+    private int indice;
+
+    /**
+     * ID da pauta cadastrada; nulo se a pauta foi rejeitada.
+     */
+    private Long pautaId;
+    private String descricao;
+
+    /**
+     * Motivo da rejeição; nulo se a pauta foi cadastrada.
+     */
+    private String erro;
+}
@@ -0,0 +1,28 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Situação da captura de tráfego da instância.
+ */
+@Getter
+@AllArgsConstructor
+public class CapturaMetricasDto {
+
+    private String arquivo;
+
+    /**
+     * {@code false} depois que o arquivo atingiu o tamanho máximo ou a gravação falhou.
+     */
+    private boolean ativa;
+
+    private long capturadas;
+
+    /**
+     * Requisições não capturadas por falta de espaço na fila ou no arquivo.
+     */
+    private long descartadas;
+
+    private long tamanhoArquivo;
+}
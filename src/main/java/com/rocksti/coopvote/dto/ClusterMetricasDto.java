@@ -0,0 +1,38 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Participação da instância no cluster e contadores de encaminhamento desde a inicialização, somados entre as
+ * cooperativas.
+ */
+@Getter
+@AllArgsConstructor
+public class ClusterMetricasDto {
+
+    private String no;
+    private String endereco;
+
+    /**
+     * Instâncias com lease ativo na última renovação.
+     */
+    private List<String> membros;
+
+    /**
+     * Requisições repassadas à instância dona da pauta.
+     */
+    private long encaminhadas;
+
+    /**
+     * Requisições recebidas de outras instâncias e atendidas nesta.
+     */
+    private long recebidasEncaminhadas;
+
+    /**
+     * Encaminhamentos sem resposta da dona, atendidos nesta instância.
+     */
+    private long falhasEncaminhamento;
+}
@@ -0,0 +1,12 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ContagemPautaDto {
+    private Long pautaId;
+    private Byte opcao;
+    private Long total;
+}
@@ -0,0 +1,29 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Métricas de uma cooperativa desde a inicialização da instância.
+ */
+@Getter
+@AllArgsConstructor
+public class CooperativaMetricasDto {
+
+    private String cooperativa;
+    private String shard;
+
+    /**
+     * Requisições admitidas e recusadas pelo limite de requisições simultâneas.
+     */
+    private long requisicoesAtendidas;
+    private long requisicoesRejeitadas;
+
+    /**
+     * Situação atual do pool de conexões da cooperativa.
+     */
+    private int conexoesAtivas;
+    private int conexoesOciosas;
+    private int threadsAguardandoConexao;
+    private int maximoConexoes;
+}
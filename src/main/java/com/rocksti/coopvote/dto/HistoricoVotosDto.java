@@ -0,0 +1,19 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página do histórico de votos de um associado, da pauta mais recente para a mais antiga. Para a próxima página,
+ * informe {@code proximoCursor} como cursor; ele é nulo quando não há mais votos. Uma página pode vir com menos
+ * votos que o limite e ainda ter cursor, quando a busca nas pautas arquivadas foi interrompida.
+ */
+@Getter
+@AllArgsConstructor
+public class HistoricoVotosDto {
+    private String associadoId;
+    private List<VotoAssociadoDto> votos;
+    private Long proximoCursor;
+}
@@ -0,0 +1,15 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Opção de voto de uma pauta, consultada sem carregar a entidade {@code Pauta}.
+ */
+@Getter
+@AllArgsConstructor
+public class OpcaoPautaDto {
+    private Long pautaId;
+    private Integer ordinal;
+    private String descricao;
+}
@@ -0,0 +1,30 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Métricas do relay do outbox desde a inicialização da instância, somadas entre as cooperativas.
+ */
+@Getter
+@AllArgsConstructor
+public class OutboxMetricasDto {
+
+    private List<String> destinos;
+    private long eventosEntregues;
+    private long lotesEntregues;
+    private long falhas;
+
+    /**
+     * Vazão da última execução do relay que entregou eventos.
+     */
+    private double eventosPorSegundo;
+
+    /**
+     * Tempo entre a gravação do evento mais antigo do último lote e a sua entrega, e o maior desses tempos.
+     */
+    private long atrasoUltimoLoteMs;
+    private long atrasoMaximoMs;
+}
@@ -0,0 +1,19 @@
+package com.rocksti.coopvote.dto;
+
+import com.rocksti.coopvote.enums.Periodicidade;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Estatísticas de participação de cada período do intervalo consultado e do intervalo inteiro. Os associados
+ * distintos do total contam uma única vez quem votou em mais de um período.
+ */
+@Getter
+@AllArgsConstructor
+public class ParticipacaoDto {
+    private Periodicidade periodicidade;
+    private List<ParticipacaoPeriodoDto> periodos;
+    private ParticipacaoPeriodoDto total;
+}
@@ -0,0 +1,41 @@
+package com.rocksti.coopvote.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Estatísticas de participação das pautas com sessão aberta em um período, ou no intervalo inteiro.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ParticipacaoPeriodoDto {
+
+    /**
+     * Primeiro dia do período e primeiro dia do período seguinte.
+     */
+    private LocalDate inicio;
+    private LocalDate fim;
+
+    private long sessoes;
+    private long votos;
+    private double mediaVotosPorSessao;
+
+    /**
+     * Fração dos votos das pautas simples que foram SIM; ausente se nenhuma pauta simples recebeu votos.
+     */
+    private Double proporcaoSim;
+
+    /**
+     * Quantidade estimada de associados distintos que votaram, com erro típico abaixo de 1%.
+     */
+    private long associadosDistintos;
+
+    /**
+     * Indica que o período terminou há mais que a carência: o resultado não muda mais e fica em cache.
+     */
+    private boolean fechado;
+}
@@ -4,9 +4,17 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 @Builder
 public class PautaDto {
     private String descricao;
+
+    /**
+     * Descrição das opções de voto, na ordem em que são apresentadas. Se não informadas, a pauta é simples, com as
+     * opções SIM e NÃO.
+     */
+    private List<String> opcoes;
 }
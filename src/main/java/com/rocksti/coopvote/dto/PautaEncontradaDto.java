@@ -0,0 +1,15 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Pauta encontrada pela busca textual, com a relevância para a consulta.
+ */
+@Getter
+@AllArgsConstructor
+public class PautaEncontradaDto {
+    private Long pautaId;
+    private String descricao;
+    private double pontuacao;
+}
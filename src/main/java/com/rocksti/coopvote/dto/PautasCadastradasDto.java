@@ -0,0 +1,18 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resultado de um cadastro de pautas em lote, com um item por pauta enviada, na mesma ordem. Pautas rejeitadas na
+ * validação não impedem o cadastro das demais.
+ */
+@Getter
+@AllArgsConstructor
+public class PautasCadastradasDto {
+    private int cadastradas;
+    private int rejeitadas;
+    private List<CadastroPautaDto> pautas;
+}
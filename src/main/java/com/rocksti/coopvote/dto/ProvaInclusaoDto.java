@@ -0,0 +1,30 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Prova de inclusão do voto de um associado na raiz do acumulador da pauta, no formato da RFC 6962. Para verificar,
+ * calcule SHA-256(0x00 || dados) e combine-o com cada hash de {@code caminho}, da folha em direção à raiz, como na
+ * seção 2.1.3.2 da RFC 9162; o resultado deve ser igual a {@code raiz}. Os hashes estão em hexadecimal.
+ */
+@Getter
+@AllArgsConstructor
+public class ProvaInclusaoDto {
+    private Long pautaId;
+    private String associadoId;
+
+    /**
+     * Representação canônica do voto: {@code pautaId|associadoId|opcao|registradoEm}.
+     */
+    private String dados;
+    private String hashFolha;
+    private long folha;
+    private long folhas;
+    private List<String> caminho;
+    private String raiz;
+    private LocalDateTime finalizadoEm;
+}
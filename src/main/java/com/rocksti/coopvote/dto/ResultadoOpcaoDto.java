@@ -0,0 +1,15 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Total de votos de uma opção no resultado de uma pauta.
+ */
+@Getter
+@AllArgsConstructor
+public class ResultadoOpcaoDto {
+    private int ordinal;
+    private String descricao;
+    private long votos;
+}
@@ -0,0 +1,37 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da votação de uma pauta, com o total de cada opção na ordem dos ordinais, inclusive as que não
+ * receberam votos.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ResultadoPautaDto {
+    private Long pautaId;
+    private String descricao;
+    private List<ResultadoOpcaoDto> opcoes;
+    private long totalVotos;
+
+    /**
+     * @param opcoes   Descrição das opções da pauta, na ordem dos ordinais.
+     * @param contagem Total de votos indexado pelo ordinal de cada opção; posições ausentes valem zero.
+     */
+    public static ResultadoPautaDto from(Long pautaId, String descricao, List<String> opcoes, long[] contagem) {
+        List<ResultadoOpcaoDto> resultados = new ArrayList<>(opcoes.size());
+        long total = 0;
+        for (int ordinal = 0; ordinal < opcoes.size(); ordinal++) {
+            long votos = ordinal < contagem.length ? contagem[ordinal] : 0;
+            resultados.add(new ResultadoOpcaoDto(ordinal, opcoes.get(ordinal), votos));
+            total += votos;
+        }
+        return new ResultadoPautaDto(pautaId, descricao, resultados, total);
+    }
+}
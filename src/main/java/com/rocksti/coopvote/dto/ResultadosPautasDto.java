@@ -0,0 +1,17 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resultados de várias pautas na ordem em que foram pedidas. IDs sem pauta correspondente são listados à parte em
+ * vez de interromper a consulta.
+ */
+@Getter
+@AllArgsConstructor
+public class ResultadosPautasDto {
+    private List<ResultadoPautaDto> resultados;
+    private List<Long> naoEncontradas;
+}
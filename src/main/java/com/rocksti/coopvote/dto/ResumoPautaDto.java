@@ -0,0 +1,15 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Identificação de uma pauta para a consulta de resultados em lote, sem carregar a entidade {@code Pauta}.
+ */
+@Getter
+@AllArgsConstructor
+public class ResumoPautaDto {
+    private Long pautaId;
+    private String descricao;
+    private boolean arquivada;
+}
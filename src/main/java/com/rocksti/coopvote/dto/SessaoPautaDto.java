@@ -0,0 +1,40 @@
+package com.rocksti.coopvote.dto;
+
+import com.rocksti.coopvote.enums.TipoVoto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dados da sessão de votação de uma pauta, consultados sem carregar a entidade {@code Pauta}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SessaoPautaDto {
+    private Long pautaId;
+    private LocalDateTime inicioSessao;
+    private Long tempoSessaoMinutos;
+
+    /**
+     * Quantidade de opções de voto da pauta; os ordinais válidos vão de zero a quantidadeOpcoes - 1.
+     */
+    @Builder.Default
+    private int quantidadeOpcoes = TipoVoto.values().length;
+
+    /**
+     * True se as opções da pauta são as de {@link TipoVoto}, na ordem dos códigos, e a pauta aceita votos por
+     * {@code tipoVoto}. Duas opções com outras descrições não bastam.
+     */
+    @Builder.Default
+    private boolean simples = true;
+
+    /**
+     * Sessão de uma pauta simples, com as opções de {@link TipoVoto}.
+     */
+    public SessaoPautaDto(Long pautaId, LocalDateTime inicioSessao, Long tempoSessaoMinutos) {
+        this(pautaId, inicioSessao, tempoSessaoMinutos, TipoVoto.values().length, true);
+    }
+}
@@ -0,0 +1,18 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resultado de uma abertura de sessões em lote, com a situação de cada pauta na ordem em que foram pedidas.
+ */
+@Getter
+@AllArgsConstructor
+public class SessoesAbertasDto {
+    private LocalDateTime inicioSessao;
+    private long tempoSessaoMinutos;
+    private List<AberturaSessaoPautaDto> pautas;
+}
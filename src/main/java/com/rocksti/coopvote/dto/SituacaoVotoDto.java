@@ -0,0 +1,23 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sessão de votação de uma pauta, se o associado já votou nela e se a pauta já foi arquivada, caso em que o voto é
+ * procurado no arquivo da pauta. Lidos juntos para que o registro do voto faça uma única consulta antes da gravação.
+ */
+@Getter
+@AllArgsConstructor
+public class SituacaoVotoDto {
+    private SessaoPautaDto sessao;
+    private boolean votou;
+    private boolean arquivada;
+
+    public SituacaoVotoDto(Long pautaId, LocalDateTime inicioSessao, Long tempoSessaoMinutos, int quantidadeOpcoes,
+                           boolean simples, boolean votou, boolean arquivada) {
+        this(new SessaoPautaDto(pautaId, inicioSessao, tempoSessaoMinutos, quantidadeOpcoes, simples), votou, arquivada);
+    }
+}
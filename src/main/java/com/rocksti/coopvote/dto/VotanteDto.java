@@ -0,0 +1,14 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Associado que votou em uma pauta, sem a opção escolhida.
+ */
+@Getter
+@AllArgsConstructor
+public class VotanteDto {
+    private Long pautaId;
+    private String associadoId;
+}
@@ -0,0 +1,31 @@
+package com.rocksti.coopvote.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Voto de um associado no histórico, com a descrição da pauta e da opção escolhida. O horário de registro não é
+ * guardado nos arquivos de votos e fica ausente nas pautas arquivadas.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VotoAssociadoDto {
+    private Long pautaId;
+    private String descricaoPauta;
+    private int opcao;
+    private String descricaoOpcao;
+    private LocalDateTime registradoEm;
+
+    /**
+     * Usado pela consulta JPQL, que não resolve a descrição da opção.
+     */
+    public VotoAssociadoDto(Long pautaId, String descricaoPauta, Byte opcao, LocalDateTime registradoEm) {
+        this(pautaId, descricaoPauta, opcao, null, registradoEm);
+    }
+}
@@ -11,5 +11,14 @@ import lombok.Setter;
 public class VotoDto {
     private Long pautaId;
     private String associadoId;
+
+    /**
+     * Opção votada em uma pauta simples. Equivale a informar o código do tipo em {@link #opcao}.
+     */
     private TipoVoto tipoVoto;
+
+    /**
+     * Ordinal da opção votada, entre as opções da pauta.
+     */
+    private Integer opcao;
 }
@@ -0,0 +1,11 @@
+package com.rocksti.coopvote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VotoExportacaoDto {
+    private String associadoId;
+    private Byte opcao;
+}
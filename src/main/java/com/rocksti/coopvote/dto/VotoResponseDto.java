@@ -0,0 +1,36 @@
+package com.rocksti.coopvote.dto;
+
+import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.enums.TipoVoto;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+public class VotoResponseDto {
+    private Long id;
+    private Long pautaId;
+    private String associadoId;
+    private TipoVoto tipoVoto;
+    private Integer opcao;
+    private LocalDateTime registradoEm;
+
+    /**
+     * @param voto     Voto registrado.
+     * @param tipoVoto Tipo informado no voto, ou nulo se o voto foi feito pelo ordinal da opção.
+     */
+    public static VotoResponseDto from(Voto voto, TipoVoto tipoVoto) {
+        return VotoResponseDto.builder()
+                .id(voto.getId())
+                .pautaId(voto.getPauta().getId())
+                .associadoId(voto.getAssociadoId())
+                .tipoVoto(tipoVoto)
+                .opcao((int) voto.getOpcao())
+                .registradoEm(voto.getRegistradoEm())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.rocksti.coopvote.elegibilidade;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker da consulta de elegibilidade.
+ * <p>
+ * Fechado, deixa passar todas as requisições. Após {@code falhasParaAbrir} falhas consecutivas abre e recusa
+ * requisições sem chamar o serviço. Passado {@code tempoAberto}, deixa passar uma única requisição de teste: se ela
+ * der certo o circuito fecha, se falhar volta a abrir.
+ */
+final class Disjuntor {
+
+    enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private final int falhasParaAbrir;
+    private final long tempoAbertoNanos;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasConsecutivas;
+    private long abertoDesde;
+
+    Disjuntor(int falhasParaAbrir, Duration tempoAberto) {
+        this.falhasParaAbrir = Math.max(1, falhasParaAbrir);
+        this.tempoAbertoNanos = tempoAberto.toNanos();
+    }
+
+    /**
+     * Indica se uma requisição pode ser feita agora. No estado meio aberto, apenas a primeira chamada recebe
+     * permissão até que o resultado dela seja registrado.
+     */
+    synchronized boolean permitirRequisicao() {
+        return switch (estado) {
+            case FECHADO -> true;
+            case MEIO_ABERTO -> false;
+            case ABERTO -> {
+                if (System.nanoTime() - abertoDesde < tempoAbertoNanos) {
+                    yield false;
+                }
+                estado = Estado.MEIO_ABERTO;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Indica se as consultas devem falhar imediatamente, sem entrar na fila, sem consumir a tentativa do estado
+     * meio aberto.
+     */
+    synchronized boolean recusandoRequisicoes() {
+        return estado == Estado.MEIO_ABERTO
+                || estado == Estado.ABERTO && System.nanoTime() - abertoDesde < tempoAbertoNanos;
+    }
+
+    synchronized void registrarSucesso() {
+        estado = Estado.FECHADO;
+        falhasConsecutivas = 0;
+    }
+
+    synchronized void registrarFalha() {
+        falhasConsecutivas++;
+        if (estado == Estado.MEIO_ABERTO || falhasConsecutivas >= falhasParaAbrir) {
+            estado = Estado.ABERTO;
+            abertoDesde = System.nanoTime();
+        }
+    }
+
+    synchronized Estado getEstado() {
+        return estado;
+    }
+}
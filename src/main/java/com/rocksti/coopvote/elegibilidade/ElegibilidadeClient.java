@@ -0,0 +1,23 @@
+package com.rocksti.coopvote.elegibilidade;
+
+import com.rocksti.coopvote.exception.ElegibilidadeIndisponivelException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Consulta ao serviço de cadastro de associados que informa se um associado pode votar.
+ * <p>
+ * A consulta é assíncrona para que o registro do voto possa validar a sessão e o voto duplicado enquanto aguarda a
+ * resposta. O futuro retornado sempre termina dentro do tempo limite configurado: com {@code true} ou {@code false},
+ * ou com {@link ElegibilidadeIndisponivelException} quando o serviço está indisponível e a política é negar.
+ */
+public interface ElegibilidadeClient {
+
+    /**
+     * Verifica se o associado pode votar.
+     *
+     * @param associadoId CPF do associado.
+     * @return Futuro com {@code true} se o associado pode votar.
+     */
+    CompletableFuture<Boolean> verificar(String associadoId);
+}
@@ -0,0 +1,25 @@
+package com.rocksti.coopvote.elegibilidade;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Escolhe a implementação de {@link ElegibilidadeClient}: HTTP quando {@code coopvote.elegibilidade.url} está
+ * definida, caso contrário todos os associados podem votar.
+ */
+@Log4j2
+@Configuration
+public class ElegibilidadeConfig {
+
+    @Bean
+    public ElegibilidadeClient elegibilidadeClient(ElegibilidadeProperties propriedades, ObjectMapper objectMapper) {
+        if (propriedades.getUrl() == null) {
+            log.info("Consulta de elegibilidade desativada: todos os associados podem votar");
+            return new PermitirTodosElegibilidadeClient();
+        }
+        log.info("Consulta de elegibilidade em {}", propriedades.getUrl());
+        return new HttpElegibilidadeClient(propriedades, objectMapper);
+    }
+}
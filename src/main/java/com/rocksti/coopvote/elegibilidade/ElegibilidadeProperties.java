@@ -0,0 +1,79 @@
+package com.rocksti.coopvote.elegibilidade;
+
+import com.rocksti.coopvote.exception.ElegibilidadeIndisponivelException;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configuração da consulta de elegibilidade dos associados.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.elegibilidade")
+public class ElegibilidadeProperties {
+
+    /**
+     * Endereço do serviço de cadastro de associados. Sem endereço, todos os associados podem votar.
+     */
+    private URI url;
+
+    /**
+     * Tempo máximo de espera pela resposta de uma consulta.
+     */
+    private Duration timeout = Duration.ofMillis(500);
+
+    /**
+     * Tempo que um associado elegível permanece em cache.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Tempo que um associado inelegível permanece em cache.
+     */
+    private Duration ttlNegativo = Duration.ofSeconds(30);
+
+    /**
+     * Quantidade máxima de associados em cache.
+     */
+    private int tamanhoMaximoCache = 100_000;
+
+    /**
+     * Quantidade máxima de associados consultados em uma única requisição.
+     */
+    private int tamanhoLote = 50;
+
+    /**
+     * Tempo que uma consulta aguarda outras para formar um lote.
+     */
+    private Duration janelaLote = Duration.ofMillis(2);
+
+    /**
+     * Falhas consecutivas que abrem o circuito.
+     */
+    private int falhasParaAbrir = 5;
+
+    /**
+     * Tempo que o circuito fica aberto antes de uma nova tentativa.
+     */
+    private Duration tempoAberto = Duration.ofSeconds(30);
+
+    /**
+     * O que fazer quando o serviço não responde ou o circuito está aberto.
+     */
+    private PoliticaFalha politicaFalha = PoliticaFalha.PERMITIR;
+
+    public enum PoliticaFalha {
+        /**
+         * Aceita o voto como se o associado fosse elegível.
+         */
+        PERMITIR,
+        /**
+         * Recusa o voto com {@link ElegibilidadeIndisponivelException}.
+         */
+        NEGAR
+    }
+}
@@ -0,0 +1,256 @@
+package com.rocksti.coopvote.elegibilidade;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.coopvote.exception.ElegibilidadeIndisponivelException;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta o serviço de cadastro de associados por HTTP sem bloquear a thread que registra o voto.
+ * <p>
+ * O serviço recebe {@code POST} no endereço configurado com uma lista JSON de CPFs e responde com um objeto que
+ * associa cada CPF a {@code true} (pode votar) ou {@code false}. CPFs ausentes na resposta são considerados
+ * inelegíveis.
+ * <ul>
+ *     <li>Cache: cada resposta fica em memória por {@code ttl} (elegível) ou {@code ttlNegativo} (inelegível).
+ *     Guarda até {@code tamanhoMaximoCache} associados; além disso, o consultado há mais tempo sai do cache.
+ *     Falhas não entram no cache.</li>
+ *     <li>Lotes: consultas que chegam dentro de {@code janelaLote} seguem em uma única requisição de até
+ *     {@code tamanhoLote} CPFs, e consultas simultâneas do mesmo CPF compartilham a mesma requisição.</li>
+ *     <li>Tempo limite: cada requisição termina em no máximo {@code timeout}.</li>
+ *     <li>Circuit breaker: após falhas consecutivas as consultas falham imediatamente até uma nova tentativa. Em
+ *     qualquer falha vale a {@link ElegibilidadeProperties.PoliticaFalha política de falha}.</li>
+ * </ul>
+ */
+@Log4j2
+public class HttpElegibilidadeClient implements ElegibilidadeClient, AutoCloseable {
+
+    private static final TypeReference<Map<String, Boolean>> TIPO_RESPOSTA = new TypeReference<>() {
+    };
+
+    private final URI url;
+    private final Duration timeout;
+    private final long ttlNanos;
+    private final long ttlNegativoNanos;
+    private final int tamanhoLote;
+    private final Duration janelaLote;
+    private final ElegibilidadeProperties.PoliticaFalha politicaFalha;
+    private final ObjectMapper objectMapper;
+    private final Disjuntor disjuntor;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService agendador;
+
+    private final Map<String, EntradaCache> cache;
+    private final Map<String, CompletableFuture<Boolean>> emAndamento = new ConcurrentHashMap<>();
+
+    private final Object travaLote = new Object();
+    private List<String> loteAtual = new ArrayList<>();
+    private ScheduledFuture<?> envioAgendado;
+
+    public HttpElegibilidadeClient(ElegibilidadeProperties propriedades, ObjectMapper objectMapper) {
+        this.url = propriedades.getUrl();
+        this.timeout = propriedades.getTimeout();
+        this.ttlNanos = propriedades.getTtl().toNanos();
+        this.ttlNegativoNanos = propriedades.getTtlNegativo().toNanos();
+        int tamanhoMaximoCache = propriedades.getTamanhoMaximoCache();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EntradaCache> maisAntiga) {
+                return size() > tamanhoMaximoCache;
+            }
+        };
+        this.tamanhoLote = Math.max(1, propriedades.getTamanhoLote());
+        this.janelaLote = propriedades.getJanelaLote();
+        this.politicaFalha = propriedades.getPoliticaFalha();
+        this.objectMapper = objectMapper;
+        this.disjuntor = new Disjuntor(propriedades.getFalhasParaAbrir(), propriedades.getTempoAberto());
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "coopvote-elegibilidade");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> verificar(String associadoId) {
+        synchronized (cache) {
+            EntradaCache entrada = cache.get(associadoId);
+            if (entrada != null) {
+                if (entrada.expiraEm() - System.nanoTime() > 0) {
+                    return CompletableFuture.completedFuture(entrada.elegivel());
+                }
+                cache.remove(associadoId);
+            }
+        }
+        return consultar(associadoId).exceptionallyCompose(this::aplicarPoliticaFalha);
+    }
+
+    Disjuntor.Estado getEstadoCircuito() {
+        return disjuntor.getEstado();
+    }
+
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+        httpClient.shutdownNow();
+        emAndamento.forEach((associadoId, resultado) ->
+                resultado.completeExceptionally(new ElegibilidadeIndisponivelException("Consulta de elegibilidade encerrada")));
+    }
+
+    private CompletableFuture<Boolean> consultar(String associadoId) {
+        CompletableFuture<Boolean> novo = new CompletableFuture<>();
+        CompletableFuture<Boolean> existente = emAndamento.putIfAbsent(associadoId, novo);
+        if (existente != null) {
+            return existente;
+        }
+        if (disjuntor.recusandoRequisicoes()) {
+            emAndamento.remove(associadoId, novo);
+            novo.completeExceptionally(new ElegibilidadeIndisponivelException("Circuito da consulta de elegibilidade aberto"));
+            return novo;
+        }
+        adicionarAoLote(associadoId);
+        return novo;
+    }
+
+    private void adicionarAoLote(String associadoId) {
+        List<String> completo = null;
+        synchronized (travaLote) {
+            loteAtual.add(associadoId);
+            if (loteAtual.size() >= tamanhoLote) {
+                completo = retirarLote();
+            } else if (loteAtual.size() == 1) {
+                envioAgendado = agendador.schedule(this::enviarLotePendente, janelaLote.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (completo != null) {
+            enviar(completo);
+        }
+    }
+
+    private void enviarLotePendente() {
+        List<String> pendente;
+        synchronized (travaLote) {
+            if (loteAtual.isEmpty()) {
+                return;
+            }
+            pendente = retirarLote();
+        }
+        enviar(pendente);
+    }
+
+    private List<String> retirarLote() {
+        List<String> lote = loteAtual;
+        loteAtual = new ArrayList<>(tamanhoLote);
+        if (envioAgendado != null) {
+            envioAgendado.cancel(false);
+            envioAgendado = null;
+        }
+        return lote;
+    }
+
+    private void enviar(List<String> lote) {
+        if (!disjuntor.permitirRequisicao()) {
+            falhar(lote, new ElegibilidadeIndisponivelException("Circuito da consulta de elegibilidade aberto"));
+            return;
+        }
+        HttpRequest requisicao;
+        try {
+            requisicao = HttpRequest.newBuilder(url)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(lote)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            falhar(lote, e);
+            return;
+        }
+        httpClient.sendAsync(requisicao, HttpResponse.BodyHandlers.ofByteArray())
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((resposta, erro) -> {
+                    if (erro != null) {
+                        registrarFalha(lote, erro);
+                    } else if (resposta.statusCode() != 200) {
+                        registrarFalha(lote, new IOException("Serviço de elegibilidade respondeu " + resposta.statusCode()));
+                    } else {
+                        concluir(lote, resposta.body());
+                    }
+                });
+    }
+
+    private void concluir(List<String> lote, byte[] corpo) {
+        Map<String, Boolean> resultado;
+        try {
+            resultado = objectMapper.readValue(corpo, TIPO_RESPOSTA);
+        } catch (IOException e) {
+            registrarFalha(lote, e);
+            return;
+        }
+        disjuntor.registrarSucesso();
+        long agora = System.nanoTime();
+        for (String associadoId : lote) {
+            boolean elegivel = Boolean.TRUE.equals(resultado.get(associadoId));
+            guardarNoCache(associadoId, new EntradaCache(elegivel, agora + (elegivel ? ttlNanos : ttlNegativoNanos)));
+            CompletableFuture<Boolean> pendente = emAndamento.remove(associadoId);
+            if (pendente != null) {
+                pendente.complete(elegivel);
+            }
+        }
+    }
+
+    private void registrarFalha(List<String> lote, Throwable erro) {
+        disjuntor.registrarFalha();
+        log.warn("Falha ao consultar a elegibilidade de {} associados: {}", lote.size(), erro.toString());
+        falhar(lote, erro);
+    }
+
+    private void falhar(List<String> lote, Throwable erro) {
+        for (String associadoId : lote) {
+            CompletableFuture<Boolean> pendente = emAndamento.remove(associadoId);
+            if (pendente != null) {
+                pendente.completeExceptionally(erro);
+            }
+        }
+    }
+
+    private void guardarNoCache(String associadoId, EntradaCache entrada) {
+        synchronized (cache) {
+            cache.put(associadoId, entrada);
+        }
+    }
+
+    private CompletionStage<Boolean> aplicarPoliticaFalha(Throwable falha) {
+        if (politicaFalha == ElegibilidadeProperties.PoliticaFalha.PERMITIR) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (falha instanceof CompletionException && falha.getCause() != null) {
+            falha = falha.getCause();
+        }
+        return CompletableFuture.failedFuture(falha instanceof ElegibilidadeIndisponivelException
+                ? falha
+                : new ElegibilidadeIndisponivelException("Serviço de elegibilidade indisponível", falha));
+    }
+
+    private record EntradaCache(boolean elegivel, long expiraEm) {
+    }
+}
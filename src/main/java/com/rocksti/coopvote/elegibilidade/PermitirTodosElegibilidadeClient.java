@@ -0,0 +1,16 @@
+package com.rocksti.coopvote.elegibilidade;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementação usada quando nenhum serviço de elegibilidade está configurado: todos os associados podem votar.
+ */
+public class PermitirTodosElegibilidadeClient implements ElegibilidadeClient {
+
+    private static final CompletableFuture<Boolean> ELEGIVEL = CompletableFuture.completedFuture(true);
+
+    @Override
+    public CompletableFuture<Boolean> verificar(String associadoId) {
+        return ELEGIVEL;
+    }
+}
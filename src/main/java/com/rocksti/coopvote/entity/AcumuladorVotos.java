@@ -0,0 +1,41 @@
+package com.rocksti.coopvote.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado do acumulador de Merkle dos votos de uma pauta: quantidade de votos acumulados e a raiz da árvore formada
+ * por eles. Os nós da árvore ficam na tabela {@code no_merkle}.
+ */
+@Entity
+@Table
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class AcumuladorVotos {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private Long pautaId;
+
+    private int folhas;
+
+    private byte[] raiz;
+
+    /**
+     * Horário em que a raiz foi finalizada, depois do fim da sessão; a partir daí a pauta não recebe mais votos.
+     */
+    private LocalDateTime finalizadoEm;
+}
@@ -0,0 +1,74 @@
+package com.rocksti.coopvote.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rocksti.coopvote.enums.FormatoImportacao;
+import com.rocksti.coopvote.enums.SituacaoImportacao;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Importação de um arquivo de votos em papel para uma pauta. Os contadores refletem apenas os lotes já gravados.
+ */
+@Entity
+@Table
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class Importacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    private Long pautaId;
+
+    @Enumerated(EnumType.STRING)
+    private FormatoImportacao formato;
+
+    @Enumerated(EnumType.STRING)
+    private SituacaoImportacao situacao;
+
+    /**
+     * Horário em que o arquivo começou a ser recebido, gravado como horário de registro dos votos importados.
+     */
+    private LocalDateTime criadaEm;
+
+    private long tamanhoArquivo;
+
+    /**
+     * Posição no arquivo do início da primeira linha ainda não processada.
+     */
+    private long bytesProcessados;
+
+    private long linhasProcessadas;
+
+    private long votosAceitos;
+
+    private long votosRejeitados;
+
+    /**
+     * Tamanho do relatório de rejeições correspondente aos lotes gravados; o excedente de um lote desfeito é
+     * descartado na retomada.
+     */
+    @JsonIgnore
+    private long tamanhoRelatorio;
+
+    private String mensagemErro;
+}
@@ -1,10 +1,17 @@
 package com.rocksti.coopvote.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rocksti.coopvote.enums.TipoVoto;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +21,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -33,10 +41,30 @@ public class Pauta {
 
     private String descricao;
 
+    /**
+     * Descrição das opções de voto; a posição de cada opção na lista é o ordinal gravado nos votos.
+     */
+    @ElementCollection
+    @CollectionTable(name = "opcao_pauta", joinColumns = @JoinColumn(name = "pauta_id"))
+    @OrderColumn(name = "ordinal")
+    @Column(name = "descricao")
+    @Builder.Default
+    private List<String> opcoes = new ArrayList<>(TipoVoto.opcoesPadrao());
+
+    /**
+     * Fora da serialização: carregaria todos os votos da pauta a cada resposta. Os votos são consultados pelo
+     * resultado, pela exportação e pelo histórico do associado.
+     */
     @OneToMany(mappedBy = "pauta")
+    @JsonIgnore
     private List<Voto> votos;
 
     private LocalDateTime inicioSessao;
 
     private Long tempoSessaoMinutos;
+
+    /**
+     * Indica que os votos da pauta foram movidos para o arquivo da pauta e não estão mais na tabela de votos.
+     */
+    private boolean arquivada;
 }
@@ -1,10 +1,11 @@
 package com.rocksti.coopvote.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
-import com.rocksti.coopvote.enums.TipoVoto;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -18,6 +19,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table
 @Getter
@@ -33,13 +36,36 @@ public class Voto {
     @EqualsAndHashCode.Include
     private Long id;
 
-    private String associadoId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "associado_id")
+    @JsonIgnore
+    private Associado associado;
 
-    @Enumerated(EnumType.STRING)
-    private TipoVoto tipoVoto;
+    /**
+     * Ordinal da opção escolhida entre as opções da pauta.
+     */
+    @Column(name = "tipo_voto")
+    private byte opcao;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pauta_id")
     @JsonBackReference
     private Pauta pauta;
+
+    private LocalDateTime registradoEm;
+
+    /**
+     * Identificador externo do associado, exposto no lugar da chave do dicionário.
+     *
+     * @return O identificador do associado ou null se o voto não tiver associado.
+     */
+    @JsonProperty("associadoId")
+    public String getAssociadoId() {
+        return associado != null ? associado.getIdentificador() : null;
+    }
+
+    @JsonProperty("associadoId")
+    public void setAssociadoId(String associadoId) {
+        this.associado = Associado.builder().identificador(associadoId).build();
+    }
 }
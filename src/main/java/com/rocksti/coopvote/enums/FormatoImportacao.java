@@ -0,0 +1,41 @@
+package com.rocksti.coopvote.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Formatos aceitos na importação de votos, identificados pelo tipo de conteúdo da requisição.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum FormatoImportacao {
+    /**
+     * Uma linha {@code associadoId,opcao} por voto, com cabeçalho opcional, no mesmo formato da exportação.
+     */
+    CSV("text/csv"),
+
+    /**
+     * Um objeto JSON por linha, com {@code associadoId} e {@code opcao} ou {@code tipoVoto}.
+     */
+    NDJSON("application/x-ndjson");
+
+    private final String tipoConteudo;
+
+    /**
+     * @param tipoConteudo Valor do cabeçalho Content-Type, com ou sem parâmetros.
+     * @return O formato correspondente, ou vazio se o tipo não for aceito.
+     */
+    public static Optional<FormatoImportacao> doTipoConteudo(String tipoConteudo) {
+        if (tipoConteudo == null) {
+            return Optional.empty();
+        }
+        int fimTipo = tipoConteudo.indexOf(';');
+        String tipo = (fimTipo < 0 ? tipoConteudo : tipoConteudo.substring(0, fimTipo)).strip();
+        return Arrays.stream(values())
+                .filter(formato -> formato.tipoConteudo.equalsIgnoreCase(tipo))
+                .findFirst();
+    }
+}
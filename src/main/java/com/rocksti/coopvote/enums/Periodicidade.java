@@ -0,0 +1,36 @@
+package com.rocksti.coopvote.enums;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Tamanho dos períodos em que as estatísticas de participação são agrupadas.
+ */
+public enum Periodicidade {
+    MES(1),
+    TRIMESTRE(3),
+    ANO(12);
+
+    private final int meses;
+
+    Periodicidade(int meses) {
+        this.meses = meses;
+    }
+
+    /**
+     * @param data Data qualquer.
+     * @return O primeiro dia do período que contém a data.
+     */
+    public LocalDate inicioDoPeriodo(LocalDate data) {
+        LocalDate inicioDoMes = data.with(TemporalAdjusters.firstDayOfMonth());
+        return inicioDoMes.minusMonths((inicioDoMes.getMonthValue() - 1) % meses);
+    }
+
+    /**
+     * @param inicio Primeiro dia de um período.
+     * @return O primeiro dia do período seguinte.
+     */
+    public LocalDate proximoPeriodo(LocalDate inicio) {
+        return inicio.plusMonths(meses);
+    }
+}
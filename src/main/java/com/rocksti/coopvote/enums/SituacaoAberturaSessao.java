@@ -0,0 +1,22 @@
+package com.rocksti.coopvote.enums;
+
+/**
+ * Resultado da abertura da sessão de cada pauta em uma abertura em lote.
+ */
+public enum SituacaoAberturaSessao {
+    /**
+     * Sessão aberta por esta requisição, com início imediato.
+     */
+    ABERTA,
+
+    /**
+     * Sessão aberta por esta requisição, com início futuro; a pauta só recebe votos a partir dele.
+     */
+    AGENDADA,
+
+    /**
+     * A sessão já havia sido aberta ou agendada, inclusive por uma requisição concorrente, e não foi alterada.
+     */
+    JA_ABERTA,
+    NAO_ENCONTRADA
+}
@@ -0,0 +1,24 @@
+package com.rocksti.coopvote.enums;
+
+/**
+ * Etapas de uma importação de votos.
+ */
+public enum SituacaoImportacao {
+    /**
+     * O arquivo ainda está sendo recebido. Uma importação que ficou nesta situação após uma queda precisa ser
+     * enviada de novo.
+     */
+    RECEBENDO,
+
+    /**
+     * Arquivo recebido por completo, aguardando o processamento ou a sua retomada.
+     */
+    PENDENTE,
+    PROCESSANDO,
+    CONCLUIDA,
+
+    /**
+     * O processamento parou por um erro; os lotes já gravados são mantidos e a importação pode ser retomada.
+     */
+    FALHA
+}
@@ -0,0 +1,17 @@
+package com.rocksti.coopvote.enums;
+
+/**
+ * Eventos de uma pauta publicados pelo outbox aos sistemas externos.
+ */
+public enum TipoEvento {
+    /**
+     * Voto registrado pela API ou por uma importação de votos em papel.
+     */
+    VOTO_REGISTRADO,
+    SESSAO_ABERTA,
+
+    /**
+     * Resultado da pauta, publicado quando a raiz do acumulador de votos é finalizada e a pauta deixa de receber votos.
+     */
+    RESULTADO_FINAL
+}
@@ -1,6 +1,50 @@
 package com.rocksti.coopvote.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Opções das pautas simples, criadas sem opções próprias. O código de cada tipo é o ordinal da opção
+ * correspondente na pauta.
+ */
+@Getter
+@RequiredArgsConstructor
 public enum TipoVoto {
-    SIM,
-    NAO
+    SIM((byte) 0, "SIM"),
+    NAO((byte) 1, "NÃO");
+
+    /**
+     * Código persistido na coluna {@code voto.tipo_voto}. Não deve ser alterado para votos já registrados.
+     */
+    private final byte codigo;
+
+    /**
+     * Descrição da opção nas pautas simples.
+     */
+    private final String descricao;
+
+    public static TipoVoto doCodigo(byte codigo) {
+        return Arrays.stream(values())
+                .filter(tipoVoto -> tipoVoto.codigo == codigo)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Código de tipo de voto inválido: " + codigo));
+    }
+
+    /**
+     * @return As opções de uma pauta simples, na ordem dos códigos.
+     */
+    public static List<String> opcoesPadrao() {
+        return Arrays.stream(values()).map(TipoVoto::getDescricao).toList();
+    }
+
+    /**
+     * @param opcoes Opções de uma pauta, na ordem dos ordinais.
+     * @return True se a pauta é simples e aceita votos por {@link TipoVoto}.
+     */
+    public static boolean isPautaSimples(List<String> opcoes) {
+        return opcoesPadrao().equals(opcoes);
+    }
 }
@@ -0,0 +1,8 @@
+package com.rocksti.coopvote.exception;
+
+public class AcessoNegadoException extends RuntimeException {
+
+    public AcessoNegadoException(String message) {
+        super(message);
+    }
+}
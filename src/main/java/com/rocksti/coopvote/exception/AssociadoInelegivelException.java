@@ -0,0 +1,8 @@
+package com.rocksti.coopvote.exception;
+
+public class AssociadoInelegivelException extends RuntimeException {
+
+    public AssociadoInelegivelException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.rocksti.coopvote.exception;
+
+public class CooperativaNaoInformadaException extends RuntimeException {
+
+    public CooperativaNaoInformadaException(String message) {
+        super(message);
+    }
+}
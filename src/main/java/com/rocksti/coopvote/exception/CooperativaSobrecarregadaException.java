@@ -0,0 +1,8 @@
+package com.rocksti.coopvote.exception;
+
+public class CooperativaSobrecarregadaException extends RuntimeException {
+
+    public CooperativaSobrecarregadaException(String message) {
+        super(message);
+    }
+}
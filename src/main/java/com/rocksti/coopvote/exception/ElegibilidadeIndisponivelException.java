@@ -0,0 +1,12 @@
+package com.rocksti.coopvote.exception;
+
+public class ElegibilidadeIndisponivelException extends RuntimeException {
+
+    public ElegibilidadeIndisponivelException(String message) {
+        super(message);
+    }
+
+    public ElegibilidadeIndisponivelException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.rocksti.coopvote.exception;
+
+public class IntervaloInvalidoException extends RuntimeException {
+
+    public IntervaloInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.rocksti.coopvote.exception;
+
+public class LoteInvalidoException extends RuntimeException {
+
+    public LoteInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.rocksti.coopvote.exception;
+
+public class OpcaoInvalidaException extends RuntimeException {
+
+    public OpcaoInvalidaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,40 @@
+package com.rocksti.coopvote.formato;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Aceita e produz CBOR ({@code application/cbor}) e Smile ({@code application/x-jackson-smile}) em todos os endpoints
+ * que trocam JSON, para os quiosques e integrações de alto volume.
+ * <p>
+ * Os formatos binários usam o mesmo modelo do JSON: os mesmos DTOs, as mesmas validações e a mesma configuração do
+ * {@code ObjectMapper} da aplicação, de modo que datas e campos nulos saem como no JSON. O formato é escolhido pelos
+ * cabeçalhos {@code Content-Type} e {@code Accept}; os conversores binários ficam depois do JSON, que continua sendo a
+ * resposta de quem aceita qualquer formato.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class FormatosBinariosConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> construtorObjectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> conversores) {
+        conversores.removeIf(conversor -> conversor instanceof MappingJackson2CborHttpMessageConverter
+                || conversor instanceof MappingJackson2SmileHttpMessageConverter);
+        conversores.add(new MappingJackson2CborHttpMessageConverter(
+                construtorObjectMapper.getObject().factory(new CBORFactory()).build()));
+        conversores.add(new MappingJackson2SmileHttpMessageConverter(
+                construtorObjectMapper.getObject().factory(new SmileFactory()).build()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.rocksti.coopvote.formato;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Leitura e escrita das mensagens da API fora dos controllers, como árvores Jackson, no formato indicado pelo
+ * {@code Content-Type}: para componentes que examinam ou reescrevem o corpo sem conhecer o DTO.
+ */
+public final class FormatosMensagem {
+
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory());
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+    private FormatosMensagem() {
+    }
+
+    /**
+     * @param contentType Valor do cabeçalho {@code Content-Type}, ou nulo.
+     * @return O mapeador do formato binário indicado, ou o de JSON para qualquer outro tipo, ausente ou inválido.
+     */
+    public static ObjectMapper mapeador(String contentType) {
+        if (contentType == null) {
+            return JSON;
+        }
+        try {
+            MediaType tipo = MediaType.parseMediaType(contentType);
+            return MediaType.APPLICATION_CBOR.isCompatibleWith(tipo) ? CBOR
+                    : SMILE.isCompatibleWith(tipo) ? SMILE_MAPPER : JSON;
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+    }
+}
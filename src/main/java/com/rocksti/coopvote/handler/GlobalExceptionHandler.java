@@ -1,8 +1,17 @@
 package com.rocksti.coopvote.handler;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rocksti.coopvote.diagnostico.RejeicaoEvent;
+import com.rocksti.coopvote.exception.AcessoNegadoException;
+import com.rocksti.coopvote.exception.AssociadoInelegivelException;
 import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.exception.CooperativaNaoInformadaException;
+import com.rocksti.coopvote.exception.CooperativaSobrecarregadaException;
+import com.rocksti.coopvote.exception.ElegibilidadeIndisponivelException;
+import com.rocksti.coopvote.exception.IntervaloInvalidoException;
+import com.rocksti.coopvote.exception.LoteInvalidoException;
 import com.rocksti.coopvote.exception.NotFoundException;
+import com.rocksti.coopvote.exception.OpcaoInvalidaException;
 import com.rocksti.coopvote.exception.SessaoExpiradaException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
@@ -44,11 +53,51 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return getHandleExceptionInternal(request, webRequest, HttpStatus.CONFLICT, ex, ex.getMessage());
     }
 
+    @ExceptionHandler({OpcaoInvalidaException.class})
+    protected ResponseEntity<Object> handleOpcaoInvalidaException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.BAD_REQUEST, ex, ex.getMessage());
+    }
+
+    @ExceptionHandler({IntervaloInvalidoException.class})
+    protected ResponseEntity<Object> handleIntervaloInvalidoException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.BAD_REQUEST, ex, ex.getMessage());
+    }
+
+    @ExceptionHandler({LoteInvalidoException.class})
+    protected ResponseEntity<Object> handleLoteInvalidoException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.BAD_REQUEST, ex, ex.getMessage());
+    }
+
+    @ExceptionHandler({CooperativaNaoInformadaException.class})
+    protected ResponseEntity<Object> handleCooperativaNaoInformadaException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.BAD_REQUEST, ex, ex.getMessage());
+    }
+
+    @ExceptionHandler({CooperativaSobrecarregadaException.class})
+    protected ResponseEntity<Object> handleCooperativaSobrecarregadaException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.TOO_MANY_REQUESTS, ex, ex.getMessage());
+    }
+
     @ExceptionHandler({SessaoExpiradaException.class})
     protected ResponseEntity<Object> handleSessaoExpiradaException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
         return getHandleExceptionInternal(request, webRequest, HttpStatus.GONE, ex, ex.getMessage());
     }
 
+    @ExceptionHandler({AssociadoInelegivelException.class})
+    protected ResponseEntity<Object> handleAssociadoInelegivelException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.FORBIDDEN, ex, ex.getMessage());
+    }
+
+    @ExceptionHandler({AcessoNegadoException.class})
+    protected ResponseEntity<Object> handleAcessoNegadoException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.UNAUTHORIZED, ex, ex.getMessage());
+    }
+
+    @ExceptionHandler({ElegibilidadeIndisponivelException.class})
+    protected ResponseEntity<Object> handleElegibilidadeIndisponivelException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.SERVICE_UNAVAILABLE, ex, ex.getMessage());
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers,
                                                                   HttpStatusCode status, WebRequest request) {
@@ -64,6 +113,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     private ResponseEntity<Object> getHandleExceptionInternal(HttpServletRequest request, WebRequest webRequest,
                                                               HttpStatus httpStatus, Exception ex, String message) {
+        RejeicaoEvent.gravar(httpStatus.value(), ex, request.getMethod(), request.getRequestURI());
         return handleExceptionInternal(
                 ex,
                 buildProblem(request, httpStatus, ex, message),
@@ -0,0 +1,31 @@
+package com.rocksti.coopvote.importacao;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Configuração da importação de votos em papel.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.importacao")
+public class ImportacaoProperties {
+
+    /**
+     * Diretório dos arquivos recebidos e dos relatórios de rejeição.
+     */
+    private Path diretorio = Path.of("dados", "importacao");
+
+    /**
+     * Linhas validadas e gravadas por transação. Cada lote grava também o progresso da importação.
+     */
+    private int tamanhoLote = 1_000;
+
+    /**
+     * Tamanho máximo de uma linha em bytes; linhas maiores são rejeitadas sem serem carregadas em memória.
+     */
+    private int tamanhoMaximoLinha = 4_096;
+}
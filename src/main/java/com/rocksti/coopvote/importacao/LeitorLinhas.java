@@ -0,0 +1,115 @@
+package com.rocksti.coopvote.importacao;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lê as linhas de um arquivo a partir de uma posição qualquer, com memória limitada ao buffer de leitura e ao
+ * tamanho máximo de uma linha. Cada linha informa a posição em que termina, que é onde a leitura deve recomeçar
+ * para continuar dela em diante.
+ * <p>
+ * As linhas são separadas por {@code \n}; um {@code \r} no fim da linha e a marca de ordem de bytes no início do
+ * arquivo são descartados. O conteúdo é decodificado como UTF-8.
+ */
+public final class LeitorLinhas implements Closeable {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final String MARCA_ORDEM_BYTES = "\uFEFF";
+
+    private final FileChannel canal;
+    private final int tamanhoMaximoLinha;
+    private final ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_BUFFER).flip();
+    private final ByteArrayOutputStream atual = new ByteArrayOutputStream();
+    private long posicao;
+
+    private LeitorLinhas(FileChannel canal, long posicao, int tamanhoMaximoLinha) {
+        this.canal = canal;
+        this.posicao = posicao;
+        this.tamanhoMaximoLinha = tamanhoMaximoLinha;
+    }
+
+    /**
+     * @param arquivo            Arquivo a ser lido.
+     * @param posicao            Posição do início da primeira linha a ser lida.
+     * @param tamanhoMaximoLinha Tamanho máximo de uma linha em bytes, sem o separador.
+     * @return Leitor posicionado no início da linha.
+     * @throws IOException Se o arquivo não puder ser aberto.
+     */
+    public static LeitorLinhas abrir(Path arquivo, long posicao, int tamanhoMaximoLinha) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        canal.position(posicao);
+        return new LeitorLinhas(canal, posicao, tamanhoMaximoLinha);
+    }
+
+    /**
+     * @return A próxima linha, ou null no fim do arquivo. Uma linha maior que o tamanho máximo é percorrida até o
+     * separador sem ter o conteúdo guardado e volta com {@link Linha#muitoLonga()}.
+     * @throws IOException Se houver erro de leitura.
+     */
+    public Linha proxima() throws IOException {
+        long inicio = posicao;
+        atual.reset();
+        boolean muitoLonga = false;
+        while (true) {
+            if (!buffer.hasRemaining() && !preencher()) {
+                return posicao == inicio ? null : concluir(inicio, muitoLonga);
+            }
+            byte lido = buffer.get();
+            posicao++;
+            if (lido == '\n') {
+                return concluir(inicio, muitoLonga);
+            }
+            if (muitoLonga) {
+                continue;
+            }
+            if (atual.size() < tamanhoMaximoLinha) {
+                atual.write(lido);
+            } else if (lido != '\r') {
+                muitoLonga = true;
+                atual.reset();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    // Métodos auxiliares privados
+
+    private boolean preencher() throws IOException {
+        buffer.clear();
+        int lidos = canal.read(buffer);
+        buffer.flip();
+        return lidos > 0;
+    }
+
+    private Linha concluir(long inicio, boolean muitoLonga) {
+        if (muitoLonga) {
+            return new Linha(null, posicao, true);
+        }
+        String texto = atual.toString(StandardCharsets.UTF_8);
+        if (texto.endsWith("\r")) {
+            texto = texto.substring(0, texto.length() - 1);
+        }
+        if (inicio == 0 && texto.startsWith(MARCA_ORDEM_BYTES)) {
+            texto = texto.substring(MARCA_ORDEM_BYTES.length());
+        }
+        return new Linha(texto, posicao, false);
+    }
+
+    /**
+     * @param texto      Conteúdo da linha, sem o separador; null se a linha for muito longa.
+     * @param fim        Posição logo após o separador da linha.
+     * @param muitoLonga Indica que a linha excedeu o tamanho máximo e foi descartada.
+     */
+    public record Linha(String texto, long fim, boolean muitoLonga) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.rocksti.coopvote.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Voto lido de uma linha do arquivo importado, antes da validação contra a pauta.
+ *
+ * @param associadoId Identificador externo do associado.
+ * @param opcao       Ordinal, descrição da opção ou nome do {@link com.rocksti.coopvote.enums.TipoVoto}, como
+ *                    veio no arquivo.
+ */
+public record LinhaImportacao(String associadoId, String opcao) {
+
+    private static final String CAMPO_ASSOCIADO = "associadoId";
+
+    /**
+     * @param linha Linha {@code associadoId,opcao}; campos entre aspas podem conter vírgulas e aspas duplicadas.
+     * @return O voto da linha.
+     * @throws IllegalArgumentException Se a linha não tiver exatamente dois campos.
+     */
+    public static LinhaImportacao csv(String linha) {
+        List<String> campos = separarCampos(linha);
+        if (campos.size() != 2) {
+            throw new IllegalArgumentException("Linha deve ter os campos associadoId e opcao");
+        }
+        return new LinhaImportacao(campos.get(0).strip(), campos.get(1).strip());
+    }
+
+    /**
+     * @param linha Linha CSV.
+     * @return True se a linha é o cabeçalho gerado pela exportação ({@code associadoId,opcao} ou
+     * {@code associadoId,tipoVoto}).
+     */
+    public static boolean isCabecalhoCsv(String linha) {
+        List<String> campos = separarCampos(linha);
+        return !campos.isEmpty() && CAMPO_ASSOCIADO.equalsIgnoreCase(campos.getFirst().strip());
+    }
+
+    /**
+     * @param linha        Objeto JSON com {@code associadoId} e {@code opcao} (ordinal ou descrição) ou
+     *                     {@code tipoVoto}.
+     * @param objectMapper Leitor de JSON.
+     * @return O voto da linha.
+     * @throws IllegalArgumentException Se a linha não for um objeto JSON válido.
+     */
+    public static LinhaImportacao ndjson(String linha, ObjectMapper objectMapper) {
+        JsonNode objeto;
+        try {
+            objeto = objectMapper.readTree(linha);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Linha não é um objeto JSON válido");
+        }
+        if (objeto == null || !objeto.isObject()) {
+            throw new IllegalArgumentException("Linha não é um objeto JSON válido");
+        }
+        JsonNode opcao = objeto.hasNonNull("opcao") ? objeto.get("opcao") : objeto.get("tipoVoto");
+        return new LinhaImportacao(texto(objeto.get(CAMPO_ASSOCIADO)), texto(opcao));
+    }
+
+    // Métodos auxiliares privados
+
+    private static String texto(JsonNode valor) {
+        return valor == null || valor.isNull() || valor.isContainerNode() ? "" : valor.asText().strip();
+    }
+
+    private static List<String> separarCampos(String linha) {
+        List<String> campos = new ArrayList<>(2);
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char caractere = linha.charAt(i);
+            if (entreAspas) {
+                if (caractere != '"') {
+                    campo.append(caractere);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (caractere == '"') {
+                entreAspas = true;
+            } else if (caractere == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(caractere);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,53 @@
+package com.rocksti.coopvote.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.coopvote.cooperativa.ContextoCooperativa;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Acrescenta os eventos, um JSON por linha, ao arquivo {@code eventos-AAAA-MM-DD.ndjson} do dia no diretório da
+ * cooperativa. O lote é gravado com uma única escrita e sincronizado com o disco antes de sair do outbox.
+ */
+public class DestinoArquivo implements DestinoEventos {
+
+    private final Path diretorio;
+    private final ObjectMapper objectMapper;
+
+    public DestinoArquivo(Path diretorio, ObjectMapper objectMapper) {
+        this.diretorio = diretorio;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getNome() {
+        return "arquivo";
+    }
+
+    @Override
+    public void entregar(List<EventoOutbox> eventos) throws IOException {
+        ByteArrayOutputStream linhas = new ByteArrayOutputStream(eventos.size() * 256);
+        for (EventoOutbox evento : eventos) {
+            objectMapper.writeValue(linhas, evento);
+            linhas.write('\n');
+        }
+        Path pasta = Files.createDirectories(ContextoCooperativa.resolver(diretorio));
+        Path arquivo = pasta.resolve("eventos-" + LocalDate.now() + ".ndjson");
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer conteudo = ByteBuffer.wrap(linhas.toByteArray());
+            while (conteudo.hasRemaining()) {
+                canal.write(conteudo);
+            }
+            canal.force(false);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.rocksti.coopvote.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sistema externo que recebe os eventos do outbox. Beans desta interface são usados pelo relay junto com os destinos
+ * de {@code coopvote.outbox.destinos}.
+ * <p>
+ * A entrega é pelo menos uma vez: o lote só sai do outbox depois de aceito por todos os destinos, e uma falha em
+ * qualquer um deles faz o lote inteiro ser entregue de novo a todos.
+ */
+public interface DestinoEventos {
+
+    /**
+     * @return Nome do destino nos logs e nas métricas.
+     */
+    String getNome();
+
+    /**
+     * Entrega um lote de eventos, na ordem do ID. Só deve retornar depois que os eventos estiverem gravados no destino.
+     *
+     * @param eventos Eventos da cooperativa atual.
+     * @throws IOException Se o destino não aceitou o lote.
+     */
+    void entregar(List<EventoOutbox> eventos) throws IOException;
+}
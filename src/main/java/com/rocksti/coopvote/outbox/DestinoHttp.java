@@ -0,0 +1,54 @@
+package com.rocksti.coopvote.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Envia cada lote em um único {@code POST}, com o corpo em uma lista JSON de eventos. Qualquer resposta fora da faixa
+ * 2xx, ou a falta de resposta em {@code coopvote.outbox.timeout}, faz o lote ser entregue de novo.
+ */
+public class DestinoHttp implements DestinoEventos {
+
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public DestinoHttp(URI url, Duration timeout, ObjectMapper objectMapper) {
+        this.url = url;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String getNome() {
+        return "http";
+    }
+
+    @Override
+    public void entregar(List<EventoOutbox> eventos) throws IOException {
+        HttpRequest requisicao = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(eventos)))
+                .build();
+        HttpResponse<Void> resposta;
+        try {
+            resposta = httpClient.send(requisicao, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Entrega interrompida", e);
+        }
+        if (resposta.statusCode() / 100 != 2) {
+            throw new IOException("O destino " + url + " respondeu com o status " + resposta.statusCode());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.rocksti.coopvote.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Mantém os eventos mais recentes de todas as cooperativas em memória.
+ */
+public class DestinoMemoria implements DestinoEventos {
+
+    private final int capacidade;
+    private final Deque<EventoOutbox> eventos = new ArrayDeque<>();
+
+    public DestinoMemoria(int capacidade) {
+        this.capacidade = Math.max(1, capacidade);
+    }
+
+    @Override
+    public String getNome() {
+        return "memoria";
+    }
+
+    @Override
+    public synchronized void entregar(List<EventoOutbox> lote) {
+        for (EventoOutbox evento : lote) {
+            if (eventos.size() == capacidade) {
+                eventos.removeFirst();
+            }
+            eventos.addLast(evento);
+        }
+    }
+
+    /**
+     * @return Os eventos guardados, do mais antigo para o mais recente.
+     */
+    public synchronized List<EventoOutbox> listar() {
+        return new ArrayList<>(eventos);
+    }
+}
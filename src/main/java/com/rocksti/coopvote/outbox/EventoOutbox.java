@@ -0,0 +1,18 @@
+package com.rocksti.coopvote.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.rocksti.coopvote.enums.TipoEvento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento lido do outbox, como é entregue aos destinos.
+ *
+ * @param id          Posição do evento no outbox, crescente na ordem de gravação. Um lote que falha em algum destino
+ *                    é entregue de novo, e o ID permite descartar as repetições.
+ * @param cooperativa Cooperativa da pauta, ou nulo sem o roteamento por cooperativa.
+ * @param dados       JSON com os dados do tipo do evento, repassado sem nova serialização.
+ */
+public record EventoOutbox(long id, String cooperativa, long pautaId, TipoEvento tipo, LocalDateTime criadoEm,
+                           @JsonRawValue String dados) {
+}
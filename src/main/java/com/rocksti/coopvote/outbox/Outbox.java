@@ -0,0 +1,114 @@
+package com.rocksti.coopvote.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.enums.TipoEvento;
+import com.rocksti.coopvote.repository.EventoOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Grava os eventos de uma pauta no outbox, na transação da alteração que eles descrevem: o evento existe se, e somente
+ * se, a alteração foi confirmada. A entrega aos sistemas externos fica com o relay, fora da transação do voto.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class Outbox {
+
+    private final EventoOutboxRepository repository;
+    private final OutboxProperties propriedades;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return {@code true} se os eventos devem ser gravados; quem os grava pode usar para evitar montar os dados.
+     */
+    public boolean isHabilitado() {
+        return propriedades.isHabilitado();
+    }
+
+    /**
+     * Grava um evento, se o outbox está habilitado.
+     *
+     * @param dados Dados do evento, serializados em JSON.
+     * @throws IllegalStateException Se não há uma transação ativa.
+     */
+    public void registrar(TipoEvento tipo, Long pautaId, Object dados) {
+        registrarTodos(tipo, pautaId, List.of(dados));
+    }
+
+    /**
+     * Grava eventos do mesmo tipo e da mesma pauta em uma única instrução, se o outbox está habilitado.
+     *
+     * @param dados Dados de cada evento, gravados nesta ordem.
+     * @throws IllegalStateException Se não há uma transação ativa.
+     */
+    public void registrarTodos(TipoEvento tipo, Long pautaId, List<?> dados) {
+        if (!propriedades.isHabilitado() || dados.isEmpty()) {
+            return;
+        }
+        validarTransacao();
+        List<String> json = new ArrayList<>(dados.size());
+        for (Object item : dados) {
+            json.add(serializar(tipo, item));
+        }
+        repository.inserir(pautaId, tipo, json, LocalDateTime.now());
+    }
+
+    /**
+     * Grava o mesmo evento para várias pautas em uma única instrução, se o outbox está habilitado.
+     *
+     * @param pautaIds IDs das pautas, gravados nesta ordem.
+     * @param dados    Dados do evento, serializados em JSON uma única vez.
+     * @throws IllegalStateException Se não há uma transação ativa.
+     */
+    public void registrarParaPautas(TipoEvento tipo, Collection<Long> pautaIds, Object dados) {
+        if (!propriedades.isHabilitado() || pautaIds.isEmpty()) {
+            return;
+        }
+        validarTransacao();
+        repository.inserirParaPautas(pautaIds, tipo, serializar(tipo, dados), LocalDateTime.now());
+    }
+
+    /**
+     * Dados de {@link TipoEvento#VOTO_REGISTRADO}.
+     */
+    public record VotoRegistrado(String associadoId, int opcao, LocalDateTime registradoEm) {
+    }
+
+    /**
+     * Dados de {@link TipoEvento#SESSAO_ABERTA}.
+     */
+    public record SessaoAberta(LocalDateTime inicioSessao, Long tempoSessaoMinutos) {
+    }
+
+    /**
+     * Dados de {@link TipoEvento#RESULTADO_FINAL}, com a raiz finalizada do acumulador de votos da pauta.
+     */
+    public record ResultadoFinal(ResultadoPautaDto resultado, int votosAcumulados, String raiz) {
+    }
+
+    // Métodos auxiliares privados
+
+    private static void validarTransacao() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Eventos do outbox precisam ser gravados na transação da alteração");
+        }
+    }
+
+    private String serializar(TipoEvento tipo, Object dados) {
+        try {
+            return objectMapper.writeValueAsString(dados);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Dados do evento " + tipo + " não serializáveis", e);
+        }
+    }
+}
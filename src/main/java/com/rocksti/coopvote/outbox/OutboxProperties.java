@@ -0,0 +1,81 @@
+package com.rocksti.coopvote.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Configuração do outbox de eventos e do relay que os entrega aos sistemas externos.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.outbox")
+public class OutboxProperties {
+
+    /**
+     * Grava os eventos dos votos e das sessões no outbox. Desabilitado, nenhum evento é gravado nem entregue.
+     */
+    private boolean habilitado;
+
+    /**
+     * Destinos dos eventos. Cada lote só sai do outbox depois de entregue a todos eles.
+     */
+    private Set<TipoDestino> destinos = EnumSet.noneOf(TipoDestino.class);
+
+    /**
+     * Intervalo entre as execuções do relay quando o outbox fica vazio.
+     */
+    private Duration intervalo = Duration.ofSeconds(1);
+
+    /**
+     * Eventos entregues por lote.
+     */
+    private int lote = 500;
+
+    /**
+     * Eventos mantidos pelo destino em memória; os mais antigos são descartados.
+     */
+    private int capacidadeMemoria = 10_000;
+
+    /**
+     * Diretório dos arquivos do destino em arquivo, com um subdiretório por cooperativa.
+     */
+    private Path diretorio = Path.of("eventos");
+
+    /**
+     * Endereço que recebe os lotes do destino HTTP.
+     */
+    private URI url;
+
+    /**
+     * Tempo máximo de espera pela resposta do destino HTTP.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * Validade da reserva de um lote. Deve cobrir a entrega a todos os destinos; vencida, outra instância entrega o
+     * lote de novo.
+     */
+    private Duration reserva = Duration.ofMinutes(1);
+
+    public enum TipoDestino {
+        /**
+         * Guarda os eventos mais recentes em memória, para consulta na própria instância.
+         */
+        MEMORIA,
+        /**
+         * Acrescenta os eventos, um JSON por linha, a um arquivo por dia.
+         */
+        ARQUIVO,
+        /**
+         * Envia cada lote em um {@code POST} para {@code coopvote.outbox.url}.
+         */
+        HTTP
+    }
+}
@@ -0,0 +1,47 @@
+package com.rocksti.coopvote.recebimento;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Marca cada requisição com o instante em que chegou à aplicação, antes de qualquer outro filtro, para que o tempo
+ * que ela passa em filas (pool de conexões, bloqueios, serviços externos) não conte contra o associado.
+ * <p>
+ * O instante é guardado como {@link System#nanoTime()}, que é monotônico; o horário de recebimento é calculado
+ * descontando do horário atual o tempo decorrido desde então, de modo que ajustes no relógio do sistema durante a
+ * requisição não o deslocam.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RecebimentoFilter extends OncePerRequestFilter {
+
+    public static final String ATRIBUTO_RECEBIMENTO = "com.rocksti.coopvote.recebimento.recebidoEmNanos";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(ATRIBUTO_RECEBIMENTO, System.nanoTime());
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @param recebidoEmNanos Valor de {@link #ATRIBUTO_RECEBIMENTO}, ou nulo se a requisição não passou pelo filtro.
+     * @return O horário em que a requisição foi recebida, ou o horário atual se ele não foi registrado.
+     */
+    public static LocalDateTime horarioRecebimento(Long recebidoEmNanos) {
+        LocalDateTime agora = LocalDateTime.now();
+        if (recebidoEmNanos == null) {
+            return agora;
+        }
+        return agora.minusNanos(Math.max(0, System.nanoTime() - recebidoEmNanos));
+    }
+}
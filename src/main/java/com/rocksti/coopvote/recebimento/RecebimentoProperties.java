@@ -0,0 +1,22 @@
+package com.rocksti.coopvote.recebimento;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração da validação da sessão pelo horário de recebimento do voto.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.recebimento")
+public class RecebimentoProperties {
+
+    /**
+     * Tempo após o fim da sessão em que votos recebidos antes do encerramento ainda são aceitos. Votos processados
+     * depois disso são recusados mesmo que tenham sido recebidos a tempo.
+     */
+    private Duration tolerancia = Duration.ofSeconds(30);
+}
@@ -0,0 +1,29 @@
+package com.rocksti.coopvote.repository;
+
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.entity.AcumuladorVotos;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AcumuladorVotosRepository extends JpaRepository<AcumuladorVotos, Long> {
+
+    /**
+     * Bloqueia o acumulador até o fim da transação, para que uma única instância estenda a árvore da pauta por vez.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from AcumuladorVotos a where a.pautaId = :pautaId")
+    Optional<AcumuladorVotos> findParaAtualizacao(Long pautaId);
+
+    boolean existsByPautaIdAndFinalizadoEmIsNotNull(Long pautaId);
+
+    @Query("select new com.rocksti.coopvote.dto.SessaoPautaDto(p.id, p.inicioSessao, p.tempoSessaoMinutos) "
+            + "from AcumuladorVotos a, Pauta p where p.id = a.pautaId and a.finalizadoEm is null")
+    List<SessaoPautaDto> findSessoesNaoFinalizadas();
+}
@@ -0,0 +1,112 @@
+package com.rocksti.coopvote.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Leitura e gravação da árvore de Merkle dos votos via JDBC: os votos de cada lote e os nós criados por ele são
+ * gravados com {@code batchUpdate}, e os nós de uma prova são lidos em uma única consulta.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class ArvoreVotosRepository {
+
+    private static final String COLUNAS_VOTO = "SELECT v.id, a.identificador, v.tipo_voto, v.registrado_em, v.folha "
+            + "FROM voto v JOIN associado a ON a.id = v.associado_id ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @return IDs das pautas com votos ainda fora do acumulador, pelo índice (folha, pauta_id).
+     */
+    public List<Long> listarPautasComVotosPendentes() {
+        return jdbcTemplate.getJdbcOperations()
+                .queryForList("SELECT DISTINCT pauta_id FROM voto WHERE folha IS NULL", Long.class);
+    }
+
+    /**
+     * @return Os votos da pauta ainda fora do acumulador, na ordem em que foram gravados.
+     */
+    public List<VotoAcumulavel> listarPendentes(Long pautaId, int limite) {
+        return jdbcTemplate.getJdbcOperations().query(
+                COLUNAS_VOTO + "WHERE v.pauta_id = ? AND v.folha IS NULL ORDER BY v.id LIMIT ?",
+                (resultado, linha) -> mapear(resultado), pautaId, limite);
+    }
+
+    public Optional<VotoAcumulavel> buscarVoto(Long pautaId, String associadoId) {
+        return jdbcTemplate.getJdbcOperations().query(
+                COLUNAS_VOTO + "WHERE v.pauta_id = ? AND a.identificador = ?",
+                (resultado, linha) -> mapear(resultado), pautaId, associadoId).stream().findFirst();
+    }
+
+    /**
+     * @param folhas Índice da folha de cada voto acumulado, pelo ID do voto.
+     */
+    public void definirFolhas(Map<Long, Long> folhas) {
+        List<Map.Entry<Long, Long>> votos = new ArrayList<>(folhas.entrySet());
+        jdbcTemplate.getJdbcOperations().batchUpdate("UPDATE voto SET folha = ? WHERE id = ?", votos, votos.size(),
+                (update, voto) -> {
+                    update.setLong(1, voto.getValue());
+                    update.setLong(2, voto.getKey());
+                });
+    }
+
+    public Map<Long, byte[]> buscarNos(Long pautaId, Collection<Long> posicoes) {
+        Map<Long, byte[]> nos = new HashMap<>();
+        if (posicoes.isEmpty()) {
+            return nos;
+        }
+        jdbcTemplate.query("SELECT posicao, hash FROM no_merkle WHERE pauta_id = :pautaId AND posicao IN (:posicoes)",
+                Map.of("pautaId", pautaId, "posicoes", posicoes),
+                (RowCallbackHandler) resultado -> nos.put(resultado.getLong(1), resultado.getBytes(2)));
+        return nos;
+    }
+
+    public void inserirNos(Long pautaId, Map<Long, byte[]> nos) {
+        List<Map.Entry<Long, byte[]>> novos = new ArrayList<>(nos.entrySet());
+        jdbcTemplate.getJdbcOperations().batchUpdate("INSERT INTO no_merkle (pauta_id, posicao, hash) VALUES (?, ?, ?)",
+                novos, novos.size(), (insert, no) -> {
+                    insert.setLong(1, pautaId);
+                    insert.setLong(2, no.getKey());
+                    insert.setBytes(3, no.getValue());
+                });
+    }
+
+    // Métodos auxiliares privados
+
+    private static VotoAcumulavel mapear(ResultSet resultado) throws SQLException {
+        Timestamp registradoEm = resultado.getTimestamp(4);
+        Long folha = resultado.getObject(5, Long.class);
+        return new VotoAcumulavel(resultado.getLong(1), resultado.getString(2), resultado.getByte(3),
+                registradoEm != null ? registradoEm.toLocalDateTime() : null, folha);
+    }
+
+    /**
+     * @param folha Índice do voto na árvore da pauta, ou nulo se o voto ainda não foi acumulado.
+     */
+    public record VotoAcumulavel(long id, String associadoId, byte opcao, LocalDateTime registradoEm, Long folha) {
+
+        /**
+         * Representação canônica do voto na folha: {@code pautaId|associadoId|opcao|registradoEm}, com o horário em
+         * ISO-8601 (vazio nos votos anteriores ao registro de horário).
+         */
+        public String dados(Long pautaId) {
+            return pautaId + "|" + associadoId + "|" + opcao + "|" + (registradoEm != null ? registradoEm : "");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.rocksti.coopvote.repository;
+
+import com.rocksti.coopvote.entity.Associado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AssociadoRepository extends JpaRepository<Associado, Long> {
+    Optional<Associado> findByIdentificador(String identificador);
+
+    List<Associado> findByIdentificadorIn(Collection<String> identificadores);
+}
@@ -0,0 +1,116 @@
+package com.rocksti.coopvote.repository;
+
+import com.rocksti.coopvote.cooperativa.ContextoCooperativa;
+import com.rocksti.coopvote.enums.TipoEvento;
+import com.rocksti.coopvote.outbox.EventoOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gravação e leitura do outbox de eventos via JDBC. Os eventos de uma importação e de uma abertura de sessões em
+ * lote são gravados com {@code batchUpdate}, e o relay reserva e remove cada lote com poucas instruções.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class EventoOutboxRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param dados JSON de cada evento, gravados nesta ordem.
+     */
+    public void inserir(Long pautaId, TipoEvento tipo, List<String> dados, LocalDateTime criadoEm) {
+        String sql = "INSERT INTO evento_outbox (pauta_id, tipo, dados, criado_em) VALUES (?, ?, ?, ?)";
+        Timestamp horario = Timestamp.valueOf(criadoEm);
+        if (dados.size() == 1) {
+            jdbcTemplate.getJdbcOperations().update(sql, pautaId, tipo.name(), dados.getFirst(), horario);
+            return;
+        }
+        jdbcTemplate.getJdbcOperations().batchUpdate(sql, dados, dados.size(), (insert, json) -> {
+            insert.setLong(1, pautaId);
+            insert.setString(2, tipo.name());
+            insert.setString(3, json);
+            insert.setTimestamp(4, horario);
+        });
+    }
+
+    /**
+     * Grava o mesmo evento para várias pautas, com um único {@code batchUpdate}.
+     *
+     * @param pautaIds IDs das pautas, gravados nesta ordem.
+     */
+    public void inserirParaPautas(Collection<Long> pautaIds, TipoEvento tipo, String dados, LocalDateTime criadoEm) {
+        Timestamp horario = Timestamp.valueOf(criadoEm);
+        jdbcTemplate.getJdbcOperations().batchUpdate(
+                "INSERT INTO evento_outbox (pauta_id, tipo, dados, criado_em) VALUES (?, ?, ?, ?)",
+                pautaIds, pautaIds.size(), (insert, pautaId) -> {
+                    insert.setLong(1, pautaId);
+                    insert.setString(2, tipo.name());
+                    insert.setString(3, dados);
+                    insert.setTimestamp(4, horario);
+                });
+    }
+
+    /**
+     * Reserva os eventos mais antigos para o relay informado, até {@code validade} a partir de agora. As linhas ficam
+     * bloqueadas só até o fim da transação da reserva, que deve ser confirmada antes da entrega. Se algum desses
+     * eventos já tiver uma reserva válida, nada é reservado: outra execução está entregando e os eventos seguintes
+     * esperam a vez, de modo que saem na ordem do ID.
+     *
+     * @return Os eventos reservados na ordem do ID, com a cooperativa atual, ou vazio.
+     */
+    public List<EventoOutbox> reservarLote(String relay, int limite, Duration validade) {
+        String cooperativa = ContextoCooperativa.atual();
+        List<LinhaOutbox> linhas = jdbcTemplate.getJdbcOperations().query(
+                "SELECT id, pauta_id, tipo, dados, criado_em, "
+                        + "CASE WHEN reservado_ate >= LOCALTIMESTAMP(6) THEN 1 ELSE 0 END "
+                        + "FROM evento_outbox ORDER BY id LIMIT ? FOR UPDATE",
+                (resultado, linha) -> new LinhaOutbox(new EventoOutbox(resultado.getLong(1), cooperativa,
+                        resultado.getLong(2), TipoEvento.valueOf(resultado.getString(3)),
+                        resultado.getTimestamp(5).toLocalDateTime(), resultado.getString(4)),
+                        resultado.getInt(6) == 1), limite);
+        if (linhas.isEmpty() || linhas.stream().anyMatch(LinhaOutbox::reservado)) {
+            return List.of();
+        }
+        List<EventoOutbox> eventos = linhas.stream().map(LinhaOutbox::evento).toList();
+        jdbcTemplate.update("UPDATE evento_outbox SET reservado_por = :relay, "
+                        + "reservado_ate = TIMESTAMPADD(MICROSECOND, :micros, LOCALTIMESTAMP(6)) WHERE id IN (:ids)",
+                Map.of("relay", relay, "micros", validade.toNanos() / 1_000, "ids", ids(eventos)));
+        return eventos;
+    }
+
+    /**
+     * Remove os eventos entregues que ainda estão reservados para o relay informado.
+     */
+    public void remover(String relay, Collection<Long> ids) {
+        jdbcTemplate.update("DELETE FROM evento_outbox WHERE id IN (:ids) AND reservado_por = :relay",
+                Map.of("ids", ids, "relay", relay));
+    }
+
+    /**
+     * Desfaz a reserva de um lote que não foi entregue, para que seja tentado de novo sem esperar a validade.
+     */
+    public void liberar(String relay, Collection<Long> ids) {
+        jdbcTemplate.update("UPDATE evento_outbox SET reservado_por = NULL, reservado_ate = NULL "
+                + "WHERE id IN (:ids) AND reservado_por = :relay", Map.of("ids", ids, "relay", relay));
+    }
+
+    // Métodos auxiliares privados
+
+    private static List<Long> ids(List<EventoOutbox> eventos) {
+        return eventos.stream().map(EventoOutbox::id).toList();
+    }
+
+    private record LinhaOutbox(EventoOutbox evento, boolean reservado) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.rocksti.coopvote.repository;
+
+import com.rocksti.coopvote.entity.Importacao;
+import com.rocksti.coopvote.enums.SituacaoImportacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportacaoRepository extends JpaRepository<Importacao, Long> {
+    List<Importacao> findBySituacaoInOrderById(Collection<SituacaoImportacao> situacoes);
+
+    boolean existsByPautaIdAndSituacaoIn(Long pautaId, Collection<SituacaoImportacao> situacoes);
+}
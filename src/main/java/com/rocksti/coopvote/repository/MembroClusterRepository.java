@@ -0,0 +1,60 @@
+package com.rocksti.coopvote.repository;
+
+import com.rocksti.coopvote.cluster.MembroCluster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Leases das instâncias do cluster via JDBC. A validade é calculada pelo relógio do banco, de modo que a diferença
+ * entre os relógios das instâncias não antecipa nem atrasa a expiração.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class MembroClusterRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Cria ou prorroga o lease da instância e remove os leases já expirados.
+     *
+     * @param duracao Validade do lease a partir de agora.
+     */
+    public void renovar(MembroCluster membro, Duration duracao) {
+        long micros = duracao.toNanos() / 1_000;
+        int renovados = jdbcTemplate.update("UPDATE membro_cluster SET endereco = ?, "
+                + "expira_em = TIMESTAMPADD(MICROSECOND, ?, LOCALTIMESTAMP(6)) WHERE no = ?",
+                membro.endereco(), micros, membro.no());
+        if (renovados == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO membro_cluster (no, endereco, expira_em) "
+                        + "VALUES (?, ?, TIMESTAMPADD(MICROSECOND, ?, LOCALTIMESTAMP(6)))",
+                        membro.no(), membro.endereco(), micros);
+            } catch (DuplicateKeyException e) {
+                // Outra instância com o mesmo identificador acabou de se registrar; a próxima renovação o prorroga
+            }
+        }
+        jdbcTemplate.update("DELETE FROM membro_cluster WHERE expira_em < LOCALTIMESTAMP(6)");
+    }
+
+    /**
+     * @return As instâncias com lease válido, pelo identificador.
+     */
+    public List<MembroCluster> listarAtivos() {
+        return jdbcTemplate.query("SELECT no, endereco FROM membro_cluster WHERE expira_em >= LOCALTIMESTAMP(6) "
+                + "ORDER BY no", (resultado, linha) -> new MembroCluster(resultado.getString(1), resultado.getString(2)));
+    }
+
+    /**
+     * Encerra o lease da instância, para que as suas pautas passem às demais sem esperar a expiração.
+     */
+    public void remover(String no) {
+        jdbcTemplate.update("DELETE FROM membro_cluster WHERE no = ?", no);
+    }
+}
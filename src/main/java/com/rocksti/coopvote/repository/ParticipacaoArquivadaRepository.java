@@ -0,0 +1,51 @@
+package com.rocksti.coopvote.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Pautas arquivadas em que cada associado votou e a opção escolhida, via JDBC. Os votos dessas pautas só existem nos
+ * arquivos; a tabela atende o histórico do associado sem consultá-los.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class ParticipacaoArquivadaRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Registra os votantes de uma pauta a partir da tabela de votos; deve ser executado na transação do arquivamento,
+     * antes da remoção dos votos.
+     *
+     * @return Quantidade de associados registrados.
+     */
+    public int registrar(Long pautaId) {
+        return jdbcTemplate.update("INSERT INTO participacao_arquivada (associado_id, pauta_id, opcao) "
+                + "SELECT associado_id, pauta_id, tipo_voto FROM voto WHERE pauta_id = ?", pautaId);
+    }
+
+    /**
+     * Pautas arquivadas em que o associado votou, com ID menor que {@code abaixoDe}, da mais recente para a mais
+     * antiga, percorrendo a chave primária (associado_id, pauta_id).
+     */
+    public List<Participacao> listar(String associadoId, long abaixoDe, int limite) {
+        return jdbcTemplate.query("SELECT p.id, p.descricao, pa.opcao FROM associado a "
+                        + "JOIN participacao_arquivada pa ON pa.associado_id = a.id JOIN pauta p ON p.id = pa.pauta_id "
+                        + "WHERE a.identificador = ? AND pa.pauta_id < ? ORDER BY pa.pauta_id DESC LIMIT ?",
+                (resultado, linha) -> new Participacao(resultado.getLong(1), resultado.getString(2),
+                        resultado.getObject(3, Integer.class)),
+                associadoId, abaixoDe, limite);
+    }
+
+    /**
+     * @param opcao Ordinal da opção escolhida, ou nulo nas participações registradas antes da V16, cuja opção só
+     *              está no arquivo da pauta.
+     */
+    public record Participacao(long pautaId, String descricao, Integer opcao) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.rocksti.coopvote.repository;
+
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.entity.Pauta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cadastro e abertura de pautas em lote via JDBC. Como nos votos ({@link VotoLoteRepository}), o Hibernate não
+ * agrupa inserções de entidades com ID {@code IDENTITY}: as pautas de um lote são enviadas com um único
+ * {@code executeBatch}, e os IDs gerados são lidos do mesmo comando.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class PautaLoteRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere as pautas em um lote e as opções de todas elas em outro. Deve ser chamado dentro de uma transação, para
+     * que uma falha nas opções não deixe pautas sem opções.
+     *
+     * @param pautas Pautas sem ID; o ID gerado é preenchido em cada uma.
+     */
+    public void inserir(List<Pauta> pautas) {
+        List<Long> ids = jdbcTemplate.getJdbcOperations().execute((ConnectionCallback<List<Long>>) conexao -> {
+            try (PreparedStatement insert = conexao.prepareStatement(
+                    "INSERT INTO pauta (descricao, arquivada) VALUES (?, FALSE)", new String[]{"id"})) {
+                for (Pauta pauta : pautas) {
+                    insert.setString(1, pauta.getDescricao());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                List<Long> gerados = new ArrayList<>(pautas.size());
+                try (ResultSet chaves = insert.getGeneratedKeys()) {
+                    while (chaves.next()) {
+                        gerados.add(chaves.getLong(1));
+                    }
+                }
+                return gerados;
+            }
+        });
+        if (ids == null || ids.size() != pautas.size()) {
+            throw new IllegalStateException("O banco devolveu " + (ids == null ? 0 : ids.size()) + " IDs para "
+                    + pautas.size() + " pautas inseridas");
+        }
+
+        List<Object[]> opcoes = new ArrayList<>();
+        for (int i = 0; i < pautas.size(); i++) {
+            Pauta pauta = pautas.get(i);
+            pauta.setId(ids.get(i));
+            for (int ordinal = 0; ordinal < pauta.getOpcoes().size(); ordinal++) {
+                opcoes.add(new Object[]{pauta.getId(), ordinal, pauta.getOpcoes().get(ordinal)});
+            }
+        }
+        jdbcTemplate.getJdbcOperations().batchUpdate(
+                "INSERT INTO opcao_pauta (pauta_id, ordinal, descricao) VALUES (?, ?, ?)", opcoes);
+    }
+
+    /**
+     * Lê a sessão das pautas e as bloqueia até o fim da transação. Uma abertura concorrente das mesmas pautas
+     * aguarda esta transação terminar e então encontra as sessões já abertas.
+     *
+     * @return A sessão de cada pauta existente, sem a quantidade de opções.
+     */
+    public List<SessaoPautaDto> bloquearSessoes(Collection<Long> pautaIds) {
+        return jdbcTemplate.query(
+                "SELECT id, inicio_sessao, tempo_sessao_minutos FROM pauta WHERE id IN (:ids) FOR UPDATE",
+                Map.of("ids", pautaIds), (resultado, linha) -> {
+                    Timestamp inicio = resultado.getTimestamp(2);
+                    long tempo = resultado.getLong(3);
+                    return new SessaoPautaDto(resultado.getLong(1), inicio != null ? inicio.toLocalDateTime() : null,
+                            resultado.wasNull() ? null : tempo);
+                });
+    }
+}
@@ -1,9 +1,96 @@
 package com.rocksti.coopvote.repository;
 
+import com.rocksti.coopvote.dto.OpcaoPautaDto;
+import com.rocksti.coopvote.dto.ResumoPautaDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.dto.SituacaoVotoDto;
 import com.rocksti.coopvote.entity.Pauta;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PautaRepository extends JpaRepository<Pauta, Long> {
+
+    /**
+     * Carrega as opções na mesma consulta, pois a pauta devolvida pela API sempre as serializa.
+     */
+    @Override
+    @EntityGraph(attributePaths = "opcoes")
+    Optional<Pauta> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "opcoes")
+    List<Pauta> findAll();
+
+    /**
+     * Se a pauta é simples, calculado na própria consulta da sessão com as mesmas condições de
+     * {@link com.rocksti.coopvote.enums.TipoVoto#isPautaSimples(List)}: duas opções, com as descrições de SIM e NÃO
+     * nos seus ordinais.
+     */
+    String PAUTA_SIMPLES = "case when size(p.opcoes) = 2 and (select count(o) from Pauta s join s.opcoes o "
+            + "where s = p and ((index(o) = 0 and o = 'SIM') or (index(o) = 1 and o = 'NÃO'))) = 2 "
+            + "then true else false end";
+
+    @Query("select new com.rocksti.coopvote.dto.SessaoPautaDto(p.id, p.inicioSessao, p.tempoSessaoMinutos, "
+            + "size(p.opcoes), " + PAUTA_SIMPLES + ") from Pauta p where p.id = :pautaId")
+    Optional<SessaoPautaDto> findSessaoById(Long pautaId);
+
+    /**
+     * Lê a sessão, verifica o voto na tabela e lê o arquivamento da pauta na mesma consulta, para que o registro de um
+     * voto não faça uma consulta só para o voto duplicado nem consulte o arquivo de uma pauta que não foi arquivada.
+     */
+    @Query("select new com.rocksti.coopvote.dto.SituacaoVotoDto(p.id, p.inicioSessao, p.tempoSessaoMinutos, "
+            + "size(p.opcoes), " + PAUTA_SIMPLES + ", case when exists (select 1 from Voto v "
+            + "where v.pauta = p and v.associado.identificador = :associadoId) then true else false end, "
+            + "p.arquivada) from Pauta p where p.id = :pautaId")
+    Optional<SituacaoVotoDto> findSituacaoVoto(Long pautaId, String associadoId);
+
+    @Query("select o from Pauta p join p.opcoes o where p.id = :pautaId order by index(o)")
+    List<String> findOpcoesById(Long pautaId);
+
+    @Query("select new com.rocksti.coopvote.dto.OpcaoPautaDto(p.id, index(o), o) "
+            + "from Pauta p join p.opcoes o where p.id in :pautaIds order by p.id, index(o)")
+    List<OpcaoPautaDto> findOpcoesByIdIn(Collection<Long> pautaIds);
+
+    @Query("select new com.rocksti.coopvote.dto.ResumoPautaDto(p.id, p.descricao, p.arquivada) "
+            + "from Pauta p where p.id in :pautaIds")
+    List<ResumoPautaDto> findResumosByIdIn(Collection<Long> pautaIds);
+
+    @Query("select new com.rocksti.coopvote.dto.ResumoPautaDto(p.id, p.descricao, p.arquivada) "
+            + "from Pauta p where p.id > :aPartirDe order by p.id")
+    List<ResumoPautaDto> findResumosByIdGreaterThan(Long aPartirDe, Limit limite);
+
+    @Query("select new com.rocksti.coopvote.dto.SessaoPautaDto(p.id, p.inicioSessao, p.tempoSessaoMinutos) "
+            + "from Pauta p where p.arquivada = false and p.inicioSessao < :limite")
+    List<SessaoPautaDto> findSessoesNaoArquivadasIniciadasAntesDe(LocalDateTime limite);
+
+    @Query("select new com.rocksti.coopvote.dto.SessaoPautaDto(p.id, p.inicioSessao, p.tempoSessaoMinutos, "
+            + "size(p.opcoes), " + PAUTA_SIMPLES + ") from Pauta p "
+            + "where p.inicioSessao >= :inicio and p.inicioSessao < :fim order by p.id")
+    List<SessaoPautaDto> findSessoesIniciadasEntre(LocalDateTime inicio, LocalDateTime fim);
+
+    boolean existsByIdAndArquivadaFalse(Long id);
+
+    /**
+     * Abre a sessão das pautas que ainda não tiveram a sessão aberta, sem alterar as demais.
+     *
+     * @return Quantidade de pautas abertas.
+     */
+    @Modifying
+    @Query("update Pauta p set p.inicioSessao = :inicioSessao, p.tempoSessaoMinutos = :tempoSessaoMinutos "
+            + "where p.id in :pautaIds and p.inicioSessao is null")
+    int abrirSessoes(Collection<Long> pautaIds, LocalDateTime inicioSessao, Long tempoSessaoMinutos);
+
+    @Modifying
+    @Query("update Pauta p set p.arquivada = true where p.id = :pautaId and p.arquivada = false")
+    int marcarArquivada(Long pautaId);
 }
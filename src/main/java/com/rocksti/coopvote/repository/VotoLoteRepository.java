@@ -0,0 +1,55 @@
+package com.rocksti.coopvote.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserções em lote de associados e votos via JDBC. O Hibernate não agrupa inserções de entidades com ID
+ * {@code IDENTITY}, então cada voto salvo pelo repositório JPA seria um comando separado; aqui cada lote é enviado
+ * com {@link JdbcTemplate#batchUpdate}. No MySQL, {@code rewriteBatchedStatements=true} na URL junta o lote em um
+ * único comando.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class VotoLoteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param identificadores Identificadores ainda ausentes do dicionário de associados.
+     */
+    public void cadastrarAssociados(List<String> identificadores) {
+        jdbcTemplate.batchUpdate("INSERT INTO associado (identificador) VALUES (?)", identificadores, identificadores.size(),
+                (insert, identificador) -> insert.setString(1, identificador));
+    }
+
+    /**
+     * @param pautaId      ID da pauta.
+     * @param votos        Votos já validados, com a chave do associado no dicionário.
+     * @param registradoEm Horário de registro gravado em todos os votos.
+     */
+    public void inserirVotos(Long pautaId, List<NovoVoto> votos, LocalDateTime registradoEm) {
+        Timestamp horario = Timestamp.valueOf(registradoEm);
+        jdbcTemplate.batchUpdate("INSERT INTO voto (associado_id, tipo_voto, pauta_id, registrado_em) VALUES (?, ?, ?, ?)",
+                votos, votos.size(), (insert, voto) -> {
+                    insert.setLong(1, voto.associadoRef());
+                    insert.setByte(2, voto.opcao());
+                    insert.setLong(3, pautaId);
+                    insert.setTimestamp(4, horario);
+                });
+    }
+
+    /**
+     * @param associadoRef Chave do associado no dicionário.
+     * @param opcao        Ordinal da opção votada.
+     */
+    public record NovoVoto(long associadoRef, byte opcao) {
+    }
+}
@@ -1,15 +1,54 @@
 package com.rocksti.coopvote.repository;
 
-import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.dto.ContagemPautaDto;
+import com.rocksti.coopvote.dto.VotanteDto;
+import com.rocksti.coopvote.dto.VotoAssociadoDto;
+import com.rocksti.coopvote.dto.VotoExportacaoDto;
 import com.rocksti.coopvote.entity.Voto;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface VotoRepository extends JpaRepository<Voto, Long> {
-    boolean existsByPautaAndAssociadoId(Pauta pauta, String associadoId);
+    @Query("select a.identificador from Voto v join v.associado a "
+            + "where v.pauta.id = :pautaId and a.identificador in :identificadores")
+    List<String> listarVotantes(Long pautaId, Collection<String> identificadores);
 
-    List<Voto> findByPauta(Pauta pauta);
+    @Query("select new com.rocksti.coopvote.dto.ContagemPautaDto(v.pauta.id, v.opcao, count(v)) from Voto v "
+            + "where v.pauta.id in :pautaIds group by v.pauta.id, v.opcao")
+    List<ContagemPautaDto> contarPorPautaEOpcao(Collection<Long> pautaIds);
+
+    /**
+     * Deve ser consumido dentro de uma transação; as linhas são lidas do banco à medida que o stream avança.
+     */
+    @Query("select new com.rocksti.coopvote.dto.VotanteDto(v.pauta.id, a.identificador) from Voto v "
+            + "join v.associado a where v.pauta.id in :pautaIds")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<VotanteDto> listarVotantesPorPautas(Collection<Long> pautaIds);
+
+    @Query("select new com.rocksti.coopvote.dto.VotoExportacaoDto(a.identificador, v.opcao) from Voto v "
+            + "join v.associado a where v.pauta.id = :pautaId")
+    List<VotoExportacaoDto> listarParaExportacao(Long pautaId);
+
+    /**
+     * Votos do associado em pautas com ID menor que {@code antesDaPauta}, da pauta mais recente para a mais antiga,
+     * percorrendo o índice (associado_id, pauta_id) e buscando a descrição de cada pauta pela chave primária.
+     */
+    @Query("select new com.rocksti.coopvote.dto.VotoAssociadoDto(p.id, p.descricao, v.opcao, v.registradoEm) "
+            + "from Voto v join v.pauta p join v.associado a "
+            + "where a.identificador = :associadoId and v.pauta.id < :antesDaPauta order by v.pauta.id desc")
+    List<VotoAssociadoDto> listarPorAssociado(String associadoId, Long antesDaPauta, Limit limite);
+
+    @Modifying
+    @Query("delete from Voto v where v.pauta.id = :pautaId")
+    int removerPorPauta(Long pautaId);
 }
@@ -0,0 +1,354 @@
+package com.rocksti.coopvote.segmento;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivo imutável e compacto com os votos de uma pauta encerrada, lido por mapeamento em memória.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * cabeçalho  int MAGICO | short VERSAO | byte bitsPorVoto | byte reservado | long pautaId | int quantidadeVotos
+ *            int quantidadeOpcoes | long[quantidadeOpcoes] contagem | int quantidadeReinicios
+ *            int tamanhoAssociados | int tamanhoTipos | int crcCorpo | int crcCabecalho
+ * corpo      int[quantidadeReinicios] deslocamentos dos pontos de reinício no bloco de associados
+ *            associados ordenados por bytes UTF-8, cada um como varint prefixoComum | varint tamanhoSufixo | sufixo
+ *            tipos de voto com bitsPorVoto bits cada, na ordem dos associados
+ * </pre>
+ * A cada {@value #INTERVALO_REINICIO} associados o identificador é gravado por inteiro (prefixo comum zero),
+ * o que permite a busca binária pelos pontos de reinício seguida de uma varredura curta.
+ */
+public final class SegmentoPauta {
+
+    private static final int MAGICO = 0x43565350; // "CVSP"
+    private static final short VERSAO = 1;
+    private static final int INTERVALO_REINICIO = 32;
+    private static final Comparator<byte[]> ORDEM_BYTES = Arrays::compareUnsigned;
+
+    private final ByteBuffer buffer;
+    private final long pautaId;
+    private final int bitsPorVoto;
+    private final int quantidadeVotos;
+    private final long[] contagem;
+    private final int[] reinicios;
+    private final int inicioAssociados;
+    private final int inicioTipos;
+
+    private SegmentoPauta(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGICO || buffer.getShort(4) != VERSAO) {
+            throw new SegmentoPautaException("Formato de segmento de pauta desconhecido");
+        }
+        ByteBuffer leitura = buffer.duplicate().position(6);
+        this.bitsPorVoto = leitura.get();
+        leitura.get();
+        this.pautaId = leitura.getLong();
+        this.quantidadeVotos = leitura.getInt();
+        this.contagem = new long[leitura.getInt()];
+        for (int i = 0; i < contagem.length; i++) {
+            contagem[i] = leitura.getLong();
+        }
+        this.reinicios = new int[leitura.getInt()];
+        int tamanhoAssociados = leitura.getInt();
+        int tamanhoTipos = leitura.getInt();
+        int crcCorpo = leitura.getInt();
+        int fimCabecalho = leitura.position();
+        int crcCabecalho = leitura.getInt();
+
+        if (crcCabecalho != crc(buffer, 0, fimCabecalho)) {
+            throw new SegmentoPautaException("Cabeçalho do segmento da pauta " + pautaId + " corrompido");
+        }
+        int inicioCorpo = leitura.position();
+        int tamanhoCorpo = reinicios.length * Integer.BYTES + tamanhoAssociados + tamanhoTipos;
+        if (buffer.limit() != inicioCorpo + tamanhoCorpo || crcCorpo != crc(buffer, inicioCorpo, tamanhoCorpo)) {
+            throw new SegmentoPautaException("Corpo do segmento da pauta " + pautaId + " corrompido");
+        }
+        for (int i = 0; i < reinicios.length; i++) {
+            reinicios[i] = leitura.getInt();
+        }
+        this.inicioAssociados = leitura.position();
+        this.inicioTipos = inicioAssociados + tamanhoAssociados;
+    }
+
+    /**
+     * Grava os votos de uma pauta em um novo segmento, substituindo atomicamente um arquivo existente.
+     *
+     * @param arquivo          Caminho do segmento.
+     * @param pautaId          ID da pauta.
+     * @param quantidadeOpcoes Quantidade de opções de voto; os códigos vão de zero a quantidadeOpcoes - 1.
+     * @param votos            Votos da pauta, no máximo um por associado.
+     * @throws IOException Se houver erro de escrita.
+     */
+    public static void gravar(Path arquivo, long pautaId, int quantidadeOpcoes, List<VotoCompacto> votos) throws IOException {
+        List<byte[]> associados = new ArrayList<>(votos.size());
+        List<VotoCompacto> ordenados = new ArrayList<>(votos);
+        ordenados.sort(Comparator.comparing(voto -> voto.associadoId().getBytes(StandardCharsets.UTF_8), ORDEM_BYTES));
+        ordenados.forEach(voto -> associados.add(voto.associadoId().getBytes(StandardCharsets.UTF_8)));
+
+        int bitsPorVoto = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(quantidadeOpcoes - 1, 0)));
+        long[] contagem = new long[quantidadeOpcoes];
+        byte[] tipos = new byte[(int) (((long) ordenados.size() * bitsPorVoto + 7) / 8)];
+        for (int i = 0; i < ordenados.size(); i++) {
+            int codigo = ordenados.get(i).codigo();
+            if (codigo < 0 || codigo >= quantidadeOpcoes) {
+                throw new IllegalArgumentException("Código de voto fora das opções da pauta: " + codigo);
+            }
+            contagem[codigo]++;
+            escreverBits(tipos, (long) i * bitsPorVoto, bitsPorVoto, codigo);
+        }
+
+        int quantidadeReinicios = (ordenados.size() + INTERVALO_REINICIO - 1) / INTERVALO_REINICIO;
+        ByteBuffer blocoAssociados = codificarAssociados(associados);
+        ByteBuffer corpo = ByteBuffer.allocate(quantidadeReinicios * Integer.BYTES + blocoAssociados.remaining() + tipos.length);
+        int deslocamento = 0;
+        for (int i = 0; i < associados.size(); i++) {
+            if (i % INTERVALO_REINICIO == 0) {
+                corpo.putInt(deslocamento);
+            }
+            deslocamento += tamanhoCodificado(associados, i);
+        }
+        corpo.put(blocoAssociados).put(tipos).flip();
+
+        ByteBuffer cabecalho = ByteBuffer.allocate(44 + quantidadeOpcoes * Long.BYTES)
+                .putInt(MAGICO)
+                .putShort(VERSAO)
+                .put((byte) bitsPorVoto)
+                .put((byte) 0)
+                .putLong(pautaId)
+                .putInt(ordenados.size())
+                .putInt(quantidadeOpcoes);
+        for (long total : contagem) {
+            cabecalho.putLong(total);
+        }
+        cabecalho.putInt(quantidadeReinicios)
+                .putInt(blocoAssociados.capacity())
+                .putInt(tipos.length)
+                .putInt(crc(corpo, 0, corpo.limit()));
+        cabecalho.putInt(crc(cabecalho, 0, cabecalho.position())).flip();
+
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (cabecalho.hasRemaining() || corpo.hasRemaining()) {
+                canal.write(new ByteBuffer[]{cabecalho, corpo});
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Mapeia um segmento em memória e valida seus checksums.
+     *
+     * @param arquivo Caminho do segmento.
+     * @return O segmento aberto para leitura.
+     * @throws IOException            Se houver erro de leitura.
+     * @throws SegmentoPautaException Se o arquivo estiver corrompido.
+     */
+    public static SegmentoPauta abrir(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer mapeado = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return new SegmentoPauta(mapeado);
+        }
+    }
+
+    public long getPautaId() {
+        return pautaId;
+    }
+
+    public int getQuantidadeVotos() {
+        return quantidadeVotos;
+    }
+
+    /**
+     * @return Total de votos por código de opção.
+     */
+    public long[] getContagem() {
+        return contagem.clone();
+    }
+
+    /**
+     * Procura o voto de um associado.
+     *
+     * @param associadoId Identificador externo do associado.
+     * @return O código do voto, ou vazio se o associado não votou nesta pauta.
+     */
+    public OptionalInt buscar(String associadoId) {
+        byte[] procurado = associadoId.getBytes(StandardCharsets.UTF_8);
+        int inferior = 0;
+        int superior = reinicios.length - 1;
+        int bloco = -1;
+        while (inferior <= superior) {
+            int meio = (inferior + superior) >>> 1;
+            int comparacao = ORDEM_BYTES.compare(associadoNoReinicio(meio), procurado);
+            if (comparacao <= 0) {
+                bloco = meio;
+                inferior = meio + 1;
+            } else {
+                superior = meio - 1;
+            }
+        }
+        if (bloco < 0) {
+            return OptionalInt.empty();
+        }
+
+        Cursor cursor = new Cursor(bloco);
+        int fim = Math.min(quantidadeVotos, (bloco + 1) * INTERVALO_REINICIO);
+        while (cursor.indice < fim) {
+            int comparacao = ORDEM_BYTES.compare(cursor.proximo(), procurado);
+            if (comparacao == 0) {
+                return OptionalInt.of(codigo(cursor.indice - 1));
+            }
+            if (comparacao > 0) {
+                break;
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Percorre todos os votos em ordem de associado.
+     *
+     * @param consumidor Recebe o identificador do associado e o código do voto.
+     */
+    public void percorrer(ObjIntConsumer<String> consumidor) {
+        Cursor cursor = new Cursor(0);
+        while (cursor.indice < quantidadeVotos) {
+            byte[] associado = cursor.proximo();
+            consumidor.accept(new String(associado, StandardCharsets.UTF_8), codigo(cursor.indice - 1));
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    private byte[] associadoNoReinicio(int bloco) {
+        return new Cursor(bloco).proximo();
+    }
+
+    private int codigo(int indice) {
+        long bit = (long) indice * bitsPorVoto;
+        int valor = 0;
+        for (int i = 0; i < bitsPorVoto; i++, bit++) {
+            int octeto = buffer.get(inicioTipos + (int) (bit >>> 3));
+            valor |= ((octeto >>> (7 - (bit & 7))) & 1) << (bitsPorVoto - 1 - i);
+        }
+        return valor;
+    }
+
+    private static void escreverBits(byte[] destino, long bit, int quantidade, int valor) {
+        for (int i = 0; i < quantidade; i++, bit++) {
+            if (((valor >>> (quantidade - 1 - i)) & 1) != 0) {
+                destino[(int) (bit >>> 3)] |= (byte) (1 << (7 - (bit & 7)));
+            }
+        }
+    }
+
+    private static ByteBuffer codificarAssociados(List<byte[]> associados) {
+        int tamanho = 0;
+        for (int i = 0; i < associados.size(); i++) {
+            tamanho += tamanhoCodificado(associados, i);
+        }
+        ByteBuffer bloco = ByteBuffer.allocate(tamanho);
+        for (int i = 0; i < associados.size(); i++) {
+            byte[] atual = associados.get(i);
+            int prefixo = prefixoComum(associados, i);
+            escreverVarint(bloco, prefixo);
+            escreverVarint(bloco, atual.length - prefixo);
+            bloco.put(atual, prefixo, atual.length - prefixo);
+        }
+        return bloco.flip();
+    }
+
+    private static int tamanhoCodificado(List<byte[]> associados, int indice) {
+        int prefixo = prefixoComum(associados, indice);
+        int sufixo = associados.get(indice).length - prefixo;
+        return tamanhoVarint(prefixo) + tamanhoVarint(sufixo) + sufixo;
+    }
+
+    private static int prefixoComum(List<byte[]> associados, int indice) {
+        if (indice % INTERVALO_REINICIO == 0) {
+            return 0;
+        }
+        byte[] anterior = associados.get(indice - 1);
+        byte[] atual = associados.get(indice);
+        int divergencia = Arrays.mismatch(anterior, atual);
+        if (divergencia < 0) {
+            throw new IllegalArgumentException("Associado com mais de um voto na pauta");
+        }
+        return Math.min(divergencia, Math.min(anterior.length, atual.length));
+    }
+
+    private static void escreverVarint(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    private static int tamanhoVarint(int valor) {
+        int bytes = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    private static int crc(ByteBuffer origem, int inicio, int tamanho) {
+        CRC32C crc = new CRC32C();
+        crc.update(origem.duplicate().limit(inicio + tamanho).position(inicio));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Decodifica os associados sequencialmente a partir de um ponto de reinício.
+     */
+    private final class Cursor {
+        private int posicao;
+        private int indice;
+        private byte[] anterior = new byte[0];
+
+        private Cursor(int bloco) {
+            this.posicao = inicioAssociados + reinicios[bloco];
+            this.indice = bloco * INTERVALO_REINICIO;
+        }
+
+        private byte[] proximo() {
+            int prefixo = lerVarint();
+            int sufixo = lerVarint();
+            byte[] atual = Arrays.copyOf(anterior, prefixo + sufixo);
+            buffer.get(posicao, atual, prefixo, sufixo);
+            posicao += sufixo;
+            indice++;
+            anterior = atual;
+            return atual;
+        }
+
+        private int lerVarint() {
+            int valor = 0;
+            int deslocamento = 0;
+            byte octeto;
+            do {
+                octeto = buffer.get(posicao++);
+                valor |= (octeto & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while ((octeto & 0x80) != 0);
+            return valor;
+        }
+    }
+}
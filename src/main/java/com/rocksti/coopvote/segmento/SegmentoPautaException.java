@@ -0,0 +1,11 @@
+package com.rocksti.coopvote.segmento;
+
+/**
+ * Indica um arquivo de segmento de pauta corrompido ou em formato desconhecido.
+ */
+public class SegmentoPautaException extends RuntimeException {
+
+    public SegmentoPautaException(String message) {
+        super(message);
+    }
+}
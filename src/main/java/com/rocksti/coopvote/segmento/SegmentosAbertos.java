@@ -0,0 +1,66 @@
+package com.rocksti.coopvote.segmento;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Segmentos de pauta mantidos mapeados em memória para as consultas seguintes, até uma quantidade máxima. Além dela,
+ * o usado há mais tempo deixa de ser mantido e é mapeado de novo na próxima consulta; o mapeamento liberado é
+ * desfeito pelo coletor de lixo quando as consultas em andamento terminam de usá-lo.
+ *
+ * @param <K> Chave do segmento, como o caminho do arquivo ou o ID da pauta.
+ */
+public final class SegmentosAbertos<K> {
+
+    private final Map<K, SegmentoPauta> abertos;
+
+    public SegmentosAbertos(int maximo) {
+        this.abertos = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, SegmentoPauta> maisAntigo) {
+                return size() > maximo;
+            }
+        };
+    }
+
+    /**
+     * Devolve o segmento mantido aberto ou o abre. A abertura acontece fora do bloqueio; se duas consultas abrirem o
+     * mesmo segmento ao mesmo tempo, a primeira a terminar é a mantida.
+     *
+     * @param chave    Chave do segmento.
+     * @param abertura Abre o segmento, ou devolve nulo se ele não existe.
+     * @return O segmento, ou nulo se a abertura devolveu nulo.
+     * @throws IOException Se o segmento não puder ser aberto.
+     */
+    public SegmentoPauta buscar(K chave, Abertura<K> abertura) throws IOException {
+        synchronized (abertos) {
+            SegmentoPauta aberto = abertos.get(chave);
+            if (aberto != null) {
+                return aberto;
+            }
+        }
+        SegmentoPauta segmento = abertura.abrir(chave);
+        if (segmento == null) {
+            return null;
+        }
+        synchronized (abertos) {
+            SegmentoPauta concorrente = abertos.putIfAbsent(chave, segmento);
+            return concorrente != null ? concorrente : segmento;
+        }
+    }
+
+    /**
+     * Mantém aberto um segmento recém-gravado, substituindo o de uma gravação anterior.
+     */
+    public void guardar(K chave, SegmentoPauta segmento) {
+        synchronized (abertos) {
+            abertos.put(chave, segmento);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Abertura<K> {
+        SegmentoPauta abrir(K chave) throws IOException;
+    }
+}
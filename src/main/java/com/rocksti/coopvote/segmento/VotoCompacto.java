@@ -0,0 +1,10 @@
+package com.rocksti.coopvote.segmento;
+
+/**
+ * Voto de uma pauta encerrada, reduzido ao associado e ao código da opção escolhida.
+ *
+ * @param associadoId Identificador externo do associado.
+ * @param codigo      Código da opção votada.
+ */
+public record VotoCompacto(String associadoId, int codigo) {
+}
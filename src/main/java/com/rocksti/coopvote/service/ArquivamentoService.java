@@ -0,0 +1,119 @@
+package com.rocksti.coopvote.service;
+
+import com.rocksti.coopvote.arquivo.ArquivamentoProperties;
+import com.rocksti.coopvote.arquivo.ArquivoVotos;
+import com.rocksti.coopvote.cooperativa.Cooperativas;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.repository.AcumuladorVotosRepository;
+import com.rocksti.coopvote.repository.ParticipacaoArquivadaRepository;
+import com.rocksti.coopvote.repository.PautaRepository;
+import com.rocksti.coopvote.repository.VotoRepository;
+import com.rocksti.coopvote.segmento.SegmentoPauta;
+import com.rocksti.coopvote.segmento.VotoCompacto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class ArquivamentoService {
+
+    private final PautaRepository pautaRepository;
+    private final VotoRepository votoRepository;
+    private final ParticipacaoArquivadaRepository participacaoArquivadaRepository;
+    private final AcumuladorVotosRepository acumuladorVotosRepository;
+    private final ArquivoVotos arquivoVotos;
+    private final ArquivamentoProperties propriedades;
+    private final TransactionTemplate transactionTemplate;
+    private final Cooperativas cooperativas;
+
+    /**
+     * Execução periódica de {@link #arquivarPautasEncerradas(LocalDateTime)}, no intervalo de
+     * {@code coopvote.arquivamento.intervalo}, em cada cooperativa.
+     */
+    @Scheduled(initialDelayString = "${coopvote.arquivamento.intervalo:PT1H}",
+            fixedDelayString = "${coopvote.arquivamento.intervalo:PT1H}")
+    public void arquivarPautasEncerradasAgendado() {
+        cooperativas.paraCada(() -> arquivarPautasEncerradas(LocalDateTime.now()));
+    }
+
+    /**
+     * Arquiva as pautas cuja sessão terminou há mais de {@code coopvote.arquivamento.idade-minima}. A falha em uma
+     * pauta não impede o arquivamento das demais; ela é tentada de novo na próxima execução.
+     *
+     * @param agora Horário de referência.
+     * @return Quantidade de pautas arquivadas.
+     */
+    public int arquivarPautasEncerradas(LocalDateTime agora) {
+        LocalDateTime limite = agora.minus(propriedades.getIdadeMinima());
+        List<SessaoPautaDto> candidatas = pautaRepository.findSessoesNaoArquivadasIniciadasAntesDe(limite).stream()
+                .filter(sessao -> sessao.getInicioSessao().plusMinutes(sessao.getTempoSessaoMinutos()).isBefore(limite))
+                .toList();
+
+        int arquivadas = 0;
+        for (SessaoPautaDto sessao : candidatas) {
+            try {
+                arquivarPauta(sessao.getPautaId());
+                arquivadas++;
+            } catch (RuntimeException e) {
+                log.error("Falha ao arquivar a pauta ID: {}", sessao.getPautaId(), e);
+            }
+        }
+        if (arquivadas > 0) {
+            log.info("Pautas arquivadas: {}", arquivadas);
+        }
+        return arquivadas;
+    }
+
+    /**
+     * Grava os votos de uma pauta no arquivo da pauta e, em seguida, remove-os da tabela de votos na mesma transação
+     * em que marca a pauta como arquivada e registra os votantes em {@code participacao_arquivada}, para o histórico
+     * dos associados. Se o processo parar entre as duas etapas, os votos continuam na tabela e o arquivo é regravado
+     * na próxima execução. Uma pauta com votos só é arquivada depois que o acumulador da auditoria foi finalizado:
+     * antes disso ela ainda aceita importações e os votos ainda não acumulados ficariam fora da raiz.
+     *
+     * @param pautaId ID de uma pauta com sessão encerrada.
+     */
+    public void arquivarPauta(Long pautaId) {
+        if (!pautaRepository.existsByIdAndArquivadaFalse(pautaId)) {
+            // Regravar o arquivo de uma pauta já arquivada a partir da tabela, agora vazia, perderia os votos.
+            throw new IllegalStateException("Pauta " + pautaId + " já arquivada ou inexistente");
+        }
+        int quantidadeOpcoes = pautaRepository.findOpcoesById(pautaId).size();
+        List<VotoCompacto> votos = votoRepository.listarParaExportacao(pautaId).stream()
+                .map(voto -> new VotoCompacto(voto.getAssociadoId(), voto.getOpcao()))
+                .toList();
+        if (!votos.isEmpty() && !acumuladorVotosRepository.existsByPautaIdAndFinalizadoEmIsNotNull(pautaId)) {
+            throw new IllegalStateException("O acumulador da pauta " + pautaId + " ainda não foi finalizado");
+        }
+
+        SegmentoPauta segmento;
+        try {
+            segmento = arquivoVotos.gravar(pautaId, quantidadeOpcoes, votos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o arquivo de votos da pauta " + pautaId, e);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (pautaRepository.marcarArquivada(pautaId) == 0) {
+                throw new IllegalStateException("Pauta " + pautaId + " já arquivada ou inexistente");
+            }
+            participacaoArquivadaRepository.registrar(pautaId);
+            int removidos = votoRepository.removerPorPauta(pautaId);
+            if (removidos != segmento.getQuantidadeVotos()) {
+                throw new IllegalStateException("A pauta " + pautaId + " recebeu votos durante o arquivamento");
+            }
+        });
+        log.info("Pauta ID: {} arquivada com {} votos", pautaId, votos.size());
+    }
+}
@@ -0,0 +1,42 @@
+package com.rocksti.coopvote.service;
+
+import com.rocksti.coopvote.entity.Associado;
+import com.rocksti.coopvote.repository.AssociadoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class AssociadoService {
+
+    private final AssociadoRepository associadoRepository;
+
+    /**
+     * Retorna a entrada do dicionário de associados para o identificador informado, cadastrando-a no primeiro voto.
+     *
+     * @param identificador Identificador externo do associado (CPF ou matrícula).
+     * @return O associado com sua chave numérica.
+     */
+    public Associado obterOuCadastrar(String identificador) {
+        return associadoRepository.findByIdentificador(identificador)
+                .orElseGet(() -> cadastrar(identificador));
+    }
+
+    // Métodos auxiliares privados
+
+    private Associado cadastrar(String identificador) {
+        try {
+            Associado associado = associadoRepository.save(Associado.builder().identificador(identificador).build());
+            log.info("Associado cadastrado no dicionário: ID {}", associado.getId());
+            return associado;
+        } catch (DataIntegrityViolationException e) {
+            // Outro voto do mesmo associado cadastrou o identificador entre a consulta e a inserção.
+            return associadoRepository.findByIdentificador(identificador).orElseThrow(() -> e);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.rocksti.coopvote.service;
+
+import com.rocksti.coopvote.auditoria.ArvoreMerkle;
+import com.rocksti.coopvote.auditoria.AuditoriaProperties;
+import com.rocksti.coopvote.cooperativa.Cooperativas;
+import com.rocksti.coopvote.dto.AuditoriaPautaDto;
+import com.rocksti.coopvote.dto.ProvaInclusaoDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.entity.AcumuladorVotos;
+import com.rocksti.coopvote.enums.SituacaoImportacao;
+import com.rocksti.coopvote.enums.TipoEvento;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.exception.NotFoundException;
+import com.rocksti.coopvote.outbox.Outbox;
+import com.rocksti.coopvote.repository.AcumuladorVotosRepository;
+import com.rocksti.coopvote.repository.ArvoreVotosRepository;
+import com.rocksti.coopvote.repository.ArvoreVotosRepository.VotoAcumulavel;
+import com.rocksti.coopvote.repository.ImportacaoRepository;
+import com.rocksti.coopvote.repository.PautaRepository;
+import com.rocksti.coopvote.store.VoteStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acumulador de Merkle dos votos de cada pauta, para provar que nenhum voto foi alterado depois de gravado.
+ * <p>
+ * Os votos entram na árvore da pauta em lotes, na ordem em que foram gravados, pela execução periódica de
+ * {@link #acumular(LocalDateTime)}; o registro do voto não espera pelo acumulador. Cada lote lê apenas os picos da
+ * árvore e grava os nós novos, sem reler os votos anteriores. A raiz é finalizada pelo encerramento explícito da
+ * pauta, em {@link #finalizar(Long, LocalDateTime)}, ou depois do fim da sessão e da carência; a partir daí a pauta
+ * deixa de aceitar importações e pode ser arquivada. Com o outbox habilitado, o resultado final é publicado nesse
+ * momento.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class AuditoriaService {
+
+    private static final List<SituacaoImportacao> IMPORTACOES_EM_ANDAMENTO =
+            List.of(SituacaoImportacao.RECEBENDO, SituacaoImportacao.PENDENTE, SituacaoImportacao.PROCESSANDO);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final AcumuladorVotosRepository acumuladorRepository;
+    private final ArvoreVotosRepository arvoreRepository;
+    private final PautaRepository pautaRepository;
+    private final ImportacaoRepository importacaoRepository;
+    private final AuditoriaProperties propriedades;
+    private final TransactionTemplate transactionTemplate;
+    private final Cooperativas cooperativas;
+    private final Outbox outbox;
+    private final VoteStore voteStore;
+
+    /**
+     * Execução periódica de {@link #acumular(LocalDateTime)}, no intervalo de {@code coopvote.auditoria.intervalo},
+     * em cada cooperativa.
+     */
+    @Scheduled(initialDelayString = "${coopvote.auditoria.intervalo:PT2S}",
+            fixedDelayString = "${coopvote.auditoria.intervalo:PT2S}")
+    public void acumularAgendado() {
+        cooperativas.paraCada(() -> acumular(LocalDateTime.now()));
+    }
+
+    /**
+     * Acrescenta os votos pendentes ao acumulador de cada pauta e finaliza a raiz das pautas cuja sessão terminou há
+     * mais de {@code coopvote.auditoria.carencia}. A falha em uma pauta não impede as demais; ela é tentada de novo na
+     * próxima execução.
+     *
+     * @param agora Horário de referência.
+     * @return Quantidade de votos acumulados.
+     */
+    public int acumular(LocalDateTime agora) {
+        int acumulados = 0;
+        for (Long pautaId : arvoreRepository.listarPautasComVotosPendentes()) {
+            try {
+                int lote;
+                do {
+                    lote = acumularLote(pautaId, null);
+                    acumulados += lote;
+                } while (lote == propriedades.getLote());
+            } catch (RuntimeException e) {
+                log.error("Falha ao acumular os votos da pauta ID: {}", pautaId, e);
+            }
+        }
+
+        LocalDateTime limite = agora.minus(propriedades.getCarencia());
+        for (SessaoPautaDto sessao : acumuladorRepository.findSessoesNaoFinalizadas()) {
+            if (isEncerradaAntesDe(sessao, limite)
+                    && !importacaoRepository.existsByPautaIdAndSituacaoIn(sessao.getPautaId(), IMPORTACOES_EM_ANDAMENTO)) {
+                try {
+                    acumulados += acumularLote(sessao.getPautaId(), agora);
+                } catch (RuntimeException e) {
+                    log.error("Falha ao finalizar o acumulador da pauta ID: {}", sessao.getPautaId(), e);
+                }
+            }
+        }
+        return acumulados;
+    }
+
+    /**
+     * Encerra a apuração da pauta antes do fim da carência: acrescenta os votos pendentes ao acumulador e finaliza a
+     * raiz. Depois disso a pauta não aceita mais importações de votos em papel. Uma pauta já finalizada é devolvida
+     * sem alterações.
+     *
+     * @param pautaId ID da pauta.
+     * @param agora   Horário de finalização.
+     * @return A raiz finalizada e a quantidade de votos acumulados.
+     * @throws NotFoundException        Se a pauta não existir.
+     * @throws ConflictRequestException Se a sessão ainda não terminou ou se há importações em andamento.
+     */
+    public AuditoriaPautaDto finalizar(Long pautaId, LocalDateTime agora) {
+        SessaoPautaDto sessao = pautaRepository.findSessaoById(pautaId).orElseThrow(() -> {
+            log.warn("Pauta não encontrada: ID {}", pautaId);
+            return new NotFoundException("Pauta não encontrada");
+        });
+        if (!isEncerradaAntesDe(sessao, agora)) {
+            throw new ConflictRequestException("A sessão de votação desta pauta ainda não terminou");
+        }
+        if (importacaoRepository.existsByPautaIdAndSituacaoIn(pautaId, IMPORTACOES_EM_ANDAMENTO)) {
+            throw new ConflictRequestException("A pauta tem importações de votos em papel em andamento");
+        }
+        int lote;
+        do {
+            lote = acumularLote(pautaId, agora);
+        } while (lote == propriedades.getLote());
+        return buscarRaiz(pautaId);
+    }
+
+    /**
+     * Busca a raiz atual do acumulador de uma pauta.
+     *
+     * @param pautaId ID da pauta.
+     * @return A raiz e a quantidade de votos acumulados; uma pauta sem votos tem a raiz da árvore vazia.
+     * @throws NotFoundException Se a pauta não existir.
+     */
+    public AuditoriaPautaDto buscarRaiz(Long pautaId) {
+        if (!pautaRepository.existsById(pautaId)) {
+            log.warn("Pauta não encontrada: ID {}", pautaId);
+            throw new NotFoundException("Pauta não encontrada");
+        }
+        return acumuladorRepository.findById(pautaId)
+                .map(acumulador -> new AuditoriaPautaDto(pautaId, acumulador.getFolhas(), HEX.formatHex(raiz(acumulador)),
+                        acumulador.getFinalizadoEm()))
+                .orElseGet(() -> new AuditoriaPautaDto(pautaId, 0, HEX.formatHex(raizVazia()), null));
+    }
+
+    /**
+     * Monta a prova de inclusão do voto de um associado, lendo um nó por nível da árvore. A folha é calculada a partir
+     * do voto como está gravado agora, de modo que um voto alterado depois de acumulado não passa na verificação.
+     *
+     * @param pautaId     ID da pauta.
+     * @param associadoId Identificador do associado.
+     * @return A prova de inclusão na raiz atual.
+     * @throws NotFoundException        Se o associado não votou na pauta ou se a pauta foi arquivada.
+     * @throws ConflictRequestException Se o voto ainda não foi acumulado.
+     */
+    public ProvaInclusaoDto gerarProva(Long pautaId, String associadoId) {
+        VotoAcumulavel voto = arvoreRepository.buscarVoto(pautaId, associadoId)
+                .orElseThrow(() -> new NotFoundException("Voto não encontrado"));
+        if (voto.folha() == null) {
+            throw new ConflictRequestException("O voto ainda não foi incluído no acumulador da pauta; tente novamente "
+                    + "em instantes");
+        }
+        // O acumulador é lido depois do voto: a folha do voto e a quantidade de folhas são gravadas na mesma transação
+        AcumuladorVotos acumulador = acumuladorRepository.findById(pautaId).orElseThrow();
+        long folhas = acumulador.getFolhas();
+        Map<Long, byte[]> nos = arvoreRepository.buscarNos(pautaId, ArvoreMerkle.posicoesCaminho(voto.folha(), folhas));
+        List<String> caminho = ArvoreMerkle.caminho(voto.folha(), folhas, nos::get).stream().map(HEX::formatHex).toList();
+
+        String dados = voto.dados(pautaId);
+        log.info("Prova de inclusão gerada para o voto do associado {} na pauta ID: {}", associadoId, pautaId);
+        return new ProvaInclusaoDto(pautaId, associadoId, dados, HEX.formatHex(ArvoreMerkle.hashFolha(dados)),
+                voto.folha(), folhas, caminho, HEX.formatHex(raiz(acumulador)), acumulador.getFinalizadoEm());
+    }
+
+    // Métodos auxiliares privados
+
+    /**
+     * Acrescenta um lote de votos pendentes ao acumulador da pauta, com o acumulador bloqueado até o fim da
+     * transação. Os nós novos, a folha de cada voto e a nova raiz são gravados juntos.
+     *
+     * @param finalizarEm Horário de finalização, ou nulo para só acumular. A raiz é finalizada quando o lote
+     *                    esgota os votos pendentes.
+     * @return Quantidade de votos acumulados.
+     */
+    private int acumularLote(Long pautaId, LocalDateTime finalizarEm) {
+        Integer acumulados = transactionTemplate.execute(status -> {
+            AcumuladorVotos acumulador = acumuladorRepository.findParaAtualizacao(pautaId)
+                    .orElseGet(() -> acumuladorRepository.save(AcumuladorVotos.builder().pautaId(pautaId).build()));
+            if (acumulador.getFinalizadoEm() != null) {
+                log.error("A pauta ID: {} recebeu votos depois da finalização do acumulador", pautaId);
+                return 0;
+            }
+
+            List<VotoAcumulavel> votos = arvoreRepository.listarPendentes(pautaId, propriedades.getLote());
+            if (!votos.isEmpty()) {
+                ArvoreMerkle arvore = new ArvoreMerkle(acumulador.getFolhas(),
+                        arvoreRepository.buscarNos(pautaId, ArvoreMerkle.posicoesPicos(acumulador.getFolhas())));
+                Map<Long, Long> folhas = new LinkedHashMap<>();
+                for (VotoAcumulavel voto : votos) {
+                    folhas.put(voto.id(), arvore.acrescentar(ArvoreMerkle.hashFolha(voto.dados(pautaId))));
+                }
+                arvoreRepository.inserirNos(pautaId, arvore.getNovosNos());
+                arvoreRepository.definirFolhas(folhas);
+                acumulador.setFolhas(Math.toIntExact(arvore.getFolhas()));
+                acumulador.setRaiz(arvore.raiz());
+            }
+            if (finalizarEm != null && votos.size() < propriedades.getLote()) {
+                acumulador.setRaiz(raiz(acumulador));
+                acumulador.setFinalizadoEm(finalizarEm);
+                publicarResultadoFinal(acumulador);
+                log.info("Acumulador da pauta ID: {} finalizado com {} votos e raiz {}", pautaId,
+                        acumulador.getFolhas(), HEX.formatHex(acumulador.getRaiz()));
+            }
+            return votos.size();
+        });
+        return acumulados != null ? acumulados : 0;
+    }
+
+    /**
+     * Publica o resultado junto com a raiz finalizada, na transação da finalização: a pauta não aceita mais votos
+     * nem importações, então a contagem é a definitiva.
+     */
+    private void publicarResultadoFinal(AcumuladorVotos acumulador) {
+        if (outbox.isHabilitado()) {
+            ResultadoPautaDto resultado = voteStore.buscarResultados(List.of(acumulador.getPautaId())).getFirst();
+            outbox.registrar(TipoEvento.RESULTADO_FINAL, acumulador.getPautaId(),
+                    new Outbox.ResultadoFinal(resultado, acumulador.getFolhas(), HEX.formatHex(acumulador.getRaiz())));
+        }
+    }
+
+    private static boolean isEncerradaAntesDe(SessaoPautaDto sessao, LocalDateTime limite) {
+        return sessao.getInicioSessao() != null && sessao.getTempoSessaoMinutos() != null
+                && sessao.getInicioSessao().plusMinutes(sessao.getTempoSessaoMinutos()).isBefore(limite);
+    }
+
+    private static byte[] raiz(AcumuladorVotos acumulador) {
+        return acumulador.getRaiz() != null ? acumulador.getRaiz() : raizVazia();
+    }
+
+    private static byte[] raizVazia() {
+        return new ArvoreMerkle(0, Map.of()).raiz();
+    }
+}
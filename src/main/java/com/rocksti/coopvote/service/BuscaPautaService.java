@@ -0,0 +1,132 @@
+package com.rocksti.coopvote.service;
+
+import com.rocksti.coopvote.busca.BuscaProperties;
+import com.rocksti.coopvote.busca.IndiceInvertido;
+import com.rocksti.coopvote.cooperativa.ContextoCooperativa;
+import com.rocksti.coopvote.cooperativa.Cooperativas;
+import com.rocksti.coopvote.dto.BuscaPautasDto;
+import com.rocksti.coopvote.dto.PautaEncontradaDto;
+import com.rocksti.coopvote.dto.ResumoPautaDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.store.VoteStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Busca textual nas descrições das pautas, servida por um {@link IndiceInvertido} em memória. O índice é montado
+ * quando a aplicação termina de subir, atualizado a cada pauta cadastrada por esta instância e completado
+ * periodicamente com as pautas cadastradas por outras instâncias. Cada cooperativa tem o seu índice, pois os IDs de pauta se repetem entre elas.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class BuscaPautaService {
+
+    /**
+     * Pautas lidas do armazenamento por consulta na sincronização do índice.
+     */
+    private static final int PAUTAS_POR_CONSULTA = 1_000;
+
+    /**
+     * Limites da paginação: resultados por página e posição máxima alcançável nos resultados ordenados.
+     */
+    private static final int MAXIMO_POR_PAGINA = 100;
+    private static final int MAXIMO_DESLOCAMENTO = 10_000;
+
+    private final VoteStore voteStore;
+    private final Cooperativas cooperativas;
+    private final BuscaProperties propriedades;
+    private final Map<String, Indice> indices = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    void carregar() {
+        int indexadas = sincronizar();
+        log.info("Índice de busca de pautas montado: {} pautas", indexadas);
+    }
+
+    /**
+     * Inclui no índice as pautas cadastradas depois da última sincronização, no intervalo de
+     * {@code coopvote.busca.intervalo-sincronizacao}. A leitura recomeça {@code coopvote.busca.janela-releitura} IDs
+     * antes do maior já lido, para incluir as pautas cujas transações terminaram depois das de IDs maiores.
+     *
+     * @return Quantidade de pautas incluídas no índice.
+     */
+    @Scheduled(initialDelayString = "${coopvote.busca.intervalo-sincronizacao:PT1M}",
+            fixedDelayString = "${coopvote.busca.intervalo-sincronizacao:PT1M}")
+    public synchronized int sincronizar() {
+        AtomicInteger lidas = new AtomicInteger();
+        cooperativas.paraCada(() -> lidas.addAndGet(sincronizar(indiceAtual())));
+        return lidas.get();
+    }
+
+    /**
+     * Inclui uma pauta recém-cadastrada no índice, para que ela apareça na busca sem esperar a sincronização.
+     *
+     * @param pauta Pauta gravada, com ID.
+     */
+    public void indexar(Pauta pauta) {
+        indiceAtual().termos.adicionar(pauta.getId(), pauta.getDescricao());
+    }
+
+    /**
+     * Busca as pautas cuja descrição contém os termos da consulta, sem diferenciar acentos nem maiúsculas.
+     *
+     * @param consulta Termos buscados; o último também é buscado como início de palavra.
+     * @param pagina   Número da página, a partir de zero.
+     * @param tamanho  Pautas por página, ajustado ao intervalo de 1 a {@value #MAXIMO_POR_PAGINA}.
+     * @return A página de resultados, da pauta mais para a menos relevante.
+     */
+    public BuscaPautasDto buscar(String consulta, int pagina, int tamanho) {
+        int tamanhoAjustado = Math.clamp(tamanho, 1, MAXIMO_POR_PAGINA);
+        int paginaAjustada = Math.clamp(pagina, 0, MAXIMO_DESLOCAMENTO / tamanhoAjustado);
+        IndiceInvertido.Resultado resultado = indiceAtual().termos.buscar(consulta, paginaAjustada * tamanhoAjustado, tamanhoAjustado);
+        log.info("Busca de pautas por '{}': {} encontradas", consulta, resultado.total());
+        List<PautaEncontradaDto> pautas = resultado.ocorrencias().stream()
+                .map(ocorrencia -> new PautaEncontradaDto(ocorrencia.id(), ocorrencia.texto(), ocorrencia.pontuacao()))
+                .toList();
+        return new BuscaPautasDto(consulta, resultado.total(), paginaAjustada, tamanhoAjustado, pautas);
+    }
+
+    // Métodos auxiliares privados
+
+    private Indice indiceAtual() {
+        return indices.computeIfAbsent(ContextoCooperativa.chave(), chave -> new Indice());
+    }
+
+    private int sincronizar(Indice indice) {
+        int incluidas = 0;
+        long aPartirDe = Math.max(0, indice.ultimaPautaSincronizada - propriedades.getJanelaReleitura());
+        List<ResumoPautaDto> lote;
+        do {
+            lote = voteStore.listarResumosPautas(aPartirDe, PAUTAS_POR_CONSULTA);
+            for (ResumoPautaDto pauta : lote) {
+                if (!indice.termos.contem(pauta.getPautaId())) {
+                    indice.termos.adicionar(pauta.getPautaId(), pauta.getDescricao());
+                    incluidas++;
+                }
+            }
+            if (!lote.isEmpty()) {
+                aPartirDe = lote.getLast().getPautaId();
+                indice.ultimaPautaSincronizada = Math.max(indice.ultimaPautaSincronizada, aPartirDe);
+            }
+        } while (lote.size() == PAUTAS_POR_CONSULTA);
+        return incluidas;
+    }
+
+    /**
+     * Índice de uma cooperativa e o maior ID de pauta já lido do armazenamento pela sincronização.
+     */
+    private static final class Indice {
+        private final IndiceInvertido termos = new IndiceInvertido();
+        private long ultimaPautaSincronizada;
+    }
+}
@@ -0,0 +1,501 @@
+package com.rocksti.coopvote.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.coopvote.cooperativa.ContextoCooperativa;
+import com.rocksti.coopvote.cooperativa.Cooperativas;
+import com.rocksti.coopvote.entity.Associado;
+import com.rocksti.coopvote.entity.Importacao;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.FormatoImportacao;
+import com.rocksti.coopvote.enums.SituacaoImportacao;
+import com.rocksti.coopvote.enums.TipoEvento;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.exception.NotFoundException;
+import com.rocksti.coopvote.importacao.ImportacaoProperties;
+import com.rocksti.coopvote.importacao.LeitorLinhas;
+import com.rocksti.coopvote.importacao.LeitorLinhas.Linha;
+import com.rocksti.coopvote.importacao.LinhaImportacao;
+import com.rocksti.coopvote.outbox.Outbox;
+import com.rocksti.coopvote.repository.AcumuladorVotosRepository;
+import com.rocksti.coopvote.repository.AssociadoRepository;
+import com.rocksti.coopvote.repository.ImportacaoRepository;
+import com.rocksti.coopvote.repository.PautaRepository;
+import com.rocksti.coopvote.repository.VotoLoteRepository;
+import com.rocksti.coopvote.repository.VotoLoteRepository.NovoVoto;
+import com.rocksti.coopvote.repository.VotoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação de votos em papel a partir de arquivos CSV ou NDJSON.
+ * <p>
+ * O arquivo recebido é gravado em disco e processado em segundo plano, uma importação por vez, em lotes de
+ * {@code coopvote.importacao.tamanho-lote} linhas. Cada lote é validado com uma consulta de votantes e uma de
+ * associados, gravado em lote via JDBC e, na mesma transação, registra a posição do arquivo e o tamanho do relatório
+ * de rejeições até onde chegou. Com o outbox habilitado, os eventos dos votos aceitos entram na mesma transação.
+ * Uma importação interrompida por queda ou erro continua do primeiro lote não gravado.
+ * <p>
+ * As cédulas em papel são recolhidas durante a assembleia, então a sessão da pauta precisa ter sido aberta, mas pode
+ * já ter encerrado. Os votos são registrados com o horário em que o arquivo chegou.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class ImportacaoService {
+
+    private static final String MSG_IMPORTACAO_NAO_ENCONTRADA = "Importação não encontrada";
+    private static final String CABECALHO_RELATORIO = "linha,associadoId,motivo\n";
+    private static final int TAMANHO_MAXIMO_IDENTIFICADOR = 64;
+    private static final int TAMANHO_MAXIMO_MENSAGEM = 255;
+
+    /**
+     * Tentativas de um lote que conflitou com votos ou associados gravados em paralelo pela API; a cada tentativa
+     * o lote é validado de novo e os votos concorrentes passam a ser rejeitados.
+     */
+    private static final int TENTATIVAS_POR_LOTE = 3;
+
+    private final ImportacaoRepository importacaoRepository;
+    private final AcumuladorVotosRepository acumuladorVotosRepository;
+    private final PautaRepository pautaRepository;
+    private final AssociadoRepository associadoRepository;
+    private final VotoRepository votoRepository;
+    private final VotoLoteRepository votoLoteRepository;
+    private final Outbox outbox;
+    private final ImportacaoProperties propriedades;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cooperativas cooperativas;
+
+    private ExecutorService executor;
+    private volatile boolean encerrando;
+
+    @PostConstruct
+    public void iniciarExecutor() {
+        executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("coopvote-importacao").daemon().factory());
+    }
+
+    /**
+     * Interrompe o processamento ao fim do lote em andamento; a importação continua em
+     * {@link SituacaoImportacao#PROCESSANDO} e é retomada na próxima inicialização.
+     */
+    @PreDestroy
+    public void encerrar() {
+        encerrando = true;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retoma as importações que não terminaram antes da última parada. As que ainda recebiam o arquivo ficam com
+     * falha, pois o arquivo está incompleto e precisa ser enviado de novo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarPendentes() {
+        cooperativas.paraCada(this::retomarPendentesDaCooperativa);
+    }
+
+    private void retomarPendentesDaCooperativa() {
+        List<Importacao> pendentes = importacaoRepository.findBySituacaoInOrderById(
+                List.of(SituacaoImportacao.RECEBENDO, SituacaoImportacao.PENDENTE, SituacaoImportacao.PROCESSANDO));
+        for (Importacao importacao : pendentes) {
+            if (importacao.getSituacao() == SituacaoImportacao.RECEBENDO) {
+                marcarFalha(importacao.getId(), "Envio do arquivo interrompido; envie o arquivo novamente");
+            } else {
+                log.info("Retomando a importação ID: {} a partir da linha {}",
+                        importacao.getId(), importacao.getLinhasProcessadas() + 1);
+                agendar(importacao.getId());
+            }
+        }
+    }
+
+    /**
+     * Grava o arquivo recebido e agenda o seu processamento.
+     *
+     * @param pautaId    ID da pauta dos votos.
+     * @param formato    Formato do arquivo.
+     * @param conteudo   Conteúdo do arquivo, lido à medida que é gravado em disco.
+     * @param recebidoEm Horário de chegada do arquivo, gravado como horário de registro dos votos.
+     * @return A importação criada, pendente de processamento.
+     * @throws IOException Se o arquivo não puder ser recebido.
+     */
+    public Importacao iniciar(Long pautaId, FormatoImportacao formato, InputStream conteudo, LocalDateTime recebidoEm)
+            throws IOException {
+        validarPauta(pautaId, recebidoEm);
+        Importacao importacao = importacaoRepository.save(Importacao.builder()
+                .pautaId(pautaId)
+                .formato(formato)
+                .situacao(SituacaoImportacao.RECEBENDO)
+                .criadaEm(recebidoEm)
+                .build());
+        log.info("Recebendo o arquivo da importação ID: {} para a pauta ID: {}", importacao.getId(), pautaId);
+
+        try {
+            Files.createDirectories(diretorio());
+            importacao.setTamanhoArquivo(Files.copy(conteudo, arquivo(importacao), StandardCopyOption.REPLACE_EXISTING));
+            Files.writeString(relatorio(importacao.getId()), CABECALHO_RELATORIO, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            marcarFalha(importacao.getId(), "Falha ao receber o arquivo");
+            throw e;
+        }
+        importacao.setTamanhoRelatorio(CABECALHO_RELATORIO.length());
+        importacao.setSituacao(SituacaoImportacao.PENDENTE);
+        importacao = importacaoRepository.save(importacao);
+        agendar(importacao.getId());
+        return importacao;
+    }
+
+    /**
+     * @param importacaoId ID da importação.
+     * @return A importação com o progresso dos lotes já gravados.
+     */
+    public Importacao buscarPorId(Long importacaoId) {
+        return importacaoRepository.findById(importacaoId)
+                .orElseThrow(() -> new NotFoundException(MSG_IMPORTACAO_NAO_ENCONTRADA));
+    }
+
+    /**
+     * Agenda de novo uma importação que parou por erro, a partir do primeiro lote não gravado.
+     *
+     * @param importacaoId ID da importação.
+     * @return A importação pendente de processamento.
+     */
+    public Importacao retomar(Long importacaoId) {
+        Importacao importacao = buscarPorId(importacaoId);
+        if (importacao.getSituacao() != SituacaoImportacao.FALHA || !Files.exists(arquivo(importacao))) {
+            throw new ConflictRequestException("Somente importações com falha no processamento podem ser retomadas");
+        }
+        importacao.setSituacao(SituacaoImportacao.PENDENTE);
+        importacao.setMensagemErro(null);
+        importacao = importacaoRepository.save(importacao);
+        agendar(importacaoId);
+        return importacao;
+    }
+
+    /**
+     * Escreve o relatório de rejeições em CSV ({@code linha,associadoId,motivo}), apenas com os lotes já gravados.
+     *
+     * @param importacaoId ID da importação.
+     * @param saida        Destino do relatório.
+     * @throws IOException Se houver erro ao ler o relatório ou escrever na saída.
+     */
+    public void exportarRejeicoes(Long importacaoId, OutputStream saida) throws IOException {
+        Importacao importacao = buscarPorId(importacaoId);
+        try (FileChannel canal = FileChannel.open(relatorio(importacaoId), StandardOpenOption.READ)) {
+            long tamanho = Math.min(importacao.getTamanhoRelatorio(), canal.size());
+            var destino = Channels.newChannel(saida);
+            for (long posicao = 0; posicao < tamanho; ) {
+                posicao += canal.transferTo(posicao, tamanho - posicao, destino);
+            }
+        }
+        saida.flush();
+    }
+
+    /**
+     * Processa os lotes ainda não gravados de uma importação. Executado pelo executor da importação.
+     *
+     * @param importacaoId ID da importação.
+     */
+    void processar(Long importacaoId) {
+        Importacao importacao = buscarPorId(importacaoId);
+        if (importacao.getSituacao() != SituacaoImportacao.PENDENTE
+                && importacao.getSituacao() != SituacaoImportacao.PROCESSANDO) {
+            return;
+        }
+        importacao.setSituacao(SituacaoImportacao.PROCESSANDO);
+        importacao = importacaoRepository.save(importacao);
+
+        try {
+            List<String> opcoes = pautaRepository.findOpcoesById(importacao.getPautaId());
+            try (LeitorLinhas leitor = LeitorLinhas.abrir(arquivo(importacao), importacao.getBytesProcessados(),
+                    propriedades.getTamanhoMaximoLinha())) {
+                List<Linha> lote = lerLote(leitor);
+                while (!lote.isEmpty()) {
+                    if (encerrando) {
+                        log.info("Importação ID: {} interrompida na linha {}; será retomada na próxima inicialização",
+                                importacaoId, importacao.getLinhasProcessadas() + 1);
+                        return;
+                    }
+                    importacao = gravarLote(importacaoId, lote, opcoes);
+                    lote = lerLote(leitor);
+                }
+            }
+            importacao.setSituacao(SituacaoImportacao.CONCLUIDA);
+            importacaoRepository.save(importacao);
+            Files.deleteIfExists(arquivo(importacao));
+            log.info("Importação ID: {} concluída: {} votos aceitos, {} rejeitados",
+                    importacaoId, importacao.getVotosAceitos(), importacao.getVotosRejeitados());
+        } catch (IOException | RuntimeException e) {
+            log.error("Falha no processamento da importação ID: {}", importacaoId, e);
+            marcarFalha(importacaoId, "Falha no processamento: " + e.getMessage());
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    private void validarPauta(Long pautaId, LocalDateTime recebidoEm) {
+        Pauta pauta = pautaRepository.findById(pautaId)
+                .orElseThrow(() -> new NotFoundException("Pauta não encontrada"));
+        if (pauta.isArquivada()) {
+            throw new ConflictRequestException("Pauta arquivada não recebe votos");
+        }
+        if (pauta.getInicioSessao() == null || pauta.getInicioSessao().isAfter(recebidoEm)) {
+            throw new ConflictRequestException("A sessão de votação desta pauta ainda não foi aberta");
+        }
+        if (acumuladorVotosRepository.existsByPautaIdAndFinalizadoEmIsNotNull(pautaId)) {
+            throw new ConflictRequestException("Os votos desta pauta já foram finalizados para auditoria");
+        }
+    }
+
+    private void agendar(Long importacaoId) {
+        executor.execute(ContextoCooperativa.propagar(() -> processar(importacaoId)));
+    }
+
+    private List<Linha> lerLote(LeitorLinhas leitor) throws IOException {
+        List<Linha> lote = new ArrayList<>(propriedades.getTamanhoLote());
+        Linha linha;
+        while (lote.size() < propriedades.getTamanhoLote() && (linha = leitor.proxima()) != null) {
+            lote.add(linha);
+        }
+        return lote;
+    }
+
+    private Importacao gravarLote(Long importacaoId, List<Linha> lote, List<String> opcoes) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> gravarLoteNaTransacao(importacaoId, lote, opcoes));
+            } catch (DataIntegrityViolationException e) {
+                if (tentativa == TENTATIVAS_POR_LOTE) {
+                    throw e;
+                }
+                log.warn("Lote da importação ID: {} conflitou com votos registrados em paralelo; validando de novo",
+                        importacaoId);
+            }
+        }
+    }
+
+    private Importacao gravarLoteNaTransacao(Long importacaoId, List<Linha> lote, List<String> opcoes) {
+        Importacao importacao = buscarPorId(importacaoId);
+        SortedMap<Long, String> rejeicoes = new TreeMap<>();
+        Map<String, Candidato> candidatos = new LinkedHashMap<>();
+
+        long numero = importacao.getLinhasProcessadas();
+        for (Linha linha : lote) {
+            numero++;
+            if (linha.muitoLonga()) {
+                rejeitar(rejeicoes, numero, "", "Linha maior que " + propriedades.getTamanhoMaximoLinha() + " bytes");
+                continue;
+            }
+            if (linha.texto().isBlank() || (numero == 1 && isCabecalho(importacao.getFormato(), linha.texto()))) {
+                continue;
+            }
+            LinhaImportacao voto;
+            try {
+                voto = importacao.getFormato() == FormatoImportacao.CSV
+                        ? LinhaImportacao.csv(linha.texto())
+                        : LinhaImportacao.ndjson(linha.texto(), objectMapper);
+            } catch (IllegalArgumentException e) {
+                rejeitar(rejeicoes, numero, "", e.getMessage());
+                continue;
+            }
+            String motivo = validar(voto, opcoes);
+            if (motivo == null && candidatos.containsKey(voto.associadoId())) {
+                motivo = "Associado repetido no arquivo";
+            }
+            if (motivo != null) {
+                rejeitar(rejeicoes, numero, voto.associadoId(), motivo);
+                continue;
+            }
+            candidatos.put(voto.associadoId(),
+                    new Candidato(numero, (byte) resolverOpcao(voto.opcao(), opcoes).orElseThrow()));
+        }
+
+        if (!candidatos.isEmpty()) {
+            for (String votante : votoRepository.listarVotantes(importacao.getPautaId(), candidatos.keySet())) {
+                rejeitar(rejeicoes, candidatos.remove(votante).numero(), votante, "Associado já votou nesta pauta");
+            }
+        }
+        List<NovoVoto> novos = new ArrayList<>(candidatos.size());
+        Map<String, Long> referencias = referenciarAssociados(candidatos.keySet().stream().toList());
+        candidatos.forEach((associadoId, candidato) ->
+                novos.add(new NovoVoto(referencias.get(associadoId), candidato.opcao())));
+        if (!novos.isEmpty()) {
+            votoLoteRepository.inserirVotos(importacao.getPautaId(), novos, importacao.getCriadaEm());
+            outbox.registrarTodos(TipoEvento.VOTO_REGISTRADO, importacao.getPautaId(), candidatos.entrySet().stream()
+                    .map(candidato -> new Outbox.VotoRegistrado(candidato.getKey(), candidato.getValue().opcao(),
+                            importacao.getCriadaEm()))
+                    .toList());
+        }
+
+        importacao.setTamanhoRelatorio(acrescentarAoRelatorio(importacao, rejeicoes));
+        importacao.setBytesProcessados(lote.getLast().fim());
+        importacao.setLinhasProcessadas(numero);
+        importacao.setVotosAceitos(importacao.getVotosAceitos() + novos.size());
+        importacao.setVotosRejeitados(importacao.getVotosRejeitados() + rejeicoes.size());
+        return importacaoRepository.save(importacao);
+    }
+
+    private static boolean isCabecalho(FormatoImportacao formato, String linha) {
+        try {
+            return formato == FormatoImportacao.CSV && LinhaImportacao.isCabecalhoCsv(linha);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String validar(LinhaImportacao voto, List<String> opcoes) {
+        if (voto.associadoId().isEmpty()) {
+            return "Associado não informado";
+        }
+        if (voto.associadoId().length() > TAMANHO_MAXIMO_IDENTIFICADOR) {
+            return "Identificador do associado maior que " + TAMANHO_MAXIMO_IDENTIFICADOR + " caracteres";
+        }
+        if (resolverOpcao(voto.opcao(), opcoes).isEmpty()) {
+            return "Opção de voto inválida para esta pauta";
+        }
+        return null;
+    }
+
+    /**
+     * Aceita o ordinal da opção, a sua descrição ou, nas pautas simples, o nome do {@link TipoVoto} usado na
+     * exportação. Um valor só de dígitos é sempre tratado como ordinal.
+     */
+    private static OptionalInt resolverOpcao(String valor, List<String> opcoes) {
+        if (!valor.isEmpty() && valor.chars().allMatch(Character::isDigit)) {
+            return valor.length() <= 3 && Integer.parseInt(valor) < opcoes.size()
+                    ? OptionalInt.of(Integer.parseInt(valor))
+                    : OptionalInt.empty();
+        }
+        for (int ordinal = 0; ordinal < opcoes.size(); ordinal++) {
+            if (opcoes.get(ordinal).equalsIgnoreCase(valor)) {
+                return OptionalInt.of(ordinal);
+            }
+        }
+        if (TipoVoto.isPautaSimples(opcoes)) {
+            for (TipoVoto tipoVoto : TipoVoto.values()) {
+                if (tipoVoto.name().equalsIgnoreCase(valor)) {
+                    return OptionalInt.of(tipoVoto.getCodigo());
+                }
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Busca as chaves dos associados no dicionário e cadastra em lote os que ainda não votaram em nenhuma pauta.
+     */
+    private Map<String, Long> referenciarAssociados(List<String> identificadores) {
+        Map<String, Long> referencias = new HashMap<>();
+        if (identificadores.isEmpty()) {
+            return referencias;
+        }
+        associadoRepository.findByIdentificadorIn(identificadores)
+                .forEach(associado -> referencias.put(associado.getIdentificador(), associado.getId()));
+        List<String> ausentes = identificadores.stream().filter(id -> !referencias.containsKey(id)).toList();
+        if (!ausentes.isEmpty()) {
+            votoLoteRepository.cadastrarAssociados(ausentes);
+            for (Associado associado : associadoRepository.findByIdentificadorIn(ausentes)) {
+                referencias.put(associado.getIdentificador(), associado.getId());
+            }
+        }
+        return referencias;
+    }
+
+    /**
+     * Descarta o que um lote desfeito tenha deixado além do tamanho gravado e acrescenta as rejeições do lote.
+     *
+     * @return Novo tamanho do relatório, a ser gravado com o progresso do lote.
+     */
+    private long acrescentarAoRelatorio(Importacao importacao, SortedMap<Long, String> rejeicoes) {
+        try (FileChannel canal = FileChannel.open(relatorio(importacao.getId()),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            canal.truncate(importacao.getTamanhoRelatorio());
+            canal.position(importacao.getTamanhoRelatorio());
+            if (!rejeicoes.isEmpty()) {
+                ByteBuffer conteudo = ByteBuffer.wrap(String.join("", rejeicoes.values()).getBytes(StandardCharsets.UTF_8));
+                while (conteudo.hasRemaining()) {
+                    canal.write(conteudo);
+                }
+                canal.force(false);
+            }
+            return canal.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o relatório da importação " + importacao.getId(), e);
+        }
+    }
+
+    private static void rejeitar(SortedMap<Long, String> rejeicoes, long numero, String associadoId, String motivo) {
+        rejeicoes.put(numero, numero + "," + PautaService.escaparCsv(associadoId) + "," + PautaService.escaparCsv(motivo) + "\n");
+    }
+
+    private void marcarFalha(Long importacaoId, String mensagem) {
+        importacaoRepository.findById(importacaoId).ifPresent(importacao -> {
+            importacao.setSituacao(SituacaoImportacao.FALHA);
+            importacao.setMensagemErro(mensagem.length() > TAMANHO_MAXIMO_MENSAGEM
+                    ? mensagem.substring(0, TAMANHO_MAXIMO_MENSAGEM)
+                    : mensagem);
+            importacaoRepository.save(importacao);
+        });
+    }
+
+    /**
+     * Com o roteamento por cooperativa, cada cooperativa tem seu subdiretório, pois os IDs de importação se repetem.
+     */
+    private Path diretorio() {
+        return ContextoCooperativa.resolver(propriedades.getDiretorio());
+    }
+
+    private Path arquivo(Importacao importacao) {
+        return diretorio().resolve(
+                "importacao-" + importacao.getId() + "." + importacao.getFormato().name().toLowerCase(Locale.ROOT));
+    }
+
+    private Path relatorio(Long importacaoId) {
+        return diretorio().resolve("importacao-" + importacaoId + "-rejeicoes.csv");
+    }
+
+    /**
+     * Voto válido de um lote, aguardando a verificação de votos anteriores do associado.
+     */
+    private record Candidato(long numero, byte opcao) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.rocksti.coopvote.service;
+
+import com.rocksti.coopvote.analise.AnaliseProperties;
+import com.rocksti.coopvote.analise.HyperLogLog;
+import com.rocksti.coopvote.cooperativa.ContextoCooperativa;
+import com.rocksti.coopvote.dto.ParticipacaoDto;
+import com.rocksti.coopvote.dto.ParticipacaoPeriodoDto;
+import com.rocksti.coopvote.dto.ResultadoOpcaoDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.enums.Periodicidade;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.IntervaloInvalidoException;
+import com.rocksti.coopvote.store.VoteStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Estatísticas de participação nas pautas agrupadas por período de abertura da sessão.
+ * <p>
+ * As pautas do intervalo são divididas em faixas contínuas de IDs, agregadas em paralelo em um {@link ForkJoinPool}
+ * próprio: cada faixa busca a contagem de votos em uma consulta agrupada e percorre os votantes em outra, sem
+ * carregar as pautas nem os votos. Os associados distintos são contados por {@link HyperLogLog}, combinados entre as
+ * faixas e entre os períodos. Os períodos encerrados há mais de {@link AnaliseProperties#getCarencia()} ficam em
+ * cache, separados por cooperativa.
+ */
+@Log4j2
+@Service
+public class ParticipacaoService {
+
+    private final VoteStore voteStore;
+    private final AnaliseProperties propriedades;
+    private final ForkJoinPool pool;
+    private final Map<ChavePeriodo, Agregado> fechados = new ConcurrentHashMap<>();
+
+    public ParticipacaoService(VoteStore voteStore, AnaliseProperties propriedades) {
+        this.voteStore = voteStore;
+        this.propriedades = propriedades;
+        this.pool = new ForkJoinPool(propriedades.getParalelismo());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Calcula a participação em cada período entre duas datas e no intervalo inteiro.
+     *
+     * @param inicio        Data inicial; o primeiro período é o que a contém.
+     * @param fim           Data final; o último período é o que a contém.
+     * @param periodicidade Tamanho dos períodos.
+     * @param agora         Horário de referência para decidir quais períodos estão fechados.
+     * @return As estatísticas de cada período, em ordem cronológica, e do intervalo.
+     * @throws IntervaloInvalidoException Se a data final for anterior à inicial.
+     */
+    public ParticipacaoDto calcular(LocalDate inicio, LocalDate fim, Periodicidade periodicidade, LocalDateTime agora) {
+        if (fim.isBefore(inicio)) {
+            log.warn("Intervalo de participação inválido: {} a {}", inicio, fim);
+            throw new IntervaloInvalidoException("A data final deve ser igual ou posterior à data inicial");
+        }
+        LocalDate primeiro = periodicidade.inicioDoPeriodo(inicio);
+        LocalDate limite = periodicidade.proximoPeriodo(periodicidade.inicioDoPeriodo(fim));
+        log.info("Calculando participação de {} a {} por {}", primeiro, limite, periodicidade);
+
+        String cooperativa = ContextoCooperativa.atual();
+        Map<LocalDate, Agregado> periodos = new TreeMap<>();
+        List<LocalDate> pendentes = new ArrayList<>();
+        for (LocalDate periodo = primeiro; periodo.isBefore(limite); periodo = periodicidade.proximoPeriodo(periodo)) {
+            Agregado emCache = fechados.get(new ChavePeriodo(cooperativa, periodicidade, periodo));
+            if (emCache != null) {
+                periodos.put(periodo, emCache);
+            } else {
+                pendentes.add(periodo);
+            }
+        }
+
+        if (!pendentes.isEmpty()) {
+            LocalDate inicioPendentes = pendentes.getFirst();
+            LocalDate fimPendentes = periodicidade.proximoPeriodo(pendentes.getLast());
+            List<SessaoPautaDto> sessoes = voteStore.listarSessoesIniciadasEntre(
+                            inicioPendentes.atStartOfDay(), fimPendentes.atStartOfDay()).stream()
+                    .filter(sessao -> !periodos.containsKey(periodoDaSessao(sessao, periodicidade)))
+                    .toList();
+            Map<LocalDate, Agregado> calculados = pool.invoke(new TarefaAgregacao(cooperativa, sessoes, periodicidade));
+            for (LocalDate periodo : pendentes) {
+                Agregado agregado = calculados.getOrDefault(periodo, new Agregado());
+                periodos.put(periodo, agregado);
+                if (isFechado(periodicidade.proximoPeriodo(periodo), agora)) {
+                    fechados.put(new ChavePeriodo(cooperativa, periodicidade, periodo), agregado);
+                }
+            }
+        }
+
+        Agregado total = new Agregado();
+        List<ParticipacaoPeriodoDto> resultado = new ArrayList<>(periodos.size());
+        periodos.forEach((periodo, agregado) -> {
+            LocalDate fimPeriodo = periodicidade.proximoPeriodo(periodo);
+            resultado.add(agregado.paraDto(periodo, fimPeriodo, isFechado(fimPeriodo, agora)));
+            total.combinar(agregado);
+        });
+        return new ParticipacaoDto(periodicidade, resultado, total.paraDto(primeiro, limite, isFechado(limite, agora)));
+    }
+
+    // Métodos auxiliares privados
+
+    private static LocalDate periodoDaSessao(SessaoPautaDto sessao, Periodicidade periodicidade) {
+        return periodicidade.inicioDoPeriodo(sessao.getInicioSessao().toLocalDate());
+    }
+
+    private boolean isFechado(LocalDate fimPeriodo, LocalDateTime agora) {
+        return fimPeriodo.atStartOfDay().plus(propriedades.getCarencia()).isBefore(agora);
+    }
+
+    private record ChavePeriodo(String cooperativa, Periodicidade periodicidade, LocalDate inicio) {
+    }
+
+    /**
+     * Divide as sessões ao meio até o limite de {@link AnaliseProperties#getPautasPorTarefa()} pautas e soma os
+     * agregados de cada período na volta. As consultas rodam nas threads do pool, no contexto da cooperativa que
+     * pediu o cálculo.
+     */
+    private final class TarefaAgregacao extends RecursiveTask<Map<LocalDate, Agregado>> {
+
+        private final String cooperativa;
+        private final List<SessaoPautaDto> sessoes;
+        private final Periodicidade periodicidade;
+
+        private TarefaAgregacao(String cooperativa, List<SessaoPautaDto> sessoes, Periodicidade periodicidade) {
+            this.cooperativa = cooperativa;
+            this.sessoes = sessoes;
+            this.periodicidade = periodicidade;
+        }
+
+        @Override
+        protected Map<LocalDate, Agregado> compute() {
+            if (sessoes.size() <= propriedades.getPautasPorTarefa()) {
+                return ContextoCooperativa.executar(cooperativa, this::agregar);
+            }
+            int meio = sessoes.size() / 2;
+            TarefaAgregacao esquerda = new TarefaAgregacao(cooperativa, sessoes.subList(0, meio), periodicidade);
+            TarefaAgregacao direita = new TarefaAgregacao(cooperativa, sessoes.subList(meio, sessoes.size()),
+                    periodicidade);
+            esquerda.fork();
+            Map<LocalDate, Agregado> resultado = direita.compute();
+            esquerda.join().forEach((periodo, agregado) -> resultado.merge(periodo, agregado, Agregado::combinar));
+            return resultado;
+        }
+
+        private Map<LocalDate, Agregado> agregar() {
+            Map<LocalDate, Agregado> porPeriodo = new HashMap<>();
+            Map<Long, Agregado> porPauta = new HashMap<>();
+            for (SessaoPautaDto sessao : sessoes) {
+                Agregado agregado = porPeriodo.computeIfAbsent(periodoDaSessao(sessao, periodicidade),
+                        periodo -> new Agregado());
+                agregado.sessoes++;
+                porPauta.put(sessao.getPautaId(), agregado);
+            }
+            if (porPauta.isEmpty()) {
+                return porPeriodo;
+            }
+
+            for (ResultadoPautaDto resultado : voteStore.buscarResultados(porPauta.keySet())) {
+                Agregado agregado = porPauta.get(resultado.getPautaId());
+                agregado.votos += resultado.getTotalVotos();
+                List<ResultadoOpcaoDto> opcoes = resultado.getOpcoes();
+                if (TipoVoto.isPautaSimples(opcoes.stream().map(ResultadoOpcaoDto::getDescricao).toList())) {
+                    agregado.votosPautasSimples += resultado.getTotalVotos();
+                    agregado.votosSim += opcoes.get(TipoVoto.SIM.getCodigo()).getVotos();
+                }
+            }
+            voteStore.percorrerVotantes(porPauta.keySet(),
+                    (pautaId, associadoId) -> porPauta.get(pautaId).associados.adicionar(associadoId));
+            return porPeriodo;
+        }
+    }
+
+    /**
+     * Totais de um período ou de uma parte dele. Os agregados guardados em cache não são alterados: a combinação
+     * sempre parte de um agregado novo ou de um criado pela própria tarefa.
+     */
+    private static final class Agregado {
+        private long sessoes;
+        private long votos;
+        private long votosPautasSimples;
+        private long votosSim;
+        private final HyperLogLog associados = new HyperLogLog();
+
+        Agregado combinar(Agregado outro) {
+            sessoes += outro.sessoes;
+            votos += outro.votos;
+            votosPautasSimples += outro.votosPautasSimples;
+            votosSim += outro.votosSim;
+            associados.combinar(outro.associados);
+            return this;
+        }
+
+        ParticipacaoPeriodoDto paraDto(LocalDate inicio, LocalDate fim, boolean fechado) {
+            return new ParticipacaoPeriodoDto(inicio, fim, sessoes, votos,
+                    sessoes > 0 ? (double) votos / sessoes : 0,
+                    votosPautasSimples > 0 ? (double) votosSim / votosPautasSimples : null,
+                    associados.estimar(), fechado);
+        }
+    }
+}
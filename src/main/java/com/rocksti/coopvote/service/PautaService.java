@@ -1,17 +1,44 @@
 package com.rocksti.coopvote.service;
 
+import com.rocksti.coopvote.diagnostico.ContagemVotosEvent;
+import com.rocksti.coopvote.dto.AberturaSessaoPautaDto;
+import com.rocksti.coopvote.dto.AberturaSessoesDto;
+import com.rocksti.coopvote.dto.CadastroPautaDto;
 import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.PautasCadastradasDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.ResultadosPautasDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.dto.SituacaoVotoDto;
+import com.rocksti.coopvote.dto.SessoesAbertasDto;
 import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.SituacaoAberturaSessao;
 import com.rocksti.coopvote.enums.TipoVoto;
 import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.exception.LoteInvalidoException;
 import com.rocksti.coopvote.exception.NotFoundException;
-import com.rocksti.coopvote.repository.PautaRepository;
+import com.rocksti.coopvote.exception.OpcaoInvalidaException;
+import com.rocksti.coopvote.store.VoteStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
@@ -20,7 +47,30 @@ public class PautaService {
 
     private static final String MSG_PAUTA_NAO_ENCONTRADA = "Pauta não encontrada";
 
-    private final PautaRepository pautaRepository;
+    /**
+     * Quantidade máxima de IDs em uma única consulta ao armazenamento, para limitar o tamanho das cláusulas IN.
+     */
+    private static final int PAUTAS_POR_CONSULTA = 500;
+
+    /**
+     * Quantidade máxima de pautas cadastradas ou abertas em uma requisição; as aberturas de um lote cabem em uma
+     * única cláusula IN.
+     */
+    private static final int MAXIMO_PAUTAS_POR_LOTE = PAUTAS_POR_CONSULTA;
+
+    /**
+     * Quantidade máxima de IDs em uma busca de resultados, para limitar as consultas feitas por uma única requisição.
+     */
+    private static final int MAXIMO_PAUTAS_POR_RESULTADOS = 4 * PAUTAS_POR_CONSULTA;
+
+    /**
+     * Limites da quantidade de opções de uma pauta; o ordinal da opção é gravado em um byte.
+     */
+    private static final int MINIMO_OPCOES = 2;
+    private static final int MAXIMO_OPCOES = Byte.MAX_VALUE + 1;
+
+    private final VoteStore voteStore;
+    private final BuscaPautaService buscaPautaService;
 
     /**
      * Cadastra uma nova pauta no sistema.
@@ -31,30 +81,109 @@ public class PautaService {
     public Pauta cadastrarPauta(PautaDto pautaDto) {
         log.info("Iniciando cadastro da pauta: {}", pautaDto.getDescricao());
         Pauta novaPauta = criarNovaPauta(pautaDto);
-        Pauta pautaSalva = pautaRepository.save(novaPauta);
+        Pauta pautaSalva = voteStore.salvarPauta(novaPauta);
+        buscaPautaService.indexar(pautaSalva);
         log.info("Pauta cadastrada com sucesso: {}", pautaSalva.getId());
         return pautaSalva;
     }
 
     /**
-     * Abre a sessão de votação para uma pauta específica.
+     * Cadastra várias pautas de uma vez, com um número de comandos ao armazenamento que não depende da quantidade de
+     * pautas. Cada pauta é validada como em {@link #cadastrarPauta(PautaDto)}; as inválidas são informadas no
+     * resultado e não impedem o cadastro das demais.
+     *
+     * @param pautasDto Dados das pautas, no máximo {@value #MAXIMO_PAUTAS_POR_LOTE}.
+     * @return O resultado de cada pauta, na ordem recebida.
+     * @throws LoteInvalidoException Se o lote estiver vazio ou tiver pautas demais.
+     */
+    public PautasCadastradasDto cadastrarPautas(List<PautaDto> pautasDto) {
+        validarTamanhoLote(pautasDto);
+        log.info("Iniciando cadastro de {} pautas em lote", pautasDto.size());
+
+        CadastroPautaDto[] itens = new CadastroPautaDto[pautasDto.size()];
+        List<Pauta> validas = new ArrayList<>(pautasDto.size());
+        List<Integer> indices = new ArrayList<>(pautasDto.size());
+        for (int i = 0; i < pautasDto.size(); i++) {
+            PautaDto pautaDto = pautasDto.get(i);
+            try {
+                validas.add(criarNovaPauta(pautaDto));
+                indices.add(i);
+            } catch (OpcaoInvalidaException e) {
+                itens[i] = new CadastroPautaDto(i, null, pautaDto.getDescricao(), e.getMessage());
+            }
+        }
+
+        List<Pauta> gravadas = validas.isEmpty() ? List.of() : voteStore.cadastrarPautas(validas);
+        for (int i = 0; i < gravadas.size(); i++) {
+            Pauta pauta = gravadas.get(i);
+            buscaPautaService.indexar(pauta);
+            itens[indices.get(i)] = new CadastroPautaDto(indices.get(i), pauta.getId(), pauta.getDescricao(), null);
+        }
+        log.info("Cadastro em lote concluído: {} pautas cadastradas e {} rejeitadas", gravadas.size(),
+                pautasDto.size() - gravadas.size());
+        return new PautasCadastradasDto(gravadas.size(), pautasDto.size() - gravadas.size(), List.of(itens));
+    }
+
+    /**
+     * Abre a sessão de votação para uma pauta específica. A abertura é condicional no armazenamento, então de dois
+     * pedidos simultâneos para a mesma pauta só um abre a sessão.
      *
      * @param pautaId     ID da pauta.
      * @param tempoSessao Tempo de duração da sessão em minutos.
      * @return A pauta com sessão aberta.
+     * @throws NotFoundException        Se a pauta não for encontrada.
+     * @throws ConflictRequestException Se a sessão já foi aberta.
      */
     public Pauta abrirSessao(Long pautaId, Long tempoSessao) {
         log.info("Abrindo sessão de votação para a pauta ID: {}", pautaId);
-        Pauta pauta = buscarPautaPorId(pautaId);
+        SituacaoAberturaSessao situacao = voteStore.abrirSessoes(List.of(pautaId), LocalDateTime.now(),
+                tempoSessao != null ? tempoSessao : 1L).get(pautaId);
 
-        validarSessaoNaoAberta(pauta);
+        if (situacao == SituacaoAberturaSessao.NAO_ENCONTRADA) {
+            log.warn("Pauta não encontrada: ID {}", pautaId);
+            throw new NotFoundException(MSG_PAUTA_NAO_ENCONTRADA);
+        }
+        if (situacao == SituacaoAberturaSessao.JA_ABERTA) {
+            log.warn("Sessão já aberta para a pauta ID: {}", pautaId);
+            throw new ConflictRequestException("A sessão já foi aberta para esta pauta");
+        }
+        log.info("Sessão de votação aberta para a pauta ID: {}", pautaId);
+        return buscarPautaPorId(pautaId);
+    }
 
-        pauta.setInicioSessao(LocalDateTime.now());
-        pauta.setTempoSessaoMinutos(tempoSessao != null ? tempoSessao : 1L);
+    /**
+     * Abre ou agenda a sessão de votação de várias pautas de uma vez, com um número de comandos ao armazenamento
+     * que não depende da quantidade de pautas. Pautas já abertas e IDs sem pauta são informados no resultado em vez
+     * de interromper a abertura das demais; IDs repetidos são considerados uma única vez.
+     *
+     * @param aberturaDto IDs das pautas, no máximo {@value #MAXIMO_PAUTAS_POR_LOTE}, duração e início opcional.
+     * @return A situação de cada pauta, na ordem em que foram pedidas.
+     * @throws LoteInvalidoException Se não houver pautas, se houver pautas demais ou se o início já passou.
+     */
+    public SessoesAbertasDto abrirSessoes(AberturaSessoesDto aberturaDto) {
+        List<Long> unicos = aberturaDto.getPautaIds() == null ? List.of()
+                : aberturaDto.getPautaIds().stream().filter(Objects::nonNull).distinct().toList();
+        validarTamanhoLote(unicos);
 
-        Pauta pautaAtualizada = pautaRepository.save(pauta);
-        log.info("Sessão de votação aberta para a pauta ID: {}", pautaId);
-        return pautaAtualizada;
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime inicio = aberturaDto.getInicioSessao() != null ? aberturaDto.getInicioSessao() : agora;
+        if (inicio.isBefore(agora)) {
+            throw new LoteInvalidoException("O início agendado da sessão já passou");
+        }
+        long tempoSessao = aberturaDto.getTempoSessaoMinutos() != null ? aberturaDto.getTempoSessaoMinutos() : 1L;
+        log.info("Abrindo sessão de votação de {} pautas com início em {}", unicos.size(), inicio);
+
+        Map<Long, SituacaoAberturaSessao> situacoes = voteStore.abrirSessoes(unicos, inicio, tempoSessao);
+        boolean agendada = inicio.isAfter(agora);
+        List<AberturaSessaoPautaDto> pautas = new ArrayList<>(unicos.size());
+        for (Long pautaId : unicos) {
+            SituacaoAberturaSessao situacao = situacoes.get(pautaId);
+            pautas.add(new AberturaSessaoPautaDto(pautaId,
+                    agendada && situacao == SituacaoAberturaSessao.ABERTA ? SituacaoAberturaSessao.AGENDADA : situacao));
+        }
+        log.info("Abertura em lote concluída: {} de {} pautas abertas", situacoes.values().stream()
+                .filter(SituacaoAberturaSessao.ABERTA::equals).count(), unicos.size());
+        return new SessoesAbertasDto(inicio, tempoSessao, pautas);
     }
 
     /**
@@ -65,7 +194,38 @@ public class PautaService {
      * @throws NotFoundException Se a pauta não for encontrada.
      */
     public Pauta buscarPautaPorId(Long pautaId) {
-        return pautaRepository.findById(pautaId)
+        return voteStore.buscarPauta(pautaId)
+                .orElseThrow(() -> {
+                    log.warn("Pauta não encontrada: ID {}", pautaId);
+                    return new NotFoundException(MSG_PAUTA_NAO_ENCONTRADA);
+                });
+    }
+
+    /**
+     * Retorna os dados da sessão de votação de uma pauta, sem carregar a entidade.
+     *
+     * @param pautaId ID da pauta.
+     * @return Os dados da sessão da pauta.
+     * @throws NotFoundException Se a pauta não for encontrada.
+     */
+    public SessaoPautaDto buscarSessaoPorId(Long pautaId) {
+        return voteStore.buscarSessao(pautaId)
+                .orElseThrow(() -> {
+                    log.warn("Pauta não encontrada: ID {}", pautaId);
+                    return new NotFoundException(MSG_PAUTA_NAO_ENCONTRADA);
+                });
+    }
+
+    /**
+     * Retorna os dados da sessão de votação de uma pauta e se o associado já votou nela, em uma única consulta.
+     *
+     * @param pautaId     ID da pauta.
+     * @param associadoId Identificador externo do associado.
+     * @return A sessão da pauta e se o associado já votou.
+     * @throws NotFoundException Se a pauta não for encontrada.
+     */
+    public SituacaoVotoDto buscarSituacaoVoto(Long pautaId, String associadoId) {
+        return voteStore.buscarSituacaoVoto(pautaId, associadoId)
                 .orElseThrow(() -> {
                     log.warn("Pauta não encontrada: ID {}", pautaId);
                     return new NotFoundException(MSG_PAUTA_NAO_ENCONTRADA);
@@ -79,29 +239,124 @@ public class PautaService {
      */
     public List<Pauta> listarPautas() {
         log.info("Listando todas as pautas cadastradas.");
-        return pautaRepository.findAll();
+        return voteStore.listarPautas();
     }
 
     /**
-     * Conta os votos de uma pauta específica.
+     * Conta os votos de uma pauta específica. A duração da contagem é registrada no evento JFR
+     * {@link ContagemVotosEvent}.
      *
      * @param pautaId ID da pauta.
-     * @return Resultado da votação.
+     * @return Resultado da votação, com o total de cada opção na ordem das opções da pauta.
      */
     public String contarVotos(Long pautaId) {
         log.info("Contando votos para a pauta ID: {}", pautaId);
-        Pauta pauta = buscarPautaPorId(pautaId);
-
-        validarPautaComVotos(pauta);
+        ContagemVotosEvent evento = ContagemVotosEvent.iniciar(pautaId);
+        ResultadoPautaDto resultadoPauta;
+        try {
+            resultadoPauta = buscarResultado(pautaId);
+            evento.setTotalVotos(resultadoPauta.getTotalVotos());
+        } finally {
+            evento.encerrar();
+        }
 
-        long votosSim = contarVotosPorTipo(pauta, TipoVoto.SIM);
-        long votosNao = contarVotosPorTipo(pauta, TipoVoto.NAO);
+        validarPautaComVotos(pautaId, resultadoPauta.getTotalVotos());
 
-        String resultado = formatarResultadoVotacao(pauta, votosSim, votosNao);
+        String resultado = formatarResultadoVotacao(resultadoPauta);
         log.info("Resultado da votação: {}", resultado);
         return resultado;
     }
 
+    /**
+     * Busca o resultado de uma pauta, com o total de cada opção, inclusive as que não receberam votos.
+     *
+     * @param pautaId ID da pauta.
+     * @return Resultado da votação.
+     * @throws NotFoundException Se a pauta não for encontrada.
+     */
+    public ResultadoPautaDto buscarResultado(Long pautaId) {
+        return voteStore.buscarResultados(List.of(pautaId)).stream()
+                .findFirst()
+                .orElseThrow(() -> {
+                    log.warn("Pauta não encontrada: ID {}", pautaId);
+                    return new NotFoundException(MSG_PAUTA_NAO_ENCONTRADA);
+                });
+    }
+
+    /**
+     * Busca o resultado de várias pautas de uma vez. IDs repetidos são considerados uma única vez e IDs sem pauta
+     * correspondente são informados em {@link ResultadosPautasDto#getNaoEncontradas()} em vez de gerar erro.
+     *
+     * @param pautaIds IDs das pautas.
+     * @return Resultados na ordem em que as pautas foram pedidas.
+     * @throws LoteInvalidoException Se forem pedidas mais de 2000 pautas.
+     */
+    public ResultadosPautasDto buscarResultados(List<Long> pautaIds) {
+        if (pautaIds.size() > MAXIMO_PAUTAS_POR_RESULTADOS) {
+            throw new LoteInvalidoException("A busca de resultados aceita no máximo " + MAXIMO_PAUTAS_POR_RESULTADOS
+                    + " pautas");
+        }
+        List<Long> unicos = pautaIds.stream().filter(Objects::nonNull).distinct().toList();
+        log.info("Buscando resultados de {} pautas", unicos.size());
+
+        Map<Long, ResultadoPautaDto> encontrados = new HashMap<>();
+        for (int inicio = 0; inicio < unicos.size(); inicio += PAUTAS_POR_CONSULTA) {
+            List<Long> lote = unicos.subList(inicio, Math.min(inicio + PAUTAS_POR_CONSULTA, unicos.size()));
+            voteStore.buscarResultados(lote).forEach(resultado -> encontrados.put(resultado.getPautaId(), resultado));
+        }
+
+        List<ResultadoPautaDto> resultados = new ArrayList<>(encontrados.size());
+        List<Long> naoEncontradas = new ArrayList<>();
+        for (Long pautaId : unicos) {
+            ResultadoPautaDto resultado = encontrados.get(pautaId);
+            if (resultado != null) {
+                resultados.add(resultado);
+            } else {
+                naoEncontradas.add(pautaId);
+            }
+        }
+        if (!naoEncontradas.isEmpty()) {
+            log.warn("{} pautas não encontradas na busca de resultados", naoEncontradas.size());
+        }
+        return new ResultadosPautasDto(resultados, naoEncontradas);
+    }
+
+    /**
+     * Exporta os votos de uma pauta em CSV. Pautas simples usam as colunas {@code associadoId,tipoVoto}, com o nome do
+     * {@link TipoVoto}; as demais, {@code associadoId,opcao}, com a descrição da opção. Votos de pautas arquivadas são
+     * lidos diretamente do arquivo da pauta.
+     *
+     * @param pautaId ID da pauta.
+     * @param saida   Destino do CSV; não é fechado ao final.
+     * @throws IOException Se houver erro ao escrever na saída.
+     */
+    public void exportarVotos(Long pautaId, OutputStream saida) throws IOException {
+        log.info("Exportando votos da pauta ID: {}", pautaId);
+        List<String> opcoes = voteStore.buscarOpcoes(pautaId);
+        boolean simples = TipoVoto.isPautaSimples(opcoes);
+        List<String> colunaOpcao = simples
+                ? Arrays.stream(TipoVoto.values()).map(TipoVoto::name).toList()
+                : opcoes.stream().map(PautaService::escaparCsv).toList();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        writer.write(simples ? "associadoId,tipoVoto\n" : "associadoId,opcao\n");
+        try {
+            voteStore.percorrerVotos(pautaId, (associadoId, opcao) -> {
+                try {
+                    writer.write(associadoId);
+                    writer.write(',');
+                    writer.write(colunaOpcao.get(opcao));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
     /**
      * Verifica se a sessão de uma pauta está expirada.
      *
@@ -109,12 +364,33 @@ public class PautaService {
      * @return True se a sessão está expirada, false caso contrário.
      */
     public boolean isSessaoExpirada(Pauta pauta) {
-        if (pauta.getInicioSessao() == null) {
+        return isSessaoExpirada(new SessaoPautaDto(pauta.getId(), pauta.getInicioSessao(), pauta.getTempoSessaoMinutos()));
+    }
+
+    /**
+     * Verifica se a sessão de votação está expirada.
+     *
+     * @param sessao Dados da sessão a ser verificada.
+     * @return True se a sessão está expirada, false caso contrário.
+     */
+    public boolean isSessaoExpirada(SessaoPautaDto sessao) {
+        return isSessaoExpirada(sessao, LocalDateTime.now());
+    }
+
+    /**
+     * Verifica se a sessão de votação estava expirada em um determinado momento.
+     *
+     * @param sessao  Dados da sessão a ser verificada.
+     * @param momento Momento da verificação.
+     * @return True se a sessão já havia expirado no momento informado, false caso contrário.
+     */
+    public boolean isSessaoExpirada(SessaoPautaDto sessao, LocalDateTime momento) {
+        if (sessao.getInicioSessao() == null) {
             return false;
         }
 
-        LocalDateTime fimSessao = pauta.getInicioSessao().plusMinutes(pauta.getTempoSessaoMinutos());
-        return LocalDateTime.now().isAfter(fimSessao);
+        LocalDateTime fimSessao = sessao.getInicioSessao().plusMinutes(sessao.getTempoSessaoMinutos());
+        return momento.isAfter(fimSessao);
     }
 
     // Métodos auxiliares privados
@@ -122,31 +398,52 @@ public class PautaService {
     private Pauta criarNovaPauta(PautaDto pautaDto) {
         return Pauta.builder()
                 .descricao(pautaDto.getDescricao())
+                .opcoes(validarOpcoes(pautaDto.getOpcoes()))
                 .build();
     }
 
-    private void validarSessaoNaoAberta(Pauta pauta) {
-        if (pauta.getInicioSessao() != null) {
-            log.warn("Sessão já aberta para a pauta ID: {}", pauta.getId());
-            throw new ConflictRequestException("A sessão já foi aberta para esta pauta");
+    private List<String> validarOpcoes(List<String> opcoes) {
+        if (opcoes == null || opcoes.isEmpty()) {
+            return new ArrayList<>(TipoVoto.opcoesPadrao());
+        }
+        if (opcoes.size() < MINIMO_OPCOES || opcoes.size() > MAXIMO_OPCOES) {
+            throw new OpcaoInvalidaException(
+                    "A pauta deve ter entre " + MINIMO_OPCOES + " e " + MAXIMO_OPCOES + " opções");
+        }
+        List<String> descricoes = opcoes.stream().map(opcao -> opcao == null ? "" : opcao.strip()).toList();
+        if (descricoes.contains("") || new HashSet<>(descricoes).size() != descricoes.size()) {
+            throw new OpcaoInvalidaException("As opções da pauta não podem ser vazias nem repetidas");
         }
+        return new ArrayList<>(descricoes);
     }
 
-    private void validarPautaComVotos(Pauta pauta) {
-        if (pauta.getVotos().isEmpty()) {
-            log.warn("Nenhum voto registrado para a pauta ID: {}", pauta.getId());
+    private static void validarTamanhoLote(List<?> lote) {
+        if (lote.isEmpty() || lote.size() > MAXIMO_PAUTAS_POR_LOTE) {
+            throw new LoteInvalidoException("O lote deve ter entre 1 e " + MAXIMO_PAUTAS_POR_LOTE + " pautas");
+        }
+    }
+
+    private void validarPautaComVotos(Long pautaId, long totalVotos) {
+        if (totalVotos == 0) {
+            log.warn("Nenhum voto registrado para a pauta ID: {}", pautaId);
             throw new NotFoundException("Nenhum voto registrado para esta pauta");
         }
     }
 
-    private long contarVotosPorTipo(Pauta pauta, TipoVoto tipoVoto) {
-        return pauta.getVotos().stream()
-                .filter(voto -> voto.getTipoVoto() == tipoVoto)
-                .count();
+    private String formatarResultadoVotacao(ResultadoPautaDto resultado) {
+        return resultado.getOpcoes().stream()
+                .map(opcao -> opcao.getDescricao() + " = " + opcao.getVotos())
+                .collect(Collectors.joining(", ",
+                        "Resultado da votação para a pauta '" + resultado.getDescricao() + "': ", ""));
     }
 
-    private String formatarResultadoVotacao(Pauta pauta, long votosSim, long votosNao) {
-        return String.format("Resultado da votação para a pauta '%s': SIM = %d, NÃO = %d",
-                pauta.getDescricao(), votosSim, votosNao);
+    /**
+     * Coloca entre aspas um valor CSV que contenha separadores, aspas ou quebras de linha.
+     */
+    static String escaparCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
     }
 }
@@ -0,0 +1,179 @@
+package com.rocksti.coopvote.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.coopvote.cooperativa.Cooperativas;
+import com.rocksti.coopvote.dto.OutboxMetricasDto;
+import com.rocksti.coopvote.outbox.DestinoArquivo;
+import com.rocksti.coopvote.outbox.DestinoEventos;
+import com.rocksti.coopvote.outbox.DestinoHttp;
+import com.rocksti.coopvote.outbox.DestinoMemoria;
+import com.rocksti.coopvote.outbox.EventoOutbox;
+import com.rocksti.coopvote.outbox.OutboxProperties;
+import com.rocksti.coopvote.repository.EventoOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Relay do outbox: entrega os eventos gravados com os votos e as sessões aos destinos configurados, em lotes, fora da
+ * transação que os gravou.
+ * <p>
+ * Cada lote é lido na ordem do ID e reservado para esta instância em uma transação curta, confirmada antes da entrega:
+ * nenhum bloqueio do banco fica aberto enquanto os destinos respondem, e os votos gravam no outbox normalmente. Depois
+ * de entregue a todos os destinos, o lote é removido. Instâncias concorrentes esperam o fim da reserva em vez de
+ * entregar lotes intercalados, então os eventos de cada pauta chegam aos destinos na ordem em que foram gravados. Um
+ * lote que falha em algum destino é liberado e entregue de novo a todos na próxima execução.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class RelayEventosService {
+
+    private final EventoOutboxRepository repository;
+    private final OutboxProperties propriedades;
+    private final ObjectProvider<DestinoEventos> destinosAdicionais;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Cooperativas cooperativas;
+
+    private final String identificador = UUID.randomUUID().toString();
+    private final LongAdder eventosEntregues = new LongAdder();
+    private final LongAdder lotesEntregues = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final AtomicLong atrasoMaximoMs = new AtomicLong();
+    private volatile long atrasoUltimoLoteMs;
+    private volatile double eventosPorSegundo;
+    private List<DestinoEventos> destinos;
+
+    @PostConstruct
+    void configurarDestinos() {
+        List<DestinoEventos> configurados = new ArrayList<>();
+        for (OutboxProperties.TipoDestino tipo : propriedades.getDestinos()) {
+            configurados.add(switch (tipo) {
+                case MEMORIA -> new DestinoMemoria(propriedades.getCapacidadeMemoria());
+                case ARQUIVO -> new DestinoArquivo(propriedades.getDiretorio(), objectMapper);
+                case HTTP -> {
+                    if (propriedades.getUrl() == null) {
+                        throw new IllegalStateException("Destino HTTP do outbox sem coopvote.outbox.url");
+                    }
+                    yield new DestinoHttp(propriedades.getUrl(), propriedades.getTimeout(), objectMapper);
+                }
+            });
+        }
+        destinosAdicionais.orderedStream().forEach(configurados::add);
+        if (propriedades.isHabilitado() && configurados.isEmpty()) {
+            throw new IllegalStateException("Outbox habilitado sem destinos; configure coopvote.outbox.destinos");
+        }
+        destinos = List.copyOf(configurados);
+        if (propriedades.isHabilitado()) {
+            log.info("Outbox de eventos habilitado com os destinos {}",
+                    destinos.stream().map(DestinoEventos::getNome).toList());
+        }
+    }
+
+    /**
+     * Execução periódica de {@link #drenar()}, no intervalo de {@code coopvote.outbox.intervalo}, em cada cooperativa.
+     */
+    @Scheduled(initialDelayString = "${coopvote.outbox.intervalo:PT1S}",
+            fixedDelayString = "${coopvote.outbox.intervalo:PT1S}")
+    public void drenarAgendado() {
+        if (propriedades.isHabilitado()) {
+            cooperativas.paraCada(this::drenar);
+        }
+    }
+
+    /**
+     * Entrega lotes de até {@code coopvote.outbox.lote} eventos até esvaziar o outbox da cooperativa atual. Uma
+     * falha interrompe a execução; o lote é tentado de novo na próxima.
+     *
+     * @return Quantidade de eventos entregues.
+     */
+    public int drenar() {
+        long inicio = System.nanoTime();
+        int entregues = 0;
+        try {
+            int lote;
+            do {
+                lote = entregarLote();
+                entregues += lote;
+            } while (lote == propriedades.getLote());
+        } catch (RuntimeException e) {
+            falhas.increment();
+            log.error("Falha ao entregar os eventos do outbox; o lote será entregue de novo", e);
+        }
+        if (entregues > 0) {
+            eventosPorSegundo = entregues / Math.max(1e-9, (System.nanoTime() - inicio) / 1e9);
+        }
+        return entregues;
+    }
+
+    public boolean isHabilitado() {
+        return propriedades.isHabilitado();
+    }
+
+    /**
+     * @return Os destinos em uso, na ordem de entrega.
+     */
+    public List<DestinoEventos> getDestinos() {
+        return destinos;
+    }
+
+    /**
+     * @return O primeiro destino do tipo informado.
+     */
+    public <T extends DestinoEventos> Optional<T> buscarDestino(Class<T> tipo) {
+        return destinos.stream().filter(tipo::isInstance).map(tipo::cast).findFirst();
+    }
+
+    public OutboxMetricasDto metricas() {
+        return new OutboxMetricasDto(destinos.stream().map(DestinoEventos::getNome).toList(), eventosEntregues.sum(),
+                lotesEntregues.sum(), falhas.sum(), eventosPorSegundo, atrasoUltimoLoteMs, atrasoMaximoMs.get());
+    }
+
+    // Métodos auxiliares privados
+
+    private int entregarLote() {
+        List<EventoOutbox> lote = transactionTemplate.execute(status ->
+                repository.reservarLote(identificador, propriedades.getLote(), propriedades.getReserva()));
+        if (lote == null || lote.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = lote.stream().map(EventoOutbox::id).toList();
+        try {
+            for (DestinoEventos destino : destinos) {
+                try {
+                    destino.entregar(lote);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Destino " + destino.getNome() + " recusou o lote", e);
+                }
+            }
+        } catch (RuntimeException e) {
+            repository.liberar(identificador, ids);
+            throw e;
+        }
+        repository.remover(identificador, ids);
+        long atraso = Duration.between(lote.getFirst().criadoEm(), LocalDateTime.now()).toMillis();
+        atrasoUltimoLoteMs = atraso;
+        atrasoMaximoMs.accumulateAndGet(atraso, Math::max);
+        eventosEntregues.add(lote.size());
+        lotesEntregues.increment();
+        return lote.size();
+    }
+}
@@ -1,66 +1,176 @@
 package com.rocksti.coopvote.service;
 
+import com.rocksti.coopvote.dto.HistoricoVotosDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.dto.SituacaoVotoDto;
+import com.rocksti.coopvote.diagnostico.RegistroVotoEvent;
 import com.rocksti.coopvote.dto.VotoDto;
-import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.elegibilidade.ElegibilidadeClient;
 import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.AssociadoInelegivelException;
 import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.exception.ElegibilidadeIndisponivelException;
+import com.rocksti.coopvote.exception.OpcaoInvalidaException;
 import com.rocksti.coopvote.exception.SessaoExpiradaException;
-import com.rocksti.coopvote.repository.VotoRepository;
+import com.rocksti.coopvote.recebimento.RecebimentoProperties;
+import com.rocksti.coopvote.store.VoteStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class VotoService {
 
-    private final VotoRepository votoRepository;
+    /**
+     * Quantidade máxima de votos em uma página do histórico de um associado.
+     */
+    private static final int MAXIMO_VOTOS_POR_PAGINA = 200;
+
+    private final VoteStore voteStore;
     private final PautaService pautaService;
+    private final ElegibilidadeClient elegibilidadeClient;
+    private final RecebimentoProperties recebimentoProperties;
 
     /**
-     * Registra um voto para uma pauta específica.
+     * Registra um voto recebido agora para uma pauta específica.
      *
      * @param votoDto Dados do voto a ser registrado.
      * @return O voto registrado.
-     * @throws SessaoExpiradaException  Se a sessão da pauta expirou.
-     * @throws ConflictRequestException Se o associado já votou na pauta.
+     * @see #registrarVoto(VotoDto, LocalDateTime)
      */
     public Voto registrarVoto(VotoDto votoDto) {
+        return registrarVoto(votoDto, LocalDateTime.now());
+    }
+
+    /**
+     * Registra um voto para uma pauta específica.
+     * <p>
+     * A sessão é validada pelo horário em que o voto foi recebido, e não pelo momento em que este código executa:
+     * um voto recebido antes do encerramento é aceito mesmo que tenha esperado em filas, desde que seja processado
+     * dentro da tolerância configurada em {@link RecebimentoProperties}. O horário de recebimento é gravado no voto.
+     * <p>
+     * A duração de cada etapa é registrada no evento JFR {@link RegistroVotoEvent}.
+     * <p>
+     * A sessão e o voto duplicado são lidos na mesma consulta. A consulta de elegibilidade do associado começa antes
+     * dela e só é aguardada depois das validações, para que a latência do serviço de cadastro se sobreponha ao banco.
+     *
+     * @param votoDto    Dados do voto a ser registrado.
+     * @param recebidoEm Horário em que o voto chegou à aplicação.
+     * @return O voto registrado.
+     * @throws SessaoExpiradaException            Se a sessão da pauta já havia expirado no recebimento.
+     * @throws OpcaoInvalidaException             Se a opção votada não existe na pauta.
+     * @throws ConflictRequestException           Se o associado já votou na pauta ou se a sessão está agendada para
+     *                                            depois do recebimento.
+     * @throws AssociadoInelegivelException       Se o associado não pode votar.
+     * @throws ElegibilidadeIndisponivelException Se o serviço de cadastro está indisponível e a política é negar.
+     */
+    public Voto registrarVoto(VotoDto votoDto, LocalDateTime recebidoEm) {
         log.info("Registrando voto para a pauta ID: {}", votoDto.getPautaId());
-        Pauta pauta = pautaService.buscarPautaPorId(votoDto.getPautaId());
+        RegistroVotoEvent evento = RegistroVotoEvent.iniciar(votoDto.getPautaId());
+        try {
+            CompletableFuture<Boolean> elegibilidade = elegibilidadeClient.verificar(votoDto.getAssociadoId());
+            SituacaoVotoDto situacao = pautaService.buscarSituacaoVoto(votoDto.getPautaId(), votoDto.getAssociadoId());
+            SessaoPautaDto sessao = situacao.getSessao();
+            evento.buscaPautaConcluida();
 
-        validarSessaoAtiva(pauta);
-        validarAssociadoNaoVotou(pauta, votoDto.getAssociadoId());
+            validarSessaoAtiva(sessao, recebidoEm);
+            int opcao = resolverOpcao(votoDto, sessao);
+            evento.validacaoSessaoConcluida();
+            validarAssociadoNaoVotou(situacao, votoDto.getAssociadoId());
+            evento.verificacaoDuplicidadeConcluida();
+            validarAssociadoElegivel(votoDto.getAssociadoId(), elegibilidade);
+            evento.esperaElegibilidadeConcluida();
 
-        Voto voto = criarVoto(votoDto, pauta);
-        Voto votoSalvo = votoRepository.save(voto);
-        log.info("Voto registrado com sucesso: ID do voto: {}", votoSalvo.getId());
-        return votoSalvo;
+            Voto votoSalvo = voteStore.registrarVoto(sessao.getPautaId(), votoDto.getAssociadoId(), opcao, recebidoEm);
+            evento.insercaoConcluida();
+            log.info("Voto registrado com sucesso: ID do voto: {}", votoSalvo.getId());
+            return votoSalvo;
+        } catch (RuntimeException e) {
+            evento.rejeitado(e);
+            throw e;
+        } finally {
+            evento.encerrar();
+        }
+    }
+
+    /**
+     * Lista os votos de um associado, da pauta mais recente para a mais antiga, em páginas delimitadas pelo ID da
+     * pauta em vez de deslocamento, de modo que cada página custa o mesmo independentemente da sua posição no
+     * histórico.
+     *
+     * @param associadoId Identificador externo do associado.
+     * @param cursor      {@code proximoCursor} da página anterior, ou nulo para a primeira página.
+     * @param limite      Quantidade de votos desejada, ajustada ao intervalo de 1 a {@value #MAXIMO_VOTOS_POR_PAGINA}.
+     * @return A página do histórico; vazia se o associado nunca votou.
+     */
+    public HistoricoVotosDto listarHistorico(String associadoId, Long cursor, int limite) {
+        int limiteAjustado = Math.clamp(limite, 1, MAXIMO_VOTOS_POR_PAGINA);
+        log.info("Listando histórico de votos do associado ID: {} a partir da pauta {}", associadoId, cursor);
+        return voteStore.listarVotosAssociado(associadoId, cursor, limiteAjustado);
     }
 
     // Métodos auxiliares privados
 
-    private void validarSessaoAtiva(Pauta pauta) {
-        if (pautaService.isSessaoExpirada(pauta)) {
-            log.warn("Sessão expirada para a pauta ID: {}", pauta.getId());
+    private void validarSessaoAtiva(SessaoPautaDto sessao, LocalDateTime recebidoEm) {
+        if (sessao.getInicioSessao() != null && sessao.getInicioSessao().isAfter(recebidoEm)) {
+            log.warn("Sessão agendada ainda não iniciada para a pauta ID: {}", sessao.getPautaId());
+            throw new ConflictRequestException("A sessão de votação desta pauta ainda não foi aberta");
+        }
+        LocalDateTime limiteTolerancia = LocalDateTime.now().minus(recebimentoProperties.getTolerancia());
+        if (pautaService.isSessaoExpirada(sessao, recebidoEm) || pautaService.isSessaoExpirada(sessao, limiteTolerancia)) {
+            log.warn("Sessão expirada para a pauta ID: {}", sessao.getPautaId());
             throw new SessaoExpiradaException("A sessão para esta pauta já expirou");
         }
     }
 
-    private void validarAssociadoNaoVotou(Pauta pauta, String associadoId) {
-        boolean associadoJaVotou = votoRepository.existsByPautaAndAssociadoId(pauta, associadoId);
-        if (associadoJaVotou) {
-            log.warn("Associado ID: {} já votou na pauta ID: {}", associadoId, pauta.getId());
+    /**
+     * O ordinal informado em {@code opcao} vale para qualquer pauta; {@code tipoVoto} só é aceito nas pautas simples,
+     * cujas opções são SIM e NÃO nos ordinais 0 e 1, e não em qualquer pauta de duas opções.
+     */
+    private int resolverOpcao(VotoDto votoDto, SessaoPautaDto sessao) {
+        Integer opcao = votoDto.getOpcao();
+        TipoVoto tipoVoto = votoDto.getTipoVoto();
+        if (tipoVoto != null) {
+            if (!sessao.isSimples() || (opcao != null && opcao != tipoVoto.getCodigo())) {
+                log.warn("Tipo de voto {} não corresponde às opções da pauta ID: {}", tipoVoto, sessao.getPautaId());
+                throw new OpcaoInvalidaException("Tipo de voto não corresponde às opções desta pauta");
+            }
+            return tipoVoto.getCodigo();
+        }
+        if (opcao == null || opcao < 0 || opcao >= sessao.getQuantidadeOpcoes()) {
+            log.warn("Opção {} inválida para a pauta ID: {}", opcao, sessao.getPautaId());
+            throw new OpcaoInvalidaException("Opção de voto inválida para esta pauta");
+        }
+        return opcao;
+    }
+
+    private void validarAssociadoNaoVotou(SituacaoVotoDto situacao, String associadoId) {
+        if (situacao.isVotou()) {
+            log.warn("Associado ID: {} já votou na pauta ID: {}", associadoId, situacao.getSessao().getPautaId());
             throw new ConflictRequestException("Associado já votou nesta pauta");
         }
     }
 
-    private Voto criarVoto(VotoDto votoDto, Pauta pauta) {
-        return Voto.builder()
-                .pauta(pauta)
-                .associadoId(votoDto.getAssociadoId())
-                .tipoVoto(votoDto.getTipoVoto())
-                .build();
+    private void validarAssociadoElegivel(String associadoId, CompletableFuture<Boolean> elegibilidade) {
+        boolean elegivel;
+        try {
+            elegivel = elegibilidade.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+        if (!elegivel) {
+            log.warn("Associado ID: {} não está apto a votar", associadoId);
+            throw new AssociadoInelegivelException("Associado não está apto a votar");
+        }
     }
 }
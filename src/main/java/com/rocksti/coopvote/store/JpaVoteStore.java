@@ -0,0 +1,377 @@
+package com.rocksti.coopvote.store;
+
+import com.rocksti.coopvote.arquivo.ArquivoVotos;
+import com.rocksti.coopvote.dto.ContagemPautaDto;
+import com.rocksti.coopvote.dto.HistoricoVotosDto;
+import com.rocksti.coopvote.dto.OpcaoPautaDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.ResumoPautaDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.dto.SituacaoVotoDto;
+import com.rocksti.coopvote.dto.VotanteDto;
+import com.rocksti.coopvote.dto.VotoAssociadoDto;
+import com.rocksti.coopvote.dto.VotoExportacaoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.enums.SituacaoAberturaSessao;
+import com.rocksti.coopvote.enums.TipoEvento;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.outbox.Outbox;
+import com.rocksti.coopvote.repository.ParticipacaoArquivadaRepository;
+import com.rocksti.coopvote.repository.PautaLoteRepository;
+import com.rocksti.coopvote.repository.PautaRepository;
+import com.rocksti.coopvote.repository.VotoRepository;
+import com.rocksti.coopvote.segmento.SegmentoPauta;
+import com.rocksti.coopvote.service.AssociadoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento no banco relacional via Spring Data JPA. Os votos de pautas arquivadas são lidos dos arquivos
+ * mantidos por {@link ArquivoVotos}.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "jpa", matchIfMissing = true)
+public class JpaVoteStore implements VoteStore {
+
+    private final PautaRepository pautaRepository;
+    private final PautaLoteRepository pautaLoteRepository;
+    private final VotoRepository votoRepository;
+    private final ParticipacaoArquivadaRepository participacaoArquivadaRepository;
+    private final AssociadoService associadoService;
+    private final ArquivoVotos arquivoVotos;
+    private final Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public Pauta salvarPauta(Pauta pauta) {
+        return pautaRepository.save(pauta);
+    }
+
+    /**
+     * Insere as pautas e as opções em dois lotes JDBC, na mesma transação.
+     */
+    @Override
+    public List<Pauta> cadastrarPautas(List<Pauta> pautas) {
+        transactionTemplate.executeWithoutResult(status -> pautaLoteRepository.inserir(pautas));
+        return pautas;
+    }
+
+    /**
+     * Bloqueia as pautas pedidas e abre as que estavam sem sessão com um único {@code UPDATE ... WHERE
+     * inicio_sessao IS NULL}: são duas instruções, qualquer que seja a quantidade de pautas. O bloqueio faz uma
+     * abertura concorrente das mesmas pautas esperar e encontrá-las já abertas, de modo que cada pauta é informada
+     * como aberta a uma única requisição. Uma pauta sozinha dispensa o bloqueio, pois a quantidade de linhas
+     * alteradas já diz se ela foi aberta. Com o outbox habilitado, o evento {@link TipoEvento#SESSAO_ABERTA} das
+     * pautas abertas é gravado na mesma transação.
+     */
+    @Override
+    public Map<Long, SituacaoAberturaSessao> abrirSessoes(Collection<Long> pautaIds, LocalDateTime inicioSessao,
+                                                          long tempoSessaoMinutos) {
+        if (pautaIds.isEmpty()) {
+            return Map.of();
+        }
+        if (pautaIds.size() == 1) {
+            Long pautaId = pautaIds.iterator().next();
+            return Map.of(pautaId, abrirSessao(pautaId, inicioSessao, tempoSessaoMinutos));
+        }
+        return transactionTemplate.execute(status -> {
+            Map<Long, SessaoPautaDto> sessoes = new HashMap<>();
+            pautaLoteRepository.bloquearSessoes(pautaIds).forEach(sessao -> sessoes.put(sessao.getPautaId(), sessao));
+
+            Map<Long, SituacaoAberturaSessao> situacoes = new LinkedHashMap<>();
+            List<Long> livres = new ArrayList<>(pautaIds.size());
+            for (Long pautaId : pautaIds) {
+                SessaoPautaDto sessao = sessoes.get(pautaId);
+                if (sessao == null) {
+                    situacoes.put(pautaId, SituacaoAberturaSessao.NAO_ENCONTRADA);
+                } else if (sessao.getInicioSessao() != null) {
+                    situacoes.put(pautaId, SituacaoAberturaSessao.JA_ABERTA);
+                } else {
+                    situacoes.put(pautaId, SituacaoAberturaSessao.ABERTA);
+                    livres.add(pautaId);
+                }
+            }
+            if (!livres.isEmpty()) {
+                pautaRepository.abrirSessoes(livres, inicioSessao, tempoSessaoMinutos);
+                outbox.registrarParaPautas(TipoEvento.SESSAO_ABERTA, livres,
+                        new Outbox.SessaoAberta(inicioSessao, tempoSessaoMinutos));
+            }
+            return situacoes;
+        });
+    }
+
+    @Override
+    public Optional<Pauta> buscarPauta(Long pautaId) {
+        return pautaRepository.findById(pautaId);
+    }
+
+    @Override
+    public Optional<SessaoPautaDto> buscarSessao(Long pautaId) {
+        return pautaRepository.findSessaoById(pautaId);
+    }
+
+    @Override
+    public List<String> buscarOpcoes(Long pautaId) {
+        return pautaRepository.findOpcoesById(pautaId);
+    }
+
+    @Override
+    public List<Pauta> listarPautas() {
+        return pautaRepository.findAll();
+    }
+
+    @Override
+    public List<SessaoPautaDto> listarSessoesIniciadasEntre(LocalDateTime inicio, LocalDateTime fim) {
+        return pautaRepository.findSessoesIniciadasEntre(inicio, fim);
+    }
+
+    @Override
+    public List<ResumoPautaDto> listarResumosPautas(long aPartirDe, int limite) {
+        return pautaRepository.findResumosByIdGreaterThan(aPartirDe, Limit.of(limite));
+    }
+
+    @Override
+    public boolean existeVoto(Long pautaId, String associadoId) {
+        return buscarSituacaoVoto(pautaId, associadoId).map(SituacaoVotoDto::isVotou).orElse(false);
+    }
+
+    /**
+     * O arquivo da pauta só é consultado se a pauta foi arquivada; até lá, o voto está na tabela.
+     */
+    @Override
+    public Optional<SituacaoVotoDto> buscarSituacaoVoto(Long pautaId, String associadoId) {
+        return pautaRepository.findSituacaoVoto(pautaId, associadoId)
+                .map(situacao -> situacao.isVotou() || !situacao.isArquivada() ? situacao
+                        : new SituacaoVotoDto(situacao.getSessao(), arquivoVotos.buscar(pautaId)
+                        .map(segmento -> segmento.buscar(associadoId).isPresent()).orElse(false), true));
+    }
+
+    /**
+     * Grava o voto referenciando a pauta sem carregá-la; o índice único de (pauta, associado) decide entre votos
+     * concorrentes do mesmo associado. Com o outbox habilitado, o voto e o evento {@link TipoEvento#VOTO_REGISTRADO}
+     * são gravados na mesma transação; o associado é cadastrado antes, fora dela, para que o cadastro concorrente do
+     * mesmo identificador continue sendo resolvido por uma nova consulta.
+     */
+    @Override
+    public Voto registrarVoto(Long pautaId, String associadoId, int opcao, LocalDateTime registradoEm) {
+        Voto voto = Voto.builder()
+                .pauta(pautaRepository.getReferenceById(pautaId))
+                .associado(associadoService.obterOuCadastrar(associadoId))
+                .opcao((byte) opcao)
+                .registradoEm(registradoEm)
+                .build();
+        if (!outbox.isHabilitado()) {
+            return gravarVoto(voto);
+        }
+        return transactionTemplate.execute(status -> {
+            Voto gravado = gravarVoto(voto);
+            outbox.registrar(TipoEvento.VOTO_REGISTRADO, pautaId,
+                    new Outbox.VotoRegistrado(associadoId, opcao, registradoEm));
+            return gravado;
+        });
+    }
+
+    /**
+     * Resolve as pautas, suas opções e a contagem das que não estão arquivadas em três consultas, a última agrupada
+     * por pauta e opção. As pautas arquivadas têm a contagem lida do cabeçalho do arquivo, que já é indexado pelo
+     * ordinal da opção. O arquivamento remove os votos da tabela na mesma transação em que marca a pauta, então uma
+     * pauta nunca tem votos nos dois lugares.
+     */
+    @Override
+    public List<ResultadoPautaDto> buscarResultados(Collection<Long> pautaIds) {
+        if (pautaIds.isEmpty()) {
+            return List.of();
+        }
+        List<ResumoPautaDto> pautas = pautaRepository.findResumosByIdIn(pautaIds);
+        List<Long> naoArquivadas = pautas.stream()
+                .filter(pauta -> !pauta.isArquivada())
+                .map(ResumoPautaDto::getPautaId)
+                .toList();
+
+        Map<Long, List<String>> opcoes = new HashMap<>();
+        for (OpcaoPautaDto opcao : pautaRepository.findOpcoesByIdIn(pautaIds)) {
+            opcoes.computeIfAbsent(opcao.getPautaId(), id -> new ArrayList<>()).add(opcao.getDescricao());
+        }
+
+        Map<Long, long[]> contagens = new HashMap<>();
+        if (!naoArquivadas.isEmpty()) {
+            for (ContagemPautaDto linha : votoRepository.contarPorPautaEOpcao(naoArquivadas)) {
+                contagens.computeIfAbsent(linha.getPautaId(), id -> new long[opcoes.getOrDefault(id, List.of()).size()])
+                        [linha.getOpcao()] = linha.getTotal();
+            }
+        }
+
+        List<ResultadoPautaDto> resultados = new ArrayList<>(pautas.size());
+        for (ResumoPautaDto pauta : pautas) {
+            long[] contagem = pauta.isArquivada()
+                    ? arquivoVotos.buscar(pauta.getPautaId()).map(SegmentoPauta::getContagem).orElseGet(() -> new long[0])
+                    : contagens.getOrDefault(pauta.getPautaId(), new long[0]);
+            resultados.add(ResultadoPautaDto.from(pauta.getPautaId(), pauta.getDescricao(),
+                    opcoes.getOrDefault(pauta.getPautaId(), List.of()), contagem));
+        }
+        return resultados;
+    }
+
+    /**
+     * Os votos são lidos primeiro da tabela; como uma pauta nunca tem votos nos dois lugares, o arquivamento só é
+     * verificado, para ler o arquivo, quando a tabela não tem votos da pauta.
+     */
+    @Override
+    public void percorrerVotos(Long pautaId, ObjIntConsumer<String> consumidor) {
+        List<VotoExportacaoDto> votos = votoRepository.listarParaExportacao(pautaId);
+        if (votos.isEmpty()
+                && pautaRepository.findResumosByIdIn(List.of(pautaId)).stream().anyMatch(ResumoPautaDto::isArquivada)) {
+            arquivoVotos.buscar(pautaId).ifPresent(arquivo -> arquivo.percorrer(consumidor));
+            return;
+        }
+        for (VotoExportacaoDto voto : votos) {
+            consumidor.accept(voto.getAssociadoId(), voto.getOpcao());
+        }
+    }
+
+    /**
+     * As pautas arquivadas, identificadas em uma consulta, são lidas dos seus arquivos e as demais de uma única
+     * consulta, percorrida dentro de uma transação somente leitura para que as linhas não precisem ficar todas em
+     * memória.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerVotantes(Collection<Long> pautaIds, BiConsumer<Long, String> consumidor) {
+        if (pautaIds.isEmpty()) {
+            return;
+        }
+        List<Long> naoArquivadas = new ArrayList<>(pautaIds.size());
+        for (ResumoPautaDto pauta : pautaRepository.findResumosByIdIn(pautaIds)) {
+            Long pautaId = pauta.getPautaId();
+            if (pauta.isArquivada()) {
+                arquivoVotos.buscar(pautaId).ifPresent(arquivo ->
+                        arquivo.percorrer((associadoId, opcao) -> consumidor.accept(pautaId, associadoId)));
+            } else {
+                naoArquivadas.add(pautaId);
+            }
+        }
+        if (naoArquivadas.isEmpty()) {
+            return;
+        }
+        try (Stream<VotanteDto> votantes = votoRepository.listarVotantesPorPautas(naoArquivadas)) {
+            votantes.forEach(votante -> consumidor.accept(votante.getPautaId(), votante.getAssociadoId()));
+        }
+    }
+
+    /**
+     * Os votos das pautas não arquivadas vêm de uma consulta pelo índice (associado_id, pauta_id), já com a descrição
+     * da pauta, e as pautas arquivadas em que o associado votou, de outra pela chave de
+     * {@code participacao_arquivada}, que guarda também a opção votada. Cada consulta traz no máximo uma página, e a
+     * descrição das opções votadas é resolvida em uma única consulta ao final. Os arquivos de votos só são lidos nas
+     * participações registradas antes de a tabela guardar a opção.
+     */
+    @Override
+    public HistoricoVotosDto listarVotosAssociado(String associadoId, Long antesDaPauta, int limite) {
+        long abaixoDe = antesDaPauta != null ? antesDaPauta : Long.MAX_VALUE;
+        List<VotoAssociadoDto> votos = new ArrayList<>(
+                votoRepository.listarPorAssociado(associadoId, abaixoDe, Limit.of(limite)));
+        long acimaDe = votos.size() == limite ? votos.getLast().getPautaId() : 0;
+        for (ParticipacaoArquivadaRepository.Participacao participacao
+                : participacaoArquivadaRepository.listar(associadoId, abaixoDe, limite)) {
+            if (participacao.pautaId() <= acimaDe) {
+                break;
+            }
+            int opcao = participacao.opcao() != null ? participacao.opcao()
+                    : opcaoArquivada(participacao.pautaId(), associadoId);
+            votos.add(new VotoAssociadoDto(participacao.pautaId(), participacao.descricao(), opcao, null, null));
+        }
+
+        List<VotoAssociadoDto> pagina = votos.stream()
+                .sorted(Comparator.comparing(VotoAssociadoDto::getPautaId).reversed())
+                .limit(limite)
+                .toList();
+        preencherDescricaoOpcoes(pagina);
+
+        Long proximoCursor = pagina.size() == limite ? pagina.getLast().getPautaId() : null;
+        return new HistoricoVotosDto(associadoId, pagina, proximoCursor);
+    }
+
+    // Métodos auxiliares privados
+
+    private SituacaoAberturaSessao abrirSessao(Long pautaId, LocalDateTime inicioSessao, long tempoSessaoMinutos) {
+        boolean aberta = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (pautaRepository.abrirSessoes(List.of(pautaId), inicioSessao, tempoSessaoMinutos) == 0) {
+                return false;
+            }
+            outbox.registrar(TipoEvento.SESSAO_ABERTA, pautaId,
+                    new Outbox.SessaoAberta(inicioSessao, tempoSessaoMinutos));
+            return true;
+        }));
+        if (aberta) {
+            return SituacaoAberturaSessao.ABERTA;
+        }
+        return pautaRepository.existsById(pautaId) ? SituacaoAberturaSessao.JA_ABERTA
+                : SituacaoAberturaSessao.NAO_ENCONTRADA;
+    }
+
+    /**
+     * Lê do arquivo da pauta a opção de uma participação registrada sem ela. Sem o arquivo o voto não pode ser
+     * informado, e a página falha em vez de sair incompleta.
+     */
+    private int opcaoArquivada(Long pautaId, String associadoId) {
+        OptionalInt codigo = arquivoVotos.buscar(pautaId)
+                .map(segmento -> segmento.buscar(associadoId))
+                .orElseGet(OptionalInt::empty);
+        if (codigo.isEmpty()) {
+            log.error("Voto do associado ID: {} não encontrado no arquivo da pauta arquivada ID: {}", associadoId,
+                    pautaId);
+            throw new IllegalStateException("Voto arquivado da pauta " + pautaId + " indisponível");
+        }
+        return codigo.getAsInt();
+    }
+
+    private Voto gravarVoto(Voto voto) {
+        try {
+            return votoRepository.save(voto);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Voto concorrente rejeitado para o associado ID: {} na pauta ID: {}",
+                    voto.getAssociado().getIdentificador(), voto.getPauta().getId());
+            throw new ConflictRequestException("Associado já votou nesta pauta");
+        }
+    }
+
+    private void preencherDescricaoOpcoes(List<VotoAssociadoDto> votos) {
+        if (votos.isEmpty()) {
+            return;
+        }
+        List<Long> pautaIds = votos.stream().map(VotoAssociadoDto::getPautaId).toList();
+        Map<Long, List<String>> opcoes = new HashMap<>();
+        for (OpcaoPautaDto opcao : pautaRepository.findOpcoesByIdIn(pautaIds)) {
+            opcoes.computeIfAbsent(opcao.getPautaId(), id -> new ArrayList<>()).add(opcao.getDescricao());
+        }
+        for (VotoAssociadoDto voto : votos) {
+            List<String> descricoes = opcoes.getOrDefault(voto.getPautaId(), List.of());
+            if (voto.getOpcao() < descricoes.size()) {
+                voto.setDescricaoOpcao(descricoes.get(voto.getOpcao()));
+            }
+        }
+    }
+}
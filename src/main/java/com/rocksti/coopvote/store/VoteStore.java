@@ -0,0 +1,163 @@
+package com.rocksti.coopvote.store;
+
+import com.rocksti.coopvote.dto.HistoricoVotosDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.ResumoPautaDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.dto.SituacaoVotoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.enums.SituacaoAberturaSessao;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Armazenamento de pautas e votos usado pelos serviços.
+ * <p>
+ * O backend é escolhido pela propriedade {@code coopvote.store.tipo}: {@code jpa} (padrão) persiste no banco
+ * relacional e {@code log} usa o armazenamento embarcado em arquivos de log, sem banco de dados.
+ */
+public interface VoteStore {
+
+    /**
+     * Cadastra uma pauta nova ou grava as alterações de uma pauta existente.
+     *
+     * @param pauta Pauta a ser gravada.
+     * @return A pauta gravada, com ID preenchido.
+     */
+    Pauta salvarPauta(Pauta pauta);
+
+    /**
+     * Cadastra várias pautas novas de uma vez, com um número de comandos que não depende da quantidade de pautas.
+     *
+     * @param pautas Pautas sem ID, com as opções já validadas.
+     * @return As pautas gravadas, com ID preenchido, na ordem recebida.
+     */
+    List<Pauta> cadastrarPautas(List<Pauta> pautas);
+
+    /**
+     * Abre a sessão de votação das pautas que ainda não tiveram a sessão aberta, com um número de comandos que não
+     * depende da quantidade de pautas. A abertura é condicional: de duas aberturas concorrentes da mesma pauta, só
+     * uma é gravada, e a outra recebe {@link SituacaoAberturaSessao#JA_ABERTA}.
+     *
+     * @param pautaIds           IDs das pautas, sem repetições.
+     * @param inicioSessao       Início da sessão; pode ser futuro, para agendar a abertura.
+     * @param tempoSessaoMinutos Duração da sessão.
+     * @return A situação de cada pauta pedida: {@link SituacaoAberturaSessao#ABERTA} se a sessão foi aberta por esta
+     * chamada, {@link SituacaoAberturaSessao#JA_ABERTA} ou {@link SituacaoAberturaSessao#NAO_ENCONTRADA}.
+     */
+    Map<Long, SituacaoAberturaSessao> abrirSessoes(Collection<Long> pautaIds, LocalDateTime inicioSessao,
+                                                   long tempoSessaoMinutos);
+
+    /**
+     * @param pautaId ID da pauta.
+     * @return A pauta, ou vazio se não existir.
+     */
+    Optional<Pauta> buscarPauta(Long pautaId);
+
+    /**
+     * @param pautaId ID da pauta.
+     * @return Os dados da sessão de votação da pauta, ou vazio se a pauta não existir.
+     */
+    Optional<SessaoPautaDto> buscarSessao(Long pautaId);
+
+    /**
+     * @param pautaId ID da pauta.
+     * @return Descrição das opções de voto da pauta na ordem dos ordinais, ou vazio se a pauta não existir.
+     */
+    List<String> buscarOpcoes(Long pautaId);
+
+    /**
+     * @return Todas as pautas cadastradas.
+     */
+    List<Pauta> listarPautas();
+
+    /**
+     * @param inicio Início do intervalo, inclusive.
+     * @param fim    Fim do intervalo, exclusive.
+     * @return Os dados da sessão das pautas cuja sessão foi aberta no intervalo, em ordem crescente de ID.
+     */
+    List<SessaoPautaDto> listarSessoesIniciadasEntre(LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Lista a identificação das pautas em ordem crescente de ID, em páginas, sem carregar as pautas completas.
+     *
+     * @param aPartirDe Apenas pautas com ID maior que este.
+     * @param limite    Quantidade máxima de pautas.
+     * @return ID, descrição e situação de arquivamento das pautas.
+     */
+    List<ResumoPautaDto> listarResumosPautas(long aPartirDe, int limite);
+
+    /**
+     * @param pautaId     ID da pauta.
+     * @param associadoId Identificador externo do associado.
+     * @return True se o associado já votou na pauta.
+     */
+    boolean existeVoto(Long pautaId, String associadoId);
+
+    /**
+     * Lê de uma vez a sessão de votação da pauta e se o associado já votou nela, para o registro do voto.
+     *
+     * @param pautaId     ID da pauta.
+     * @param associadoId Identificador externo do associado.
+     * @return A sessão e se o associado já votou, inclusive nas pautas arquivadas, ou vazio se a pauta não existir.
+     */
+    Optional<SituacaoVotoDto> buscarSituacaoVoto(Long pautaId, String associadoId);
+
+    /**
+     * Registra o voto de um associado em uma pauta existente.
+     *
+     * @param pautaId      ID da pauta.
+     * @param associadoId  Identificador externo do associado.
+     * @param opcao        Ordinal da opção votada, já validado contra as opções da pauta.
+     * @param registradoEm Horário de registro do voto.
+     * @return O voto registrado.
+     * @throws ConflictRequestException Se o associado já votou na pauta.
+     */
+    Voto registrarVoto(Long pautaId, String associadoId, int opcao, LocalDateTime registradoEm);
+
+    /**
+     * Busca o resultado de várias pautas de uma vez, com um número de consultas que não depende da quantidade de
+     * pautas.
+     *
+     * @param pautaIds IDs das pautas, sem repetições.
+     * @return Resultado de cada pauta existente, sem ordem definida, com a contagem de cada opção acumulada em um
+     * array indexado pelo ordinal. IDs sem pauta correspondente são ignorados.
+     */
+    List<ResultadoPautaDto> buscarResultados(Collection<Long> pautaIds);
+
+    /**
+     * Percorre os votos de uma pauta, sem ordem definida.
+     *
+     * @param pautaId    ID da pauta.
+     * @param consumidor Recebe o identificador do associado e o ordinal da opção votada.
+     */
+    void percorrerVotos(Long pautaId, ObjIntConsumer<String> consumidor);
+
+    /**
+     * Percorre os associados que votaram em um grupo de pautas, sem ordem definida, com um número de consultas que
+     * não depende da quantidade de pautas.
+     *
+     * @param pautaIds   IDs das pautas.
+     * @param consumidor Recebe o ID da pauta e o identificador do associado.
+     */
+    void percorrerVotantes(Collection<Long> pautaIds, BiConsumer<Long, String> consumidor);
+
+    /**
+     * Lista os votos de um associado com paginação por cursor: os votos vêm em ordem decrescente de ID da pauta, a
+     * partir da pauta anterior ao cursor, inclusive os de pautas arquivadas.
+     *
+     * @param associadoId  Identificador externo do associado.
+     * @param antesDaPauta Cursor da página: apenas pautas com ID menor que ele; nulo para a primeira página.
+     * @param limite       Quantidade máxima de votos na página.
+     * @return A página do histórico, com a descrição da pauta e da opção de cada voto.
+     */
+    HistoricoVotosDto listarVotosAssociado(String associadoId, Long antesDaPauta, int limite);
+}
@@ -0,0 +1,144 @@
+package com.rocksti.coopvote.store.log;
+
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estado em memória de uma pauta no armazenamento em log. As alterações são feitas com as gravações serializadas
+ * pelo {@link LogVoteStore}; as leituras não precisam de bloqueio.
+ */
+final class EstadoPauta {
+
+    private final long id;
+    private volatile String descricao;
+    private volatile LocalDateTime inicioSessao;
+    private volatile Long tempoSessaoMinutos;
+
+    /**
+     * Descrição das opções, fixadas no cadastro da pauta, e total de votos de cada uma, indexados pelo ordinal.
+     */
+    private final List<String> opcoes;
+    private final AtomicLongArray contagem;
+
+    /**
+     * Código do voto de cada associado; nulo depois que a pauta é compactada.
+     */
+    private volatile Map<String, Byte> votos = new ConcurrentHashMap<>();
+
+    /**
+     * Indica que a pauta está sendo ou já foi compactada e não aceita mais votos.
+     */
+    private volatile boolean fechada;
+
+    EstadoPauta(long id, List<String> opcoes) {
+        this.id = id;
+        this.opcoes = List.copyOf(opcoes);
+        this.contagem = new AtomicLongArray(opcoes.size());
+    }
+
+    long getId() {
+        return id;
+    }
+
+    String getDescricao() {
+        return descricao;
+    }
+
+    List<String> getOpcoes() {
+        return opcoes;
+    }
+
+    void atualizar(String descricao, LocalDateTime inicioSessao, Long tempoSessaoMinutos) {
+        this.descricao = descricao;
+        this.inicioSessao = inicioSessao;
+        this.tempoSessaoMinutos = tempoSessaoMinutos;
+    }
+
+    /**
+     * @return True se o voto foi aceito, false se o associado já havia votado.
+     */
+    boolean registrar(String associadoId, byte codigo) {
+        if (votos.putIfAbsent(associadoId, codigo) != null) {
+            return false;
+        }
+        contagem.incrementAndGet(codigo);
+        return true;
+    }
+
+    boolean possuiVoto(String associadoId) {
+        Map<String, Byte> atuais = votos;
+        return atuais != null && atuais.containsKey(associadoId);
+    }
+
+    Map<String, Byte> getVotos() {
+        return votos;
+    }
+
+    long[] getContagem() {
+        long[] copia = new long[contagem.length()];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = contagem.get(i);
+        }
+        return copia;
+    }
+
+    void restaurarContagem(long[] valores) {
+        for (int i = 0; i < valores.length; i++) {
+            contagem.set(i, valores[i]);
+        }
+    }
+
+    boolean isFechada() {
+        return fechada;
+    }
+
+    void fechar() {
+        fechada = true;
+    }
+
+    boolean isCompactada() {
+        return votos == null;
+    }
+
+    /**
+     * Descarta o índice de associados depois que os votos foram movidos para o arquivo compacto da pauta.
+     */
+    void compactar(long[] contagemArquivo) {
+        fechada = true;
+        votos = null;
+        restaurarContagem(contagemArquivo);
+    }
+
+    /**
+     * @return O horário de encerramento da sessão, ou nulo se a sessão não foi aberta.
+     */
+    LocalDateTime getFimSessao() {
+        return inicioSessao != null ? inicioSessao.plusMinutes(tempoSessaoMinutos) : null;
+    }
+
+    Pauta paraPauta() {
+        return Pauta.builder()
+                .id(id)
+                .descricao(descricao)
+                .inicioSessao(inicioSessao)
+                .tempoSessaoMinutos(tempoSessaoMinutos)
+                .opcoes(opcoes)
+                .arquivada(isCompactada())
+                .build();
+    }
+
+    SessaoPautaDto paraSessao() {
+        return new SessaoPautaDto(id, inicioSessao, tempoSessaoMinutos, opcoes.size(), TipoVoto.isPautaSimples(opcoes));
+    }
+
+    Registro.RegistroPauta paraRegistro() {
+        return new Registro.RegistroPauta(id, descricao, inicioSessao, tempoSessaoMinutos, opcoes);
+    }
+}
@@ -0,0 +1,235 @@
+package com.rocksti.coopvote.store.log;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Log somente de acréscimo dividido em segmentos numerados ({@code segmento-0000000001.log}).
+ * <p>
+ * Cada registro é gravado como {@code int tamanho | int crc32c | conteúdo}, em que o conteúdo é o registro
+ * codificado por {@link Registro}. Na leitura os segmentos são mapeados em memória; um registro incompleto ou com
+ * checksum inválido no fim do último segmento é resultado de uma gravação interrompida e é descartado.
+ * <p>
+ * As gravações devem ser serializadas pelo chamador. A espera pelo fsync, por outro lado, é feita fora dessa
+ * exclusão: o primeiro a chegar sincroniza tudo o que já foi gravado e os demais aproveitam o mesmo fsync.
+ */
+@Log4j2
+final class LogSegmentado implements Closeable {
+
+    private static final Pattern NOME_SEGMENTO = Pattern.compile("segmento-(\\d{10})\\.log");
+    private static final int CABECALHO_REGISTRO = 2 * Integer.BYTES;
+
+    private final Path diretorio;
+    private final long tamanhoMaximoSegmento;
+    private final boolean sincronizar;
+    private final Object sincronizacao = new Object();
+
+    private volatile FileChannel ativo;
+    private long numeroAtivo;
+    private long tamanhoAtivo;
+    private volatile long bytesGravados;
+    private long bytesSincronizados;
+
+    LogSegmentado(Path diretorio, long tamanhoMaximoSegmento, boolean sincronizar) {
+        this.diretorio = diretorio;
+        this.tamanhoMaximoSegmento = tamanhoMaximoSegmento;
+        this.sincronizar = sincronizar;
+    }
+
+    /**
+     * Lê os registros dos segmentos a partir do informado e deixa o último segmento aberto para gravação.
+     *
+     * @param segmentoInicial Primeiro segmento a ser lido; os anteriores já estão refletidos no checkpoint.
+     * @param consumidor      Recebe os registros na ordem em que foram gravados.
+     * @throws IOException Se houver erro de leitura ou um segmento intermediário estiver corrompido.
+     */
+    void reproduzir(long segmentoInicial, Consumer<Registro> consumidor) throws IOException {
+        List<Long> segmentos = listarSegmentos().stream().filter(numero -> numero >= segmentoInicial).toList();
+        long fimValido = 0;
+        for (int i = 0; i < segmentos.size(); i++) {
+            boolean ultimo = i == segmentos.size() - 1;
+            fimValido = reproduzirSegmento(caminho(segmentos.get(i)), ultimo, consumidor);
+        }
+
+        numeroAtivo = segmentos.isEmpty() ? segmentoInicial : segmentos.getLast();
+        ativo = FileChannel.open(caminho(numeroAtivo), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (ativo.size() > fimValido) {
+            log.warn("Descartando {} bytes de gravação incompleta no fim do segmento {}",
+                    ativo.size() - fimValido, numeroAtivo);
+            ativo.truncate(fimValido);
+            ativo.force(true);
+        }
+        ativo.position(fimValido);
+        tamanhoAtivo = fimValido;
+    }
+
+    /**
+     * Acrescenta um registro ao segmento ativo, iniciando um novo segmento quando o ativo atinge o tamanho máximo.
+     *
+     * @param registro Registro a ser gravado.
+     * @return Posição lógica do fim do registro, usada em {@link #aguardarDurabilidade(long)}.
+     */
+    long gravar(Registro registro) {
+        ByteBuffer conteudo = Registro.codificar(registro);
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo.duplicate());
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO_REGISTRO)
+                .putInt(conteudo.remaining())
+                .putInt((int) crc.getValue())
+                .flip();
+        long tamanho = CABECALHO_REGISTRO + conteudo.remaining();
+
+        try {
+            if (tamanhoAtivo > 0 && tamanhoAtivo + tamanho > tamanhoMaximoSegmento) {
+                rolar();
+            }
+            while (cabecalho.hasRemaining() || conteudo.hasRemaining()) {
+                ativo.write(new ByteBuffer[]{cabecalho, conteudo});
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar no log de votos", e);
+        }
+        tamanhoAtivo += tamanho;
+        bytesGravados += tamanho;
+        return bytesGravados;
+    }
+
+    /**
+     * Garante que tudo o que foi gravado até a posição informada chegou ao disco. Não faz nada quando a
+     * sincronização das gravações está desabilitada.
+     *
+     * @param posicao Posição retornada por {@link #gravar(Registro)}.
+     */
+    void aguardarDurabilidade(long posicao) {
+        if (!sincronizar) {
+            return;
+        }
+        synchronized (sincronizacao) {
+            if (bytesSincronizados >= posicao) {
+                return;
+            }
+            long alvo = bytesGravados;
+            try {
+                ativo.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao sincronizar o log de votos", e);
+            }
+            bytesSincronizados = alvo;
+        }
+    }
+
+    /**
+     * @return Total de bytes gravados desde a abertura do log.
+     */
+    long getBytesGravados() {
+        return bytesGravados;
+    }
+
+    /**
+     * Fecha o segmento ativo e inicia o próximo. Deve ser chamado com as gravações serializadas.
+     *
+     * @return Número do novo segmento ativo.
+     * @throws IOException Se houver erro ao sincronizar ou criar o segmento.
+     */
+    long rolar() throws IOException {
+        synchronized (sincronizacao) {
+            ativo.force(false);
+            bytesSincronizados = bytesGravados;
+            ativo.close();
+            numeroAtivo++;
+            ativo = FileChannel.open(caminho(numeroAtivo), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            tamanhoAtivo = 0;
+        }
+        return numeroAtivo;
+    }
+
+    /**
+     * Remove os segmentos cujo conteúdo já está refletido em um checkpoint.
+     *
+     * @param segmento Primeiro segmento a ser mantido.
+     * @throws IOException Se houver erro ao remover algum segmento.
+     */
+    void removerAnteriores(long segmento) throws IOException {
+        for (long numero : listarSegmentos()) {
+            if (numero < segmento) {
+                Files.deleteIfExists(caminho(numero));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (sincronizacao) {
+            if (ativo != null && ativo.isOpen()) {
+                ativo.force(false);
+                ativo.close();
+            }
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    private long reproduzirSegmento(Path arquivo, boolean ultimo, Consumer<Registro> consumidor) throws IOException {
+        MappedByteBuffer mapeado;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            mapeado = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+
+        int posicao = 0;
+        while (mapeado.limit() - posicao >= CABECALHO_REGISTRO) {
+            int tamanho = mapeado.getInt(posicao);
+            int crcEsperado = mapeado.getInt(posicao + Integer.BYTES);
+            int inicio = posicao + CABECALHO_REGISTRO;
+            if (tamanho <= 0 || tamanho > mapeado.limit() - inicio) {
+                break;
+            }
+            ByteBuffer conteudo = mapeado.slice(inicio, tamanho);
+            CRC32C crc = new CRC32C();
+            crc.update(conteudo.duplicate());
+            if ((int) crc.getValue() != crcEsperado) {
+                break;
+            }
+            consumidor.accept(Registro.decodificar(conteudo));
+            posicao = inicio + tamanho;
+        }
+
+        if (posicao != mapeado.limit() && !ultimo) {
+            throw new IOException("Segmento corrompido antes do fim do log: " + arquivo);
+        }
+        return posicao;
+    }
+
+    private List<Long> listarSegmentos() throws IOException {
+        List<Long> segmentos = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.forEach(arquivo -> {
+                Matcher matcher = NOME_SEGMENTO.matcher(arquivo.getFileName().toString());
+                if (matcher.matches()) {
+                    segmentos.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        segmentos.sort(null);
+        return segmentos;
+    }
+
+    private Path caminho(long numero) {
+        return diretorio.resolve(String.format("segmento-%010d.log", numero));
+    }
+}
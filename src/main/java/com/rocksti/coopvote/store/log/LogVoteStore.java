@@ -0,0 +1,635 @@
+package com.rocksti.coopvote.store.log;
+
+import com.rocksti.coopvote.dto.HistoricoVotosDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.ResumoPautaDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.dto.SituacaoVotoDto;
+import com.rocksti.coopvote.dto.VotoAssociadoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.enums.SituacaoAberturaSessao;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.exception.NotFoundException;
+import com.rocksti.coopvote.exception.SessaoExpiradaException;
+import com.rocksti.coopvote.segmento.SegmentoPauta;
+import com.rocksti.coopvote.segmento.SegmentosAbertos;
+import com.rocksti.coopvote.segmento.VotoCompacto;
+import com.rocksti.coopvote.store.VoteStore;
+import com.rocksti.coopvote.store.log.Registro.RegistroCompactacao;
+import com.rocksti.coopvote.store.log.Registro.RegistroPauta;
+import com.rocksti.coopvote.store.log.Registro.RegistroVoto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Armazenamento embarcado para ambientes sem banco de dados ({@code coopvote.store.tipo=log}).
+ * <p>
+ * Toda alteração é acrescentada a um {@link LogSegmentado} e aplicada ao estado em memória, que mantém as pautas,
+ * o índice (pauta, associado), a contagem de votos de cada pauta e as {@link ParticipacoesAssociados}. Periodicamente o estado é gravado em um
+ * checkpoint e os segmentos anteriores a ele são removidos; na inicialização o estado é reconstruído a partir do
+ * checkpoint e dos segmentos gravados depois dele. Pautas encerradas há mais de
+ * {@link LogVoteStoreProperties#getIdadeMinimaCompactacao()} têm seus votos movidos para um {@link SegmentoPauta},
+ * lido por mapeamento em memória, e deixam de ocupar o índice; até
+ * {@link LogVoteStoreProperties#getMaximoSegmentosAbertos()} desses arquivos ficam mapeados ao mesmo tempo.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "coopvote.store.tipo", havingValue = "log")
+public class LogVoteStore implements VoteStore {
+
+    private static final String CHECKPOINT = "checkpoint.bin";
+    private static final int MAGICO_CHECKPOINT = 0x43564350; // "CVCP"
+    private static final int VERSAO_CHECKPOINT = 2;
+
+    /**
+     * Versão de checkpoint sem as participações dos associados, que são reconstruídas ao restaurá-lo.
+     */
+    private static final int VERSAO_CHECKPOINT_SEM_PARTICIPACOES = 1;
+    private static final long PRIMEIRO_SEGMENTO = 1;
+
+    private final LogVoteStoreProperties propriedades;
+    private final Path diretorio;
+    private final ReentrantLock gravacao = new ReentrantLock();
+    private final ConcurrentSkipListMap<Long, EstadoPauta> pautas = new ConcurrentSkipListMap<>();
+    private final SegmentosAbertos<Long> segmentosPauta;
+    private final ParticipacoesAssociados participacoes = new ParticipacoesAssociados();
+
+    private LogSegmentado logSegmentado;
+    private ScheduledExecutorService agendador;
+    private long proximoPautaId = 1;
+    private long proximoVotoId = 1;
+    private long posicaoUltimoCheckpoint = -1;
+
+    public LogVoteStore(LogVoteStoreProperties propriedades) {
+        this.propriedades = propriedades;
+        this.diretorio = propriedades.getDiretorio();
+        this.segmentosPauta = new SegmentosAbertos<>(propriedades.getMaximoSegmentosAbertos());
+    }
+
+    /**
+     * Reconstrói o estado a partir do checkpoint e do log e agenda checkpoints e compactações.
+     *
+     * @throws IOException Se os arquivos do armazenamento não puderem ser lidos.
+     */
+    @PostConstruct
+    public void iniciar() throws IOException {
+        Files.createDirectories(diretorio);
+        long segmentoInicial = restaurarCheckpoint();
+        logSegmentado = new LogSegmentado(diretorio, propriedades.getTamanhoMaximoSegmento().toBytes(),
+                propriedades.isSincronizarGravacoes());
+        logSegmentado.reproduzir(segmentoInicial, this::aplicar);
+        log.info("Armazenamento em log iniciado em {}: {} pautas", diretorio.toAbsolutePath(), pautas.size());
+
+        agendador = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("coopvote-log-store").daemon().factory());
+        agendar(propriedades.getIntervaloCheckpoint(), "checkpoint", this::checkpoint);
+        agendar(propriedades.getIntervaloCompactacao(), "compactação",
+                () -> compactarPautasEncerradas(LocalDateTime.now()));
+    }
+
+    /**
+     * Interrompe as tarefas agendadas, grava um checkpoint final e fecha o log.
+     *
+     * @throws IOException Se o checkpoint não puder ser gravado.
+     */
+    @PreDestroy
+    public void encerrar() throws IOException {
+        agendador.shutdown();
+        try {
+            agendador.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkpoint();
+        logSegmentado.close();
+        log.info("Armazenamento em log encerrado");
+    }
+
+    @Override
+    public Pauta salvarPauta(Pauta pauta) {
+        RegistroPauta registro;
+        long posicao;
+        gravacao.lock();
+        try {
+            long id = pauta.getId() != null ? pauta.getId() : proximoPautaId;
+            registro = new RegistroPauta(id, pauta.getDescricao(), pauta.getInicioSessao(), pauta.getTempoSessaoMinutos(),
+                    pauta.getOpcoes());
+            posicao = logSegmentado.gravar(registro);
+            aplicar(registro);
+        } finally {
+            gravacao.unlock();
+        }
+        logSegmentado.aguardarDurabilidade(posicao);
+        return pautas.get(registro.id()).paraPauta();
+    }
+
+    /**
+     * Grava as pautas com as gravações serializadas e espera o fsync uma única vez, pelo último registro.
+     */
+    @Override
+    public List<Pauta> cadastrarPautas(List<Pauta> novas) {
+        List<Long> ids = new ArrayList<>(novas.size());
+        long posicao = -1;
+        gravacao.lock();
+        try {
+            for (Pauta pauta : novas) {
+                RegistroPauta registro = new RegistroPauta(proximoPautaId, pauta.getDescricao(), null, null,
+                        pauta.getOpcoes());
+                posicao = logSegmentado.gravar(registro);
+                aplicar(registro);
+                ids.add(registro.id());
+            }
+        } finally {
+            gravacao.unlock();
+        }
+        logSegmentado.aguardarDurabilidade(posicao);
+        return ids.stream().map(id -> pautas.get(id).paraPauta()).toList();
+    }
+
+    /**
+     * Verifica e grava a abertura de cada pauta com as gravações serializadas, de modo que aberturas concorrentes
+     * da mesma pauta não passam juntas pela verificação.
+     */
+    @Override
+    public Map<Long, SituacaoAberturaSessao> abrirSessoes(Collection<Long> pautaIds, LocalDateTime inicioSessao,
+                                                          long tempoSessaoMinutos) {
+        Map<Long, SituacaoAberturaSessao> situacoes = new LinkedHashMap<>();
+        long posicao = -1;
+        gravacao.lock();
+        try {
+            for (Long pautaId : pautaIds) {
+                EstadoPauta estado = pautas.get(pautaId);
+                if (estado == null) {
+                    situacoes.put(pautaId, SituacaoAberturaSessao.NAO_ENCONTRADA);
+                } else if (estado.paraSessao().getInicioSessao() != null) {
+                    situacoes.put(pautaId, SituacaoAberturaSessao.JA_ABERTA);
+                } else {
+                    RegistroPauta registro = new RegistroPauta(pautaId, estado.getDescricao(), inicioSessao,
+                            tempoSessaoMinutos, estado.getOpcoes());
+                    posicao = logSegmentado.gravar(registro);
+                    aplicar(registro);
+                    situacoes.put(pautaId, SituacaoAberturaSessao.ABERTA);
+                }
+            }
+        } finally {
+            gravacao.unlock();
+        }
+        if (posicao >= 0) {
+            logSegmentado.aguardarDurabilidade(posicao);
+        }
+        return situacoes;
+    }
+
+    @Override
+    public Optional<Pauta> buscarPauta(Long pautaId) {
+        return Optional.ofNullable(pautas.get(pautaId)).map(EstadoPauta::paraPauta);
+    }
+
+    @Override
+    public Optional<SessaoPautaDto> buscarSessao(Long pautaId) {
+        return Optional.ofNullable(pautas.get(pautaId)).map(EstadoPauta::paraSessao);
+    }
+
+    @Override
+    public List<String> buscarOpcoes(Long pautaId) {
+        return Optional.ofNullable(pautas.get(pautaId)).map(EstadoPauta::getOpcoes).orElseGet(List::of);
+    }
+
+    @Override
+    public List<Pauta> listarPautas() {
+        return pautas.values().stream().map(EstadoPauta::paraPauta).toList();
+    }
+
+    @Override
+    public List<SessaoPautaDto> listarSessoesIniciadasEntre(LocalDateTime inicio, LocalDateTime fim) {
+        return pautas.values().stream()
+                .map(EstadoPauta::paraSessao)
+                .filter(sessao -> sessao.getInicioSessao() != null
+                        && !sessao.getInicioSessao().isBefore(inicio) && sessao.getInicioSessao().isBefore(fim))
+                .toList();
+    }
+
+    @Override
+    public List<ResumoPautaDto> listarResumosPautas(long aPartirDe, int limite) {
+        return pautas.tailMap(aPartirDe, false).values().stream()
+                .limit(limite)
+                .map(estado -> new ResumoPautaDto(estado.getId(), estado.getDescricao(), estado.isCompactada()))
+                .toList();
+    }
+
+    @Override
+    public boolean existeVoto(Long pautaId, String associadoId) {
+        EstadoPauta estado = pautas.get(pautaId);
+        if (estado == null) {
+            return false;
+        }
+        if (estado.isCompactada()) {
+            return segmentoPauta(pautaId).buscar(associadoId).isPresent();
+        }
+        return estado.possuiVoto(associadoId);
+    }
+
+    @Override
+    public Optional<SituacaoVotoDto> buscarSituacaoVoto(Long pautaId, String associadoId) {
+        EstadoPauta estado = pautas.get(pautaId);
+        if (estado == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new SituacaoVotoDto(estado.paraSessao(), existeVoto(pautaId, associadoId),
+                estado.isCompactada()));
+    }
+
+    /**
+     * Verifica e registra o voto com as gravações serializadas, de modo que votos concorrentes do mesmo associado
+     * não passam juntos pela verificação. A espera pelo fsync acontece depois de liberar as gravações.
+     */
+    @Override
+    public Voto registrarVoto(Long pautaId, String associadoId, int opcao, LocalDateTime registradoEm) {
+        RegistroVoto registro;
+        long posicao;
+        gravacao.lock();
+        try {
+            EstadoPauta estado = pautas.get(pautaId);
+            if (estado == null) {
+                throw new NotFoundException("Pauta não encontrada");
+            }
+            if (estado.isFechada()) {
+                throw new SessaoExpiradaException("A sessão para esta pauta já expirou");
+            }
+            if (estado.possuiVoto(associadoId)) {
+                log.warn("Voto concorrente rejeitado para o associado ID: {} na pauta ID: {}", associadoId, pautaId);
+                throw new ConflictRequestException("Associado já votou nesta pauta");
+            }
+            registro = new RegistroVoto(proximoVotoId, pautaId, associadoId, opcao, registradoEm);
+            posicao = logSegmentado.gravar(registro);
+            aplicar(registro);
+        } finally {
+            gravacao.unlock();
+        }
+        logSegmentado.aguardarDurabilidade(posicao);
+
+        Voto voto = Voto.builder()
+                .id(registro.id())
+                .pauta(Pauta.builder().id(pautaId).build())
+                .opcao((byte) opcao)
+                .registradoEm(registradoEm)
+                .build();
+        voto.setAssociadoId(associadoId);
+        return voto;
+    }
+
+    @Override
+    public List<ResultadoPautaDto> buscarResultados(Collection<Long> pautaIds) {
+        List<ResultadoPautaDto> resultados = new ArrayList<>(pautaIds.size());
+        for (Long pautaId : pautaIds) {
+            EstadoPauta estado = pautas.get(pautaId);
+            if (estado != null) {
+                resultados.add(ResultadoPautaDto.from(pautaId, estado.getDescricao(), estado.getOpcoes(),
+                        estado.getContagem()));
+            }
+        }
+        return resultados;
+    }
+
+    @Override
+    public void percorrerVotos(Long pautaId, ObjIntConsumer<String> consumidor) {
+        EstadoPauta estado = pautas.get(pautaId);
+        if (estado == null) {
+            return;
+        }
+        Map<String, Byte> votos = estado.getVotos();
+        if (votos != null) {
+            votos.forEach(consumidor::accept);
+        } else {
+            segmentoPauta(pautaId).percorrer(consumidor);
+        }
+    }
+
+    @Override
+    public void percorrerVotantes(Collection<Long> pautaIds, BiConsumer<Long, String> consumidor) {
+        for (Long pautaId : pautaIds) {
+            percorrerVotos(pautaId, (associadoId, opcao) -> consumidor.accept(pautaId, associadoId));
+        }
+    }
+
+    /**
+     * Lê a página das {@link ParticipacoesAssociados}, que já trazem a opção votada, sem percorrer as pautas nem
+     * abrir os arquivos das compactadas.
+     */
+    @Override
+    public HistoricoVotosDto listarVotosAssociado(String associadoId, Long antesDaPauta, int limite) {
+        List<VotoAssociadoDto> votos = new ArrayList<>();
+        for (ParticipacoesAssociados.Participacao participacao : participacoes.listar(associadoId, antesDaPauta, limite)) {
+            EstadoPauta estado = pautas.get(participacao.pautaId());
+            votos.add(new VotoAssociadoDto(estado.getId(), estado.getDescricao(), participacao.opcao(),
+                    estado.getOpcoes().get(participacao.opcao()), null));
+        }
+        Long proximoCursor = votos.size() == limite ? votos.getLast().getPautaId() : null;
+        return new HistoricoVotosDto(associadoId, votos, proximoCursor);
+    }
+
+    /**
+     * Grava o estado em memória em um novo checkpoint e remove os segmentos do log que ele torna desnecessários.
+     * Não faz nada se nada foi gravado desde o último checkpoint.
+     *
+     * @throws IOException Se o checkpoint não puder ser gravado.
+     */
+    void checkpoint() throws IOException {
+        byte[] conteudo;
+        long segmentoInicial;
+        gravacao.lock();
+        try {
+            if (logSegmentado.getBytesGravados() == posicaoUltimoCheckpoint) {
+                return;
+            }
+            segmentoInicial = logSegmentado.rolar();
+            posicaoUltimoCheckpoint = logSegmentado.getBytesGravados();
+            conteudo = serializarEstado(segmentoInicial);
+        } finally {
+            gravacao.unlock();
+        }
+
+        Path temporario = diretorio.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(conteudo);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, diretorio.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        logSegmentado.removerAnteriores(segmentoInicial);
+        log.debug("Checkpoint gravado: {} bytes, log a partir do segmento {}", conteudo.length, segmentoInicial);
+    }
+
+    /**
+     * Move os votos das pautas encerradas há mais de {@link LogVoteStoreProperties#getIdadeMinimaCompactacao()}
+     * para arquivos compactos e descarta seus índices em memória.
+     *
+     * @param agora Horário de referência.
+     * @return Quantidade de pautas compactadas.
+     * @throws IOException Se algum arquivo não puder ser gravado.
+     */
+    int compactarPautasEncerradas(LocalDateTime agora) throws IOException {
+        LocalDateTime limite = agora.minus(propriedades.getIdadeMinimaCompactacao());
+        List<EstadoPauta> candidatas = new ArrayList<>();
+        gravacao.lock();
+        try {
+            for (EstadoPauta estado : pautas.values()) {
+                LocalDateTime fimSessao = estado.getFimSessao();
+                if (!estado.isCompactada() && fimSessao != null && fimSessao.isBefore(limite)) {
+                    // A partir daqui a pauta não aceita votos, então o índice pode ser lido sem bloqueio.
+                    estado.fechar();
+                    candidatas.add(estado);
+                }
+            }
+        } finally {
+            gravacao.unlock();
+        }
+        if (candidatas.isEmpty()) {
+            return 0;
+        }
+
+        for (EstadoPauta estado : candidatas) {
+            List<VotoCompacto> votos = estado.getVotos().entrySet().stream()
+                    .map(voto -> new VotoCompacto(voto.getKey(), voto.getValue()))
+                    .toList();
+            SegmentoPauta.gravar(caminhoSegmentoPauta(estado.getId()), estado.getId(), estado.getOpcoes().size(), votos);
+        }
+
+        long posicao = 0;
+        gravacao.lock();
+        try {
+            for (EstadoPauta estado : candidatas) {
+                RegistroCompactacao registro = new RegistroCompactacao(estado.getId());
+                posicao = logSegmentado.gravar(registro);
+                aplicar(registro);
+            }
+        } finally {
+            gravacao.unlock();
+        }
+        logSegmentado.aguardarDurabilidade(posicao);
+        checkpoint();
+        log.info("Pautas encerradas compactadas: {}", candidatas.size());
+        return candidatas.size();
+    }
+
+    // Métodos auxiliares privados
+
+    private void aplicar(Registro registro) {
+        switch (registro) {
+            case RegistroPauta pauta -> {
+                pautas.computeIfAbsent(pauta.id(), id -> new EstadoPauta(id, pauta.opcoes()))
+                        .atualizar(pauta.descricao(), pauta.inicioSessao(), pauta.tempoSessaoMinutos());
+                proximoPautaId = Math.max(proximoPautaId, pauta.id() + 1);
+            }
+            case RegistroVoto voto -> {
+                EstadoPauta estado = estadoExistente(voto.pautaId());
+                // Votos de pautas já compactadas só aparecem ao reproduzir segmentos anteriores à compactação.
+                if (!estado.isCompactada() && estado.registrar(voto.associadoId(), (byte) voto.codigo())) {
+                    participacoes.registrar(voto.associadoId(), voto.pautaId(), voto.codigo());
+                }
+                proximoVotoId = Math.max(proximoVotoId, voto.id() + 1);
+            }
+            case RegistroCompactacao compactacao ->
+                    estadoExistente(compactacao.pautaId()).compactar(segmentoPauta(compactacao.pautaId()).getContagem());
+        }
+    }
+
+    private EstadoPauta estadoExistente(long pautaId) {
+        EstadoPauta estado = pautas.get(pautaId);
+        if (estado == null) {
+            throw new IllegalStateException("Registro do log referencia a pauta inexistente " + pautaId);
+        }
+        return estado;
+    }
+
+    private SegmentoPauta segmentoPauta(long pautaId) {
+        try {
+            return segmentosPauta.buscar(pautaId, id -> SegmentoPauta.abrir(caminhoSegmentoPauta(id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Arquivo de votos da pauta " + pautaId + " indisponível", e);
+        }
+    }
+
+    private Path caminhoSegmentoPauta(long pautaId) {
+        return diretorio.resolve("pauta-" + pautaId + ".seg");
+    }
+
+    private void agendar(Duration intervalo, String tarefa, TarefaArmazenamento execucao) {
+        agendador.scheduleWithFixedDelay(() -> {
+            try {
+                execucao.executar();
+            } catch (Exception e) {
+                log.error("Falha na tarefa de {} do armazenamento em log", tarefa, e);
+            }
+        }, intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private byte[] serializarEstado(long segmentoInicial) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream saida = new DataOutputStream(bytes);
+        saida.writeInt(MAGICO_CHECKPOINT);
+        saida.writeInt(VERSAO_CHECKPOINT);
+        saida.writeLong(segmentoInicial);
+        saida.writeLong(proximoPautaId);
+        saida.writeLong(proximoVotoId);
+        saida.writeInt(pautas.size());
+        for (EstadoPauta estado : pautas.values()) {
+            ByteBuffer pauta = Registro.codificar(estado.paraRegistro());
+            saida.writeInt(pauta.remaining());
+            saida.write(pauta.array(), 0, pauta.remaining());
+            long[] contagem = estado.getContagem();
+            saida.writeInt(contagem.length);
+            for (long total : contagem) {
+                saida.writeLong(total);
+            }
+            saida.writeBoolean(estado.isCompactada());
+            if (!estado.isCompactada()) {
+                saida.writeInt(estado.getVotos().size());
+                for (Map.Entry<String, Byte> voto : estado.getVotos().entrySet()) {
+                    saida.writeUTF(voto.getKey());
+                    saida.writeByte(voto.getValue());
+                }
+            }
+        }
+        saida.writeInt(participacoes.quantidadeAssociados());
+        participacoes.percorrer((associadoId, codificadas) -> {
+            try {
+                saida.writeUTF(associadoId);
+                saida.writeInt(codificadas.length);
+                for (long participacao : codificadas) {
+                    saida.writeLong(participacao);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.toByteArray());
+        saida.writeInt((int) crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return O primeiro segmento do log que não está refletido no checkpoint.
+     */
+    private long restaurarCheckpoint() throws IOException {
+        Path arquivo = diretorio.resolve(CHECKPOINT);
+        if (!Files.exists(arquivo)) {
+            return PRIMEIRO_SEGMENTO;
+        }
+        byte[] conteudo = Files.readAllBytes(arquivo);
+        int tamanho = conteudo.length - Integer.BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo, 0, Math.max(tamanho, 0));
+        if (tamanho < 0 || (int) crc.getValue() != ByteBuffer.wrap(conteudo).getInt(tamanho)) {
+            throw new IOException("Checkpoint corrompido: " + arquivo);
+        }
+
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(conteudo));
+        int magico = entrada.readInt();
+        int versao = entrada.readInt();
+        if (magico != MAGICO_CHECKPOINT
+                || (versao != VERSAO_CHECKPOINT && versao != VERSAO_CHECKPOINT_SEM_PARTICIPACOES)) {
+            throw new IOException("Formato de checkpoint desconhecido: " + arquivo);
+        }
+        long segmentoInicial = entrada.readLong();
+        proximoPautaId = entrada.readLong();
+        proximoVotoId = entrada.readLong();
+        int quantidadePautas = entrada.readInt();
+        for (int i = 0; i < quantidadePautas; i++) {
+            byte[] registro = new byte[entrada.readInt()];
+            entrada.readFully(registro);
+            RegistroPauta pauta = (RegistroPauta) Registro.decodificar(ByteBuffer.wrap(registro));
+            EstadoPauta estado = new EstadoPauta(pauta.id(), pauta.opcoes());
+            estado.atualizar(pauta.descricao(), pauta.inicioSessao(), pauta.tempoSessaoMinutos());
+
+            long[] contagem = new long[entrada.readInt()];
+            for (int j = 0; j < contagem.length; j++) {
+                contagem[j] = entrada.readLong();
+            }
+            if (entrada.readBoolean()) {
+                estado.compactar(contagem);
+            } else {
+                int quantidadeVotos = entrada.readInt();
+                for (int j = 0; j < quantidadeVotos; j++) {
+                    estado.registrar(entrada.readUTF(), entrada.readByte());
+                }
+            }
+            pautas.put(pauta.id(), estado);
+        }
+        if (versao == VERSAO_CHECKPOINT) {
+            int quantidadeAssociados = entrada.readInt();
+            for (int i = 0; i < quantidadeAssociados; i++) {
+                String associadoId = entrada.readUTF();
+                long[] codificadas = new long[entrada.readInt()];
+                for (int j = 0; j < codificadas.length; j++) {
+                    codificadas[j] = entrada.readLong();
+                }
+                participacoes.restaurar(associadoId, codificadas);
+            }
+        } else {
+            reconstruirParticipacoes();
+        }
+        log.info("Checkpoint restaurado: {} pautas, log a partir do segmento {}", quantidadePautas, segmentoInicial);
+        return segmentoInicial;
+    }
+
+    /**
+     * Monta as participações dos associados a partir dos votos em memória e dos arquivos das pautas compactadas,
+     * para checkpoints gravados antes de elas fazerem parte do estado.
+     */
+    private void reconstruirParticipacoes() {
+        for (EstadoPauta estado : pautas.values()) {
+            ObjIntConsumer<String> registrar = (associadoId, opcao) ->
+                    participacoes.registrar(associadoId, estado.getId(), opcao);
+            if (estado.isCompactada()) {
+                segmentoPauta(estado.getId()).percorrer(registrar);
+            } else {
+                estado.getVotos().forEach(registrar::accept);
+            }
+        }
+        log.info("Participações dos associados reconstruídas a partir de um checkpoint sem elas");
+    }
+
+    @FunctionalInterface
+    private interface TarefaArmazenamento {
+        void executar() throws IOException;
+    }
+}
@@ -0,0 +1,54 @@
+package com.rocksti.coopvote.store.log;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuração do armazenamento embarcado em log ({@code coopvote.store.tipo=log}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coopvote.store.log")
+public class LogVoteStoreProperties {
+
+    /**
+     * Diretório dos segmentos de log, do checkpoint e dos arquivos das pautas compactadas.
+     */
+    private Path diretorio = Path.of("dados", "votos");
+
+    /**
+     * Tamanho a partir do qual o segmento ativo é fechado e um novo é iniciado.
+     */
+    private DataSize tamanhoMaximoSegmento = DataSize.ofMegabytes(64);
+
+    /**
+     * Se cada gravação aguarda o fsync do log antes de responder. Gravações concorrentes compartilham o mesmo fsync.
+     */
+    private boolean sincronizarGravacoes = true;
+
+    /**
+     * Intervalo entre checkpoints do estado em memória; os segmentos anteriores ao checkpoint são removidos.
+     */
+    private Duration intervaloCheckpoint = Duration.ofMinutes(1);
+
+    /**
+     * Intervalo entre execuções da compactação das pautas encerradas.
+     */
+    private Duration intervaloCompactacao = Duration.ofMinutes(10);
+
+    /**
+     * Tempo após o fim da sessão para que os votos da pauta sejam movidos para o arquivo compacto da pauta.
+     */
+    private Duration idadeMinimaCompactacao = Duration.ofHours(1);
+
+    /**
+     * Quantidade máxima de arquivos de pautas compactadas mantidos mapeados em memória; os usados há mais tempo são
+     * liberados.
+     */
+    private int maximoSegmentosAbertos = 256;
+}
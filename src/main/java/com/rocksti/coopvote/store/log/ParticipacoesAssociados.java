@@ -0,0 +1,80 @@
+package com.rocksti.coopvote.store.log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Pautas em que cada associado votou e a opção escolhida, para que o histórico do associado não percorra as pautas
+ * nem abra os arquivos das compactadas. Cada associado tem um vetor ordenado de participações, codificadas como
+ * {@code pautaId << 8 | opcao}; o vetor é substituído a cada voto, com as gravações serializadas pelo
+ * {@link LogVoteStore}, e lido sem bloqueio.
+ */
+final class ParticipacoesAssociados {
+
+    private static final int BITS_OPCAO = 8;
+    private static final long MASCARA_OPCAO = (1L << BITS_OPCAO) - 1;
+
+    private final Map<String, long[]> participacoes = new ConcurrentHashMap<>();
+
+    /**
+     * Registra o voto do associado na pauta; um voto já registrado é ignorado, como ao reproduzir o log.
+     */
+    void registrar(String associadoId, long pautaId, int opcao) {
+        long participacao = pautaId << BITS_OPCAO | opcao;
+        participacoes.merge(associadoId, new long[]{participacao}, (atuais, nova) -> {
+            int posicao = Arrays.binarySearch(atuais, participacao);
+            if (posicao >= 0) {
+                return atuais;
+            }
+            int insercao = -posicao - 1;
+            long[] novas = new long[atuais.length + 1];
+            System.arraycopy(atuais, 0, novas, 0, insercao);
+            novas[insercao] = participacao;
+            System.arraycopy(atuais, insercao, novas, insercao + 1, atuais.length - insercao);
+            return novas;
+        });
+    }
+
+    /**
+     * @param antesDaPauta Considera só as pautas com ID menor que este; nulo para começar da mais recente.
+     * @return Até {@code limite} participações do associado, da pauta mais recente para a mais antiga.
+     */
+    List<Participacao> listar(String associadoId, Long antesDaPauta, int limite) {
+        long[] atuais = participacoes.getOrDefault(associadoId, new long[0]);
+        int fim = atuais.length;
+        if (antesDaPauta != null) {
+            int posicao = Arrays.binarySearch(atuais, antesDaPauta << BITS_OPCAO);
+            fim = posicao >= 0 ? posicao : -posicao - 1;
+        }
+        List<Participacao> pagina = new ArrayList<>(Math.min(fim, limite));
+        for (int i = fim - 1; i >= 0 && pagina.size() < limite; i--) {
+            pagina.add(new Participacao(atuais[i] >>> BITS_OPCAO, (int) (atuais[i] & MASCARA_OPCAO)));
+        }
+        return pagina;
+    }
+
+    /**
+     * Percorre os associados e os vetores de participações codificadas, para gravar o checkpoint.
+     */
+    void percorrer(BiConsumer<String, long[]> consumidor) {
+        participacoes.forEach(consumidor);
+    }
+
+    int quantidadeAssociados() {
+        return participacoes.size();
+    }
+
+    /**
+     * Restaura as participações de um associado lidas do checkpoint, já ordenadas.
+     */
+    void restaurar(String associadoId, long[] codificadas) {
+        participacoes.put(associadoId, codificadas);
+    }
+
+    record Participacao(long pautaId, int opcao) {
+    }
+}
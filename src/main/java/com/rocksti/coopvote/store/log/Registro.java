@@ -0,0 +1,141 @@
+package com.rocksti.coopvote.store.log;
+
+import com.rocksti.coopvote.enums.TipoVoto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registro gravado no log. Cada tipo é serializado como um byte identificador seguido dos campos em big-endian.
+ */
+sealed interface Registro {
+
+    byte TIPO_PAUTA = 1;
+    byte TIPO_VOTO = 2;
+    byte TIPO_COMPACTACAO = 3;
+    /**
+     * Pauta com as descrições das opções. Registros {@link #TIPO_PAUTA}, gravados antes das opções existirem, são
+     * lidos como pautas simples.
+     */
+    byte TIPO_PAUTA_OPCOES = 4;
+    int TAMANHO_DATA = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Estado completo de uma pauta após cadastro ou alteração.
+     */
+    record RegistroPauta(long id, String descricao, LocalDateTime inicioSessao, Long tempoSessaoMinutos,
+                         List<String> opcoes) implements Registro {
+    }
+
+    /**
+     * Voto aceito.
+     */
+    record RegistroVoto(long id, long pautaId, String associadoId, int codigo, LocalDateTime registradoEm)
+            implements Registro {
+    }
+
+    /**
+     * Indica que os votos da pauta foram movidos para o arquivo compacto da pauta.
+     */
+    record RegistroCompactacao(long pautaId) implements Registro {
+    }
+
+    static ByteBuffer codificar(Registro registro) {
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho(registro));
+        switch (registro) {
+            case RegistroPauta pauta -> {
+                buffer.put(TIPO_PAUTA_OPCOES).putLong(pauta.id());
+                escreverTexto(buffer, pauta.descricao());
+                escreverData(buffer, pauta.inicioSessao());
+                buffer.putLong(pauta.tempoSessaoMinutos() != null ? pauta.tempoSessaoMinutos() : -1L);
+                buffer.putInt(pauta.opcoes().size());
+                pauta.opcoes().forEach(opcao -> escreverTexto(buffer, opcao));
+            }
+            case RegistroVoto voto -> {
+                buffer.put(TIPO_VOTO).putLong(voto.id()).putLong(voto.pautaId());
+                escreverTexto(buffer, voto.associadoId());
+                buffer.put((byte) voto.codigo());
+                escreverData(buffer, voto.registradoEm());
+            }
+            case RegistroCompactacao compactacao -> buffer.put(TIPO_COMPACTACAO).putLong(compactacao.pautaId());
+        }
+        return buffer.flip();
+    }
+
+    static Registro decodificar(ByteBuffer buffer) {
+        byte tipo = buffer.get();
+        return switch (tipo) {
+            case TIPO_PAUTA, TIPO_PAUTA_OPCOES -> {
+                long id = buffer.getLong();
+                String descricao = lerTexto(buffer);
+                LocalDateTime inicioSessao = lerData(buffer);
+                long tempo = buffer.getLong();
+                List<String> opcoes = tipo == TIPO_PAUTA_OPCOES ? lerOpcoes(buffer) : TipoVoto.opcoesPadrao();
+                yield new RegistroPauta(id, descricao, inicioSessao, tempo < 0 ? null : tempo, opcoes);
+            }
+            case TIPO_VOTO -> new RegistroVoto(buffer.getLong(), buffer.getLong(), lerTexto(buffer), buffer.get(),
+                    lerData(buffer));
+            case TIPO_COMPACTACAO -> new RegistroCompactacao(buffer.getLong());
+            default -> throw new IllegalStateException("Tipo de registro desconhecido no log: " + tipo);
+        };
+    }
+
+    private static int tamanho(Registro registro) {
+        return 1 + switch (registro) {
+            case RegistroPauta pauta -> Long.BYTES + tamanhoTexto(pauta.descricao()) + TAMANHO_DATA + Long.BYTES
+                    + Integer.BYTES + pauta.opcoes().stream().mapToInt(Registro::tamanhoTexto).sum();
+            case RegistroVoto voto -> 2 * Long.BYTES + tamanhoTexto(voto.associadoId()) + 1 + TAMANHO_DATA;
+            case RegistroCompactacao ignored -> Long.BYTES;
+        };
+    }
+
+    static void escreverData(ByteBuffer buffer, LocalDateTime data) {
+        if (data == null) {
+            buffer.putLong(Long.MIN_VALUE).putInt(0);
+        } else {
+            buffer.putLong(data.toEpochSecond(ZoneOffset.UTC)).putInt(data.getNano());
+        }
+    }
+
+    static LocalDateTime lerData(ByteBuffer buffer) {
+        long segundos = buffer.getLong();
+        int nanos = buffer.getInt();
+        return segundos == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+
+    static int tamanhoTexto(String texto) {
+        return Integer.BYTES + (texto == null ? 0 : texto.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    static void escreverTexto(ByteBuffer buffer, String texto) {
+        if (texto == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static List<String> lerOpcoes(ByteBuffer buffer) {
+        int quantidade = buffer.getInt();
+        List<String> opcoes = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            opcoes.add(lerTexto(buffer));
+        }
+        return opcoes;
+    }
+
+    static String lerTexto(ByteBuffer buffer) {
+        int tamanho = buffer.getInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
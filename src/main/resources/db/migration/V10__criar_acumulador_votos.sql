@@ -0,0 +1,23 @@
+-- Acumulador de Merkle dos votos de cada pauta, estendido em lotes depois que os votos são gravados. A folha de cada
+-- voto é o seu índice na árvore da pauta; votos com folha nula ainda não foram acumulados.
+ALTER TABLE voto ADD COLUMN folha INT;
+CREATE INDEX idx_voto_folha_pauta ON voto (folha, pauta_id);
+
+CREATE TABLE acumulador_votos
+(
+    pauta_id      BIGINT NOT NULL,
+    folhas        INT    NOT NULL DEFAULT 0,
+    raiz          VARBINARY(32),
+    finalizado_em DATETIME(6),
+    PRIMARY KEY (pauta_id),
+    CONSTRAINT fk_acumulador_votos_pauta FOREIGN KEY (pauta_id) REFERENCES pauta (id)
+);
+
+-- Nós das subárvores completas, pela posição em ordem da árvore binária plana.
+CREATE TABLE no_merkle
+(
+    pauta_id BIGINT        NOT NULL,
+    posicao  BIGINT        NOT NULL,
+    hash     VARBINARY(32) NOT NULL,
+    PRIMARY KEY (pauta_id, posicao)
+);
@@ -0,0 +1,11 @@
+-- Outbox transacional: eventos gravados na mesma transação do voto ou da sessão e repassados aos sistemas externos
+-- pelo relay, na ordem do ID, que é removido depois da entrega.
+CREATE TABLE evento_outbox
+(
+    id        BIGINT        NOT NULL AUTO_INCREMENT,
+    pauta_id  BIGINT        NOT NULL,
+    tipo      VARCHAR(20)   NOT NULL,
+    dados     VARCHAR(2000) NOT NULL,
+    criado_em DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,9 @@
+-- Leases das instâncias do cluster: cada instância renova o seu periodicamente e deixa de ser dona das pautas
+-- quando ele expira. Os horários vêm do relógio do banco, comum a todas as instâncias.
+CREATE TABLE membro_cluster
+(
+    no        VARCHAR(100) NOT NULL,
+    endereco  VARCHAR(255) NOT NULL,
+    expira_em DATETIME(6)  NOT NULL,
+    PRIMARY KEY (no)
+);
@@ -0,0 +1,4 @@
+-- Reserva dos lotes do outbox: o relay marca o lote com o seu identificador e a validade da reserva e confirma antes
+-- de entregar, então nenhum bloqueio fica aberto durante a entrega. Uma reserva vencida volta a ser entregue.
+ALTER TABLE evento_outbox ADD COLUMN reservado_por VARCHAR(36) NULL;
+ALTER TABLE evento_outbox ADD COLUMN reservado_ate DATETIME(6) NULL;
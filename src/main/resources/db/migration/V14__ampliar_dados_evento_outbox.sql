@@ -0,0 +1,7 @@
+-- O resultado final de uma pauta com até 128 opções, com descrições de até 255 caracteres, não cabe em 2000
+-- caracteres; a finalização seria desfeita a cada tentativa. MEDIUMTEXT comporta qualquer evento. A coluna é trocada
+-- como em V3, com instruções aceitas tanto pelo MySQL quanto pelo H2 dos testes.
+ALTER TABLE evento_outbox ADD COLUMN dados_texto MEDIUMTEXT;
+UPDATE evento_outbox SET dados_texto = dados;
+ALTER TABLE evento_outbox DROP COLUMN dados;
+ALTER TABLE evento_outbox RENAME COLUMN dados_texto TO dados;
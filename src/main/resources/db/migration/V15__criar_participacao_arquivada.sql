@@ -0,0 +1,13 @@
+-- Pautas arquivadas em que cada associado votou, gravadas pelo arquivamento na mesma transação que remove os votos da
+-- tabela voto. O histórico do associado lê daqui as pautas arquivadas em vez de consultar o arquivo de cada uma.
+-- Sem chave estrangeira para pauta, que exigiria um índice só de pauta_id: pautas não são removidas.
+CREATE TABLE participacao_arquivada
+(
+    associado_id BIGINT NOT NULL,
+    pauta_id     BIGINT NOT NULL,
+    PRIMARY KEY (associado_id, pauta_id),
+    CONSTRAINT fk_participacao_arquivada_associado FOREIGN KEY (associado_id) REFERENCES associado (id)
+);
+
+-- O histórico deixa de percorrer as pautas arquivadas por ID.
+DROP INDEX idx_pauta_arquivada ON pauta;
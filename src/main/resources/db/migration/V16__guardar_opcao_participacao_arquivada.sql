@@ -0,0 +1,3 @@
+-- Opção escolhida em cada participação arquivada, para que o histórico do associado não dependa dos arquivos de
+-- votos. As participações registradas antes desta versão ficam sem opção, que continua sendo lida do arquivo da pauta.
+ALTER TABLE participacao_arquivada ADD COLUMN opcao TINYINT;
@@ -0,0 +1,18 @@
+CREATE TABLE pauta
+(
+    id                   BIGINT       NOT NULL AUTO_INCREMENT,
+    descricao            VARCHAR(255),
+    inicio_sessao        DATETIME(6),
+    tempo_sessao_minutos BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE voto
+(
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    associado_id VARCHAR(64),
+    tipo_voto    VARCHAR(3),
+    pauta_id     BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_voto_pauta FOREIGN KEY (pauta_id) REFERENCES pauta (id)
+);
@@ -0,0 +1,5 @@
+-- Verificação de voto duplicado (existsByPautaAndAssociadoId) e unicidade do voto por associado em cada pauta.
+CREATE UNIQUE INDEX uk_voto_pauta_associado ON voto (pauta_id, associado_id);
+
+-- Contagem de votos por tipo sem acessar as linhas da tabela.
+CREATE INDEX idx_voto_pauta_tipo ON voto (pauta_id, tipo_voto);
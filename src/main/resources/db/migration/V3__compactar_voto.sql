@@ -0,0 +1,35 @@
+-- Dicionário de associados: os votos passam a referenciar uma chave numérica no lugar do identificador textual.
+CREATE TABLE associado
+(
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    identificador VARCHAR(64) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX uk_associado_identificador ON associado (identificador);
+
+INSERT INTO associado (identificador)
+SELECT DISTINCT associado_id
+FROM voto
+WHERE associado_id IS NOT NULL;
+
+-- Novas colunas compactas, preenchidas a partir dos dados existentes (SIM = 0, NAO = 1).
+ALTER TABLE voto ADD COLUMN associado_ref BIGINT;
+ALTER TABLE voto ADD COLUMN tipo_voto_codigo TINYINT;
+
+UPDATE voto
+SET associado_ref    = (SELECT a.id FROM associado a WHERE a.identificador = voto.associado_id),
+    tipo_voto_codigo = CASE tipo_voto WHEN 'SIM' THEN 0 WHEN 'NAO' THEN 1 END;
+
+-- Os índices são trocados um de cada vez para que a chave estrangeira de pauta_id continue sempre coberta.
+DROP INDEX uk_voto_pauta_associado ON voto;
+ALTER TABLE voto DROP COLUMN associado_id;
+ALTER TABLE voto RENAME COLUMN associado_ref TO associado_id;
+CREATE UNIQUE INDEX uk_voto_pauta_associado ON voto (pauta_id, associado_id);
+
+DROP INDEX idx_voto_pauta_tipo ON voto;
+ALTER TABLE voto DROP COLUMN tipo_voto;
+ALTER TABLE voto RENAME COLUMN tipo_voto_codigo TO tipo_voto;
+CREATE INDEX idx_voto_pauta_tipo ON voto (pauta_id, tipo_voto);
+
+ALTER TABLE voto ADD CONSTRAINT fk_voto_associado FOREIGN KEY (associado_id) REFERENCES associado (id);
@@ -0,0 +1 @@
+ALTER TABLE voto ADD COLUMN registrado_em DATETIME(6);
@@ -0,0 +1,2 @@
+-- Pautas arquivadas têm seus votos em arquivos compactos, fora da tabela voto.
+ALTER TABLE pauta ADD COLUMN arquivada BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,18 @@
+-- Opções de voto de cada pauta. A coluna voto.tipo_voto passa a guardar o ordinal da opção escolhida; nas pautas
+-- existentes os códigos já coincidem com os ordinais das opções SIM (0) e NÃO (1).
+CREATE TABLE opcao_pauta
+(
+    pauta_id  BIGINT       NOT NULL,
+    ordinal   INT          NOT NULL,
+    descricao VARCHAR(255) NOT NULL,
+    PRIMARY KEY (pauta_id, ordinal),
+    CONSTRAINT fk_opcao_pauta_pauta FOREIGN KEY (pauta_id) REFERENCES pauta (id)
+);
+
+INSERT INTO opcao_pauta (pauta_id, ordinal, descricao)
+SELECT id, 0, 'SIM'
+FROM pauta;
+
+INSERT INTO opcao_pauta (pauta_id, ordinal, descricao)
+SELECT id, 1, 'NÃO'
+FROM pauta;
@@ -0,0 +1,21 @@
+-- Importações de votos em papel. O progresso é gravado a cada lote junto com os votos do lote, para que uma
+-- importação interrompida continue do primeiro byte ainda não processado.
+CREATE TABLE importacao
+(
+    id                 BIGINT      NOT NULL AUTO_INCREMENT,
+    pauta_id           BIGINT      NOT NULL,
+    formato            VARCHAR(10) NOT NULL,
+    situacao           VARCHAR(12) NOT NULL,
+    criada_em          DATETIME(6) NOT NULL,
+    tamanho_arquivo    BIGINT      NOT NULL DEFAULT 0,
+    bytes_processados  BIGINT      NOT NULL DEFAULT 0,
+    linhas_processadas BIGINT      NOT NULL DEFAULT 0,
+    votos_aceitos      BIGINT      NOT NULL DEFAULT 0,
+    votos_rejeitados   BIGINT      NOT NULL DEFAULT 0,
+    tamanho_relatorio  BIGINT      NOT NULL DEFAULT 0,
+    mensagem_erro      VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_importacao_pauta FOREIGN KEY (pauta_id) REFERENCES pauta (id)
+);
+
+CREATE INDEX idx_importacao_situacao ON importacao (situacao);
@@ -0,0 +1,6 @@
+-- Histórico de votos por associado: busca por faixa de pauta_id dentro do associado, já na ordem da paginação.
+-- No MySQL o índice também passa a atender a chave estrangeira fk_voto_associado, cujo índice implícito é descartado.
+CREATE INDEX idx_voto_associado_pauta ON voto (associado_id, pauta_id);
+
+-- Pautas arquivadas em ordem decrescente de ID, percorridas pelo histórico para consultar os arquivos de votos.
+CREATE INDEX idx_pauta_arquivada ON pauta (arquivada, id);
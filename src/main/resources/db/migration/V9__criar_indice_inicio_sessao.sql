@@ -0,0 +1,2 @@
+-- Estatísticas de participação: pautas cuja sessão foi aberta em um intervalo de datas.
+CREATE INDEX idx_pauta_inicio_sessao ON pauta (inicio_sessao);
@@ -0,0 +1,54 @@
+package com.rocksti.coopvote.analise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimarPoucosValoresComRepeticoes() {
+        HyperLogLog esboco = new HyperLogLog();
+        IntStream.range(0, 3_000).forEach(i -> esboco.adicionar(cpf(i % 300)));
+
+        assertThat(esboco.estimar())
+                .as("Verifica se a contagem linear é usada para poucos valores")
+                .isCloseTo(300L, within(3L));
+    }
+
+    @Test
+    void testEstimarMuitosValores() {
+        HyperLogLog esboco = new HyperLogLog();
+        IntStream.range(0, 500_000).forEach(i -> esboco.adicionar(cpf(i)));
+
+        assertThat((double) esboco.estimar())
+                .as("Verifica se o erro fica abaixo de três erros padrão")
+                .isCloseTo(500_000.0, within(500_000 * 0.025));
+    }
+
+    @Test
+    void testCombinarEsbocosComValoresEmComum() {
+        HyperLogLog primeiro = new HyperLogLog();
+        HyperLogLog segundo = new HyperLogLog();
+        IntStream.range(0, 60_000).forEach(i -> primeiro.adicionar(cpf(i)));
+        IntStream.range(40_000, 100_000).forEach(i -> segundo.adicionar(cpf(i)));
+        long estimativaPrimeiro = primeiro.estimar();
+
+        HyperLogLog uniao = primeiro.copiar().combinar(segundo);
+
+        assertThat((double) uniao.estimar())
+                .as("Verifica se os associados em comum contam uma única vez")
+                .isCloseTo(100_000.0, within(100_000 * 0.025));
+        assertThat(primeiro.estimar()).as("Verifica se a cópia preserva o original").isEqualTo(estimativaPrimeiro);
+        assertThatThrownBy(() -> primeiro.combinar(new HyperLogLog(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String cpf(int associado) {
+        return String.format("%011d", 10_000_000_000L + associado * 7_919L);
+    }
+}
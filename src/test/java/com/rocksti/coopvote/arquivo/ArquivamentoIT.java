@@ -0,0 +1,187 @@
+package com.rocksti.coopvote.arquivo;
+
+import com.rocksti.coopvote.dto.HistoricoVotosDto;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.VotoAssociadoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.repository.PautaRepository;
+import com.rocksti.coopvote.repository.VotoRepository;
+import com.rocksti.coopvote.service.ArquivamentoService;
+import com.rocksti.coopvote.service.AuditoriaService;
+import com.rocksti.coopvote.service.PautaService;
+import com.rocksti.coopvote.store.VoteStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:arquivamento")
+class ArquivamentoIT {
+
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private PautaService pautaService;
+
+    @Autowired
+    private VoteStore voteStore;
+
+    @Autowired
+    private PautaRepository pautaRepository;
+
+    @Autowired
+    private VotoRepository votoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configurarDiretorio(DynamicPropertyRegistry registry) throws IOException {
+        String diretorio = Files.createTempDirectory("coopvote-arquivo").toString();
+        registry.add("coopvote.arquivamento.diretorio", () -> diretorio);
+    }
+
+    @Test
+    void testArquivarPautaEncerrada() throws IOException {
+        Pauta encerrada = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta antiga").build());
+        encerrada.setInicioSessao(LocalDateTime.now().minusDays(40));
+        encerrada.setTempoSessaoMinutos(1L);
+        voteStore.salvarPauta(encerrada);
+        voteStore.registrarVoto(encerrada.getId(), "33333333333", TipoVoto.NAO.getCodigo(), LocalDateTime.now());
+        voteStore.registrarVoto(encerrada.getId(), "11111111111", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+        voteStore.registrarVoto(encerrada.getId(), "22222222222", TipoVoto.NAO.getCodigo(), LocalDateTime.now());
+        Pauta recente = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta recente").build());
+        pautaService.abrirSessao(recente.getId(), 5L);
+        voteStore.registrarVoto(recente.getId(), "11111111111", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+        String resultadoAntes = pautaService.contarVotos(encerrada.getId());
+
+        assertThat(arquivamentoService.arquivarPautasEncerradas(LocalDateTime.now()))
+                .as("Verifica se a pauta com o acumulador da auditoria aberto não é arquivada")
+                .isZero();
+        assertThat(votoRepository.contarPorPautaEOpcao(List.of(encerrada.getId()))).isNotEmpty();
+
+        auditoriaService.finalizar(encerrada.getId(), LocalDateTime.now());
+        assertThat(arquivamentoService.arquivarPautasEncerradas(LocalDateTime.now())).isEqualTo(1);
+
+        assertThat(votoRepository.contarPorPautaEOpcao(List.of(encerrada.getId())))
+                .as("Verifica se os votos da pauta arquivada saíram da tabela")
+                .isEmpty();
+        assertThat(pautaRepository.findById(encerrada.getId())).get().extracting(Pauta::isArquivada).isEqualTo(true);
+        assertThat(votoRepository.contarPorPautaEOpcao(List.of(recente.getId())))
+                .as("Verifica se a pauta recente continua na tabela")
+                .isNotEmpty();
+        assertThat(pautaService.contarVotos(encerrada.getId()))
+                .as("Verifica se o resultado é lido do arquivo da pauta")
+                .isEqualTo(resultadoAntes);
+        assertThat(voteStore.buscarResultados(List.of(encerrada.getId(), recente.getId())))
+                .as("Verifica se a busca em lote combina o arquivo e a tabela")
+                .extracting(ResultadoPautaDto::getPautaId, ResultadoPautaDto::getTotalVotos)
+                .containsExactlyInAnyOrder(tuple(encerrada.getId(), 3L), tuple(recente.getId(), 1L));
+        assertThat(voteStore.existeVoto(encerrada.getId(), "22222222222")).isTrue();
+        assertThat(voteStore.existeVoto(encerrada.getId(), "44444444444")).isFalse();
+        assertThat(voteStore.listarVotosAssociado("11111111111", null, 10).getVotos())
+                .as("Verifica se o histórico combina a tabela e o arquivo da pauta, sem horário nos votos arquivados")
+                .extracting(VotoAssociadoDto::getPautaId, VotoAssociadoDto::getDescricaoPauta,
+                        VotoAssociadoDto::getDescricaoOpcao, voto -> voto.getRegistradoEm() != null)
+                .containsSubsequence(tuple(recente.getId(), "Pauta recente", "SIM", true),
+                        tuple(encerrada.getId(), "Pauta antiga", "SIM", false));
+
+        ByteArrayOutputStream exportacao = new ByteArrayOutputStream();
+        pautaService.exportarVotos(encerrada.getId(), exportacao);
+        assertThat(exportacao.toString(StandardCharsets.UTF_8))
+                .isEqualTo("associadoId,tipoVoto\n11111111111,SIM\n22222222222,NAO\n33333333333,NAO\n");
+
+        assertThat(arquivamentoService.arquivarPautasEncerradas(LocalDateTime.now()))
+                .as("Verifica se pautas arquivadas não são arquivadas de novo")
+                .isZero();
+        assertThatThrownBy(() -> arquivamentoService.arquivarPauta(encerrada.getId()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(pautaService.contarVotos(encerrada.getId())).isEqualTo(resultadoAntes);
+    }
+
+    @Test
+    void testArquivarPautaComOpcoes() throws IOException {
+        Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder()
+                .descricao("Eleição do conselho")
+                .opcoes(List.of("Chapa 1", "Chapa 2", "Abstenção, sem voto"))
+                .build());
+        pauta.setInicioSessao(LocalDateTime.now().minusDays(40));
+        pauta.setTempoSessaoMinutos(1L);
+        voteStore.salvarPauta(pauta);
+        voteStore.registrarVoto(pauta.getId(), "11111111111", 2, LocalDateTime.now());
+        voteStore.registrarVoto(pauta.getId(), "22222222222", 0, LocalDateTime.now());
+        String resultadoAntes = pautaService.contarVotos(pauta.getId());
+        auditoriaService.finalizar(pauta.getId(), LocalDateTime.now());
+
+        arquivamentoService.arquivarPauta(pauta.getId());
+
+        assertThat(pautaService.contarVotos(pauta.getId())).isEqualTo(resultadoAntes)
+                .isEqualTo("Resultado da votação para a pauta 'Eleição do conselho': "
+                        + "Chapa 1 = 1, Chapa 2 = 0, Abstenção, sem voto = 1");
+        ByteArrayOutputStream exportacao = new ByteArrayOutputStream();
+        pautaService.exportarVotos(pauta.getId(), exportacao);
+        assertThat(exportacao.toString(StandardCharsets.UTF_8))
+                .isEqualTo("associadoId,opcao\n11111111111,\"Abstenção, sem voto\"\n22222222222,Chapa 1\n");
+    }
+
+    @Test
+    void testHistoricoPaginadoEntrePautasArquivadas() {
+        List<Long> votadas = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta arquivada " + i).build());
+            pauta.setInicioSessao(LocalDateTime.now().minusDays(40));
+            pauta.setTempoSessaoMinutos(1L);
+            voteStore.salvarPauta(pauta);
+            voteStore.registrarVoto(pauta.getId(), "55555555555", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+            if (i % 2 == 0) {
+                voteStore.registrarVoto(pauta.getId(), "66666666666", TipoVoto.NAO.getCodigo(), LocalDateTime.now());
+                votadas.addFirst(pauta.getId());
+            }
+            auditoriaService.finalizar(pauta.getId(), LocalDateTime.now());
+            arquivamentoService.arquivarPauta(pauta.getId());
+        }
+
+        HistoricoVotosDto primeira = voteStore.listarVotosAssociado("66666666666", null, 2);
+        assertThat(primeira.getVotos())
+                .as("Verifica se o histórico traz só as pautas arquivadas em que o associado votou")
+                .extracting(VotoAssociadoDto::getPautaId, VotoAssociadoDto::getDescricaoOpcao)
+                .containsExactly(tuple(votadas.get(0), "NÃO"), tuple(votadas.get(1), "NÃO"));
+        HistoricoVotosDto segunda = voteStore.listarVotosAssociado("66666666666", primeira.getProximoCursor(), 2);
+        assertThat(segunda.getVotos()).extracting(VotoAssociadoDto::getPautaId).containsExactly(votadas.get(2));
+        assertThat(segunda.getProximoCursor()).as("Verifica se o fim do histórico não tem cursor").isNull();
+    }
+
+    @Test
+    void testHistoricoSemOpcaoESemArquivoFalha() {
+        Pauta votada = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta com voto").build());
+        voteStore.registrarVoto(votada.getId(), "77777777777", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+        Pauta semArquivo = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta sem arquivo").build());
+        jdbcTemplate.update("UPDATE pauta SET arquivada = TRUE WHERE id = ?", semArquivo.getId());
+        jdbcTemplate.update("INSERT INTO participacao_arquivada (associado_id, pauta_id) "
+                + "SELECT associado_id, ? FROM voto WHERE pauta_id = ?", semArquivo.getId(), votada.getId());
+
+        assertThatThrownBy(() -> voteStore.listarVotosAssociado("77777777777", null, 10))
+                .as("Verifica se a participação sem opção e sem arquivo falha em vez de sumir do histórico")
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
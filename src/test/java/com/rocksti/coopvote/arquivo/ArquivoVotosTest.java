@@ -0,0 +1,43 @@
+package com.rocksti.coopvote.arquivo;
+
+import com.rocksti.coopvote.segmento.SegmentoPauta;
+import com.rocksti.coopvote.segmento.VotoCompacto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArquivoVotosTest {
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void testLiberarArquivoUsadoHaMaisTempo() throws IOException {
+        ArquivamentoProperties propriedades = new ArquivamentoProperties();
+        propriedades.setDiretorio(diretorio);
+        propriedades.setMaximoAbertos(2);
+        ArquivoVotos arquivoVotos = new ArquivoVotos(propriedades);
+        List<VotoCompacto> votos = List.of(new VotoCompacto("11111111111", 0));
+
+        SegmentoPauta primeira = arquivoVotos.gravar(1L, 2, votos);
+        SegmentoPauta segunda = arquivoVotos.gravar(2L, 2, votos);
+        assertThat(arquivoVotos.buscar(1L)).containsSame(primeira);
+        arquivoVotos.gravar(3L, 2, votos);
+
+        assertThat(arquivoVotos.buscar(1L))
+                .as("Verifica se o arquivo consultado por último continua aberto")
+                .containsSame(primeira);
+        assertThat(arquivoVotos.buscar(2L).orElseThrow())
+                .as("Verifica se o arquivo usado há mais tempo foi liberado e é mapeado de novo")
+                .isNotSameAs(segunda)
+                .satisfies(segmento -> assertThat(segmento.buscar("11111111111")).hasValue(0));
+        assertThat(arquivoVotos.buscar(4L))
+                .as("Verifica se um arquivo inexistente não é aberto")
+                .isEmpty();
+    }
+}
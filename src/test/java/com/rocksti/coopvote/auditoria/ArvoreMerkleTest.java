@@ -0,0 +1,127 @@
+package com.rocksti.coopvote.auditoria;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArvoreMerkleTest {
+
+    @Test
+    void testRaizIgualADefinicaoDaRfcEmLotes() {
+        List<byte[]> folhas = new ArrayList<>();
+        Map<Long, byte[]> nosGravados = new HashMap<>();
+
+        for (int lote = 1; folhas.size() < 100; lote++) {
+            ArvoreMerkle arvore = new ArvoreMerkle(folhas.size(), picos(folhas.size(), nosGravados));
+            for (int i = 0; i < lote; i++) {
+                byte[] folha = ArvoreMerkle.hashFolha("voto " + folhas.size());
+                assertThat(arvore.acrescentar(folha)).isEqualTo(folhas.size());
+                folhas.add(folha);
+            }
+            nosGravados.putAll(arvore.getNovosNos());
+
+            assertThat(arvore.raiz()).as("raiz com %d folhas", folhas.size()).isEqualTo(raizPelaDefinicao(folhas));
+        }
+    }
+
+    @Test
+    void testRaizDaArvoreVaziaEoHashVazio() throws NoSuchAlgorithmException {
+        assertThat(new ArvoreMerkle(0, Map.of()).raiz()).isEqualTo(MessageDigest.getInstance("SHA-256").digest());
+    }
+
+    @Test
+    void testVetorDeTesteDaRfc() {
+        ArvoreMerkle arvore = new ArvoreMerkle(0, Map.of());
+        arvore.acrescentar(ArvoreMerkle.hashFolha(""));
+
+        // SHA-256(0x00), folha vazia dos vetores de teste de Certificate Transparency
+        assertThat(HexFormat.of().formatHex(arvore.raiz()))
+                .isEqualTo("6e340b9cffb37a989ca544e6bb780a2c78901d3fb33738768511a30617afa01d");
+    }
+
+    @Test
+    void testProvaDeInclusaoDeCadaFolha() {
+        for (int tamanho = 1; tamanho <= 70; tamanho++) {
+            List<byte[]> folhas = new ArrayList<>();
+            ArvoreMerkle arvore = new ArvoreMerkle(0, Map.of());
+            for (int i = 0; i < tamanho; i++) {
+                folhas.add(ArvoreMerkle.hashFolha("voto " + i));
+                arvore.acrescentar(folhas.getLast());
+            }
+            Map<Long, byte[]> nos = arvore.getNovosNos();
+            byte[] raiz = arvore.raiz();
+
+            for (int folha = 0; folha < tamanho; folha++) {
+                assertThat(ArvoreMerkle.posicoesCaminho(folha, tamanho))
+                        .as("nós lidos para a folha %d de %d", folha, tamanho)
+                        .hasSizeLessThanOrEqualTo(2 * (64 - Long.numberOfLeadingZeros(tamanho)))
+                        .allMatch(nos::containsKey);
+                List<byte[]> caminho = ArvoreMerkle.caminho(folha, tamanho, nos::get);
+
+                assertThat(caminho).hasSizeLessThanOrEqualTo(64 - Long.numberOfLeadingZeros(tamanho));
+                assertThat(ArvoreMerkle.verificar(folhas.get(folha), folha, tamanho, caminho, raiz))
+                        .as("prova da folha %d de %d", folha, tamanho)
+                        .isTrue();
+            }
+        }
+    }
+
+    @Test
+    void testProvaRejeitaVotoAlterado() {
+        ArvoreMerkle arvore = new ArvoreMerkle(0, Map.of());
+        for (int i = 0; i < 13; i++) {
+            arvore.acrescentar(ArvoreMerkle.hashFolha("voto " + i));
+        }
+        List<byte[]> caminho = ArvoreMerkle.caminho(6, 13, arvore.getNovosNos()::get);
+        byte[] raiz = arvore.raiz();
+        arvore.acrescentar(ArvoreMerkle.hashFolha("voto 13"));
+
+        assertThat(ArvoreMerkle.verificar(ArvoreMerkle.hashFolha("voto 6"), 6, 13, caminho, raiz)).isTrue();
+        assertThat(ArvoreMerkle.verificar(ArvoreMerkle.hashFolha("voto 6 alterado"), 6, 13, caminho, raiz)).isFalse();
+        assertThat(ArvoreMerkle.verificar(ArvoreMerkle.hashFolha("voto 6"), 7, 13, caminho, raiz)).isFalse();
+        assertThat(ArvoreMerkle.verificar(ArvoreMerkle.hashFolha("voto 6"), 6, 13, caminho, arvore.raiz()))
+                .as("a raiz muda a cada voto acrescentado")
+                .isFalse();
+    }
+
+    @Test
+    void testPicosAusentes() {
+        assertThatThrownBy(() -> new ArvoreMerkle(3, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Métodos auxiliares privados
+
+    private static Map<Long, byte[]> picos(long folhas, Map<Long, byte[]> nos) {
+        Map<Long, byte[]> picos = new HashMap<>();
+        ArvoreMerkle.posicoesPicos(folhas).forEach(posicao -> picos.put(posicao, nos.get(posicao)));
+        return picos;
+    }
+
+    /**
+     * MTH(D[n]) da RFC 6962, calculada lendo todas as folhas.
+     */
+    private static byte[] raizPelaDefinicao(List<byte[]> folhas) {
+        if (folhas.size() == 1) {
+            return folhas.getFirst();
+        }
+        int k = Integer.highestOneBit(folhas.size() - 1);
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update((byte) 0x01);
+            sha256.update(raizPelaDefinicao(folhas.subList(0, k)));
+            return sha256.digest(raizPelaDefinicao(folhas.subList(k, folhas.size())));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.rocksti.coopvote.auditoria;
+
+import com.rocksti.coopvote.dto.AuditoriaPautaDto;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.ProvaInclusaoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.FormatoImportacao;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.service.AuditoriaService;
+import com.rocksti.coopvote.service.ImportacaoService;
+import com.rocksti.coopvote.service.PautaService;
+import com.rocksti.coopvote.store.VoteStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:auditoria", "coopvote.auditoria.lote=4"})
+class AuditoriaIT {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private PautaService pautaService;
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private VoteStore voteStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testProvaDeInclusaoDeCadaVoto() {
+        Pauta pauta = abrirPauta("Pauta auditada", LocalDateTime.now());
+        for (int i = 0; i < 7; i++) {
+            voteStore.registrarVoto(pauta.getId(), associado(i), i % 2, LocalDateTime.now());
+        }
+        assertThatThrownBy(() -> auditoriaService.gerarProva(pauta.getId(), associado(0)))
+                .isInstanceOf(ConflictRequestException.class);
+
+        auditoriaService.acumular(LocalDateTime.now());
+        voteStore.registrarVoto(pauta.getId(), associado(7), TipoVoto.NAO.getCodigo(), LocalDateTime.now());
+        auditoriaService.acumular(LocalDateTime.now());
+
+        AuditoriaPautaDto raiz = auditoriaService.buscarRaiz(pauta.getId());
+        assertThat(raiz.getFolhas()).isEqualTo(8);
+        assertThat(raiz.getFinalizadoEm()).isNull();
+        for (int i = 0; i < 8; i++) {
+            ProvaInclusaoDto prova = auditoriaService.gerarProva(pauta.getId(), associado(i));
+            assertThat(prova.getRaiz()).isEqualTo(raiz.getRaiz());
+            assertThat(prova.getCaminho()).hasSize(3);
+            assertThat(verificar(prova)).as("prova do voto %d", i).isTrue();
+        }
+    }
+
+    @Test
+    void testVotoAlteradoNaoPassaNaVerificacao() {
+        Pauta pauta = abrirPauta("Pauta adulterada", LocalDateTime.now());
+        for (int i = 0; i < 5; i++) {
+            voteStore.registrarVoto(pauta.getId(), associado(i), TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+        }
+        auditoriaService.acumular(LocalDateTime.now());
+        assertThat(verificar(auditoriaService.gerarProva(pauta.getId(), associado(3)))).isTrue();
+
+        jdbcTemplate.update("UPDATE voto SET tipo_voto = ? WHERE pauta_id = ? AND associado_id = "
+                + "(SELECT id FROM associado WHERE identificador = ?)", TipoVoto.NAO.getCodigo(), pauta.getId(), associado(3));
+
+        ProvaInclusaoDto prova = auditoriaService.gerarProva(pauta.getId(), associado(3));
+        assertThat(prova.getDados()).contains("|" + TipoVoto.NAO.getCodigo() + "|");
+        assertThat(verificar(prova)).isFalse();
+    }
+
+    @Test
+    void testFinalizacaoAposCarencia() {
+        LocalDateTime inicio = LocalDateTime.now().minusDays(8);
+        Pauta pauta = abrirPauta("Pauta encerrada", inicio);
+        voteStore.registrarVoto(pauta.getId(), associado(0), TipoVoto.SIM.getCodigo(), inicio.plusSeconds(10));
+        auditoriaService.acumular(inicio.plusMinutes(5));
+        String raizAntes = auditoriaService.buscarRaiz(pauta.getId()).getRaiz();
+
+        auditoriaService.acumular(LocalDateTime.now());
+
+        AuditoriaPautaDto finalizada = auditoriaService.buscarRaiz(pauta.getId());
+        assertThat(finalizada.getFinalizadoEm()).isNotNull();
+        assertThat(finalizada.getRaiz()).isEqualTo(raizAntes);
+        assertThatThrownBy(() -> importacaoService.iniciar(pauta.getId(), FormatoImportacao.CSV,
+                new ByteArrayInputStream(new byte[0]), LocalDateTime.now()))
+                .isInstanceOf(ConflictRequestException.class);
+    }
+
+    @Test
+    void testFinalizacaoExplicitaAntesDaCarencia() {
+        Pauta aberta = abrirPauta("Pauta em votação", LocalDateTime.now());
+        assertThatThrownBy(() -> auditoriaService.finalizar(aberta.getId(), LocalDateTime.now()))
+                .as("Verifica se a pauta com a sessão aberta não é finalizada")
+                .isInstanceOf(ConflictRequestException.class);
+
+        LocalDateTime inicio = LocalDateTime.now().minusHours(2);
+        Pauta pauta = abrirPauta("Pauta da assembleia", inicio);
+        for (int i = 0; i < 6; i++) {
+            voteStore.registrarVoto(pauta.getId(), associado(20 + i), TipoVoto.SIM.getCodigo(), inicio.plusMinutes(i));
+        }
+        auditoriaService.acumular(LocalDateTime.now());
+        assertThat(auditoriaService.buscarRaiz(pauta.getId()).getFinalizadoEm())
+                .as("Verifica se a pauta continua aceitando importações dentro da carência")
+                .isNull();
+        voteStore.registrarVoto(pauta.getId(), associado(26), TipoVoto.NAO.getCodigo(), inicio.plusMinutes(30));
+
+        AuditoriaPautaDto finalizada = auditoriaService.finalizar(pauta.getId(), LocalDateTime.now());
+
+        assertThat(finalizada.getFinalizadoEm()).isNotNull();
+        assertThat(finalizada.getFolhas()).as("Verifica se os votos pendentes entram antes da finalização").isEqualTo(7);
+        assertThat(auditoriaService.finalizar(pauta.getId(), LocalDateTime.now()).getFinalizadoEm())
+                .isEqualTo(finalizada.getFinalizadoEm());
+        assertThatThrownBy(() -> importacaoService.iniciar(pauta.getId(), FormatoImportacao.CSV,
+                new ByteArrayInputStream(new byte[0]), LocalDateTime.now()))
+                .isInstanceOf(ConflictRequestException.class);
+    }
+
+    // Métodos auxiliares privados
+
+    private Pauta abrirPauta(String descricao, LocalDateTime inicioSessao) {
+        Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao(descricao).build());
+        pauta.setInicioSessao(inicioSessao);
+        pauta.setTempoSessaoMinutos(60L);
+        return voteStore.salvarPauta(pauta);
+    }
+
+    private static String associado(int i) {
+        return String.format("%011d", 50_000_000_000L + i);
+    }
+
+    private static boolean verificar(ProvaInclusaoDto prova) {
+        List<byte[]> caminho = prova.getCaminho().stream().map(HEX::parseHex).toList();
+        return ArvoreMerkle.verificar(ArvoreMerkle.hashFolha(prova.getDados()), prova.getFolha(), prova.getFolhas(),
+                caminho, HEX.parseHex(prova.getRaiz()));
+    }
+}
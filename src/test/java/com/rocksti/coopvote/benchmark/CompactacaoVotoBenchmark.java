@@ -0,0 +1,236 @@
+package com.rocksti.coopvote.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mede o espaço ocupado pela tabela de votos e seus índices no formato textual (V2) e no formato compacto (V3).
+ * Os dois formatos têm o índice (associado, pauta) do histórico de votos, que no compacto também atende a chave
+ * estrangeira de associado.
+ * <p>
+ * Não é executado no build. Para rodar:
+ * {@code mvn test -Dtest=CompactacaoVotoBenchmark -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark.votos=1000000}
+ * <p>
+ * O H2 codifica inteiros com tamanho variável e tem sobrecarga por linha diferente do InnoDB. Para medir no MySQL,
+ * informe a URL de um servidor descartável terminada em barra, por exemplo
+ * {@code -Dbenchmark.mysql.url=jdbc:mysql://localhost:3306/?user=root&rewriteBatchedStatements=true}; os
+ * esquemas {@code bench_textual} e {@code bench_compacto} são recriados a cada execução.
+ */
+class CompactacaoVotoBenchmark {
+
+    private static final int VOTOS = Integer.getInteger("benchmark.votos", 200_000);
+    private static final int VOTOS_POR_ASSOCIADO = Integer.getInteger("benchmark.votosPorAssociado", 20);
+    private static final String MYSQL_URL = System.getProperty("benchmark.mysql.url");
+    private static final int LOTE = 5_000;
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void medirEspacoNoH2() throws SQLException, IOException {
+        imprimir("H2", medirH2("textual", "2"), medirH2("compacto", "3"));
+    }
+
+    @Test
+    void medirEspacoNoMySql() throws SQLException {
+        assumeTrue(MYSQL_URL != null, "Informe -Dbenchmark.mysql.url para medir no MySQL");
+        imprimir("MySQL", medirMySql("bench_textual", "2"), medirMySql("bench_compacto", "3"));
+    }
+
+    /**
+     * No H2 o tamanho de cada estrutura é obtido pela diferença do arquivo compactado antes e depois de removê-la.
+     * O H2 cria um índice próprio para a chave estrangeira de associado mesmo com {@code idx_voto_associado_pauta},
+     * que o MySQL usa para ela; a chave é removida antes da medição para que os índices de voto sejam os do MySQL.
+     */
+    private Medicao medirH2(String nome, String versao) throws SQLException, IOException {
+        String url = "jdbc:h2:file:" + diretorio.resolve(nome).toAbsolutePath() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+        boolean compacto = popular(url, versao);
+        if (compacto) {
+            executar(url, "ALTER TABLE voto DROP CONSTRAINT fk_voto_associado");
+        }
+
+        long total = compactarEMedir(url, nome);
+        executar(url, "DROP INDEX uk_voto_pauta_associado ON voto");
+        executar(url, "DROP INDEX idx_voto_pauta_tipo ON voto");
+        executar(url, "DROP INDEX idx_voto_associado_pauta ON voto");
+        long semIndices = compactarEMedir(url, nome);
+        long semDicionario = semIndices;
+        if (compacto) {
+            executar(url, "DROP TABLE associado");
+            semDicionario = compactarEMedir(url, nome);
+        }
+        return new Medicao(nome, semDicionario, total - semIndices, semIndices - semDicionario);
+    }
+
+    /**
+     * No MySQL os tamanhos vêm das estatísticas do InnoDB; no formato compacto, os índices de voto incluem
+     * {@code idx_voto_associado_pauta}, que ao ser criado substitui o índice implícito da chave estrangeira de
+     * associado.
+     */
+    private Medicao medirMySql(String esquema, String versao) throws SQLException {
+        executar(MYSQL_URL, "DROP DATABASE IF EXISTS " + esquema);
+        executar(MYSQL_URL, "CREATE DATABASE " + esquema);
+        int inicioParametros = MYSQL_URL.indexOf('?');
+        String url = inicioParametros < 0
+                ? MYSQL_URL + esquema
+                : MYSQL_URL.substring(0, inicioParametros) + esquema + MYSQL_URL.substring(inicioParametros);
+        popular(url, versao);
+
+        executar(url, "ANALYZE TABLE pauta, voto" + ("3".equals(versao) ? ", associado" : ""));
+        try (Connection conexao = conectar(url);
+             PreparedStatement consulta = conexao.prepareStatement(
+                     "SELECT table_name, data_length, index_length FROM information_schema.tables WHERE table_schema = ?")) {
+            consulta.setString(1, esquema);
+            long tabela = 0;
+            long indices = 0;
+            long dicionario = 0;
+            try (ResultSet resultado = consulta.executeQuery()) {
+                while (resultado.next()) {
+                    switch (resultado.getString(1).toLowerCase(Locale.ROOT)) {
+                        case "voto" -> {
+                            tabela = resultado.getLong(2);
+                            indices = resultado.getLong(3);
+                        }
+                        case "associado" -> dicionario = resultado.getLong(2) + resultado.getLong(3);
+                        default -> {
+                            // pauta e histórico do Flyway não entram na comparação
+                        }
+                    }
+                }
+            }
+            return new Medicao(esquema, tabela, indices, dicionario);
+        }
+    }
+
+    private boolean popular(String url, String versao) throws SQLException {
+        boolean h2 = url.startsWith("jdbc:h2:");
+        Flyway.configure().dataSource(url, h2 ? "sa" : null, h2 ? "" : null).target(versao).load().migrate();
+        boolean compacto = "3".equals(versao);
+        // Índice do histórico por associado, criado pela V8; no formato textual, sobre o identificador.
+        executar(url, "CREATE INDEX idx_voto_associado_pauta ON voto (associado_id, pauta_id)");
+
+        try (Connection conexao = conectar(url)) {
+            conexao.setAutoCommit(false);
+            try (PreparedStatement insert = conexao.prepareStatement("INSERT INTO pauta (descricao) VALUES (?)")) {
+                for (int i = 1; i <= VOTOS_POR_ASSOCIADO; i++) {
+                    insert.setString(1, "Pauta " + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            if (compacto) {
+                popularCompacto(conexao);
+            } else {
+                popularTextual(conexao);
+            }
+            conexao.commit();
+        }
+        return compacto;
+    }
+
+    private void popularTextual(Connection conexao) throws SQLException {
+        try (PreparedStatement insert = conexao.prepareStatement(
+                "INSERT INTO voto (associado_id, tipo_voto, pauta_id) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < VOTOS; i++) {
+                insert.setString(1, cpf(i / VOTOS_POR_ASSOCIADO));
+                insert.setString(2, i % 3 == 0 ? "NAO" : "SIM");
+                insert.setLong(3, i % VOTOS_POR_ASSOCIADO + 1L);
+                adicionarAoLote(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void popularCompacto(Connection conexao) throws SQLException {
+        int associados = VOTOS / VOTOS_POR_ASSOCIADO;
+        try (PreparedStatement insert = conexao.prepareStatement("INSERT INTO associado (id, identificador) VALUES (?, ?)")) {
+            for (int i = 0; i < associados; i++) {
+                insert.setLong(1, i + 1L);
+                insert.setString(2, cpf(i));
+                adicionarAoLote(insert, i);
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = conexao.prepareStatement(
+                "INSERT INTO voto (associado_id, tipo_voto, pauta_id) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < VOTOS; i++) {
+                insert.setLong(1, i / VOTOS_POR_ASSOCIADO + 1L);
+                insert.setByte(2, (byte) (i % 3 == 0 ? 1 : 0));
+                insert.setLong(3, i % VOTOS_POR_ASSOCIADO + 1L);
+                adicionarAoLote(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void adicionarAoLote(PreparedStatement insert, int indice) throws SQLException {
+        insert.addBatch();
+        if ((indice + 1) % LOTE == 0) {
+            insert.executeBatch();
+        }
+    }
+
+    private Connection conectar(String url) throws SQLException {
+        return url.startsWith("jdbc:h2:") ? DriverManager.getConnection(url, "sa", "") : DriverManager.getConnection(url);
+    }
+
+    private void executar(String url, String sql) throws SQLException {
+        try (Connection conexao = conectar(url);
+             Statement statement = conexao.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long compactarEMedir(String url, String nome) throws SQLException, IOException {
+        executar(url, "SHUTDOWN COMPACT");
+        return Files.size(diretorio.resolve(nome + ".mv.db"));
+    }
+
+    private static String cpf(int associado) {
+        return String.format(Locale.ROOT, "%011d", 10_000_000_000L + associado * 7_919L);
+    }
+
+    private static void imprimir(String banco, Medicao textual, Medicao compacto) {
+        System.out.printf(Locale.ROOT, "%n%s - votos: %,d (%d votos por associado)%n", banco, VOTOS, VOTOS_POR_ASSOCIADO);
+        System.out.printf(Locale.ROOT, "%-16s %12s %15s %16s%n", "formato", "voto (KiB)", "índices (KiB)", "dicionário (KiB)");
+        textual.imprimir();
+        compacto.imprimir();
+        System.out.printf(Locale.ROOT, "Redução: tabela voto %.1f%%, índices de voto %.1f%%, total com dicionário %.1f%%%n",
+                reducao(textual.tabela(), compacto.tabela()),
+                reducao(textual.indices(), compacto.indices()),
+                reducao(textual.total(), compacto.total()));
+    }
+
+    private static double reducao(long antes, long depois) {
+        return 100.0 * (antes - depois) / antes;
+    }
+
+    /**
+     * Bytes ocupados pelas linhas de voto, pelos índices secundários de voto e pelo dicionário de associados.
+     */
+    private record Medicao(String nome, long tabela, long indices, long dicionario) {
+
+        long total() {
+            return tabela + indices + dicionario;
+        }
+
+        void imprimir() {
+            System.out.printf(Locale.ROOT, "%-16s %,12d %,15d %,16d%n",
+                    nome, tabela / 1024, indices / 1024, dicionario / 1024);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.rocksti.coopvote.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.coopvote.elegibilidade.ElegibilidadeProperties;
+import com.rocksti.coopvote.elegibilidade.HttpElegibilidadeClient;
+import com.rocksti.coopvote.elegibilidade.ServidorElegibilidadeStub;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Mede a consulta de elegibilidade contra o serviço de cadastro local com latência simulada: uma requisição por
+ * associado, consultas agrupadas em lote e consultas respondidas pelo cache.
+ * <p>
+ * Não é executado no build. Para rodar:
+ * {@code mvn test -Dtest=ElegibilidadeBenchmark -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark.latenciaMs=20}
+ */
+class ElegibilidadeBenchmark {
+
+    private static final int ASSOCIADOS = Integer.getInteger("benchmark.associados", 20_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 64);
+    private static final int LATENCIA_MS = Integer.getInteger("benchmark.latenciaMs", 20);
+
+    @Test
+    void medirConsultas() throws Exception {
+        try (ServidorElegibilidadeStub servidor = new ServidorElegibilidadeStub()) {
+            servidor.setAtraso(Duration.ofMillis(LATENCIA_MS));
+            System.out.printf(Locale.ROOT, "%nassociados: %,d, threads: %d, latência do serviço: %d ms%n",
+                    ASSOCIADOS, THREADS, LATENCIA_MS);
+            medir(servidor, "uma requisição por associado", 1);
+            medir(servidor, "lotes de até 50", 50);
+        }
+    }
+
+    private void medir(ServidorElegibilidadeStub servidor, String nome, int tamanhoLote) throws Exception {
+        ElegibilidadeProperties propriedades = new ElegibilidadeProperties();
+        propriedades.setUrl(servidor.getUrl());
+        propriedades.setTimeout(Duration.ofSeconds(5));
+        propriedades.setTamanhoLote(tamanhoLote);
+        try (HttpElegibilidadeClient client = new HttpElegibilidadeClient(propriedades, new ObjectMapper())) {
+            int requisicoesAntes = servidor.getRequisicoes();
+            double semCache = consultar(client);
+            int requisicoes = servidor.getRequisicoes() - requisicoesAntes;
+            double comCache = consultar(client);
+            System.out.printf(Locale.ROOT, "%-30s %,12.0f consultas/s  %,7d requisições  cache: %,12.0f consultas/s%n",
+                    nome, semCache, requisicoes, comCache);
+        }
+    }
+
+    private double consultar(HttpElegibilidadeClient client) throws Exception {
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int primeiro = t;
+                tarefas.add(executor.submit(() -> {
+                    for (int i = primeiro; i < ASSOCIADOS; i += THREADS) {
+                        client.verificar(String.format(Locale.ROOT, "%011d", 10_000_000_000L + i)).join();
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+        return ASSOCIADOS / ((System.nanoTime() - inicio) / 1e9);
+    }
+}
@@ -0,0 +1,109 @@
+package com.rocksti.coopvote.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.ResultadosPautasDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.dto.VotoResponseDto;
+import com.rocksti.coopvote.enums.TipoVoto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara JSON, CBOR e Smile no tamanho da mensagem e no custo de serializar e ler um voto, um lote de votos, a
+ * resposta de um voto e os resultados de várias pautas. Os mapeadores são montados como os da aplicação, com o
+ * {@link Jackson2ObjectMapperBuilder}.
+ * <p>
+ * Os votos são lidos para {@link VotoDto}, como no servidor; as respostas são lidas em árvore, como em um cliente
+ * genérico.
+ * <p>
+ * Não é executado no build. Para rodar:
+ * {@code mvn test -Dtest=FormatoBinarioBenchmark -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark.iteracoes=200000}
+ */
+class FormatoBinarioBenchmark {
+
+    private static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 100_000);
+    private static final int VOTOS_POR_LOTE = Integer.getInteger("benchmark.votosPorLote", 1_000);
+    private static final int PAUTAS = 100;
+
+    private static final Map<String, JsonFactory> FORMATOS = Map.of("json", new JsonFactory(),
+            "cbor", new CBORFactory(), "smile", new SmileFactory());
+
+    @Test
+    void medirFormatos() throws IOException {
+        VotoDto voto = voto(1);
+        List<VotoDto> lote = new ArrayList<>(VOTOS_POR_LOTE);
+        for (int i = 0; i < VOTOS_POR_LOTE; i++) {
+            lote.add(voto(i));
+        }
+        VotoResponseDto resposta = VotoResponseDto.builder().id(123_456L).pautaId(42L).associadoId("12345678901")
+                .tipoVoto(TipoVoto.SIM).opcao(0).registradoEm(LocalDateTime.now()).build();
+        List<ResultadoPautaDto> resultados = new ArrayList<>(PAUTAS);
+        for (long pautaId = 1; pautaId <= PAUTAS; pautaId++) {
+            resultados.add(ResultadoPautaDto.from(pautaId, "Pauta " + pautaId, List.of("Sim", "Não", "Abstenção"),
+                    new long[]{pautaId * 31, pautaId * 17, pautaId}));
+        }
+        ResultadosPautasDto resultadosPautas = new ResultadosPautasDto(resultados, List.of());
+
+        System.out.printf(Locale.ROOT, "%niterações: %,d, votos por lote: %,d, pautas nos resultados: %d%n", ITERACOES,
+                VOTOS_POR_LOTE, PAUTAS);
+        System.out.printf(Locale.ROOT, "%-22s %-6s %10s %14s %14s%n", "mensagem", "formato", "bytes", "serializar",
+                "ler");
+        for (String formato : List.of("json", "cbor", "smile")) {
+            ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(FORMATOS.get(formato)).build();
+            medir("voto", formato, mapper, voto, ITERACOES, bytes -> mapper.readValue(bytes, VotoDto.class));
+            medir("lote de votos", formato, mapper, lote, Math.max(1, ITERACOES / VOTOS_POR_LOTE),
+                    bytes -> mapper.readValue(bytes, new TypeReference<List<VotoDto>>() {
+                    }));
+            medir("resposta do voto", formato, mapper, resposta, ITERACOES, mapper::readTree);
+            medir("resultados", formato, mapper, resultadosPautas, Math.max(1, ITERACOES / PAUTAS), mapper::readTree);
+        }
+    }
+
+    private static void medir(String mensagem, String formato, ObjectMapper mapper, Object valor, int iteracoes,
+                              Leitura leitura) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(valor);
+        for (int i = 0; i < iteracoes; i++) {
+            leitura.ler(mapper.writeValueAsBytes(valor));
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < iteracoes; i++) {
+            bytes = mapper.writeValueAsBytes(valor);
+        }
+        long serializar = (System.nanoTime() - inicio) / iteracoes;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < iteracoes; i++) {
+            leitura.ler(bytes);
+        }
+        long ler = (System.nanoTime() - inicio) / iteracoes;
+
+        System.out.printf(Locale.ROOT, "%-22s %-6s %,10d %,11d ns %,11d ns%n", mensagem, formato, bytes.length,
+                serializar, ler);
+    }
+
+    private static VotoDto voto(int i) {
+        return VotoDto.builder()
+                .pautaId(42L)
+                .associadoId(String.format(Locale.ROOT, "%011d", 10_000_000_000L + i))
+                .tipoVoto(i % 3 == 0 ? TipoVoto.NAO : TipoVoto.SIM)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Leitura {
+        Object ler(byte[] bytes) throws IOException;
+    }
+}
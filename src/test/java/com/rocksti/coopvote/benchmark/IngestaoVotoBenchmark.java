@@ -0,0 +1,100 @@
+package com.rocksti.coopvote.benchmark;
+
+import com.rocksti.coopvote.CoopvoteApplication;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.service.PautaService;
+import com.rocksti.coopvote.service.VotoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compara a vazão de registro de votos pelo {@link VotoService} com o backend JPA sobre H2 em arquivo e com o
+ * armazenamento embarcado em log, com e sem fsync a cada gravação.
+ * <p>
+ * Não é executado no build. Para rodar:
+ * {@code mvn test -Dtest=IngestaoVotoBenchmark -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark.votos=200000}
+ */
+class IngestaoVotoBenchmark {
+
+    private static final int VOTOS = Integer.getInteger("benchmark.votos", 100_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int PAUTAS = 10;
+    private static final int AQUECIMENTO = 5_000;
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void medirIngestao() throws Exception {
+        List<String> resultados = new ArrayList<>();
+        resultados.add(medir("jpa + h2 (arquivo)",
+                "--spring.datasource.url=jdbc:h2:file:" + diretorio.resolve("h2").toAbsolutePath() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE"));
+        resultados.add(medir("log, fsync por gravação",
+                "--spring.profiles.active=edge",
+                "--coopvote.store.log.diretorio=" + diretorio.resolve("log-fsync"),
+                "--coopvote.store.log.sincronizar-gravacoes=true"));
+        resultados.add(medir("log, sem fsync",
+                "--spring.profiles.active=edge",
+                "--coopvote.store.log.diretorio=" + diretorio.resolve("log"),
+                "--coopvote.store.log.sincronizar-gravacoes=false"));
+
+        System.out.printf(Locale.ROOT, "%nvotos: %,d, threads: %d, pautas: %d%n", VOTOS, THREADS, PAUTAS);
+        resultados.forEach(System.out::println);
+    }
+
+    private String medir(String nome, String... argumentos) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(CoopvoteApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos)) {
+            PautaService pautaService = contexto.getBean(PautaService.class);
+            VotoService votoService = contexto.getBean(VotoService.class);
+            long[] pautas = new long[PAUTAS];
+            for (int i = 0; i < PAUTAS; i++) {
+                Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta " + i).build());
+                pautas[i] = pautaService.abrirSessao(pauta.getId(), 60L).getId();
+            }
+
+            registrar(votoService, pautas, "aquecimento-", AQUECIMENTO);
+            long inicio = System.nanoTime();
+            registrar(votoService, pautas, "", VOTOS);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            return String.format(Locale.ROOT, "%-26s %,12.0f votos/s  (%.2f s)", nome, VOTOS / segundos, segundos);
+        }
+    }
+
+    private void registrar(VotoService votoService, long[] pautas, String prefixo, int quantidade) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                tarefas.add(executor.submit(() -> {
+                    for (int i = thread; i < quantidade; i += THREADS) {
+                        votoService.registrarVoto(VotoDto.builder()
+                                .pautaId(pautas[i % pautas.length])
+                                .associadoId(prefixo + String.format(Locale.ROOT, "%011d", i))
+                                .tipoVoto(i % 3 == 0 ? TipoVoto.NAO : TipoVoto.SIM)
+                                .build());
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+    }
+}
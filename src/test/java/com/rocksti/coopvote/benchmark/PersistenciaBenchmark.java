@@ -0,0 +1,203 @@
+package com.rocksti.coopvote.benchmark;
+
+import com.rocksti.coopvote.CoopvoteApplication;
+import com.rocksti.coopvote.captura.HistogramaLatencia;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compara a configuração padrão (open-in-view, sem lotes, pool e driver padrão) com o perfil {@code producao} na
+ * vazão de votos e de consultas de pautas pela API e no tempo em que cada requisição fica com uma conexão do pool.
+ * <p>
+ * Por padrão usa um H2 em arquivo, que ignora as propriedades do driver MySQL; para medir o perfil completo, informe um
+ * MySQL vazio com {@code -Dbenchmark.url=jdbc:mysql://localhost:3306/coopvote_benchmark}, {@code -Dbenchmark.usuario}
+ * e {@code -Dbenchmark.senha}; as duas configurações usam o mesmo banco, cada uma com as suas pautas.
+ * <p>
+ * Não é executado no build. Para rodar:
+ * {@code mvn test -Dtest=PersistenciaBenchmark -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark.votos=50000}
+ */
+class PersistenciaBenchmark {
+
+    private static final String URL = System.getProperty("benchmark.url");
+    private static final int VOTOS = Integer.getInteger("benchmark.votos", 20_000);
+    private static final int CONSULTAS = Integer.getInteger("benchmark.consultas", 5_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int PAUTAS = 100;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void medirPersistencia() throws Exception {
+        List<String> resultados = new ArrayList<>();
+        resultados.add(medir("padrão (open-in-view)", "padrao", "--spring.jpa.open-in-view=true"));
+        resultados.add(medir("perfil producao", "producao", "--spring.profiles.active=producao",
+                "--spring.jpa.open-in-view=false"));
+
+        System.out.printf(Locale.ROOT, "%nbanco: %s, votos: %,d, consultas: %,d, threads: %d%n",
+                URL != null ? URL : "h2 (arquivo)", VOTOS, CONSULTAS, THREADS);
+        System.out.printf(Locale.ROOT, "%-24s %-10s %12s %16s %16s%n", "configuração", "operação", "req/s",
+                "conexão p50", "conexão p99");
+        resultados.forEach(System.out::print);
+    }
+
+    private String medir(String nome, String banco, String... configuracao) throws Exception {
+        HistogramaLatencia[] conexoes = {new HistogramaLatencia()};
+        List<String> argumentos = new ArrayList<>(List.of(configuracao));
+        argumentos.add("--server.port=0");
+        argumentos.addAll(banco());
+        if (URL == null) {
+            argumentos.add("--spring.datasource.url=jdbc:h2:file:" + diretorio.resolve(banco).toAbsolutePath()
+                    + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        }
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(CoopvoteApplication.class)
+                .initializers(aplicacao -> aplicacao.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource ? medirConexoes(dataSource, conexoes) : bean;
+                    }
+                }))
+                .run(argumentos.toArray(String[]::new))) {
+            String base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort()
+                    + "/api/v1";
+            long[] pautas = new long[PAUTAS];
+            for (int i = 0; i < PAUTAS; i++) {
+                HttpResponse<String> pauta = enviar(base + "/pautas", "{\"descricao\":\"Pauta " + banco + " " + i + "\","
+                        + "\"opcoes\":[\"Chapa 1\",\"Chapa 2\",\"Chapa 3\"]}");
+                Matcher id = ID.matcher(pauta.body());
+                if (pauta.statusCode() != 201 || !id.find()) {
+                    throw new IllegalStateException("Falha ao cadastrar a pauta: " + pauta.body());
+                }
+                pautas[i] = Long.parseLong(id.group(1));
+                enviar(base + "/pautas/" + pautas[i] + "/abrir-sessao?tempoSessaoMinutos=60", "");
+            }
+
+            IntFunction<HttpRequest> voto = i -> post(base + "/votos", "{\"pautaId\":" + pautas[i % PAUTAS]
+                    + ",\"associadoId\":\"" + String.format(Locale.ROOT, "%011d", i) + "\",\"opcao\":" + i % 3 + "}");
+            IntFunction<HttpRequest> consulta = i -> HttpRequest.newBuilder(URI.create(i % 10 == 0
+                    ? base + "/pautas" : base + "/pautas/" + pautas[i % PAUTAS])).build();
+
+            executar(voto, 0, VOTOS / 10, 201);
+            executar(consulta, 0, CONSULTAS / 10, 200);
+
+            StringBuilder linhas = new StringBuilder();
+            conexoes[0] = new HistogramaLatencia();
+            linhas.append(linha(nome, "votos", executar(voto, VOTOS / 10, VOTOS, 201), conexoes[0]));
+            conexoes[0] = new HistogramaLatencia();
+            linhas.append(linha("", "consultas", executar(consulta, 0, CONSULTAS, 200), conexoes[0]));
+            return linhas.toString();
+        }
+    }
+
+    /**
+     * @return Requisições por segundo.
+     */
+    private double executar(IntFunction<HttpRequest> requisicao, int inicio, int fim, int statusEsperado)
+            throws Exception {
+        AtomicInteger proxima = new AtomicInteger(inicio);
+        long comeco = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = proxima.getAndIncrement(); i < fim; i = proxima.getAndIncrement()) {
+                        HttpResponse<String> resposta = httpClient.send(requisicao.apply(i),
+                                HttpResponse.BodyHandlers.ofString());
+                        if (resposta.statusCode() != statusEsperado) {
+                            throw new IllegalStateException("Status " + resposta.statusCode() + ": " + resposta.body());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+        return (fim - inicio) / ((System.nanoTime() - comeco) / 1e9);
+    }
+
+    private HttpResponse<String> enviar(String url, String corpo) throws Exception {
+        return httpClient.send(post(url, corpo), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest post(String url, String corpo) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private static String linha(String nome, String operacao, double vazao, HistogramaLatencia conexoes) {
+        return String.format(Locale.ROOT, "%-24s %-10s %,12.0f %13.3f ms %13.3f ms%n", nome, operacao, vazao,
+                conexoes.percentil(50) / 1_000.0, conexoes.percentil(99) / 1_000.0);
+    }
+
+    private static List<String> banco() {
+        if (URL == null) {
+            return List.of();
+        }
+        return List.of("--spring.datasource.url=" + URL,
+                "--spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+                "--spring.datasource.username=" + System.getProperty("benchmark.usuario", "root"),
+                "--spring.datasource.password=" + System.getProperty("benchmark.senha", ""),
+                "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect");
+    }
+
+    /**
+     * Mede, em microssegundos, o tempo entre obter uma conexão do pool e devolvê-la.
+     */
+    private static DataSource medirConexoes(DataSource dataSource, HistogramaLatencia[] conexoes) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, metodo, argumentos) -> {
+                    Object resultado = invocar(dataSource, metodo, argumentos);
+                    if (!(resultado instanceof Connection conexao)) {
+                        return resultado;
+                    }
+                    long obtida = System.nanoTime();
+                    return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                            (proxyConexao, metodoConexao, argumentosConexao) -> {
+                                if (metodoConexao.getName().equals("close")) {
+                                    conexoes[0].registrar((System.nanoTime() - obtida) / 1_000);
+                                }
+                                return invocar(conexao, metodoConexao, argumentosConexao);
+                            });
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.rocksti.coopvote.benchmark;
+
+import com.rocksti.coopvote.CoopvoteApplication;
+import org.h2.Driver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mede o tempo entre o início do processo e o primeiro voto aceito (cadastro da pauta, abertura da sessão e voto)
+ * com a JVM padrão, com o contexto processado pelo Spring AOT e com AOT + AppCDS, da mesma forma que na imagem Docker.
+ * <p>
+ * Usa o jar gerado pelo perfil {@code inicio-rapido} e um H2 em arquivo novo a cada execução. Não é executado no
+ * build. Para rodar:
+ * {@code mvn -Pinicio-rapido package -DskipTests && mvn test -Dtest=TempoPrimeiroVotoBenchmark -Dsurefire.failIfNoSpecifiedTests=false}
+ */
+class TempoPrimeiroVotoBenchmark {
+
+    private static final int REPETICOES = Integer.getInteger("benchmark.repeticoes", 3);
+    private static final Duration LIMITE = Duration.ofMinutes(3);
+    private static final String INICIALIZADOR_AOT =
+            "BOOT-INF/classes/com/rocksti/coopvote/CoopvoteApplication__ApplicationContextInitializer.class";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void medirTempoAtePrimeiroVoto() throws Exception {
+        Path jar = localizarJarComAot();
+        assumeTrue(jar != null, "Gere o jar com mvn -Pinicio-rapido package -DskipTests");
+
+        Path aplicacao = diretorio.resolve("app");
+        executar(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(), "extract",
+                "--destination", aplicacao.toString(), "--application-filename", "app.jar"));
+        String classpath = aplicacao.resolve("app.jar") + File.pathSeparator
+                + Path.of(Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path arquivoCds = aplicacao.resolve("app.jsa");
+        executar(List.of(java(), "-XX:ArchiveClassesAtExit=" + arquivoCds, "-Dspring.context.exit=onRefresh",
+                "-cp", classpath, CoopvoteApplication.class.getName(),
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                "--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false"));
+
+        List<String> resultados = new ArrayList<>();
+        resultados.add(medir("JVM padrão", classpath));
+        resultados.add(medir("Spring AOT", classpath, "-Dspring.aot.enabled=true"));
+        resultados.add(medir("Spring AOT + AppCDS", classpath, "-Dspring.aot.enabled=true",
+                "-XX:SharedArchiveFile=" + arquivoCds));
+
+        System.out.printf(Locale.ROOT, "%nTempo até o primeiro voto (mediana de %d execuções)%n", REPETICOES);
+        resultados.forEach(System.out::println);
+    }
+
+    private String medir(String nome, String classpath, String... opcoesJvm) throws Exception {
+        long[] tempos = new long[REPETICOES];
+        for (int i = 0; i < REPETICOES; i++) {
+            tempos[i] = medirExecucao(classpath, opcoesJvm).toMillis();
+        }
+        Arrays.sort(tempos);
+        return String.format(Locale.ROOT, "%-22s %,8d ms", nome, tempos[REPETICOES / 2]);
+    }
+
+    private Duration medirExecucao(String classpath, String... opcoesJvm) throws Exception {
+        int porta = portaLivre();
+        Path banco = Files.createTempDirectory(diretorio, "h2").resolve("coopvote");
+        List<String> comando = new ArrayList<>();
+        comando.add(java());
+        comando.addAll(List.of(opcoesJvm));
+        comando.addAll(List.of("-cp", classpath, CoopvoteApplication.class.getName(),
+                "--server.port=" + porta,
+                "--spring.datasource.url=jdbc:h2:file:" + banco.toAbsolutePath() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.username=sa"));
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(banco.resolveSibling("saida.log").toFile())
+                .start();
+        try {
+            votarQuandoDisponivel(porta, processo);
+            return Duration.ofNanos(System.nanoTime() - inicio);
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private void votarQuandoDisponivel(int porta, Process processo) throws Exception {
+        String base = "http://localhost:" + porta + "/api/v1";
+        long limite = System.nanoTime() + LIMITE.toNanos();
+        HttpResponse<String> pauta = null;
+        while (pauta == null) {
+            if (!processo.isAlive() || System.nanoTime() > limite) {
+                throw new IllegalStateException("A aplicação não iniciou; veja saida.log em " + diretorio);
+            }
+            try {
+                pauta = post(base + "/pautas", "{\"descricao\":\"Pauta de inicialização\"}");
+            } catch (ConnectException e) {
+                Thread.sleep(10);
+            }
+        }
+        Matcher id = ID.matcher(pauta.body());
+        if (pauta.statusCode() != 201 || !id.find()) {
+            throw new IllegalStateException("Falha ao cadastrar a pauta: " + pauta.statusCode() + " " + pauta.body());
+        }
+        post(base + "/pautas/" + id.group(1) + "/abrir-sessao", "");
+        HttpResponse<String> voto = post(base + "/votos",
+                "{\"pautaId\":" + id.group(1) + ",\"associadoId\":\"11111111111\",\"tipoVoto\":\"SIM\"}");
+        if (voto.statusCode() != 201) {
+            throw new IllegalStateException("Falha ao registrar o voto: " + voto.statusCode() + " " + voto.body());
+        }
+    }
+
+    private HttpResponse<String> post(String url, String corpo) throws IOException, InterruptedException, URISyntaxException {
+        HttpRequest requisicao = HttpRequest.newBuilder(new URI(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+        return httpClient.send(requisicao, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void executar(List<String> comando) throws IOException, InterruptedException {
+        Process processo = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(diretorio.resolve("preparacao.log").toFile())
+                .start();
+        if (processo.waitFor() != 0) {
+            throw new IllegalStateException("Falha ao executar " + comando + "; veja preparacao.log em " + diretorio);
+        }
+    }
+
+    private static Path localizarJarComAot() throws IOException {
+        Path target = Path.of("target");
+        if (!Files.isDirectory(target)) {
+            return null;
+        }
+        try (Stream<Path> arquivos = Files.list(target)) {
+            Path jar = arquivos.filter(arquivo -> arquivo.getFileName().toString().matches("coopvote-.*\\.jar"))
+                    .findFirst()
+                    .orElse(null);
+            if (jar == null) {
+                return null;
+            }
+            try (JarFile conteudo = new JarFile(jar.toFile())) {
+                return conteudo.getEntry(INICIALIZADOR_AOT) != null ? jar : null;
+            }
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.rocksti.coopvote.busca;
+
+import com.rocksti.coopvote.busca.IndiceInvertido.Ocorrencia;
+import com.rocksti.coopvote.busca.IndiceInvertido.Resultado;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceInvertidoTest {
+
+    private final IndiceInvertido indice = new IndiceInvertido();
+
+    @Test
+    void testNormalizarTermos() {
+        assertThat(IndiceInvertido.termos("Eleição do Conselho Fiscal, 2025/2026 — São João"))
+                .as("Verifica se acentos, maiúsculas, pontuação e palavras comuns são descartados")
+                .containsExactly("eleicao", "conselho", "fiscal", "2025", "2026", "sao", "joao");
+    }
+
+    @Test
+    void testOrdenarPelaRelevancia() {
+        indice.adicionar(1, "Aprovação das contas do exercício");
+        indice.adicionar(2, "Eleição do conselho fiscal");
+        indice.adicionar(3, "Eleição do conselho de administração e posse do conselho");
+        indice.adicionar(4, "Reforma do estatuto");
+
+        Resultado resultado = indice.buscar("conselho fiscal", 0, 10);
+
+        assertThat(resultado.total()).isEqualTo(2);
+        assertThat(resultado.ocorrencias())
+                .as("Verifica se a pauta com todos os termos vem antes da que repete só um deles")
+                .extracting(Ocorrencia::id)
+                .containsExactly(2L, 3L);
+        assertThat(resultado.ocorrencias().getFirst().texto()).isEqualTo("Eleição do conselho fiscal");
+        assertThat(indice.buscar("ELEICAO", 0, 10).ocorrencias()).extracting(Ocorrencia::id)
+                .as("Verifica se a consulta sem acento encontra a descrição acentuada, com a mais curta à frente")
+                .containsExactly(2L, 3L);
+        assertThat(indice.buscar("de do", 0, 10).total()).as("Verifica se palavras comuns não são buscadas").isZero();
+    }
+
+    @Test
+    void testBuscarUltimoTermoComoPrefixo() {
+        indice.adicionar(1, "Aprovação do orçamento anual");
+        indice.adicionar(2, "Orçar a reforma da sede");
+
+        assertThat(indice.buscar("orcam", 0, 10).ocorrencias()).extracting(Ocorrencia::id).containsExactly(1L);
+        assertThat(indice.buscar("orc", 0, 10).total()).isEqualTo(2);
+        assertThat(indice.buscar("orcam anual", 0, 10).total())
+                .as("Verifica se apenas o último termo é expandido")
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testPaginarResultados() {
+        LongStream.rangeClosed(1, 25).forEach(id -> indice.adicionar(id, "Assembleia geral " + id));
+
+        Resultado segunda = indice.buscar("assembleia", 10, 10);
+        Resultado ultima = indice.buscar("assembleia", 20, 10);
+
+        assertThat(segunda.total()).isEqualTo(25);
+        assertThat(segunda.ocorrencias()).extracting(Ocorrencia::id)
+                .as("Verifica se os empates ficam com a pauta mais recente")
+                .containsExactly(15L, 14L, 13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L);
+        assertThat(ultima.ocorrencias()).extracting(Ocorrencia::id).containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(indice.buscar("assembleia", 30, 10).ocorrencias()).isEmpty();
+    }
+
+    @Test
+    void testSubstituirDocumentoIndexado() {
+        indice.adicionar(1, "Reforma do estatuto");
+        indice.adicionar(1, "Reforma da sede");
+
+        assertThat(indice.tamanho()).isEqualTo(1);
+        assertThat(indice.buscar("estatuto", 0, 10).total())
+                .as("Verifica se os termos da versão anterior saem do índice")
+                .isZero();
+        assertThat(indice.buscar("sede", 0, 10).ocorrencias()).extracting(Ocorrencia::texto).containsExactly("Reforma da sede");
+    }
+}
@@ -0,0 +1,80 @@
+package com.rocksti.coopvote.captura;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArquivoCapturaTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void testGravarELer() throws IOException {
+        Path caminho = diretorio.resolve("captura.cvcp");
+        Instant inicio = Instant.ofEpochMilli(1_700_000_000_000L);
+        try (ArquivoCaptura arquivo = ArquivoCaptura.criar(caminho, inicio)) {
+            arquivo.gravar(List.of(voto(10), cadastro(5)));
+            arquivo.gravar(List.of(voto(20)));
+            assertThat(arquivo.getTamanho()).isEqualTo(Files.size(caminho));
+        }
+
+        ArquivoCaptura.Leitura leitura = ArquivoCaptura.ler(caminho);
+
+        assertThat(leitura.inicio()).isEqualTo(inicio);
+        assertThat(leitura.requisicoes()).hasSize(3);
+        RequisicaoCapturada voto = leitura.requisicoes().get(0);
+        assertThat(voto.chegadaMicros()).isEqualTo(10);
+        assertThat(voto.cooperativa()).isNull();
+        assertThat(voto.caminho()).isEqualTo("/api/v1/votos");
+        assertThat(new String(voto.corpo(), StandardCharsets.UTF_8)).isEqualTo("{\"pautaId\":1}");
+        RequisicaoCapturada cadastro = leitura.requisicoes().get(1);
+        assertThat(cadastro.cooperativa()).isEqualTo("coop-a");
+        assertThat(cadastro.corpo()).isNull();
+        assertThat(cadastro.pautasCriadas()).containsExactly(7L, 0L);
+    }
+
+    @Test
+    void testLeituraParaNoRegistroIncompleto() throws IOException {
+        Path caminho = diretorio.resolve("captura.cvcp");
+        try (ArquivoCaptura arquivo = ArquivoCaptura.criar(caminho, Instant.now())) {
+            arquivo.gravar(List.of(voto(10), voto(20)));
+        }
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.WRITE)) {
+            canal.truncate(Files.size(caminho) - 3);
+        }
+
+        assertThat(ArquivoCaptura.ler(caminho).requisicoes()).extracting(RequisicaoCapturada::chegadaMicros)
+                .containsExactly(10L);
+    }
+
+    @Test
+    void testArquivoDesconhecido() throws IOException {
+        Path caminho = Files.write(diretorio.resolve("outro.bin"), new byte[32]);
+
+        assertThatThrownBy(() -> ArquivoCaptura.ler(caminho)).isInstanceOf(IOException.class);
+    }
+
+    // Métodos auxiliares privados
+
+    private static RequisicaoCapturada voto(long chegada) {
+        return new RequisicaoCapturada(chegada, 900, 201, null, "POST", "/api/v1/votos", "application/json", null,
+                "{\"pautaId\":1}".getBytes(StandardCharsets.UTF_8), List.of());
+    }
+
+    private static RequisicaoCapturada cadastro(long chegada) {
+        return new RequisicaoCapturada(chegada, 1_500, 200, "coop-a", "POST", "/api/v1/pautas/lote",
+                "application/json", "application/json", null, List.of(7L, 0L));
+    }
+}
@@ -0,0 +1,162 @@
+package com.rocksti.coopvote.captura;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.coopvote.dto.CapturaMetricasDto;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "coopvote.captura.habilitado=true",
+        "coopvote.captura.chave=Y2hhdmUtZGUtdGVzdGUtZGEtY2FwdHVyYQ=="
+})
+class CapturaIT {
+
+    private static final String BASE_URL = "http://localhost:%d";
+
+    @TempDir
+    static Path diretorio;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CapturaTrafego captura;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void diretorioCaptura(DynamicPropertyRegistry registry) {
+        registry.add("coopvote.captura.diretorio", () -> diretorio.toString());
+    }
+
+    @Test
+    void testCapturaAnonimizadaEReproduzida() throws Exception {
+        long capturadasAntes = captura.metricas().getCapturadas();
+        ResponseEntity<Pauta> cadastro = restTemplate.postForEntity(url("/api/v1/pautas"),
+                PautaDto.builder().descricao("Reforma do galpão de grãos").build(), Pauta.class);
+        Long pautaId = cadastro.getBody().getId();
+        restTemplate.postForEntity(url("/api/v1/pautas/{id}/abrir-sessao"), null, Pauta.class, pautaId);
+        votar(pautaId, "12345678901", TipoVoto.SIM);
+        votar(pautaId, "98765432100", TipoVoto.NAO);
+        votar(pautaId, "12345678901", TipoVoto.NAO);
+        restTemplate.getForEntity(url("/api/v1/pautas/{id}/resultado"), String.class, pautaId);
+        restTemplate.getForEntity(url("/api/v1/pautas/{id}/auditoria/votos/{associadoId}"), String.class, pautaId,
+                "12345678901");
+        aguardarCapturadas(capturadasAntes + 7);
+
+        CapturaMetricasDto metricas = captura.metricas();
+        List<RequisicaoCapturada> capturadas = ArquivoCaptura.ler(Path.of(metricas.getArquivo())).requisicoes()
+                .stream().skip(capturadasAntes).toList();
+
+        assertThat(metricas.isAtiva()).isTrue();
+        assertThat(metricas.getDescartadas()).isZero();
+        assertThat(capturadas).extracting(RequisicaoCapturada::status)
+                .containsExactly(201, 200, 201, 201, 409, 200, 409);
+        assertThat(capturadas.get(0).pautasCriadas()).containsExactly(pautaId);
+        assertThat(corpo(capturadas.get(0)).get("descricao").asText()).doesNotContain("galpão");
+        List<String> associados = capturadas.subList(2, 5).stream()
+                .map(requisicao -> corpo(requisicao).get("associadoId").asText())
+                .toList();
+        assertThat(associados).doesNotContain("12345678901", "98765432100")
+                .allSatisfy(associado -> assertThat(associado).hasSize(11).containsOnlyDigits());
+        assertThat(associados.get(2)).as("o mesmo associado, o mesmo pseudônimo").isEqualTo(associados.get(0));
+        assertThat(associados.get(1)).isNotEqualTo(associados.get(0));
+        assertThat(capturadas.get(6).caminho())
+                .as("o associado da prova de inclusão tem o mesmo pseudônimo do voto")
+                .isEqualTo("/api/v1/pautas/" + pautaId + "/auditoria/votos/" + associados.get(0));
+
+        Path copia = diretorio.resolve("reproducao.cvcp");
+        try (ArquivoCaptura arquivo = ArquivoCaptura.criar(copia, Instant.now())) {
+            arquivo.gravar(capturadas);
+        }
+        RelatorioReproducao relatorio = new ReproducaoCaptura(URI.create(url("")), 0, 8).reproduzir(copia);
+
+        assertThat(relatorio.getOperacoes()).containsOnlyKeys("POST /api/v1/pautas",
+                "POST /api/v1/pautas/{id}/abrir-sessao", "POST /api/v1/votos", "GET /api/v1/pautas/{id}/resultado",
+                "GET /api/v1/pautas/{id}/auditoria/votos/{id}");
+        relatorio.getOperacoes().forEach((operacao, medicoes) -> assertThat(medicoes.getReproducao().getStatus())
+                .as(operacao).isEqualTo(medicoes.getCaptura().getStatus()));
+        assertThat(relatorio.getOperacoes().get("POST /api/v1/votos").getReproducao().getStatus())
+                .isEqualTo(Map.of(201, 2L, 409, 1L));
+        assertThat(relatorio.formatar()).contains("POST /api/v1/votos");
+    }
+
+    @Test
+    void testPautaCadastradaAntesDaCapturaCriadaNaReproducao() throws Exception {
+        Path arquivo = diretorio.resolve("anterior.cvcp");
+        try (ArquivoCaptura captura = ArquivoCaptura.criar(arquivo, Instant.now())) {
+            captura.gravar(List.of(
+                    votoCapturado(1_000, 201, 424242L, "1"),
+                    votoCapturado(2_000, 201, 424242L, "2"),
+                    votoCapturado(3_000, 404, 515151L, "3")));
+        }
+
+        RelatorioReproducao relatorio = new ReproducaoCaptura(URI.create(url("")), 10, 8).reproduzir(arquivo);
+
+        RelatorioReproducao.Operacao votos = relatorio.getOperacoes().get("POST /api/v1/votos");
+        assertThat(votos.getReproducao().getStatus()).isEqualTo(Map.of(201, 2L, 404, 1L));
+        assertThat(votos.getReproducao().getLatencia().getTotal()).isEqualTo(3);
+    }
+
+    // Métodos auxiliares privados
+
+    private void votar(Long pautaId, String associadoId, TipoVoto tipoVoto) {
+        ResponseEntity<String> resposta = restTemplate.postForEntity(url("/api/v1/votos"),
+                VotoDto.builder().pautaId(pautaId).associadoId(associadoId).tipoVoto(tipoVoto).build(), String.class);
+        assertThat(resposta.getStatusCode()).isIn(HttpStatus.CREATED, HttpStatus.CONFLICT);
+    }
+
+    private static RequisicaoCapturada votoCapturado(long chegada, int status, long pautaId, String associadoId) {
+        String corpo = "{\"pautaId\":" + pautaId + ",\"associadoId\":\"" + associadoId + "\",\"tipoVoto\":\"SIM\"}";
+        return new RequisicaoCapturada(chegada, 500, status, null, "POST", "/api/v1/votos", "application/json", null,
+                corpo.getBytes(StandardCharsets.UTF_8), List.of());
+    }
+
+    private JsonNode corpo(RequisicaoCapturada requisicao) {
+        try {
+            return objectMapper.readTree(requisicao.corpo());
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void aguardarCapturadas(long quantidade) throws InterruptedException {
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (captura.metricas().getCapturadas() < quantidade) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("Requisições não gravadas em 10 segundos");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private String url(String caminho) {
+        return String.format(BASE_URL, port) + caminho;
+    }
+}
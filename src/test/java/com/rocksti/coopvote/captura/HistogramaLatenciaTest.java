@@ -0,0 +1,44 @@
+package com.rocksti.coopvote.captura;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistogramaLatenciaTest {
+
+    @Test
+    void testPercentisDentroDoErroDasFaixas() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histograma.registrar(micros);
+        }
+
+        assertThat(histograma.getTotal()).isEqualTo(100_000);
+        assertThat(histograma.getMaximo()).isEqualTo(100_000);
+        assertThat(histograma.percentil(50)).isBetween(50_000L, 56_250L);
+        assertThat(histograma.percentil(99)).isBetween(99_000L, 100_000L);
+        assertThat(histograma.percentil(100)).isEqualTo(100_000);
+    }
+
+    @Test
+    void testValoresPequenosExatos() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        histograma.registrar(3);
+        histograma.registrar(7);
+        histograma.registrar(-5);
+
+        assertThat(histograma.percentil(0)).isZero();
+        assertThat(histograma.percentil(50)).isEqualTo(3);
+        assertThat(histograma.percentil(100)).isEqualTo(7);
+    }
+
+    @Test
+    void testValoresExtremos() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        assertThat(histograma.percentil(99)).isZero();
+
+        histograma.registrar(Long.MAX_VALUE);
+
+        assertThat(histograma.percentil(99)).isEqualTo(Long.MAX_VALUE);
+    }
+}
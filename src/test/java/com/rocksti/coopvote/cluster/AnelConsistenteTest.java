@@ -0,0 +1,69 @@
+package com.rocksti.coopvote.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnelConsistenteTest {
+
+    private static final MembroCluster A = new MembroCluster("a", "http://a:8080");
+    private static final MembroCluster B = new MembroCluster("b", "http://b:8080");
+    private static final MembroCluster C = new MembroCluster("c", "http://c:8080");
+
+    @Test
+    void testDonoNaoDependeDaOrdemDosMembros() {
+        AnelConsistente anel = new AnelConsistente(List.of(A, B, C), 64);
+        AnelConsistente outraOrdem = new AnelConsistente(List.of(C, A, B), 64);
+
+        for (long pautaId = 1; pautaId <= 1_000; pautaId++) {
+            assertThat(outraOrdem.dono(pautaId)).as("dono da pauta %d", pautaId).isEqualTo(anel.dono(pautaId));
+        }
+        assertThat(outraOrdem.getMembros()).containsExactly(A, B, C);
+    }
+
+    @Test
+    void testPautasSequenciaisDivididasEntreOsMembros() {
+        AnelConsistente anel = new AnelConsistente(List.of(A, B, C), 64);
+        Map<MembroCluster, Integer> pautas = contarPautas(anel, 30_000);
+
+        assertThat(pautas).containsOnlyKeys(A, B, C);
+        assertThat(pautas.values()).allSatisfy(quantidade -> assertThat(quantidade).isBetween(6_000, 15_000));
+    }
+
+    @Test
+    void testSaidaDeUmMembroMoveApenasAsPautasDele() {
+        AnelConsistente completo = new AnelConsistente(List.of(A, B, C), 64);
+        AnelConsistente semC = new AnelConsistente(List.of(A, B), 64);
+
+        for (long pautaId = 1; pautaId <= 10_000; pautaId++) {
+            MembroCluster dono = completo.dono(pautaId).orElseThrow();
+            MembroCluster novoDono = semC.dono(pautaId).orElseThrow();
+            if (dono.equals(C)) {
+                assertThat(novoDono).isIn(A, B);
+            } else {
+                assertThat(novoDono).as("dono da pauta %d", pautaId).isEqualTo(dono);
+            }
+        }
+    }
+
+    @Test
+    void testAnelVazio() {
+        assertThat(new AnelConsistente(List.of(), 64).dono(1)).isEmpty();
+        assertThatThrownBy(() -> new AnelConsistente(List.of(A), 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Métodos auxiliares privados
+
+    private static Map<MembroCluster, Integer> contarPautas(AnelConsistente anel, int pautas) {
+        Map<MembroCluster, Integer> contagem = new HashMap<>();
+        for (long pautaId = 1; pautaId <= pautas; pautaId++) {
+            contagem.merge(anel.dono(pautaId).orElseThrow(), 1, Integer::sum);
+        }
+        return contagem;
+    }
+}
@@ -0,0 +1,249 @@
+package com.rocksti.coopvote.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rocksti.coopvote.CoopvoteApplication;
+import com.rocksti.coopvote.dto.ClusterMetricasDto;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Três instâncias da aplicação na mesma JVM, cada uma com o seu servidor web, dividindo as pautas de um mesmo banco
+ * H2 em memória.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ClusterIT {
+
+    private static final Map<String, ConfigurableApplicationContext> INSTANCIAS = new LinkedHashMap<>();
+
+    private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+    @BeforeAll
+    static void iniciarInstancias() {
+        for (String no : List.of("a", "b", "c")) {
+            INSTANCIAS.put(no, new SpringApplicationBuilder(CoopvoteApplication.class).properties(
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                    "coopvote.cluster.habilitado=true",
+                    "coopvote.cluster.no=" + no,
+                    "coopvote.cluster.host=localhost",
+                    "coopvote.cluster.duracao-lease=PT2S",
+                    "coopvote.cluster.intervalo-renovacao=PT0.2S",
+                    "coopvote.cluster.timeout=PT2S",
+                    "coopvote.cluster.segredo=segredo-do-cluster"
+            ).run());
+        }
+        aguardar(() -> INSTANCIAS.values().stream().allMatch(instancia -> membros(instancia).size() == 3));
+    }
+
+    @AfterAll
+    static void encerrarInstancias() {
+        INSTANCIAS.values().forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    @Order(1)
+    void testInstanciasConcordamSobreADonaDeCadaPauta() {
+        Map<String, Integer> pautasPorDona = new LinkedHashMap<>();
+        for (long pautaId = 1; pautaId <= 300; pautaId++) {
+            MembroCluster dona = cluster("a").dono(pautaId);
+            assertThat(cluster("b").dono(pautaId)).isEqualTo(dona);
+            assertThat(cluster("c").dono(pautaId)).isEqualTo(dona);
+            pautasPorDona.merge(dona.no(), 1, Integer::sum);
+        }
+
+        assertThat(pautasPorDona).containsOnlyKeys("a", "b", "c");
+    }
+
+    @Test
+    @Order(2)
+    void testVotoEResultadoEncaminhadosADona() {
+        Pauta pauta = abrirPauta("a", "Pauta encaminhada");
+        String dona = cluster("a").dono(pauta.getId()).no();
+        String outra = INSTANCIAS.keySet().stream().filter(no -> !no.equals(dona)).findFirst().orElseThrow();
+        ClusterMetricasDto antesOutra = cluster(outra).metricas();
+        ClusterMetricasDto antesDona = cluster(dona).metricas();
+
+        ResponseEntity<JsonNode> voto = votar(outra, pauta.getId(), "1");
+        ResponseEntity<String> repetido = restTemplate.postForEntity(url(outra, "/api/v1/votos"),
+                VotoDto.builder().pautaId(pauta.getId()).associadoId("1").tipoVoto(TipoVoto.NAO).build(), String.class);
+        ResponseEntity<JsonNode> resultado = restTemplate.getForEntity(
+                url(outra, "/api/v1/pautas/" + pauta.getId() + "/resultado"), JsonNode.class);
+
+        assertThat(voto.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(voto.getBody()).isNotNull();
+        assertThat(voto.getBody().get("associadoId").asText()).isEqualTo("1");
+        assertThat(repetido.getStatusCode()).as("o erro da dona volta sem alterações").isEqualTo(HttpStatus.CONFLICT);
+        assertThat(repetido.getHeaders().getContentType()).isNotNull();
+        assertThat(resultado.getBody()).isNotNull();
+        assertThat(resultado.getBody().get("totalVotos").asLong()).isEqualTo(1);
+        assertThat(cluster(outra).metricas().getEncaminhadas() - antesOutra.getEncaminhadas()).isEqualTo(3);
+        assertThat(cluster(dona).metricas().getRecebidasEncaminhadas() - antesDona.getRecebidasEncaminhadas())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @Order(3)
+    void testCabecalhosDeEncaminhamentoSemAssinaturaIgnorados() {
+        Pauta pauta = abrirPauta("a", "Pauta com encaminhamento forjado");
+        String dona = cluster("a").dono(pauta.getId()).no();
+        String outra = INSTANCIAS.keySet().stream().filter(no -> !no.equals(dona)).findFirst().orElseThrow();
+        ClusterMetricasDto antesOutra = cluster(outra).metricas();
+        ClusterMetricasDto antesDona = cluster(dona).metricas();
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.set(EncaminhamentoFilter.CABECALHO_ENCAMINHADO_POR, dona);
+        cabecalhos.set(EncaminhamentoFilter.CABECALHO_RECEBIDO_EM, Instant.now().minusSeconds(3600).toString());
+        cabecalhos.set(EncaminhamentoFilter.CABECALHO_ASSINATURA, "forjada");
+
+        ResponseEntity<JsonNode> voto = restTemplate.postForEntity(url(outra, "/api/v1/votos"), new HttpEntity<>(
+                VotoDto.builder().pautaId(pauta.getId()).associadoId("1").tipoVoto(TipoVoto.SIM).build(), cabecalhos),
+                JsonNode.class);
+
+        assertThat(voto.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(cluster(outra).metricas().getRecebidasEncaminhadas())
+                .as("os cabeçalhos forjados não são aceitos").isEqualTo(antesOutra.getRecebidasEncaminhadas());
+        assertThat(cluster(outra).metricas().getEncaminhadas() - antesOutra.getEncaminhadas())
+                .as("a requisição segue para a dona como a de qualquer cliente").isEqualTo(1);
+        assertThat(cluster(dona).metricas().getRecebidasEncaminhadas() - antesDona.getRecebidasEncaminhadas())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @Order(4)
+    void testDonaSubstituidaQuandoOLeaseExpira() {
+        Pauta pauta = abrirPauta("a", "Pauta da instância que parou");
+        String fantasma = noQueSeriaDono(pauta.getId());
+        jdbcTemplate("a").update("INSERT INTO membro_cluster (no, endereco, expira_em) "
+                + "VALUES (?, 'http://localhost:1', TIMESTAMPADD(SECOND, 3, LOCALTIMESTAMP(6)))", fantasma);
+        aguardar(() -> INSTANCIAS.keySet().stream()
+                .allMatch(no -> cluster(no).dono(pauta.getId()).no().equals(fantasma)));
+        long falhasAntes = cluster("b").metricas().getFalhasEncaminhamento();
+
+        ResponseEntity<JsonNode> semResposta = votar("b", pauta.getId(), "1");
+
+        assertThat(semResposta.getStatusCode()).as("atendido pela própria instância").isEqualTo(HttpStatus.CREATED);
+        assertThat(cluster("b").metricas().getFalhasEncaminhamento()).isEqualTo(falhasAntes + 1);
+
+        aguardar(() -> INSTANCIAS.keySet().stream().allMatch(no -> membros(INSTANCIAS.get(no)).size() == 3));
+        String dona = cluster("a").dono(pauta.getId()).no();
+        assertThat(dona).isIn("a", "b", "c");
+        assertThat(cluster("b").dono(pauta.getId()).no()).isEqualTo(dona);
+        assertThat(cluster("c").dono(pauta.getId()).no()).isEqualTo(dona);
+        assertThat(votar("b", pauta.getId(), "2").getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(cluster("b").metricas().getFalhasEncaminhamento()).isEqualTo(falhasAntes + 1);
+    }
+
+    @Test
+    @Order(5)
+    void testSaidaDeUmaInstanciaRedistribuiAsPautas() {
+        List<Long> pautasDeC = new ArrayList<>();
+        for (long pautaId = 1; pautaId <= 300; pautaId++) {
+            if (cluster("a").dono(pautaId).no().equals("c")) {
+                pautasDeC.add(pautaId);
+            }
+        }
+        assertThat(pautasDeC).isNotEmpty();
+
+        INSTANCIAS.remove("c").close();
+
+        aguardar(() -> membros(INSTANCIAS.get("a")).size() == 2 && membros(INSTANCIAS.get("b")).size() == 2);
+        for (Long pautaId : pautasDeC) {
+            String dona = cluster("a").dono(pautaId).no();
+            assertThat(dona).isIn("a", "b");
+            assertThat(cluster("b").dono(pautaId).no()).isEqualTo(dona);
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    private Pauta abrirPauta(String no, String descricao) {
+        ResponseEntity<Pauta> cadastrada = restTemplate.postForEntity(url(no, "/api/v1/pautas"),
+                PautaDto.builder().descricao(descricao).build(), Pauta.class);
+        assertThat(cadastrada.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Long pautaId = cadastrada.getBody().getId();
+        ResponseEntity<Pauta> aberta = restTemplate.postForEntity(url(no, "/api/v1/pautas/" + pautaId + "/abrir-sessao"),
+                null, Pauta.class);
+        assertThat(aberta.getStatusCode().is2xxSuccessful()).isTrue();
+        return aberta.getBody();
+    }
+
+    private ResponseEntity<JsonNode> votar(String no, Long pautaId, String associadoId) {
+        return restTemplate.postForEntity(url(no, "/api/v1/votos"),
+                VotoDto.builder().pautaId(pautaId).associadoId(associadoId).tipoVoto(TipoVoto.SIM).build(),
+                JsonNode.class);
+    }
+
+    /**
+     * Escolhe o identificador de uma instância que, somada às atuais, seria a dona da pauta.
+     */
+    private static String noQueSeriaDono(Long pautaId) {
+        List<MembroCluster> atuais = membros(INSTANCIAS.get("a"));
+        for (int i = 0; ; i++) {
+            MembroCluster fantasma = new MembroCluster("fantasma-" + i, "http://localhost:1");
+            List<MembroCluster> comFantasma = new ArrayList<>(atuais);
+            comFantasma.add(fantasma);
+            if (new AnelConsistente(comFantasma, 64).dono(pautaId).orElseThrow().equals(fantasma)) {
+                return fantasma.no();
+            }
+        }
+    }
+
+    private static MembrosCluster cluster(String no) {
+        return INSTANCIAS.get(no).getBean(MembrosCluster.class);
+    }
+
+    private static List<MembroCluster> membros(ConfigurableApplicationContext instancia) {
+        return instancia.getBean(MembrosCluster.class).metricas().getMembros().stream()
+                .map(no -> new MembroCluster(no, null))
+                .toList();
+    }
+
+    private static JdbcTemplate jdbcTemplate(String no) {
+        return INSTANCIAS.get(no).getBean(JdbcTemplate.class);
+    }
+
+    private static String url(String no, String caminho) {
+        int porta = ((WebServerApplicationContext) INSTANCIAS.get(no)).getWebServer().getPort();
+        return "http://localhost:" + porta + caminho;
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("O cluster não convergiu em 10 segundos");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
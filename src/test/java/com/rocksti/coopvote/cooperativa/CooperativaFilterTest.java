@@ -0,0 +1,103 @@
+package com.rocksti.coopvote.cooperativa;
+
+import com.rocksti.coopvote.exception.CooperativaNaoInformadaException;
+import com.rocksti.coopvote.exception.CooperativaSobrecarregadaException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CooperativaFilterTest {
+
+    private final List<Exception> rejeicoes = new ArrayList<>();
+    private CooperativaFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        CooperativaProperties propriedades = new CooperativaProperties();
+        propriedades.setHabilitado(true);
+        propriedades.getShards().put("a", new CooperativaProperties.Shard());
+        propriedades.getCooperativas().put("norte", cooperativa());
+        propriedades.getCooperativas().put("sul", cooperativa());
+        filtro = new CooperativaFilter(new Cooperativas(propriedades, "jpa"), propriedades,
+                (request, response, handler, ex) -> {
+                    rejeicoes.add(ex);
+                    return null;
+                });
+    }
+
+    @Test
+    void testAtendeRequisicaoNoContextoDaCooperativa() throws Exception {
+        String[] vista = new String[1];
+
+        filtro.doFilter(requisicao("norte"), new MockHttpServletResponse(), cadeia(() -> vista[0] = ContextoCooperativa.atual()));
+
+        assertThat(vista[0]).isEqualTo("norte");
+        assertThat(ContextoCooperativa.atual()).isNull();
+        assertThat(rejeicoes).isEmpty();
+    }
+
+    @Test
+    void testRejeitaRequisicaoSemCooperativa() throws Exception {
+        filtro.doFilter(requisicao(null), new MockHttpServletResponse(), cadeia(() -> {
+        }));
+
+        assertThat(rejeicoes).singleElement().isInstanceOf(CooperativaNaoInformadaException.class);
+    }
+
+    @Test
+    void testLimiteDeUmaCooperativaNaoAfetaAsDemais() throws Exception {
+        filtro.doFilter(requisicao("norte"), new MockHttpServletResponse(), cadeia(() -> {
+            executar(requisicao("norte"));
+            executar(requisicao("sul"));
+        }));
+
+        assertThat(rejeicoes).singleElement().isInstanceOf(CooperativaSobrecarregadaException.class);
+
+        rejeicoes.clear();
+        executar(requisicao("norte"));
+        assertThat(rejeicoes).as("a vaga é devolvida ao fim da requisição").isEmpty();
+    }
+
+    // Métodos auxiliares privados
+
+    private static CooperativaProperties.Cooperativa cooperativa() {
+        CooperativaProperties.Cooperativa cooperativa = new CooperativaProperties.Cooperativa();
+        cooperativa.setShard("a");
+        cooperativa.setLimiteRequisicoes(1);
+        return cooperativa;
+    }
+
+    private static MockHttpServletRequest requisicao(String cooperativa) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/pautas");
+        if (cooperativa != null) {
+            request.addHeader("X-Cooperativa", cooperativa);
+        }
+        return request;
+    }
+
+    private void executar(MockHttpServletRequest request) {
+        try {
+            filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockFilterChain cadeia(Runnable acao) {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                acao.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,160 @@
+package com.rocksti.coopvote.cooperativa;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rocksti.coopvote.dto.BuscaPautasDto;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.dto.VotoResponseDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "coopvote.cooperativas.habilitado=true",
+        "coopvote.cooperativas.shards.a.url=jdbc:h2:mem:shard_a_{cooperativa}",
+        "coopvote.cooperativas.shards.a.usuario=sa",
+        "coopvote.cooperativas.shards.b.url=jdbc:h2:mem:shard_b_{cooperativa}",
+        "coopvote.cooperativas.shards.b.usuario=sa",
+        "coopvote.cooperativas.shards.b.maximo-conexoes=4",
+        "coopvote.cooperativas.cooperativas.norte.shard=a",
+        "coopvote.cooperativas.cooperativas.sul.shard=b",
+        "spring.datasource.hikari.connection-timeout=4321",
+        "spring.datasource.hikari.minimum-idle=2",
+        "spring.datasource.hikari.data-source-properties.DB_CLOSE_DELAY=-1"
+})
+class CooperativaIT {
+
+    private static final String BASE_URL = "http://localhost:%d";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private Cooperativas cooperativas;
+
+    @Test
+    void testPautasSaoIsoladasPorCooperativa() {
+        Pauta pauta = cadastrarPauta("norte", "Eleição do conselho fiscal do norte");
+
+        ResponseEntity<Pauta> noSul = restTemplate.exchange(url("/api/v1/pautas/{id}"), HttpMethod.GET,
+                comCooperativa("sul", null), Pauta.class, pauta.getId());
+        ResponseEntity<Pauta> noNorte = restTemplate.exchange(url("/api/v1/pautas/{id}"), HttpMethod.GET,
+                comCooperativa("norte", null), Pauta.class, pauta.getId());
+
+        assertThat(noSul.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(noNorte.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<BuscaPautasDto> buscaNoSul = restTemplate.exchange(url("/api/v1/pautas/busca?q={q}"),
+                HttpMethod.GET, comCooperativa("sul", null), BuscaPautasDto.class, "conselho fiscal norte");
+        assertThat(buscaNoSul.getBody()).isNotNull().extracting(BuscaPautasDto::getTotal).isEqualTo(0L);
+    }
+
+    @Test
+    void testCooperativaInformadaNoCaminho() {
+        Pauta pauta = cadastrarPauta("sul", "Reforma do armazém do sul");
+
+        ResponseEntity<Pauta> response = restTemplate.getForEntity(url("/cooperativas/sul/api/v1/pautas/{id}"),
+                Pauta.class, pauta.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull().extracting(Pauta::getDescricao).isEqualTo("Reforma do armazém do sul");
+    }
+
+    @Test
+    void testVotoNaCooperativa() {
+        Pauta pauta = cadastrarPauta("norte", "Compra de colheitadeira");
+        restTemplate.exchange(url("/api/v1/pautas/{id}/abrir-sessao"), HttpMethod.POST, comCooperativa("norte", null),
+                Pauta.class, pauta.getId());
+        VotoDto voto = VotoDto.builder().pautaId(pauta.getId()).associadoId("1").tipoVoto(TipoVoto.SIM).build();
+
+        ResponseEntity<VotoResponseDto> response = restTemplate.exchange(url("/api/v1/votos"), HttpMethod.POST,
+                comCooperativa("norte", voto), VotoResponseDto.class);
+        ResponseEntity<ResultadoPautaDto> resultado = restTemplate.exchange(url("/api/v1/pautas/{id}/resultado"),
+                HttpMethod.GET, comCooperativa("norte", null), ResultadoPautaDto.class, pauta.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(resultado.getBody()).isNotNull().extracting(ResultadoPautaDto::getTotalVotos).isEqualTo(1L);
+    }
+
+    @Test
+    void testRequisicaoSemCooperativa() {
+        ResponseEntity<String> response = restTemplate.getForEntity(url("/api/v1/pautas"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("CooperativaNaoInformadaException");
+    }
+
+    @Test
+    void testCooperativaDesconhecida() {
+        ResponseEntity<String> response = restTemplate.exchange(url("/api/v1/pautas"), HttpMethod.GET,
+                comCooperativa("leste", null), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testMetricasPorCooperativa() {
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity(url("/api/v1/diagnostico/cooperativas"),
+                JsonNode.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .extracting(metricas -> metricas.get("cooperativa").asText(), metricas -> metricas.get("shard").asText(),
+                        metricas -> metricas.get("maximoConexoes").asInt())
+                .containsExactly(tuple("norte", "a", 10), tuple("sul", "b", 4));
+    }
+
+    @Test
+    void testPoolsDasCooperativasUsamAConfiguracaoHikariComum() {
+        HikariDataSource norte = cooperativas.buscar("norte").orElseThrow().getPool();
+        HikariDataSource sul = cooperativas.buscar("sul").orElseThrow().getPool();
+
+        assertThat(List.of(norte, sul)).allSatisfy(pool -> {
+            assertThat(pool.getConnectionTimeout()).isEqualTo(4321);
+            assertThat(pool.getMinimumIdle()).isEqualTo(2);
+            assertThat(pool.getDataSourceProperties()).containsEntry("DB_CLOSE_DELAY", "-1");
+        });
+        assertThat(norte.getPoolName()).isEqualTo("coopvote-norte");
+        assertThat(norte.getMaximumPoolSize()).as("o tamanho continua vindo do shard").isEqualTo(10);
+        assertThat(sul.getMaximumPoolSize()).isEqualTo(4);
+    }
+
+    // Métodos auxiliares privados
+
+    private Pauta cadastrarPauta(String cooperativa, String descricao) {
+        PautaDto pautaDto = PautaDto.builder().descricao(descricao).build();
+        ResponseEntity<Pauta> response = restTemplate.exchange(url("/api/v1/pautas"), HttpMethod.POST,
+                comCooperativa(cooperativa, pautaDto), Pauta.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    private String url(String caminho) {
+        return String.format(BASE_URL, port) + caminho;
+    }
+
+    private static <T> HttpEntity<T> comCooperativa(String cooperativa, T corpo) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Cooperativa", cooperativa);
+        return new HttpEntity<>(corpo, headers);
+    }
+}
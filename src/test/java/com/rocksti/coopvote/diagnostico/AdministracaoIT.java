@@ -0,0 +1,81 @@
+package com.rocksti.coopvote.diagnostico;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "coopvote.diagnostico.gravacao-continua=true",
+        "coopvote.diagnostico.porta-administracao=0",
+        "coopvote.diagnostico.token-administracao=segredo-de-teste"
+})
+class AdministracaoIT {
+
+    private static final String GRAVACAO = "/admin/diagnostico/gravacao";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PortaAdministracao portaAdministracao;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testGravacaoNaoServidaNaPortaPublica() {
+        ResponseEntity<String> comToken = baixar(url(port, GRAVACAO), "segredo-de-teste");
+        ResponseEntity<String> caminhoAntigo = baixar(url(port, "/api/v1/diagnostico/gravacao"), "segredo-de-teste");
+
+        assertThat(comToken.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(caminhoAntigo.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testGravacaoExigeOToken() {
+        String gravacao = url(portaAdministracao.getPorta(), GRAVACAO);
+
+        assertThat(baixar(gravacao, null).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(baixar(gravacao, "outro").getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        ResponseEntity<byte[]> copia = restTemplate.exchange(gravacao, HttpMethod.GET,
+                new HttpEntity<>(cabecalhos("segredo-de-teste")), byte[].class);
+        assertThat(copia.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(copia.getBody()).isNotEmpty();
+    }
+
+    @Test
+    void testPortaDeAdministracaoNaoServeAApi() {
+        assertThat(portaAdministracao.getPorta()).isPositive().isNotEqualTo(port);
+
+        ResponseEntity<String> pautas = baixar(url(portaAdministracao.getPorta(), "/api/v1/pautas"), null);
+
+        assertThat(pautas.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    // Métodos auxiliares privados
+
+    private ResponseEntity<String> baixar(String url, String token) {
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(cabecalhos(token)), String.class);
+    }
+
+    private static HttpHeaders cabecalhos(String token) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        if (token != null) {
+            cabecalhos.setBearerAuth(token);
+        }
+        return cabecalhos;
+    }
+
+    private static String url(int porta, String caminho) {
+        return "http://localhost:" + porta + caminho;
+    }
+}
@@ -0,0 +1,114 @@
+package com.rocksti.coopvote.diagnostico;
+
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class GravacaoContinuaTest {
+
+    @TempDir
+    private Path diretorio;
+
+    private GravacaoContinua gravacao;
+
+    @BeforeEach
+    void setUp() throws IOException, ParseException {
+        DiagnosticoProperties propriedades = new DiagnosticoProperties();
+        propriedades.setGravacaoContinua(true);
+        propriedades.setLimiteRegistroVoto(Duration.ZERO);
+        propriedades.setLimiteContagemVotos(Duration.ofHours(1));
+        gravacao = new GravacaoContinua(propriedades);
+        gravacao.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gravacao.encerrar();
+    }
+
+    @Test
+    void testCopiarEventosAcimaDoLimite() throws IOException {
+        RegistroVotoEvent registro = RegistroVotoEvent.iniciar(42L);
+        registro.buscaPautaConcluida();
+        registro.validacaoSessaoConcluida();
+        registro.rejeitado(new ConflictRequestException("Associado já votou nesta pauta"));
+        registro.encerrar();
+        ContagemVotosEvent contagem = ContagemVotosEvent.iniciar(42L);
+        contagem.setTotalVotos(10);
+        contagem.encerrar();
+        RejeicaoEvent.gravar(409, new ConflictRequestException("Associado já votou nesta pauta"), "POST", "/api/v1/votos");
+
+        List<RecordedEvent> eventos = copiarEventosDaAplicacao();
+
+        assertThat(eventos)
+                .as("Verifica se a contagem abaixo do limite de uma hora não é gravada")
+                .extracting(evento -> evento.getEventType().getName())
+                .containsExactlyInAnyOrder("coopvote.RegistroVoto", "coopvote.Rejeicao");
+        assertThat(eventos)
+                .filteredOn(evento -> evento.getEventType().getName().equals("coopvote.RegistroVoto"))
+                .extracting(evento -> evento.getLong("pautaId"), evento -> evento.getString("rejeicao"))
+                .containsExactly(tuple(42L, "ConflictRequestException"));
+        assertThat(eventos)
+                .filteredOn(evento -> evento.getEventType().getName().equals("coopvote.Rejeicao"))
+                .extracting(evento -> evento.getInt("status"), evento -> evento.getString("caminho"))
+                .containsExactly(tuple(409, "/api/v1/votos"));
+    }
+
+    @Test
+    void testCopiarSemInterromperAGravacao() throws IOException {
+        copiarEventosDaAplicacao();
+        RejeicaoEvent.gravar(404, new IllegalStateException(), "GET", "/api/v1/pautas/1");
+
+        assertThat(copiarEventosDaAplicacao())
+                .as("Verifica se a gravação continua ativa depois de uma cópia")
+                .extracting(evento -> evento.getInt("status"))
+                .contains(404);
+    }
+
+    @Test
+    void testCopiaSemVariaveisDeAmbienteNemPropriedadesDeSistema() throws IOException {
+        assertThat(copiarEventos())
+                .as("Verifica se a cópia não traz segredos do ambiente, das propriedades ou da linha de comando")
+                .extracting(evento -> evento.getEventType().getName())
+                .isNotEmpty()
+                .doesNotContainAnyElementsOf(GravacaoContinua.EVENTOS_SENSIVEIS);
+    }
+
+    @Test
+    void testDesabilitadaNaoIniciaAGravacao() throws IOException, ParseException {
+        GravacaoContinua desabilitada = new GravacaoContinua(new DiagnosticoProperties());
+        desabilitada.iniciar();
+
+        assertThat(desabilitada.isAtiva()).isFalse();
+        desabilitada.encerrar();
+    }
+
+    private List<RecordedEvent> copiarEventosDaAplicacao() throws IOException {
+        return copiarEventos().stream()
+                .filter(evento -> evento.getEventType().getName().startsWith("coopvote."))
+                .toList();
+    }
+
+    private List<RecordedEvent> copiarEventos() throws IOException {
+        Path arquivo = Files.createTempFile(diretorio, "copia-", ".jfr");
+        try (OutputStream saida = Files.newOutputStream(arquivo)) {
+            gravacao.copiar(saida);
+        }
+        return RecordingFile.readAllEvents(arquivo);
+    }
+}
@@ -0,0 +1,166 @@
+package com.rocksti.coopvote.elegibilidade;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.coopvote.exception.ElegibilidadeIndisponivelException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpElegibilidadeClientTest {
+
+    private ServidorElegibilidadeStub servidor;
+    private ElegibilidadeProperties propriedades;
+    private HttpElegibilidadeClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        servidor = new ServidorElegibilidadeStub();
+        propriedades = new ElegibilidadeProperties();
+        propriedades.setUrl(servidor.getUrl());
+        propriedades.setTimeout(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        servidor.close();
+    }
+
+    @Test
+    void testRespostaFicaEmCache() {
+        servidor.tornarInelegivel("22222222222");
+        iniciarClient();
+
+        assertThat(client.verificar("11111111111").join()).isTrue();
+        assertThat(client.verificar("22222222222").join()).isFalse();
+        assertThat(client.verificar("11111111111").join()).isTrue();
+        assertThat(client.verificar("22222222222").join()).isFalse();
+
+        assertThat(servidor.getAssociadosConsultados())
+                .as("Verifica se cada associado foi consultado uma única vez")
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testCacheCheioDescartaOConsultadoHaMaisTempo() {
+        propriedades.setTamanhoMaximoCache(2);
+        iniciarClient();
+
+        client.verificar("11111111111").join();
+        client.verificar("22222222222").join();
+        client.verificar("11111111111").join();
+        client.verificar("33333333333").join();
+        client.verificar("11111111111").join();
+        client.verificar("33333333333").join();
+        client.verificar("22222222222").join();
+
+        assertThat(servidor.getAssociadosConsultados())
+                .as("Verifica se apenas o associado consultado há mais tempo foi consultado de novo")
+                .isEqualTo(4);
+    }
+
+    @Test
+    void testInelegivelExpiraAntes() throws InterruptedException {
+        propriedades.setTtlNegativo(Duration.ofMillis(50));
+        servidor.tornarInelegivel("22222222222");
+        iniciarClient();
+
+        client.verificar("11111111111").join();
+        client.verificar("22222222222").join();
+        Thread.sleep(100);
+        client.verificar("11111111111").join();
+        client.verificar("22222222222").join();
+
+        assertThat(servidor.getAssociadosConsultados())
+                .as("Verifica se apenas o inelegível foi consultado de novo")
+                .isEqualTo(3);
+    }
+
+    @Test
+    void testConsultasSimultaneasSeguemEmLote() {
+        propriedades.setJanelaLote(Duration.ofMillis(50));
+        propriedades.setTamanhoLote(50);
+        iniciarClient();
+
+        List<CompletableFuture<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            resultados.add(client.verificar(String.format("%011d", i)));
+        }
+        resultados.add(client.verificar(String.format("%011d", 0)));
+        CompletableFuture.allOf(resultados.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(resultados).allSatisfy(resultado -> assertThat(resultado.join()).isTrue());
+        assertThat(servidor.getRequisicoes())
+                .as("Verifica se 100 associados seguiram em 2 requisições")
+                .isEqualTo(2);
+        assertThat(servidor.getAssociadosConsultados())
+                .as("Verifica se o associado repetido não foi consultado duas vezes")
+                .isEqualTo(100);
+    }
+
+    @Test
+    void testTempoLimiteComPoliticaPermitir() {
+        propriedades.setTimeout(Duration.ofMillis(300));
+        servidor.setAtraso(Duration.ofSeconds(2));
+        iniciarClient();
+
+        long inicio = System.nanoTime();
+        assertThat(client.verificar("11111111111").join()).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofMillis(1500));
+    }
+
+    @Test
+    void testTempoLimiteComPoliticaNegar() {
+        propriedades.setPoliticaFalha(ElegibilidadeProperties.PoliticaFalha.NEGAR);
+        propriedades.setTimeout(Duration.ofMillis(300));
+        servidor.setAtraso(Duration.ofSeconds(2));
+        iniciarClient();
+
+        assertThatThrownBy(() -> client.verificar("11111111111").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ElegibilidadeIndisponivelException.class);
+    }
+
+    @Test
+    void testCircuitoAbreEFechaAposTentativa() throws InterruptedException {
+        propriedades.setPoliticaFalha(ElegibilidadeProperties.PoliticaFalha.NEGAR);
+        propriedades.setFalhasParaAbrir(2);
+        propriedades.setTempoAberto(Duration.ofMillis(200));
+        servidor.setIndisponivel(true);
+        iniciarClient();
+
+        for (int i = 1; i <= 2; i++) {
+            String associadoId = String.format("%011d", i);
+            assertThatThrownBy(() -> client.verificar(associadoId).join())
+                    .hasCauseInstanceOf(ElegibilidadeIndisponivelException.class);
+        }
+        assertThat(client.getEstadoCircuito()).isEqualTo(Disjuntor.Estado.ABERTO);
+
+        assertThatThrownBy(() -> client.verificar("33333333333").join())
+                .hasCauseInstanceOf(ElegibilidadeIndisponivelException.class);
+        assertThat(servidor.getRequisicoes())
+                .as("Verifica se o circuito aberto não chamou o serviço")
+                .isEqualTo(2);
+
+        servidor.setIndisponivel(false);
+        Thread.sleep(250);
+        assertThat(client.verificar("33333333333").join()).isTrue();
+        assertThat(client.getEstadoCircuito()).isEqualTo(Disjuntor.Estado.FECHADO);
+    }
+
+    private void iniciarClient() {
+        client = new HttpElegibilidadeClient(propriedades, new ObjectMapper());
+    }
+}
@@ -0,0 +1,105 @@
+package com.rocksti.coopvote.elegibilidade;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serviço de cadastro de associados local, para testes e benchmarks da consulta de elegibilidade.
+ * <p>
+ * Responde no protocolo de {@link HttpElegibilidadeClient}: todo CPF é elegível, exceto os marcados com
+ * {@link #tornarInelegivel(String)}. É possível simular lentidão e indisponibilidade.
+ */
+public class ServidorElegibilidadeStub implements AutoCloseable {
+
+    private static final TypeReference<List<String>> TIPO_REQUISICAO = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<String> inelegiveis = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requisicoes = new AtomicInteger();
+    private final AtomicInteger associadosConsultados = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer servidor;
+
+    private volatile Duration atraso = Duration.ZERO;
+    private volatile boolean indisponivel;
+
+    public ServidorElegibilidadeStub() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        servidor.createContext("/elegibilidade", this::responder);
+        servidor.setExecutor(executor);
+        servidor.start();
+    }
+
+    public URI getUrl() {
+        return URI.create("http://localhost:" + servidor.getAddress().getPort() + "/elegibilidade");
+    }
+
+    public void tornarInelegivel(String associadoId) {
+        inelegiveis.add(associadoId);
+    }
+
+    public void setAtraso(Duration atraso) {
+        this.atraso = atraso;
+    }
+
+    public void setIndisponivel(boolean indisponivel) {
+        this.indisponivel = indisponivel;
+    }
+
+    public int getRequisicoes() {
+        return requisicoes.get();
+    }
+
+    public int getAssociadosConsultados() {
+        return associadosConsultados.get();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        try (troca) {
+            requisicoes.incrementAndGet();
+            List<String> associados = objectMapper.readValue(troca.getRequestBody(), TIPO_REQUISICAO);
+            associadosConsultados.addAndGet(associados.size());
+            if (!atraso.isZero()) {
+                Thread.sleep(atraso);
+            }
+            if (indisponivel) {
+                troca.sendResponseHeaders(503, -1);
+                return;
+            }
+            Map<String, Boolean> resposta = new LinkedHashMap<>();
+            associados.forEach(associadoId -> resposta.put(associadoId, !inelegiveis.contains(associadoId)));
+            byte[] corpo = objectMapper.writeValueAsBytes(resposta);
+            troca.getResponseHeaders().set("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+}
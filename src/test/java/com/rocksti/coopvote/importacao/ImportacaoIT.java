@@ -0,0 +1,249 @@
+package com.rocksti.coopvote.importacao;
+
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.ResultadoOpcaoDto;
+import com.rocksti.coopvote.entity.Importacao;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.FormatoImportacao;
+import com.rocksti.coopvote.enums.SituacaoImportacao;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.repository.ImportacaoRepository;
+import com.rocksti.coopvote.service.ImportacaoService;
+import com.rocksti.coopvote.service.PautaService;
+import com.rocksti.coopvote.store.VoteStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:importacao",
+        "coopvote.importacao.tamanho-lote=2"})
+class ImportacaoIT {
+
+    private static Path diretorio;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private ImportacaoRepository importacaoRepository;
+
+    @Autowired
+    private PautaService pautaService;
+
+    @Autowired
+    private VoteStore voteStore;
+
+    @DynamicPropertySource
+    static void configurarDiretorio(DynamicPropertyRegistry registry) throws IOException {
+        diretorio = Files.createTempDirectory("coopvote-importacao");
+        registry.add("coopvote.importacao.diretorio", diretorio::toString);
+    }
+
+    @Test
+    void testImportarCsvComRejeicoes() throws Exception {
+        Pauta pauta = novaPautaComSessao(PautaDto.builder().descricao("Pauta da assembleia").build());
+        voteStore.registrarVoto(pauta.getId(), "33333333333", TipoVoto.NAO.getCodigo(), LocalDateTime.now());
+        String csv = """
+                associadoId,tipoVoto
+                11111111111,SIM
+                22222222222,NAO
+                33333333333,SIM
+                11111111111,NAO
+                44444444444,TALVEZ
+                ,SIM
+                55555555555,"NÃO"
+                """;
+
+        Importacao importacao = aguardarTermino(importacaoService.iniciar(pauta.getId(), FormatoImportacao.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), LocalDateTime.now()).getId());
+
+        assertThat(importacao.getSituacao()).isEqualTo(SituacaoImportacao.CONCLUIDA);
+        assertThat(importacao.getLinhasProcessadas()).isEqualTo(8);
+        assertThat(importacao.getBytesProcessados()).isEqualTo(csv.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(importacao.getVotosAceitos()).isEqualTo(3);
+        assertThat(importacao.getVotosRejeitados()).isEqualTo(4);
+        assertThat(votos(pauta)).as("Verifica se os votos aceitos somaram ao voto já registrado").containsExactly(1L, 3L);
+        assertThat(rejeicoes(importacao)).containsExactly(
+                "linha,associadoId,motivo",
+                "4,33333333333,Associado já votou nesta pauta",
+                "5,11111111111,Associado já votou nesta pauta",
+                "6,44444444444,Opção de voto inválida para esta pauta",
+                "7,,Associado não informado");
+        assertThat(diretorio.resolve("importacao-" + importacao.getId() + ".csv"))
+                .as("Verifica se o arquivo recebido é removido ao fim da importação")
+                .doesNotExist();
+    }
+
+    @Test
+    void testImportarNdjsonEmPautaComOpcoes() throws Exception {
+        Pauta pauta = novaPautaComSessao(PautaDto.builder()
+                .descricao("Eleição do conselho")
+                .opcoes(List.of("Chapa 1", "Chapa 2", "Abstenção"))
+                .build());
+        String ndjson = """
+                {"associadoId": "11111111111", "opcao": 2}
+                {"associadoId": "22222222222", "opcao": "chapa 1"}
+                {"associadoId": "33333333333", "tipoVoto": "SIM"}
+                {"associadoId": "44444444444", "opcao": 3}
+                {"associadoId": "55555555555", "opcao": 
+                {"associadoId": "66666666666", "opcao": "Abstenção"}
+                """;
+
+        Importacao importacao = aguardarTermino(importacaoService.iniciar(pauta.getId(), FormatoImportacao.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), LocalDateTime.now()).getId());
+
+        assertThat(importacao.getVotosAceitos()).isEqualTo(3);
+        assertThat(votos(pauta)).containsExactly(1L, 0L, 2L);
+        assertThat(rejeicoes(importacao)).containsExactly(
+                "linha,associadoId,motivo",
+                "3,33333333333,Opção de voto inválida para esta pauta",
+                "4,44444444444,Opção de voto inválida para esta pauta",
+                "5,,Linha não é um objeto JSON válido");
+    }
+
+    @Test
+    void testRetomarImportacaoInterrompida() throws Exception {
+        Pauta pauta = novaPautaComSessao(PautaDto.builder().descricao("Pauta retomada").build());
+        String csv = "11111111111,SIM\n22222222222,SIM\n33333333333,NAO\n11111111111,NAO\n";
+        long fimSegundaLinha = "11111111111,SIM\n22222222222,SIM\n".length();
+        // Estado deixado por uma queda após o primeiro lote: votos e progresso gravados, e um trecho do relatório de
+        // um segundo lote cuja transação foi desfeita.
+        voteStore.registrarVoto(pauta.getId(), "11111111111", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+        voteStore.registrarVoto(pauta.getId(), "22222222222", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+        String cabecalho = "linha,associadoId,motivo\n";
+        Importacao interrompida = importacaoRepository.save(Importacao.builder()
+                .pautaId(pauta.getId())
+                .formato(FormatoImportacao.CSV)
+                .situacao(SituacaoImportacao.PROCESSANDO)
+                .criadaEm(LocalDateTime.now())
+                .tamanhoArquivo(csv.length())
+                .bytesProcessados(fimSegundaLinha)
+                .linhasProcessadas(2)
+                .votosAceitos(2)
+                .tamanhoRelatorio(cabecalho.length())
+                .build());
+        Files.writeString(diretorio.resolve("importacao-" + interrompida.getId() + ".csv"), csv);
+        Files.writeString(diretorio.resolve("importacao-" + interrompida.getId() + "-rejeicoes.csv"),
+                cabecalho + "4,11111111111,Lote desfeito\n");
+
+        importacaoService.retomarPendentes();
+        Importacao importacao = aguardarTermino(interrompida.getId());
+
+        assertThat(importacao.getSituacao()).isEqualTo(SituacaoImportacao.CONCLUIDA);
+        assertThat(importacao.getVotosAceitos()).isEqualTo(3);
+        assertThat(votos(pauta)).as("Verifica se as linhas já gravadas não foram importadas de novo").containsExactly(2L, 1L);
+        assertThat(rejeicoes(importacao)).containsExactly(
+                "linha,associadoId,motivo",
+                "4,11111111111,Associado já votou nesta pauta");
+    }
+
+    @Test
+    void testImportarEmPautaSemSessao() {
+        Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta sem sessão").build());
+
+        assertThatThrownBy(() -> importacaoService.iniciar(pauta.getId(), FormatoImportacao.CSV,
+                new ByteArrayInputStream(new byte[0]), LocalDateTime.now()))
+                .isInstanceOf(ConflictRequestException.class)
+                .hasMessage("A sessão de votação desta pauta ainda não foi aberta");
+    }
+
+    @Test
+    void testImportarPelaApi() throws Exception {
+        Pauta pauta = novaPautaComSessao(PautaDto.builder().descricao("Pauta pela API").build());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv; charset=UTF-8"));
+
+        ResponseEntity<Importacao> resposta = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/v1/importacoes?pautaId={pautaId}",
+                new HttpEntity<>("associadoId,opcao\n11111111111,0\n22222222222,9\n", headers),
+                Importacao.class, pauta.getId());
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(resposta.getHeaders().getLocation()).isNotNull();
+        assert resposta.getBody() != null;
+        aguardarTermino(resposta.getBody().getId());
+        ResponseEntity<Importacao> progresso = restTemplate.getForEntity(
+                "http://localhost:" + port + resposta.getHeaders().getLocation(), Importacao.class);
+        ResponseEntity<String> relatorio = restTemplate.getForEntity(
+                "http://localhost:" + port + resposta.getHeaders().getLocation() + "/rejeicoes", String.class);
+        ResponseEntity<String> formatoInvalido = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/v1/importacoes?pautaId={pautaId}",
+                new HttpEntity<>("{}", jsonHeaders()), String.class, pauta.getId());
+
+        assert progresso.getBody() != null;
+        assertThat(progresso.getBody().getSituacao()).isEqualTo(SituacaoImportacao.CONCLUIDA);
+        assertThat(progresso.getBody().getVotosAceitos()).isEqualTo(1);
+        assertThat(relatorio.getBody()).isEqualTo("linha,associadoId,motivo\n3,22222222222,Opção de voto inválida para esta pauta\n");
+        assertThat(formatoInvalido.getStatusCode())
+                .as("Verifica se tipos de conteúdo fora de CSV e NDJSON são recusados")
+                .isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    // Métodos auxiliares
+
+    private Pauta novaPautaComSessao(PautaDto pautaDto) {
+        Pauta pauta = pautaService.cadastrarPauta(pautaDto);
+        return pautaService.abrirSessao(pauta.getId(), 5L);
+    }
+
+    private Importacao aguardarTermino(Long importacaoId) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        Importacao importacao = importacaoService.buscarPorId(importacaoId);
+        while (importacao.getSituacao() != SituacaoImportacao.CONCLUIDA
+                && importacao.getSituacao() != SituacaoImportacao.FALHA) {
+            if (System.nanoTime() > limite) {
+                fail("Importação " + importacaoId + " não terminou: " + importacao.getSituacao());
+            }
+            Thread.sleep(20);
+            importacao = importacaoService.buscarPorId(importacaoId);
+        }
+        return importacao;
+    }
+
+    private List<Long> votos(Pauta pauta) {
+        return pautaService.buscarResultado(pauta.getId()).getOpcoes().stream().map(ResultadoOpcaoDto::getVotos).toList();
+    }
+
+    private List<String> rejeicoes(Importacao importacao) throws IOException {
+        ByteArrayOutputStream relatorio = new ByteArrayOutputStream();
+        importacaoService.exportarRejeicoes(importacao.getId(), relatorio);
+        return relatorio.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
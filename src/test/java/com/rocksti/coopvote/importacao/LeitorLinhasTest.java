@@ -0,0 +1,82 @@
+package com.rocksti.coopvote.importacao;
+
+import com.rocksti.coopvote.importacao.LeitorLinhas.Linha;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LeitorLinhasTest {
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void testLerLinhasComPosicaoDeCadaFim() throws IOException {
+        Path arquivo = gravar("\uFEFFassociadoId,opcao\r\n11111111111,SIM\n\n22222222222,NÃO");
+
+        List<Linha> linhas = lerTudo(arquivo, 0, 100);
+
+        assertThat(linhas).extracting(Linha::texto)
+                .as("Verifica se a marca de ordem de bytes, o \\r e a última linha sem separador são tratados")
+                .containsExactly("associadoId,opcao", "11111111111,SIM", "", "22222222222,NÃO");
+        assertThat(linhas.getLast().fim()).isEqualTo(Files.size(arquivo));
+    }
+
+    @Test
+    void testContinuarDaPosicaoDeUmaLinha() throws IOException {
+        Path arquivo = gravar("11111111111,SIM\n22222222222,NÃO\n33333333333,SIM\n");
+        long fimPrimeira;
+        try (LeitorLinhas leitor = LeitorLinhas.abrir(arquivo, 0, 100)) {
+            fimPrimeira = leitor.proxima().fim();
+        }
+
+        assertThat(lerTudo(arquivo, fimPrimeira, 100)).extracting(Linha::texto)
+                .containsExactly("22222222222,NÃO", "33333333333,SIM");
+    }
+
+    @Test
+    void testDescartarLinhaMaiorQueOLimite() throws IOException {
+        Path arquivo = gravar("1,SIM\n" + "9".repeat(200_000) + ",SIM\n2,NAO\n");
+
+        List<Linha> linhas = lerTudo(arquivo, 0, 64);
+
+        assertThat(linhas).extracting(Linha::texto, Linha::muitoLonga)
+                .as("Verifica se a linha longa é sinalizada e a leitura continua na linha seguinte")
+                .containsExactly(
+                        tuple("1,SIM", false),
+                        tuple(null, true),
+                        tuple("2,NAO", false));
+    }
+
+    @Test
+    void testLinhaNoLimiteComFimDeLinhaWindows() throws IOException {
+        Path arquivo = gravar("1234,SIM\r\n");
+
+        assertThat(lerTudo(arquivo, 0, 8)).extracting(Linha::texto).containsExactly("1234,SIM");
+    }
+
+    // Métodos auxiliares
+
+    private Path gravar(String conteudo) throws IOException {
+        return Files.writeString(diretorio.resolve("votos.csv"), conteudo, StandardCharsets.UTF_8);
+    }
+
+    private static List<Linha> lerTudo(Path arquivo, long posicao, int tamanhoMaximoLinha) throws IOException {
+        List<Linha> linhas = new ArrayList<>();
+        try (LeitorLinhas leitor = LeitorLinhas.abrir(arquivo, posicao, tamanhoMaximoLinha)) {
+            for (Linha linha = leitor.proxima(); linha != null; linha = leitor.proxima()) {
+                linhas.add(linha);
+            }
+        }
+        return linhas;
+    }
+}
@@ -0,0 +1,82 @@
+package com.rocksti.coopvote.integration;
+
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.dto.VotoResponseDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.store.VoteStore;
+import com.rocksti.coopvote.store.log.LogVoteStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe a aplicação com o perfil {@code edge}, sem banco de dados, e percorre o fluxo de votação pela API.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("edge")
+class EdgeVotoIT {
+
+    private static final String BASE_URL = "http://localhost:%d/api/v1";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @DynamicPropertySource
+    static void configurarDiretorio(DynamicPropertyRegistry registry) throws IOException {
+        String diretorio = Files.createTempDirectory("coopvote-edge").toString();
+        registry.add("coopvote.store.log.diretorio", () -> diretorio);
+    }
+
+    @Test
+    void testVotarSemBancoDeDados() {
+        assertThat(contexto.getBean(VoteStore.class))
+                .as("Verifica se o armazenamento em log foi escolhido")
+                .isInstanceOf(LogVoteStore.class);
+        assertThat(contexto.getBeanNamesForType(DataSource.class))
+                .as("Verifica se nenhum DataSource foi configurado")
+                .isEmpty();
+
+        String pautas = String.format(BASE_URL + "/pautas", port);
+        Pauta pauta = restTemplate.postForEntity(pautas, PautaDto.builder().descricao("Pauta da filial").build(), Pauta.class).getBody();
+        assert pauta != null;
+        restTemplate.postForEntity(pautas + "/{pautaId}/abrir-sessao", null, Pauta.class, pauta.getId());
+
+        String votos = String.format(BASE_URL + "/votos", port);
+        VotoDto votoDto = VotoDto.builder().pautaId(pauta.getId()).associadoId("1").tipoVoto(TipoVoto.SIM).build();
+        ResponseEntity<VotoResponseDto> responseVoto = restTemplate.postForEntity(votos, votoDto, VotoResponseDto.class);
+        ResponseEntity<VotoResponseDto> responseDuplicado = restTemplate.postForEntity(votos, votoDto, VotoResponseDto.class);
+        ResponseEntity<String> responseContagem = restTemplate.getForEntity(pautas + "/resultado/{pautaId}", String.class, pauta.getId());
+
+        assertThat(responseVoto.getStatusCode())
+                .as("Verifica se o status da resposta é 201 CREATED")
+                .isEqualTo(HttpStatus.CREATED);
+        assertThat(responseDuplicado.getStatusCode())
+                .as("Verifica se o status da resposta é 409 CONFLICT")
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(responseContagem.getBody())
+                .as("Verifica se a contagem de votos está correta")
+                .contains("SIM = 1, NÃO = 0");
+    }
+}
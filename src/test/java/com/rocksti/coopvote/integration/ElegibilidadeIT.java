@@ -0,0 +1,84 @@
+package com.rocksti.coopvote.integration;
+
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.elegibilidade.ServidorElegibilidadeStub;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registra votos pela API com a consulta de elegibilidade apontando para o serviço de cadastro local.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:elegibilidade")
+class ElegibilidadeIT {
+
+    private static final String BASE_URL = "http://localhost:%d/api/v1";
+    private static final ServidorElegibilidadeStub SERVIDOR = iniciarServidor();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void configurarElegibilidade(DynamicPropertyRegistry registry) {
+        registry.add("coopvote.elegibilidade.url", SERVIDOR::getUrl);
+    }
+
+    @AfterAll
+    static void encerrarServidor() {
+        SERVIDOR.close();
+    }
+
+    @Test
+    void testAssociadoInelegivelNaoVota() {
+        SERVIDOR.tornarInelegivel("22222222222");
+        String pautas = String.format(BASE_URL + "/pautas", port);
+        Pauta pauta = restTemplate.postForEntity(pautas, PautaDto.builder().descricao("Pauta com cadastro").build(), Pauta.class).getBody();
+        assert pauta != null;
+        restTemplate.postForEntity(pautas + "/{pautaId}/abrir-sessao", null, Pauta.class, pauta.getId());
+
+        String votos = String.format(BASE_URL + "/votos", port);
+        ResponseEntity<String> responseElegivel = restTemplate.postForEntity(votos,
+                VotoDto.builder().pautaId(pauta.getId()).associadoId("11111111111").tipoVoto(TipoVoto.SIM).build(), String.class);
+        ResponseEntity<String> responseInelegivel = restTemplate.postForEntity(votos,
+                VotoDto.builder().pautaId(pauta.getId()).associadoId("22222222222").tipoVoto(TipoVoto.NAO).build(), String.class);
+        ResponseEntity<String> responseContagem = restTemplate.getForEntity(pautas + "/resultado/{pautaId}", String.class, pauta.getId());
+
+        assertThat(responseElegivel.getStatusCode())
+                .as("Verifica se o status da resposta é 201 CREATED")
+                .isEqualTo(HttpStatus.CREATED);
+        assertThat(responseInelegivel.getStatusCode())
+                .as("Verifica se o status da resposta é 403 FORBIDDEN")
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(responseInelegivel.getBody()).contains("Associado não está apto a votar");
+        assertThat(responseContagem.getBody())
+                .as("Verifica se apenas o voto elegível foi contado")
+                .contains("SIM = 1, NÃO = 0");
+    }
+
+    private static ServidorElegibilidadeStub iniciarServidor() {
+        try {
+            return new ServidorElegibilidadeStub();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
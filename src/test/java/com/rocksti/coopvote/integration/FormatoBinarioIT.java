@@ -0,0 +1,123 @@
+package com.rocksti.coopvote.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registra votos e consulta resultados em CBOR e Smile, com o JSON continuando como formato padrão.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:formato_binario")
+class FormatoBinarioIT {
+
+    private static final String BASE_URL = "http://localhost:%d/api/v1";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private Pauta pauta;
+
+    @BeforeEach
+    void abrirPauta() {
+        pauta = restTemplate.postForEntity(url("/pautas"), PautaDto.builder().descricao("Pauta dos quiosques").build(),
+                Pauta.class).getBody();
+        assertThat(pauta).isNotNull();
+        restTemplate.postForEntity(url("/pautas/{pautaId}/abrir-sessao"), null, Pauta.class, pauta.getId());
+    }
+
+    @Test
+    void testVotoEmCbor() throws IOException {
+        byte[] corpo = cbor.writeValueAsBytes(VotoDto.builder().pautaId(pauta.getId()).associadoId("30000000001")
+                .tipoVoto(TipoVoto.SIM).build());
+
+        ResponseEntity<byte[]> response = enviar(HttpMethod.POST, "/votos", MediaType.APPLICATION_CBOR, corpo);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        JsonNode voto = cbor.readTree(response.getBody());
+        assertThat(voto.get("pautaId").asLong()).isEqualTo(pauta.getId());
+        assertThat(voto.get("associadoId").asText()).isEqualTo("30000000001");
+        assertThat(voto.get("tipoVoto").asText()).isEqualTo("SIM");
+        assertThat(voto.get("registradoEm").isTextual()).as("datas como no JSON").isTrue();
+    }
+
+    @Test
+    void testErroDeValidacaoNoFormatoPedido() throws IOException {
+        byte[] corpo = cbor.writeValueAsBytes(VotoDto.builder().pautaId(pauta.getId()).associadoId("30000000002")
+                .opcao(7).build());
+
+        ResponseEntity<byte[]> response = enviar(HttpMethod.POST, "/votos", MediaType.APPLICATION_CBOR, corpo);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(cbor.readTree(response.getBody()).toString()).contains("Opção de voto inválida");
+    }
+
+    @Test
+    void testResultadosEmSmile() throws IOException {
+        byte[] corpo = smile.writeValueAsBytes(List.of(pauta.getId()));
+
+        ResponseEntity<byte[]> response = enviar(HttpMethod.POST, "/pautas/resultados", SMILE, corpo);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(SMILE);
+        JsonNode resultado = smile.readTree(response.getBody()).get("resultados").get(0);
+        assertThat(resultado.get("pautaId").asLong()).isEqualTo(pauta.getId());
+        assertThat(resultado.get("opcoes")).hasSize(2);
+    }
+
+    @Test
+    void testJsonContinuaPadrao() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.ALL));
+
+        ResponseEntity<String> response = restTemplate.exchange(url("/pautas/{pautaId}/resultado"), HttpMethod.GET,
+                new HttpEntity<>(headers), String.class, pauta.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    // Métodos auxiliares privados
+
+    private ResponseEntity<byte[]> enviar(HttpMethod metodo, String caminho, MediaType formato, byte[] corpo) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(formato);
+        headers.setAccept(List.of(formato));
+        return restTemplate.exchange(url(caminho), metodo, new HttpEntity<>(corpo, headers), byte[].class);
+    }
+
+    private String url(String caminho) {
+        return String.format(BASE_URL, port) + caminho;
+    }
+}
@@ -0,0 +1,133 @@
+package com.rocksti.coopvote.integration;
+
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.repository.ContadorSql;
+import com.rocksti.coopvote.repository.OrcamentoSql;
+import com.rocksti.coopvote.repository.PautaRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe a aplicação com o perfil {@code producao} sobre o H2, que ignora as propriedades do driver MySQL.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:producao")
+@ActiveProfiles("producao")
+@Import(ContadorSql.Configuracao.class)
+class PerfilProducaoIT {
+
+    private static final String BASE_URL = "http://localhost:%d/api/v1";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PautaRepository pautaRepository;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Test
+    void testPoolEDriverConfigurados() throws SQLException {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(16);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(16);
+        assertThat(hikari.getDataSourceProperties())
+                .containsEntry("rewriteBatchedStatements", "true")
+                .containsEntry("useServerPrepStmts", "true")
+                .containsEntry("cachePrepStmts", "true");
+    }
+
+    @Test
+    void testHibernateEmLotes() {
+        SessionFactoryOptions opcoes = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions();
+
+        assertThat(opcoes.getJdbcBatchSize()).isEqualTo(50);
+        assertThat(opcoes.isOrderInsertsEnabled()).isTrue();
+        assertThat(opcoes.isOrderUpdatesEnabled()).isTrue();
+    }
+
+    @Test
+    void testOpcoesDaPautaGravadasEmUmLote() {
+        PautaDto pautaDto = PautaDto.builder()
+                .descricao("Eleição do conselho")
+                .opcoes(List.of("Chapa 1", "Chapa 2", "Chapa 3", "Chapa 4", "Chapa 5"))
+                .build();
+
+        ResponseEntity<Pauta> response = OrcamentoSql.instrucoes(2).linhas(0)
+                .verificar(() -> restTemplate.postForEntity(url("/pautas"), pautaDto, Pauta.class));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(pautaRepository.findOpcoesById(response.getBody().getId()))
+                .containsExactly("Chapa 1", "Chapa 2", "Chapa 3", "Chapa 4", "Chapa 5");
+    }
+
+    @Test
+    void testConexaoNaoFicaPresaAteOFimDaRequisicao() throws SQLException {
+        assertThat(contexto.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+
+        Pauta pauta = restTemplate.postForEntity(url("/pautas"),
+                PautaDto.builder().descricao("Compra de trator").build(), Pauta.class).getBody();
+        restTemplate.postForEntity(url("/pautas/{id}/abrir-sessao"), null, Pauta.class, pauta.getId());
+        ResponseEntity<String> voto = restTemplate.postForEntity(url("/votos"),
+                VotoDto.builder().pautaId(pauta.getId()).associadoId("1").tipoVoto(TipoVoto.SIM).build(), String.class);
+        ResponseEntity<Pauta[]> pautas = restTemplate.getForEntity(url("/pautas"), Pauta[].class);
+
+        assertThat(voto.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(pautas.getBody()).extracting(Pauta::getId).contains(pauta.getId());
+        assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+    @Test
+    void testPautaCarregadaComAsOpcoesForaDaTransacao() {
+        Long pautaId = restTemplate.postForEntity(url("/pautas"),
+                PautaDto.builder().descricao("Reforma da sede").build(), Pauta.class).getBody().getId();
+
+        Pauta pauta = pautaRepository.findById(pautaId).orElseThrow();
+        List<Pauta> todas = pautaRepository.findAll();
+
+        assertThat(Hibernate.isInitialized(pauta.getOpcoes())).isTrue();
+        assertThat(Hibernate.isInitialized(pauta.getVotos())).as("votos ficam fora da resposta").isFalse();
+        assertThat(todas).allSatisfy(encontrada -> assertThat(Hibernate.isInitialized(encontrada.getOpcoes())).isTrue());
+    }
+
+    // Métodos auxiliares privados
+
+    private String url(String caminho) {
+        return String.format(BASE_URL, port) + caminho;
+    }
+}
@@ -1,10 +1,18 @@
 package com.rocksti.coopvote.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rocksti.coopvote.dto.BuscaPautasDto;
 import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.PautaEncontradaDto;
+import com.rocksti.coopvote.dto.ResultadoOpcaoDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.ResultadosPautasDto;
 import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.dto.VotoResponseDto;
 import com.rocksti.coopvote.entity.Pauta;
-import com.rocksti.coopvote.entity.Voto;
 import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.repository.ContadorSql;
+import com.rocksti.coopvote.repository.OrcamentoSql;
 import org.junit.jupiter.api.ClassOrderer;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Nested;
@@ -16,12 +24,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(ContadorSql.Configuracao.class)
 @TestClassOrder(ClassOrderer.OrderAnnotation.class)
 class VotoControllerIT {
 
@@ -45,6 +60,14 @@ class VotoControllerIT {
             return String.format(BASE_URL + "/votos", port);
         }
 
+        private String baseUrlAssociados() {
+            return String.format(BASE_URL + "/associados", port);
+        }
+
+        private String baseUrlAnalises() {
+            return String.format(BASE_URL + "/analises", port);
+        }
+
 
         @Test
         @Order(1)
@@ -53,7 +76,8 @@ class VotoControllerIT {
                     .descricao("Pauta de teste")
                     .build();
 
-            ResponseEntity<Pauta> response = restTemplate.postForEntity(baseUrlPautas(), pautaDto, Pauta.class);
+            ResponseEntity<Pauta> response = OrcamentoSql.instrucoes(3).linhas(0)
+                    .verificar(() -> restTemplate.postForEntity(baseUrlPautas(), pautaDto, Pauta.class));
 
             assertThat(response.getStatusCode())
                     .as("Verifica se o status da resposta é 201 CREATED")
@@ -75,7 +99,8 @@ class VotoControllerIT {
             Pauta pauta = response.getBody();
 
             assert pauta != null;
-            ResponseEntity<Pauta> responseSessao = restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, pauta.getId());
+            ResponseEntity<Pauta> responseSessao = OrcamentoSql.instrucoes(2).linhas(2).verificar(() ->
+                    restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, pauta.getId()));
 
             assertThat(responseSessao.getStatusCode())
                     .as("Verifica se o status da resposta é 200 OK")
@@ -89,7 +114,10 @@ class VotoControllerIT {
         @Test
         @Order(3)
         void testAbrirSessaoNaoEncontrada() {
-            ResponseEntity<Pauta> responseSessao = restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, 9999);
+            // A abertura condicional não altera nenhuma linha, e a consulta seguinte distingue pauta inexistente de
+            // sessão já aberta
+            ResponseEntity<Pauta> responseSessao = OrcamentoSql.instrucoes(2).linhas(1).verificar(() ->
+                    restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, 9999));
 
             assertThat(responseSessao.getStatusCode())
                     .as("Verifica se o status da resposta é 404 NOT FOUND")
@@ -99,7 +127,9 @@ class VotoControllerIT {
         @Test
         @Order(4)
         void testListarPautas() {
-            ResponseEntity<Pauta[]> response = restTemplate.getForEntity(baseUrlPautas(), Pauta[].class);
+            // Uma consulta com as opções, qualquer que seja a quantidade de pautas
+            ResponseEntity<Pauta[]> response = OrcamentoSql.instrucoes(1)
+                    .verificar(() -> restTemplate.getForEntity(baseUrlPautas(), Pauta[].class));
 
             assertThat(response.getStatusCode())
                     .as("Verifica se o status da resposta é 200 OK")
@@ -120,7 +150,8 @@ class VotoControllerIT {
             Pauta pauta = response.getBody();
 
             assert pauta != null;
-            ResponseEntity<Pauta> responsePauta = restTemplate.getForEntity(baseUrlPautas() + "/{pautaId}", Pauta.class, pauta.getId());
+            ResponseEntity<Pauta> responsePauta = OrcamentoSql.instrucoes(1).linhas(2).verificar(() ->
+                    restTemplate.getForEntity(baseUrlPautas() + "/{pautaId}", Pauta.class, pauta.getId()));
 
             assertThat(responsePauta.getStatusCode())
                     .as("Verifica se o status da resposta é 200 OK")
@@ -133,7 +164,8 @@ class VotoControllerIT {
         @Test
         @Order(6)
         void testBuscarPautaPorIdNaoEncontrada() {
-            ResponseEntity<Pauta> responsePauta = restTemplate.getForEntity(baseUrlPautas() + "/{pautaId}", Pauta.class, 9999);
+            ResponseEntity<Pauta> responsePauta = OrcamentoSql.instrucoes(1).linhas(0).verificar(() ->
+                    restTemplate.getForEntity(baseUrlPautas() + "/{pautaId}", Pauta.class, 9999));
 
             assertThat(responsePauta.getStatusCode())
                     .as("Verifica se o status da resposta é 404 NOT FOUND")
@@ -159,15 +191,21 @@ class VotoControllerIT {
                     .tipoVoto(TipoVoto.SIM)
                     .build();
 
-            ResponseEntity<Voto> responseVoto = restTemplate.postForEntity(baseUrlVotos(), votoDto, Voto.class);
+            // Sessão com o voto duplicado, associado, cadastro do associado no primeiro voto e o voto
+            ResponseEntity<VotoResponseDto> responseVoto = OrcamentoSql.instrucoes(4).linhas(2)
+                    .verificar(() -> restTemplate.postForEntity(baseUrlVotos(), votoDto, VotoResponseDto.class));
 
             assertThat(responseVoto.getStatusCode())
                     .as("Verifica se o status da resposta é 201 CREATED")
                     .isEqualTo(HttpStatus.CREATED);
             assertThat(responseVoto.getBody())
                     .as("Verifica se o voto foi registrado corretamente")
-                    .extracting(Voto::getAssociadoId)
-                    .isEqualTo(votoDto.getAssociadoId());
+                    .extracting(VotoResponseDto::getAssociadoId, VotoResponseDto::getPautaId, VotoResponseDto::getTipoVoto)
+                    .containsExactly(votoDto.getAssociadoId(), pauta.getId(), TipoVoto.SIM);
+            assertThat(responseVoto.getBody())
+                    .as("Verifica se o voto retornado contém ID e horário de registro")
+                    .extracting(VotoResponseDto::getId, VotoResponseDto::getRegistradoEm)
+                    .doesNotContainNull();
         }
 
         @Test
@@ -189,9 +227,10 @@ class VotoControllerIT {
                     .tipoVoto(TipoVoto.SIM)
                     .build();
 
-            restTemplate.postForEntity(baseUrlVotos(), votoDto, Voto.class);
+            restTemplate.postForEntity(baseUrlVotos(), votoDto, VotoResponseDto.class);
 
-            ResponseEntity<Voto> responseVoto = restTemplate.postForEntity(baseUrlVotos(), votoDto, Voto.class);
+            ResponseEntity<VotoResponseDto> responseVoto = OrcamentoSql.instrucoes(2).linhas(2)
+                    .verificar(() -> restTemplate.postForEntity(baseUrlVotos(), votoDto, VotoResponseDto.class));
 
             assertThat(responseVoto.getStatusCode())
                     .as("Verifica se o status da resposta é 409 CONFLICT")
@@ -209,7 +248,8 @@ class VotoControllerIT {
             Pauta pauta = response.getBody();
 
             assert pauta != null;
-            ResponseEntity<String> responseContagem = restTemplate.getForEntity(baseUrlPautas() + "/resultado/{pautaId}", String.class, pauta.getId());
+            ResponseEntity<String> responseContagem = OrcamentoSql.instrucoes(3).linhas(3).verificar(() ->
+                    restTemplate.getForEntity(baseUrlPautas() + "/resultado/{pautaId}", String.class, pauta.getId()));
 
             assertThat(responseContagem.getStatusCode())
                     .as("Verifica se o status da resposta é 404 NOT FOUND")
@@ -229,10 +269,11 @@ class VotoControllerIT {
             assert pauta != null;
             restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, pauta.getId());
 
-            restTemplate.postForEntity(baseUrlVotos(), VotoDto.builder().pautaId(pauta.getId()).associadoId("1").tipoVoto(TipoVoto.SIM).build(), Voto.class);
-            restTemplate.postForEntity(baseUrlVotos(), VotoDto.builder().pautaId(pauta.getId()).associadoId("2").tipoVoto(TipoVoto.NAO).build(), Voto.class);
+            restTemplate.postForEntity(baseUrlVotos(), VotoDto.builder().pautaId(pauta.getId()).associadoId("1").tipoVoto(TipoVoto.SIM).build(), VotoResponseDto.class);
+            restTemplate.postForEntity(baseUrlVotos(), VotoDto.builder().pautaId(pauta.getId()).associadoId("2").tipoVoto(TipoVoto.NAO).build(), VotoResponseDto.class);
 
-            ResponseEntity<String> responseContagem = restTemplate.getForEntity(baseUrlPautas() + "/resultado/{pautaId}", String.class, pauta.getId());
+            ResponseEntity<String> responseContagem = OrcamentoSql.instrucoes(3).linhas(5).verificar(() ->
+                    restTemplate.getForEntity(baseUrlPautas() + "/resultado/{pautaId}", String.class, pauta.getId()));
 
             assertThat(responseContagem.getStatusCode())
                     .as("Verifica se o status da resposta é 200 OK")
@@ -253,11 +294,243 @@ class VotoControllerIT {
             Pauta pauta = response.getBody();
 
             assert pauta != null;
-            ResponseEntity<String> responseContagem = restTemplate.getForEntity(baseUrlPautas() + "/resultado/{pautaId}", String.class, pauta.getId());
+            ResponseEntity<String> responseContagem = OrcamentoSql.instrucoes(3).linhas(3).verificar(() ->
+                    restTemplate.getForEntity(baseUrlPautas() + "/resultado/{pautaId}", String.class, pauta.getId()));
 
             assertThat(responseContagem.getStatusCode())
                     .as("Verifica se o status da resposta é 404 NOT FOUND")
                     .isEqualTo(HttpStatus.NOT_FOUND);
         }
+
+        @Test
+        @Order(12)
+        void testExportarVotos() {
+            PautaDto pautaDto = PautaDto.builder()
+                    .descricao("Pauta de teste")
+                    .build();
+
+            ResponseEntity<Pauta> response = restTemplate.postForEntity(baseUrlPautas(), pautaDto, Pauta.class);
+            Pauta pauta = response.getBody();
+
+            assert pauta != null;
+            restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, pauta.getId());
+            restTemplate.postForEntity(baseUrlVotos(), VotoDto.builder().pautaId(pauta.getId()).associadoId("1").tipoVoto(TipoVoto.SIM).build(), VotoResponseDto.class);
+
+            ResponseEntity<String> responseExportacao = OrcamentoSql.instrucoes(3).linhas(4).verificar(() ->
+                    restTemplate.getForEntity(baseUrlPautas() + "/{pautaId}/votos/exportacao", String.class, pauta.getId()));
+
+            assertThat(responseExportacao.getStatusCode())
+                    .as("Verifica se o status da resposta é 200 OK")
+                    .isEqualTo(HttpStatus.OK);
+            assertThat(responseExportacao.getBody())
+                    .as("Verifica se o CSV contém o voto registrado")
+                    .isEqualTo("associadoId,tipoVoto\n1,SIM\n");
+        }
+
+        @Test
+        @Order(13)
+        void testExportarVotosPautaNaoEncontrada() {
+            ResponseEntity<String> responseExportacao = OrcamentoSql.instrucoes(1).linhas(0).verificar(() ->
+                    restTemplate.getForEntity(baseUrlPautas() + "/{pautaId}/votos/exportacao", String.class, 9999));
+
+            assertThat(responseExportacao.getStatusCode())
+                    .as("Verifica se o status da resposta é 404 NOT FOUND")
+                    .isEqualTo(HttpStatus.NOT_FOUND);
+        }
+
+        @Test
+        @Order(14)
+        void testBuscarResultadosDeVariasPautas() {
+            Pauta comVotos = restTemplate.postForEntity(baseUrlPautas(), PautaDto.builder().descricao("Pauta com votos").build(), Pauta.class).getBody();
+            Pauta semVotos = restTemplate.postForEntity(baseUrlPautas(), PautaDto.builder().descricao("Pauta sem votos").build(), Pauta.class).getBody();
+
+            assert comVotos != null && semVotos != null;
+            restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, comVotos.getId());
+            restTemplate.postForEntity(baseUrlVotos(), VotoDto.builder().pautaId(comVotos.getId()).associadoId("1").tipoVoto(TipoVoto.SIM).build(), VotoResponseDto.class);
+            restTemplate.postForEntity(baseUrlVotos(), VotoDto.builder().pautaId(comVotos.getId()).associadoId("2").tipoVoto(TipoVoto.SIM).build(), VotoResponseDto.class);
+
+            ResponseEntity<ResultadosPautasDto> responseGet = OrcamentoSql.instrucoes(3).linhas(7).verificar(() ->
+                    restTemplate.getForEntity(baseUrlPautas() + "/resultados?ids={ids}",
+                            ResultadosPautasDto.class, semVotos.getId() + ",9999," + comVotos.getId()));
+            ResponseEntity<ResultadosPautasDto> responsePost = restTemplate.postForEntity(baseUrlPautas() + "/resultados",
+                    List.of(comVotos.getId(), 9999L), ResultadosPautasDto.class);
+
+            assertThat(responseGet.getStatusCode())
+                    .as("Verifica se o status da resposta é 200 OK")
+                    .isEqualTo(HttpStatus.OK);
+            assert responseGet.getBody() != null && responsePost.getBody() != null;
+            assertThat(responseGet.getBody().getResultados())
+                    .as("Verifica se os resultados seguem a ordem pedida")
+                    .extracting(ResultadoPautaDto::getPautaId, ResultadoPautaDto::getTotalVotos)
+                    .containsExactly(
+                            tuple(semVotos.getId(), 0L),
+                            tuple(comVotos.getId(), 2L));
+            assertThat(responseGet.getBody().getResultados().get(1).getOpcoes())
+                    .extracting(ResultadoOpcaoDto::getDescricao, ResultadoOpcaoDto::getVotos)
+                    .containsExactly(tuple("SIM", 2L), tuple("NÃO", 0L));
+            assertThat(responseGet.getBody().getNaoEncontradas())
+                    .as("Verifica se o ID inexistente foi ignorado")
+                    .containsExactly(9999L);
+            assertThat(responsePost.getBody().getResultados())
+                    .extracting(ResultadoPautaDto::getPautaId)
+                    .containsExactly(comVotos.getId());
+        }
+
+        @Test
+        @Order(15)
+        void testVotarEmPautaComOpcoes() {
+            PautaDto pautaDto = PautaDto.builder()
+                    .descricao("Eleição do conselho")
+                    .opcoes(List.of("Chapa 1", "Chapa 2", "Chapa 3"))
+                    .build();
+            Pauta pauta = restTemplate.postForEntity(baseUrlPautas(), pautaDto, Pauta.class).getBody();
+
+            assert pauta != null;
+            restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, pauta.getId());
+            ResponseEntity<VotoResponseDto> votoAceito = OrcamentoSql.instrucoes(3).linhas(2).verificar(() ->
+                    restTemplate.postForEntity(baseUrlVotos(),
+                            VotoDto.builder().pautaId(pauta.getId()).associadoId("1").opcao(2).build(), VotoResponseDto.class));
+            ResponseEntity<String> opcaoInexistente = restTemplate.postForEntity(baseUrlVotos(),
+                    VotoDto.builder().pautaId(pauta.getId()).associadoId("2").opcao(3).build(), String.class);
+            ResponseEntity<String> tipoVoto = restTemplate.postForEntity(baseUrlVotos(),
+                    VotoDto.builder().pautaId(pauta.getId()).associadoId("2").tipoVoto(TipoVoto.SIM).build(), String.class);
+            ResponseEntity<ResultadoPautaDto> resultado = OrcamentoSql.instrucoes(3).linhas(5).verificar(() ->
+                    restTemplate.getForEntity(baseUrlPautas() + "/{pautaId}/resultado", ResultadoPautaDto.class, pauta.getId()));
+            Pauta duasChapas = restTemplate.postForEntity(baseUrlPautas(), PautaDto.builder()
+                    .descricao("Eleição com duas chapas").opcoes(List.of("Chapa A", "Chapa B")).build(), Pauta.class).getBody();
+            assert duasChapas != null;
+            restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, duasChapas.getId());
+            ResponseEntity<String> tipoVotoDuasChapas = restTemplate.postForEntity(baseUrlVotos(),
+                    VotoDto.builder().pautaId(duasChapas.getId()).associadoId("2").tipoVoto(TipoVoto.SIM).build(), String.class);
+            ResponseEntity<VotoResponseDto> opcaoDuasChapas = restTemplate.postForEntity(baseUrlVotos(),
+                    VotoDto.builder().pautaId(duasChapas.getId()).associadoId("2").opcao(0).build(), VotoResponseDto.class);
+
+            assertThat(pauta.getOpcoes()).containsExactly("Chapa 1", "Chapa 2", "Chapa 3");
+            assertThat(votoAceito.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assert votoAceito.getBody() != null;
+            assertThat(votoAceito.getBody().getOpcao()).isEqualTo(2);
+            assertThat(opcaoInexistente.getStatusCode())
+                    .as("Verifica se a opção fora da pauta é rejeitada com 400 BAD REQUEST")
+                    .isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(tipoVoto.getStatusCode())
+                    .as("Verifica se SIM/NÃO é rejeitado em pauta com três opções")
+                    .isEqualTo(HttpStatus.BAD_REQUEST);
+            assert resultado.getBody() != null;
+            assertThat(resultado.getBody().getOpcoes())
+                    .extracting(ResultadoOpcaoDto::getOrdinal, ResultadoOpcaoDto::getDescricao, ResultadoOpcaoDto::getVotos)
+                    .containsExactly(tuple(0, "Chapa 1", 0L), tuple(1, "Chapa 2", 0L), tuple(2, "Chapa 3", 1L));
+            assertThat(tipoVotoDuasChapas.getStatusCode())
+                    .as("Verifica se SIM/NÃO é rejeitado em pauta de duas opções que não são SIM e NÃO")
+                    .isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(opcaoDuasChapas.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        }
+
+        @Test
+        @Order(16)
+        void testListarHistoricoDoAssociado() {
+            List<Long> pautaIds = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Pauta pauta = restTemplate.postForEntity(baseUrlPautas(),
+                        PautaDto.builder().descricao("Pauta do histórico " + i).build(), Pauta.class).getBody();
+                assert pauta != null;
+                restTemplate.postForEntity(baseUrlPautas() + "/{pautaId}/abrir-sessao", null, Pauta.class, pauta.getId());
+                restTemplate.postForEntity(baseUrlVotos(), VotoDto.builder()
+                        .pautaId(pauta.getId()).associadoId("historico-1").tipoVoto(i == 1 ? TipoVoto.NAO : TipoVoto.SIM)
+                        .build(), VotoResponseDto.class);
+                pautaIds.add(pauta.getId());
+            }
+            String urlHistorico = baseUrlAssociados() + "/{associadoId}/votos?limite={limite}";
+
+            ResponseEntity<JsonNode> primeira = OrcamentoSql.instrucoes(3).linhas(6)
+                    .verificar(() -> restTemplate.getForEntity(urlHistorico, JsonNode.class, "historico-1", 2));
+            assert primeira.getBody() != null;
+            ResponseEntity<JsonNode> segunda = restTemplate.getForEntity(urlHistorico + "&cursor={cursor}",
+                    JsonNode.class, "historico-1", 2, primeira.getBody().get("proximoCursor").asLong());
+            assert segunda.getBody() != null;
+
+            assertThat(primeira.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(primeira.getBody().get("votos").findValuesAsText("descricaoPauta"))
+                    .as("Verifica se a primeira página traz as pautas mais recentes com a descrição")
+                    .containsExactly("Pauta do histórico 2", "Pauta do histórico 1");
+            assertThat(primeira.getBody().get("votos").findValuesAsText("descricaoOpcao")).containsExactly("SIM", "NÃO");
+            assertThat(primeira.getBody().get("proximoCursor").asLong()).isEqualTo(pautaIds.get(1));
+            assertThat(segunda.getBody().get("votos").findValuesAsText("pautaId"))
+                    .as("Verifica se a segunda página continua a partir do cursor")
+                    .containsExactly(String.valueOf(pautaIds.get(0)));
+            assertThat(segunda.getBody().get("proximoCursor").isNull()).isTrue();
+        }
+
+        @Test
+        @Order(17)
+        void testBuscarPautasPelaDescricao() {
+            Pauta assembleia = restTemplate.postForEntity(baseUrlPautas(),
+                    PautaDto.builder().descricao("Assembleia extraordinária da Cooperativa Ipê").build(), Pauta.class).getBody();
+            restTemplate.postForEntity(baseUrlPautas(),
+                    PautaDto.builder().descricao("Prestação de contas da unidade Ipê Amarelo").build(), Pauta.class);
+            assert assembleia != null;
+
+            ResponseEntity<BuscaPautasDto> busca = OrcamentoSql.instrucoes(0).linhas(0).verificar(() -> restTemplate.getForEntity(
+                    baseUrlPautas() + "/busca?q={q}&tamanho=1", BuscaPautasDto.class, "ipe extraordinaria"));
+            ResponseEntity<BuscaPautasDto> segundaPagina = restTemplate.getForEntity(
+                    baseUrlPautas() + "/busca?q={q}&tamanho=1&pagina=1", BuscaPautasDto.class, "ipe extraordinaria");
+
+            assertThat(busca.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assert busca.getBody() != null && segundaPagina.getBody() != null;
+            assertThat(busca.getBody().getTotal()).isEqualTo(2);
+            assertThat(busca.getBody().getPautas())
+                    .as("Verifica se a pauta cadastrada aparece na busca, sem acentos e pela relevância")
+                    .extracting(PautaEncontradaDto::getPautaId, PautaEncontradaDto::getDescricao)
+                    .containsExactly(tuple(assembleia.getId(), "Assembleia extraordinária da Cooperativa Ipê"));
+            assertThat(segundaPagina.getBody().getPautas())
+                    .extracting(PautaEncontradaDto::getDescricao)
+                    .containsExactly("Prestação de contas da unidade Ipê Amarelo");
+        }
+
+        @Test
+        @Order(18)
+        void testParticipacaoComIntervaloInvertido() {
+            ResponseEntity<String> response = OrcamentoSql.instrucoes(0).linhas(0).verificar(() -> restTemplate.getForEntity(
+                    baseUrlAnalises() + "/participacao?inicio=2025-03-01&fim=2025-01-01", String.class));
+
+            assertThat(response.getStatusCode())
+                    .as("Verifica se o intervalo com fim anterior ao início é rejeitado")
+                    .isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
+        @Test
+        @Order(19)
+        void testCadastrarEAbrirPautasDaAssembleia() {
+            List<PautaDto> pautas = List.of(
+                    PautaDto.builder().descricao("Assembleia: aprovação das contas").build(),
+                    PautaDto.builder().descricao("Assembleia: pauta sem opções válidas").opcoes(List.of("Única")).build(),
+                    PautaDto.builder().descricao("Assembleia: eleição").opcoes(List.of("Chapa 1", "Chapa 2")).build());
+
+            ResponseEntity<JsonNode> cadastro = OrcamentoSql.instrucoes(2).linhas(0).verificar(() ->
+                    restTemplate.postForEntity(baseUrlPautas() + "/lote", pautas, JsonNode.class));
+
+            assertThat(cadastro.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assert cadastro.getBody() != null;
+            assertThat(cadastro.getBody().get("cadastradas").asInt()).isEqualTo(2);
+            assertThat(cadastro.getBody().get("pautas").get(1).get("erro").asText()).contains("opções");
+            List<Long> pautaIds = new ArrayList<>();
+            cadastro.getBody().get("pautas").forEach(item -> {
+                if (!item.get("pautaId").isNull()) {
+                    pautaIds.add(item.get("pautaId").asLong());
+                }
+            });
+            pautaIds.add(9999L);
+
+            ResponseEntity<JsonNode> abertura = OrcamentoSql.instrucoes(2).linhas(2).verificar(() ->
+                    restTemplate.postForEntity(baseUrlPautas() + "/sessoes",
+                            Map.of("pautaIds", pautaIds, "tempoSessaoMinutos", 15), JsonNode.class));
+
+            assertThat(abertura.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assert abertura.getBody() != null;
+            assertThat(abertura.getBody().get("pautas").findValuesAsText("situacao"))
+                    .containsExactly("ABERTA", "ABERTA", "NAO_ENCONTRADA");
+            assertThat(restTemplate.postForEntity(baseUrlPautas() + "/lote", List.of(), String.class).getStatusCode())
+                    .as("Verifica se o lote vazio é rejeitado")
+                    .isEqualTo(HttpStatus.BAD_REQUEST);
+        }
     }
 }
@@ -0,0 +1,343 @@
+package com.rocksti.coopvote.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.coopvote.dto.AberturaSessoesDto;
+import com.rocksti.coopvote.dto.CadastroPautaDto;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoEvento;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.repository.ContadorSql;
+import com.rocksti.coopvote.repository.OrcamentoSql;
+import com.rocksti.coopvote.service.AuditoriaService;
+import com.rocksti.coopvote.service.PautaService;
+import com.rocksti.coopvote.service.RelayEventosService;
+import com.rocksti.coopvote.store.VoteStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox",
+        "coopvote.outbox.habilitado=true",
+        "coopvote.outbox.destinos=memoria,arquivo,http",
+        "coopvote.outbox.intervalo=PT1H",
+        "coopvote.outbox.lote=3"
+})
+@Import({ContadorSql.Configuracao.class, OutboxIT.Configuracao.class})
+class OutboxIT {
+
+    private static final ServidorEventosStub SERVIDOR = iniciarServidor();
+    private static final Path DIRETORIO = criarDiretorio();
+
+    @Autowired
+    private RelayEventosService relay;
+
+    @Autowired
+    private PautaService pautaService;
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private VoteStore voteStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DestinoLento destinoLento;
+
+    @DynamicPropertySource
+    static void configurarDestinos(DynamicPropertyRegistry registry) {
+        registry.add("coopvote.outbox.url", SERVIDOR::getUrl);
+        registry.add("coopvote.outbox.diretorio", DIRETORIO::toString);
+    }
+
+    @AfterAll
+    static void encerrarServidor() {
+        SERVIDOR.close();
+    }
+
+    @Test
+    void testEventosEntreguesEmOrdemATodosOsDestinos() throws IOException {
+        Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta com eventos").build());
+        pautaService.abrirSessao(pauta.getId(), 5L);
+        for (int i = 0; i < 4; i++) {
+            voteStore.registrarVoto(pauta.getId(), associado(i), i % 2, LocalDateTime.now());
+        }
+
+        relay.drenar();
+
+        List<EventoOutbox> memoria = relay.buscarDestino(DestinoMemoria.class).orElseThrow().listar().stream()
+                .filter(evento -> evento.pautaId() == pauta.getId())
+                .toList();
+        assertThat(memoria).extracting(EventoOutbox::tipo).containsExactly(TipoEvento.SESSAO_ABERTA,
+                TipoEvento.VOTO_REGISTRADO, TipoEvento.VOTO_REGISTRADO, TipoEvento.VOTO_REGISTRADO,
+                TipoEvento.VOTO_REGISTRADO);
+        assertThat(memoria).extracting(EventoOutbox::id).isSorted();
+        assertThat(objectMapper.readTree(memoria.get(2).dados()).get("associadoId").asText()).isEqualTo(associado(1));
+
+        List<Long> idsHttp = SERVIDOR.getEventos().stream()
+                .filter(evento -> evento.get("pautaId").asLong() == pauta.getId())
+                .map(evento -> evento.get("id").asLong())
+                .toList();
+        assertThat(idsHttp).containsExactlyElementsOf(memoria.stream().map(EventoOutbox::id).toList());
+        assertThat(SERVIDOR.getEventos()).allMatch(evento -> evento.get("dados").isObject());
+
+        List<String> linhas = Files.readAllLines(DIRETORIO.resolve("eventos-" + LocalDate.now() + ".ndjson"));
+        assertThat(linhas).filteredOn(linha -> linha.contains("\"pautaId\":" + pauta.getId() + ","))
+                .hasSize(memoria.size());
+        assertThat(pendentes()).isZero();
+    }
+
+    @Test
+    void testLoteMantidoNoOutboxQuandoUmDestinoFalha() {
+        Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta com destino fora do ar").build());
+        pautaService.abrirSessao(pauta.getId(), 5L);
+        long falhas = relay.metricas().getFalhas();
+
+        SERVIDOR.setIndisponivel(true);
+        try {
+            assertThat(relay.drenar()).isZero();
+            assertThat(pendentes()).isPositive();
+            assertThat(relay.metricas().getFalhas()).isEqualTo(falhas + 1);
+        } finally {
+            SERVIDOR.setIndisponivel(false);
+        }
+
+        assertThat(relay.drenar()).isPositive();
+        assertThat(pendentes()).isZero();
+        assertThat(SERVIDOR.getEventos())
+                .filteredOn(evento -> evento.get("pautaId").asLong() == pauta.getId())
+                .extracting(evento -> evento.get("tipo").asText())
+                .containsExactly(TipoEvento.SESSAO_ABERTA.name());
+        assertThat(relay.metricas().getEventosEntregues()).isPositive();
+    }
+
+    @Test
+    void testVotoGravadoEnquantoUmDestinoLentoRecebeOLote() throws Exception {
+        Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta com destino lento").build());
+        pautaService.abrirSessao(pauta.getId(), 5L);
+        voteStore.registrarVoto(pauta.getId(), associado(30), TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+        long falhas = relay.metricas().getFalhas();
+
+        CountDownLatch liberacao = destinoLento.reter();
+        CompletableFuture<Integer> entrega = CompletableFuture.supplyAsync(relay::drenar);
+        try {
+            assertThat(destinoLento.aguardarEntrega()).isTrue();
+
+            // O lote foi reservado e confirmado antes da entrega: nenhum bloqueio segura o voto nem outra execução
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM evento_outbox WHERE reservado_por IS NOT NULL", Long.class)).isPositive();
+            CompletableFuture.runAsync(() -> voteStore.registrarVoto(pauta.getId(), associado(31),
+                    TipoVoto.NAO.getCodigo(), LocalDateTime.now())).get(5, TimeUnit.SECONDS);
+            assertThat(relay.drenar()).isZero();
+            assertThat(relay.metricas().getFalhas()).isEqualTo(falhas);
+        } finally {
+            liberacao.countDown();
+        }
+
+        assertThat(entrega.get(10, TimeUnit.SECONDS)).isPositive();
+        relay.drenar();
+        assertThat(pendentes()).isZero();
+        assertThat(relay.buscarDestino(DestinoMemoria.class).orElseThrow().listar().stream()
+                .filter(evento -> evento.pautaId() == pauta.getId() && evento.tipo() == TipoEvento.VOTO_REGISTRADO)
+                .map(evento -> evento.dados().contains(associado(30)) ? 30 : 31))
+                .containsExactly(30, 31);
+    }
+
+    @Test
+    void testEventoGravadoNaTransacaoDoVoto() {
+        Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta com voto repetido").build());
+        pautaService.abrirSessao(pauta.getId(), 5L);
+
+        OrcamentoSql.instrucoes(4).linhas(0).verificar(() ->
+                voteStore.registrarVoto(pauta.getId(), associado(10), TipoVoto.SIM.getCodigo(), LocalDateTime.now()));
+        assertThatThrownBy(() ->
+                voteStore.registrarVoto(pauta.getId(), associado(10), TipoVoto.NAO.getCodigo(), LocalDateTime.now()))
+                .isInstanceOf(ConflictRequestException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM evento_outbox WHERE pauta_id = ? AND tipo = ?",
+                Long.class, pauta.getId(), TipoEvento.VOTO_REGISTRADO.name())).isEqualTo(1L);
+    }
+
+    @Test
+    void testResultadoFinalPublicadoNaFinalizacao() throws IOException {
+        LocalDateTime inicio = LocalDateTime.now().minusHours(2);
+        Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta finalizada").build());
+        pauta.setInicioSessao(inicio);
+        pauta.setTempoSessaoMinutos(30L);
+        voteStore.salvarPauta(pauta);
+        voteStore.registrarVoto(pauta.getId(), associado(20), TipoVoto.SIM.getCodigo(), inicio.plusMinutes(1));
+        voteStore.registrarVoto(pauta.getId(), associado(21), TipoVoto.SIM.getCodigo(), inicio.plusMinutes(2));
+
+        auditoriaService.finalizar(pauta.getId(), LocalDateTime.now());
+        relay.drenar();
+
+        EventoOutbox resultado = relay.buscarDestino(DestinoMemoria.class).orElseThrow().listar().stream()
+                .filter(evento -> evento.pautaId() == pauta.getId() && evento.tipo() == TipoEvento.RESULTADO_FINAL)
+                .findFirst()
+                .orElseThrow();
+        JsonNode dados = objectMapper.readTree(resultado.dados());
+        assertThat(dados.get("resultado").get("totalVotos").asLong()).isEqualTo(2L);
+        assertThat(dados.get("votosAcumulados").asInt()).isEqualTo(2);
+        assertThat(dados.get("raiz").asText()).isEqualTo(auditoriaService.buscarRaiz(pauta.getId()).getRaiz());
+    }
+
+    @Test
+    void testResultadoFinalDePautaComOMaximoDeOpcoes() throws IOException {
+        LocalDateTime inicio = LocalDateTime.now().minusHours(2);
+        List<String> opcoes = IntStream.range(0, 128)
+                .mapToObj(i -> String.format("%03d ", i) + "Opção com descrição longa e acentuação ".repeat(7))
+                .map(opcao -> opcao.substring(0, 255))
+                .toList();
+        Pauta pauta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta com 128 opções")
+                .opcoes(opcoes).build());
+        pauta.setInicioSessao(inicio);
+        pauta.setTempoSessaoMinutos(30L);
+        voteStore.salvarPauta(pauta);
+        voteStore.registrarVoto(pauta.getId(), associado(40), 127, inicio.plusMinutes(1));
+
+        auditoriaService.finalizar(pauta.getId(), LocalDateTime.now());
+        relay.drenar();
+
+        EventoOutbox resultado = relay.buscarDestino(DestinoMemoria.class).orElseThrow().listar().stream()
+                .filter(evento -> evento.pautaId() == pauta.getId() && evento.tipo() == TipoEvento.RESULTADO_FINAL)
+                .findFirst()
+                .orElseThrow();
+        assertThat(resultado.dados().length()).isGreaterThan(32_000);
+        JsonNode opcoesResultado = objectMapper.readTree(resultado.dados()).get("resultado").get("opcoes");
+        assertThat(opcoesResultado).hasSize(128);
+        assertThat(opcoesResultado.get(127).get("descricao").asText()).isEqualTo(opcoes.get(127));
+        assertThat(opcoesResultado.get(127).get("votos").asLong()).isEqualTo(1L);
+    }
+
+    @Test
+    void testAberturaEmLotePublicaUmEventoPorPautaAberta() {
+        Pauta jaAberta = pautaService.cadastrarPauta(PautaDto.builder().descricao("Pauta aberta antes").build());
+        pautaService.abrirSessao(jaAberta.getId(), 5L);
+        List<Long> pautaIds = new ArrayList<>(pautaService.cadastrarPautas(List.of(
+                        PautaDto.builder().descricao("Pauta do lote 1").build(),
+                        PautaDto.builder().descricao("Pauta do lote 2").build()))
+                .getPautas().stream().map(CadastroPautaDto::getPautaId).toList());
+        pautaIds.add(jaAberta.getId());
+        relay.drenar();
+
+        // O bloqueio das pautas, a abertura condicional e os eventos das pautas abertas em um lote
+        OrcamentoSql.instrucoes(3).verificar(() -> pautaService.abrirSessoes(AberturaSessoesDto.builder()
+                .pautaIds(pautaIds).tempoSessaoMinutos(10L).build()));
+        relay.drenar();
+
+        assertThat(relay.buscarDestino(DestinoMemoria.class).orElseThrow().listar().stream()
+                .filter(evento -> evento.tipo() == TipoEvento.SESSAO_ABERTA && pautaIds.contains(evento.pautaId()))
+                .map(EventoOutbox::pautaId))
+                .containsExactly(jaAberta.getId(), pautaIds.get(0), pautaIds.get(1));
+    }
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        DestinoLento destinoLento() {
+            return new DestinoLento();
+        }
+    }
+
+    /**
+     * Destino que, depois de {@link #reter()}, segura a próxima entrega até a liberação.
+     */
+    static class DestinoLento implements DestinoEventos {
+
+        private volatile CountDownLatch liberacao;
+        private final Semaphore entregas = new Semaphore(0);
+
+        CountDownLatch reter() {
+            liberacao = new CountDownLatch(1);
+            return liberacao;
+        }
+
+        boolean aguardarEntrega() throws InterruptedException {
+            return entregas.tryAcquire(10, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public String getNome() {
+            return "lento";
+        }
+
+        @Override
+        public void entregar(List<EventoOutbox> eventos) throws IOException {
+            CountDownLatch atual = liberacao;
+            if (atual == null) {
+                return;
+            }
+            liberacao = null;
+            entregas.release();
+            try {
+                if (!atual.await(10, TimeUnit.SECONDS)) {
+                    throw new IOException("Entrega não liberada");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    private long pendentes() {
+        Long pendentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM evento_outbox", Long.class);
+        return pendentes != null ? pendentes : 0;
+    }
+
+    private static String associado(int i) {
+        return String.format("%011d", 60_000_000_000L + i);
+    }
+
+    private static ServidorEventosStub iniciarServidor() {
+        try {
+            return new ServidorEventosStub();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path criarDiretorio() {
+        try {
+            return Files.createTempDirectory("coopvote-eventos");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.rocksti.coopvote.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sistema externo local que recebe os lotes de {@link DestinoHttp}, para testes do relay do outbox.
+ * <p>
+ * Guarda os eventos recebidos na ordem de chegada e pode simular indisponibilidade.
+ */
+public class ServidorEventosStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> eventos = new ArrayList<>();
+    private final AtomicInteger requisicoes = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer servidor;
+
+    private volatile boolean indisponivel;
+
+    public ServidorEventosStub() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        servidor.createContext("/eventos", this::receber);
+        servidor.setExecutor(executor);
+        servidor.start();
+    }
+
+    public URI getUrl() {
+        return URI.create("http://localhost:" + servidor.getAddress().getPort() + "/eventos");
+    }
+
+    public void setIndisponivel(boolean indisponivel) {
+        this.indisponivel = indisponivel;
+    }
+
+    public int getRequisicoes() {
+        return requisicoes.get();
+    }
+
+    public synchronized List<JsonNode> getEventos() {
+        return new ArrayList<>(eventos);
+    }
+
+    private void receber(HttpExchange troca) throws IOException {
+        try (troca) {
+            requisicoes.incrementAndGet();
+            JsonNode lote = objectMapper.readTree(troca.getRequestBody());
+            if (indisponivel) {
+                troca.sendResponseHeaders(503, -1);
+                return;
+            }
+            synchronized (this) {
+                lote.forEach(eventos::add);
+            }
+            troca.sendResponseHeaders(204, -1);
+        }
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+}
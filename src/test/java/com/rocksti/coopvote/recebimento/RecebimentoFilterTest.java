@@ -0,0 +1,49 @@
+package com.rocksti.coopvote.recebimento;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecebimentoFilterTest {
+
+    @Test
+    void testRegistraInstanteDeRecebimentoAntesDaCadeia() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/votos");
+        long antes = System.nanoTime();
+        Long[] vistoPelaCadeia = new Long[1];
+
+        new RecebimentoFilter().doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                vistoPelaCadeia[0] = (Long) req.getAttribute(RecebimentoFilter.ATRIBUTO_RECEBIMENTO);
+            }
+        });
+
+        assertThat(vistoPelaCadeia[0]).isNotNull().isBetween(antes, System.nanoTime());
+    }
+
+    @Test
+    void testHorarioRecebimentoDescontaTempoDecorrido() {
+        LocalDateTime antes = LocalDateTime.now();
+        long recebidoHa2Segundos = System.nanoTime() - 2_000_000_000L;
+
+        LocalDateTime recebidoEm = RecebimentoFilter.horarioRecebimento(recebidoHa2Segundos);
+
+        assertThat(recebidoEm)
+                .isAfterOrEqualTo(antes.minusSeconds(2).minus(1, ChronoUnit.MILLIS))
+                .isBeforeOrEqualTo(LocalDateTime.now().minusSeconds(2));
+    }
+
+    @Test
+    void testHorarioRecebimentoSemAtributoUsaHorarioAtual() {
+        LocalDateTime antes = LocalDateTime.now();
+
+        assertThat(RecebimentoFilter.horarioRecebimento(null)).isBetween(antes, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,145 @@
+package com.rocksti.coopvote.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conta, na camada JDBC, as instruções executadas e as linhas lidas por qualquer componente: Hibernate, JdbcTemplate
+ * ou Flyway. Usado pelo {@link OrcamentoSql} para falhar os testes cujas operações passam do orçamento declarado.
+ * <p>
+ * Instruções das tarefas agendadas ({@code scheduling-*}) não são contadas, para que uma sincronização em segundo
+ * plano não conte contra a requisição medida.
+ */
+public final class ContadorSql {
+
+    private static final Set<String> EXECUCOES = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+
+    private static final AtomicLong INSTRUCOES = new AtomicLong();
+    private static final AtomicLong LINHAS = new AtomicLong();
+    private static final List<String> SQL = new ArrayList<>();
+
+    private ContadorSql() {
+    }
+
+    /**
+     * Envolve o {@link DataSource} da aplicação com o contador.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Configuracao {
+
+        @Bean
+        static BeanPostProcessor contadorSqlPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? envolver(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    public static DataSource envolver(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (metodo, resultado, argumentos) ->
+                resultado instanceof Connection conexao ? proxy(Connection.class, conexao, ContadorSql::daConexao) : resultado);
+    }
+
+    public static void zerar() {
+        INSTRUCOES.set(0);
+        LINHAS.set(0);
+        synchronized (SQL) {
+            SQL.clear();
+        }
+    }
+
+    public static long instrucoes() {
+        return INSTRUCOES.get();
+    }
+
+    public static long linhas() {
+        return LINHAS.get();
+    }
+
+    public static List<String> sql() {
+        synchronized (SQL) {
+            return List.copyOf(SQL);
+        }
+    }
+
+    private static Object daConexao(Method metodo, Object resultado, Object[] argumentos) {
+        String sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto ? texto : null;
+        return switch (resultado) {
+            case CallableStatement chamada -> proxy(CallableStatement.class, chamada, daInstrucao(sql));
+            case PreparedStatement preparada -> proxy(PreparedStatement.class, preparada, daInstrucao(sql));
+            case Statement instrucao -> proxy(Statement.class, instrucao, daInstrucao(null));
+            case null, default -> resultado;
+        };
+    }
+
+    private static Interceptador daInstrucao(String sqlPreparado) {
+        return (metodo, resultado, argumentos) -> {
+            String nome = metodo.getName();
+            if (EXECUCOES.contains(nome) && contando()) {
+                INSTRUCOES.incrementAndGet();
+                registrar(argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String sql ? sql : sqlPreparado);
+            }
+            if (resultado instanceof ResultSet linhas && (nome.equals("executeQuery") || nome.equals("getResultSet"))) {
+                return proxy(ResultSet.class, linhas, ContadorSql::doResultado);
+            }
+            return resultado;
+        };
+    }
+
+    private static Object doResultado(Method metodo, Object resultado, Object[] argumentos) {
+        if (metodo.getName().equals("next") && Boolean.TRUE.equals(resultado) && contando()) {
+            LINHAS.incrementAndGet();
+        }
+        return resultado;
+    }
+
+    private static boolean contando() {
+        return !Thread.currentThread().getName().startsWith("scheduling-");
+    }
+
+    private static void registrar(String sql) {
+        synchronized (SQL) {
+            SQL.add(sql);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, T alvo, Interceptador interceptador) {
+        InvocationHandler handler = (instancia, metodo, argumentos) -> {
+            if (metodo.getName().equals("unwrap") && argumentos[0] instanceof Class<?> classe && classe.isInstance(alvo)) {
+                return alvo;
+            }
+            try {
+                return interceptador.interceptar(metodo, metodo.invoke(alvo, argumentos), argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(ContadorSql.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    @FunctionalInterface
+    private interface Interceptador {
+        Object interceptar(Method metodo, Object resultado, Object[] argumentos);
+    }
+}
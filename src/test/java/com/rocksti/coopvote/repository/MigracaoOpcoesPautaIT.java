@@ -0,0 +1,57 @@
+package com.rocksti.coopvote.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Valida a criação das opções SIM e NÃO para as pautas já existentes (migração V6).
+ */
+class MigracaoOpcoesPautaIT {
+
+    private static final String URL = "jdbc:h2:mem:migracao_opcoes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void testMigracaoCriaOpcoesPadraoDasPautasExistentes() throws SQLException {
+        migrar("5");
+
+        try (Connection conexao = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = conexao.createStatement()) {
+            statement.execute("INSERT INTO pauta (id, descricao) VALUES (1, 'Pauta 1'), (2, 'Pauta 2')");
+        }
+
+        migrar(null);
+
+        try (Connection conexao = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = conexao.createStatement()) {
+            List<String> opcoes = new ArrayList<>();
+            try (ResultSet resultado = statement.executeQuery(
+                    "SELECT pauta_id, ordinal, descricao FROM opcao_pauta ORDER BY pauta_id, ordinal")) {
+                while (resultado.next()) {
+                    opcoes.add(resultado.getLong(1) + "/" + resultado.getInt(2) + "/" + resultado.getString(3));
+                }
+            }
+
+            assertThat(opcoes)
+                    .as("Verifica se cada pauta recebeu SIM e NÃO nos ordinais já usados pelos votos")
+                    .containsExactly("1/0/SIM", "1/1/NÃO", "2/0/SIM", "2/1/NÃO");
+        }
+    }
+
+    private void migrar(String versaoAlvo) {
+        var configuracao = Flyway.configure().dataSource(URL, "sa", "");
+        if (versaoAlvo != null) {
+            configuracao.target(versaoAlvo);
+        }
+        configuracao.load().migrate();
+    }
+}
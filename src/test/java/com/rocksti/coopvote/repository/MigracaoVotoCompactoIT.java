@@ -0,0 +1,69 @@
+package com.rocksti.coopvote.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Valida a conversão dos votos já existentes para a representação compacta (migração V3).
+ */
+class MigracaoVotoCompactoIT {
+
+    private static final String URL = "jdbc:h2:mem:migracao_compacta;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void testMigracaoConverteVotosExistentes() throws SQLException {
+        migrar("2");
+
+        try (Connection conexao = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = conexao.createStatement()) {
+            statement.execute("INSERT INTO pauta (id, descricao) VALUES (1, 'Pauta 1'), (2, 'Pauta 2')");
+            statement.execute("INSERT INTO voto (associado_id, tipo_voto, pauta_id) VALUES "
+                    + "('11111111111', 'SIM', 1), ('22222222222', 'NAO', 1), ('11111111111', 'NAO', 2)");
+        }
+
+        migrar(null);
+
+        try (Connection conexao = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = conexao.createStatement()) {
+            try (ResultSet resultado = statement.executeQuery("SELECT COUNT(*) FROM associado")) {
+                resultado.next();
+                assertThat(resultado.getLong(1))
+                        .as("Verifica se cada identificador distinto gerou uma entrada no dicionário")
+                        .isEqualTo(2);
+            }
+
+            Map<String, Byte> votos = new HashMap<>();
+            try (ResultSet resultado = statement.executeQuery(
+                    "SELECT a.identificador, v.pauta_id, v.tipo_voto FROM voto v JOIN associado a ON a.id = v.associado_id")) {
+                while (resultado.next()) {
+                    votos.put(resultado.getString(1) + "/" + resultado.getLong(2), resultado.getByte(3));
+                }
+            }
+
+            assertThat(votos)
+                    .as("Verifica se os votos mantêm associado, pauta e tipo após a conversão")
+                    .containsExactlyInAnyOrderEntriesOf(Map.of(
+                            "11111111111/1", (byte) 0,
+                            "22222222222/1", (byte) 1,
+                            "11111111111/2", (byte) 1));
+        }
+    }
+
+    private void migrar(String versaoAlvo) {
+        var configuracao = Flyway.configure().dataSource(URL, "sa", "");
+        if (versaoAlvo != null) {
+            configuracao.target(versaoAlvo);
+        }
+        configuracao.load().migrate();
+    }
+}
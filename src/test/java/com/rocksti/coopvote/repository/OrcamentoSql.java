@@ -0,0 +1,52 @@
+package com.rocksti.coopvote.repository;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Limite de instruções SQL e de linhas lidas para uma operação, verificado pelo {@link ContadorSql}. Um orçamento
+ * estourado indica uma consulta nova no caminho, normalmente um carregamento preguiçoso por item (N+1).
+ * <p>
+ * O teste precisa importar {@link ContadorSql.Configuracao}:
+ * <pre>{@code
+ * Voto voto = OrcamentoSql.instrucoes(2).linhas(1).verificar(() -> voteStore.registrarVoto(...));
+ * }</pre>
+ */
+public final class OrcamentoSql {
+
+    private final long instrucoes;
+    private final long linhas;
+
+    private OrcamentoSql(long instrucoes, long linhas) {
+        this.instrucoes = instrucoes;
+        this.linhas = linhas;
+    }
+
+    public static OrcamentoSql instrucoes(long maximo) {
+        return new OrcamentoSql(maximo, Long.MAX_VALUE);
+    }
+
+    public OrcamentoSql linhas(long maximo) {
+        return new OrcamentoSql(instrucoes, maximo);
+    }
+
+    public <T> T verificar(Supplier<T> operacao) {
+        ContadorSql.zerar();
+        T resultado = operacao.get();
+        assertThat(ContadorSql.instrucoes())
+                .as("Instruções SQL acima do orçamento: %s", ContadorSql.sql())
+                .isLessThanOrEqualTo(instrucoes);
+        assertThat(ContadorSql.linhas())
+                .as("Linhas lidas acima do orçamento nas instruções: %s", ContadorSql.sql())
+                .isLessThanOrEqualTo(linhas);
+        return resultado;
+    }
+
+    public void verificar(Runnable operacao) {
+        verificar(() -> {
+            operacao.run();
+            return null;
+        });
+    }
+}
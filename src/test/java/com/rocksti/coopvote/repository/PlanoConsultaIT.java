@@ -0,0 +1,138 @@
+package com.rocksti.coopvote.repository;
+
+import com.rocksti.coopvote.entity.Associado;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.enums.TipoEvento;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.outbox.EventoOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que as consultas quentes dos repositórios são resolvidas pelos índices criados nas migrações,
+ * capturando na camada JDBC o SQL gerado pelo Hibernate e pelos repositórios JDBC e avaliando o plano de execução
+ * retornado pelo {@code EXPLAIN}.
+ */
+class PlanoConsultaIT {
+
+    @Nested
+    @SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:plano_h2")
+    @Import(ContadorSql.Configuracao.class)
+    class H2 extends VerificacaoPlano {
+    }
+
+    @Nested
+    @SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:plano_mysql;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+    @Import(ContadorSql.Configuracao.class)
+    class ModoMySql extends VerificacaoPlano {
+    }
+
+    abstract static class VerificacaoPlano {
+
+        @Autowired
+        private PautaRepository pautaRepository;
+
+        @Autowired
+        private VotoRepository votoRepository;
+
+        @Autowired
+        private AssociadoRepository associadoRepository;
+
+        @Autowired
+        private ParticipacaoArquivadaRepository participacaoArquivadaRepository;
+
+        @Autowired
+        private EventoOutboxRepository eventoOutboxRepository;
+
+        @Autowired
+        private DataSource dataSource;
+
+        private Pauta pauta;
+
+        private Associado associado;
+
+        @BeforeEach
+        void setUp() {
+            pauta = pautaRepository.save(Pauta.builder().descricao("Pauta do plano de execução").build());
+            IntStream.range(0, 50).forEach(i -> votoRepository.save(Voto.builder()
+                    .pauta(pauta)
+                    .associado(associadoRepository.save(Associado.builder().identificador(pauta.getId() + "-" + i).build()))
+                    .opcao(i % 2 == 0 ? TipoVoto.SIM.getCodigo() : TipoVoto.NAO.getCodigo())
+                    .build()));
+            associado = associadoRepository.findByIdentificador(pauta.getId() + "-1").orElseThrow();
+            eventoOutboxRepository.inserir(pauta.getId(), TipoEvento.VOTO_REGISTRADO, List.of("{}"), LocalDateTime.now());
+            ContadorSql.zerar();
+        }
+
+        @Test
+        void testConsultasNaoFazemVarreduraCompleta() throws SQLException {
+            pautaRepository.findById(pauta.getId());
+            associadoRepository.findByIdentificador(associado.getIdentificador());
+            pautaRepository.findSessaoById(pauta.getId());
+            pautaRepository.findSituacaoVoto(pauta.getId(), associado.getIdentificador());
+            pautaRepository.findOpcoesById(pauta.getId());
+            pautaRepository.findResumosByIdIn(List.of(pauta.getId()));
+            pautaRepository.findOpcoesByIdIn(List.of(pauta.getId()));
+            votoRepository.contarPorPautaEOpcao(List.of(pauta.getId()));
+            votoRepository.listarPorAssociado(associado.getIdentificador(), Long.MAX_VALUE, Limit.of(50));
+            pautaRepository.findResumosByIdGreaterThan(0L, Limit.of(1_000));
+            pautaRepository.findSessoesIniciadasEntre(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+            participacaoArquivadaRepository.registrar(pauta.getId());
+            participacaoArquivadaRepository.listar(associado.getIdentificador(), Long.MAX_VALUE, 50);
+            List<Long> reservados = eventoOutboxRepository.reservarLote("plano", 100, Duration.ofSeconds(30)).stream()
+                    .map(EventoOutbox::id)
+                    .toList();
+            eventoOutboxRepository.liberar("plano", reservados);
+            eventoOutboxRepository.remover("plano", reservados);
+
+            Map<String, String> planos = new LinkedHashMap<>();
+            for (String sql : ContadorSql.sql()) {
+                planos.putIfAbsent(sql, explicar(sql));
+            }
+
+            assertThat(planos)
+                    .as("Verifica se as consultas dos repositórios foram capturadas")
+                    .hasSizeGreaterThanOrEqualTo(15);
+            planos.forEach((sql, plano) -> assertThat(plano.toLowerCase())
+                    .as("Verifica se a consulta utiliza índice: %s%nPlano: %s", sql, plano)
+                    .doesNotContain("tablescan"));
+        }
+
+        private String explicar(String sql) throws SQLException {
+            try (Connection conexao = dataSource.getConnection();
+                 PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql)) {
+                int parametros = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parametros; i++) {
+                    explain.setString(i, "1");
+                }
+                try (ResultSet resultado = explain.executeQuery()) {
+                    StringBuilder plano = new StringBuilder();
+                    while (resultado.next()) {
+                        plano.append(resultado.getString(1));
+                    }
+                    return plano.toString();
+                }
+            }
+        }
+    }
+}
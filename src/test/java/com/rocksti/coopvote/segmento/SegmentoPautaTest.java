@@ -0,0 +1,108 @@
+package com.rocksti.coopvote.segmento;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentoPautaTest {
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void testGravarEBuscarVotos() throws IOException {
+        Random aleatorio = new Random(42);
+        Map<String, Integer> esperados = new HashMap<>();
+        while (esperados.size() < 1_000) {
+            esperados.put(String.format("%011d", 10_000_000_000L + aleatorio.nextInt(5_000_000)), aleatorio.nextInt(2));
+        }
+        List<VotoCompacto> votos = esperados.entrySet().stream()
+                .map(voto -> new VotoCompacto(voto.getKey(), voto.getValue()))
+                .toList();
+        Path arquivo = diretorio.resolve("pauta-7.seg");
+
+        SegmentoPauta.gravar(arquivo, 7L, 2, votos);
+        SegmentoPauta segmento = SegmentoPauta.abrir(arquivo);
+
+        assertThat(segmento.getPautaId()).isEqualTo(7L);
+        assertThat(segmento.getQuantidadeVotos()).isEqualTo(1_000);
+        assertThat(segmento.getContagem()).containsExactly(
+                esperados.values().stream().filter(codigo -> codigo == 0).count(),
+                esperados.values().stream().filter(codigo -> codigo == 1).count());
+        esperados.forEach((associado, codigo) -> assertThat(segmento.buscar(associado))
+                .as("Verifica o voto do associado %s", associado)
+                .isEqualTo(OptionalInt.of(codigo)));
+        assertThat(segmento.buscar("00000000000")).isEmpty();
+        assertThat(segmento.buscar("99999999999x")).isEmpty();
+        assertThat(Files.size(arquivo))
+                .as("Verifica se os identificadores foram compactados pelo prefixo comum")
+                .isLessThan(1_000L * 11);
+
+        List<String> percorridos = new ArrayList<>();
+        segmento.percorrer((associado, codigo) -> {
+            percorridos.add(associado);
+            assertThat(codigo).isEqualTo(esperados.get(associado));
+        });
+        assertThat(percorridos).hasSize(1_000).isSorted();
+    }
+
+    @Test
+    void testGravarOpcoesComMaisDeUmBit() throws IOException {
+        List<VotoCompacto> votos = List.of(
+                new VotoCompacto("ana", 4), new VotoCompacto("bruno", 0), new VotoCompacto("carla", 3),
+                new VotoCompacto("ação", 2));
+        Path arquivo = diretorio.resolve("pauta-8.seg");
+
+        SegmentoPauta.gravar(arquivo, 8L, 5, votos);
+        SegmentoPauta segmento = SegmentoPauta.abrir(arquivo);
+
+        assertThat(segmento.getContagem()).containsExactly(1, 0, 1, 1, 1);
+        assertThat(segmento.buscar("ana")).hasValue(4);
+        assertThat(segmento.buscar("ação")).hasValue(2);
+        assertThat(segmento.buscar("carla")).hasValue(3);
+    }
+
+    @Test
+    void testGravarPautaSemVotos() throws IOException {
+        Path arquivo = diretorio.resolve("pauta-9.seg");
+
+        SegmentoPauta.gravar(arquivo, 9L, 2, List.of());
+        SegmentoPauta segmento = SegmentoPauta.abrir(arquivo);
+
+        assertThat(segmento.getQuantidadeVotos()).isZero();
+        assertThat(segmento.buscar("1")).isEmpty();
+    }
+
+    @Test
+    void testRejeitarArquivoCorrompido() throws IOException {
+        Path arquivo = diretorio.resolve("pauta-10.seg");
+        SegmentoPauta.gravar(arquivo, 10L, 2, List.of(new VotoCompacto("1", 0), new VotoCompacto("2", 1)));
+        byte[] conteudo = Files.readAllBytes(arquivo);
+        conteudo[conteudo.length - 1] ^= 1;
+        Files.write(arquivo, conteudo);
+
+        assertThatThrownBy(() -> SegmentoPauta.abrir(arquivo))
+                .isInstanceOf(SegmentoPautaException.class)
+                .hasMessageContaining("corrompido");
+    }
+
+    @Test
+    void testRejeitarVotoDuplicado() {
+        List<VotoCompacto> votos = List.of(new VotoCompacto("1", 0), new VotoCompacto("1", 1));
+
+        assertThatThrownBy(() -> SegmentoPauta.gravar(diretorio.resolve("pauta-11.seg"), 11L, 2, votos))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
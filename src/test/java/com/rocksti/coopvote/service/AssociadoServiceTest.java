@@ -0,0 +1,71 @@
+package com.rocksti.coopvote.service;
+
+import com.rocksti.coopvote.entity.Associado;
+import com.rocksti.coopvote.repository.AssociadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AssociadoServiceTest {
+
+    @Mock
+    private AssociadoRepository associadoRepository;
+
+    @InjectMocks
+    private AssociadoService associadoService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testObterAssociadoExistente() {
+        Associado associado = Associado.builder().id(1L).identificador("12345678900").build();
+
+        when(associadoRepository.findByIdentificador("12345678900")).thenReturn(Optional.of(associado));
+
+        Associado resultado = associadoService.obterOuCadastrar("12345678900");
+
+        assertEquals(associado, resultado, "Deve retornar o associado já cadastrado");
+        verify(associadoRepository, never()).save(any(Associado.class));
+    }
+
+    @Test
+    void testCadastrarAssociadoNovo() {
+        Associado associado = Associado.builder().id(1L).identificador("12345678900").build();
+
+        when(associadoRepository.findByIdentificador("12345678900")).thenReturn(Optional.empty());
+        when(associadoRepository.save(any(Associado.class))).thenReturn(associado);
+
+        Associado resultado = associadoService.obterOuCadastrar("12345678900");
+
+        assertEquals(1L, resultado.getId(), "Deve retornar a chave gerada para o associado");
+    }
+
+    @Test
+    void testCadastrarAssociadoConcorrente() {
+        Associado associado = Associado.builder().id(1L).identificador("12345678900").build();
+
+        when(associadoRepository.findByIdentificador("12345678900"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(associado));
+        when(associadoRepository.save(any(Associado.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_associado_identificador"));
+
+        Associado resultado = associadoService.obterOuCadastrar("12345678900");
+
+        assertEquals(associado, resultado, "Deve retornar o associado cadastrado pela requisição concorrente");
+    }
+}
@@ -0,0 +1,55 @@
+package com.rocksti.coopvote.service;
+
+import com.rocksti.coopvote.busca.BuscaProperties;
+import com.rocksti.coopvote.cooperativa.CooperativaProperties;
+import com.rocksti.coopvote.cooperativa.Cooperativas;
+import com.rocksti.coopvote.dto.PautaEncontradaDto;
+import com.rocksti.coopvote.dto.ResumoPautaDto;
+import com.rocksti.coopvote.store.VoteStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BuscaPautaServiceTest {
+
+    @Mock
+    private VoteStore voteStore;
+
+    private BuscaPautaService buscaPautaService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        BuscaProperties propriedades = new BuscaProperties();
+        propriedades.setJanelaReleitura(10);
+        buscaPautaService = new BuscaPautaService(voteStore,
+                new Cooperativas(new CooperativaProperties(), "jpa"), propriedades);
+    }
+
+    @Test
+    void testSincronizarPautaConfirmadaDepoisDeUmaDeIdMaior() {
+        ResumoPautaDto conselho = new ResumoPautaDto(41L, "Eleição do conselho fiscal", false);
+        ResumoPautaDto orcamento = new ResumoPautaDto(42L, "Orçamento anual", false);
+        when(voteStore.listarResumosPautas(anyLong(), anyInt())).thenReturn(List.of(orcamento));
+        assertThat(buscaPautaService.sincronizar()).isEqualTo(1);
+
+        when(voteStore.listarResumosPautas(anyLong(), anyInt())).thenReturn(List.of(conselho, orcamento));
+        assertThat(buscaPautaService.sincronizar())
+                .as("Verifica se a pauta de ID menor, confirmada depois, entra no índice")
+                .isEqualTo(1);
+
+        verify(voteStore).listarResumosPautas(32L, 1_000);
+        assertThat(buscaPautaService.buscar("conselho", 0, 10).getPautas())
+                .extracting(PautaEncontradaDto::getPautaId)
+                .containsExactly(41L);
+    }
+}
@@ -0,0 +1,131 @@
+package com.rocksti.coopvote.service;
+
+import com.rocksti.coopvote.analise.AnaliseProperties;
+import com.rocksti.coopvote.dto.ParticipacaoDto;
+import com.rocksti.coopvote.dto.ParticipacaoPeriodoDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.enums.Periodicidade;
+import com.rocksti.coopvote.exception.IntervaloInvalidoException;
+import com.rocksti.coopvote.store.VoteStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParticipacaoServiceTest {
+
+    private static final Map<Long, ResultadoPautaDto> RESULTADOS = Map.of(
+            1L, ResultadoPautaDto.from(1L, "Pauta 1", List.of("SIM", "NÃO"), new long[]{2, 1}),
+            2L, ResultadoPautaDto.from(2L, "Pauta 2", List.of("SIM", "NÃO"), new long[]{1, 1}),
+            3L, ResultadoPautaDto.from(3L, "Eleição", List.of("Chapa 1", "Chapa 2", "Chapa 3"), new long[]{1, 0, 2}));
+
+    private static final Map<Long, List<String>> VOTANTES = Map.of(
+            1L, List.of("a", "b", "c"),
+            2L, List.of("a", "d"),
+            3L, List.of("a", "e", "f"));
+
+    @Mock
+    private VoteStore voteStore;
+
+    private ParticipacaoService participacaoService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AnaliseProperties propriedades = new AnaliseProperties();
+        propriedades.setPautasPorTarefa(1);
+        propriedades.setParalelismo(2);
+        participacaoService = new ParticipacaoService(voteStore, propriedades);
+
+        when(voteStore.listarSessoesIniciadasEntre(any(), any())).thenReturn(List.of(
+                new SessaoPautaDto(1L, LocalDateTime.of(2024, 1, 10, 19, 0), 60L),
+                new SessaoPautaDto(2L, LocalDateTime.of(2024, 1, 20, 19, 0), 60L),
+                new SessaoPautaDto(3L, LocalDateTime.of(2024, 3, 5, 19, 0), 60L, 3, false)));
+        when(voteStore.buscarResultados(anyCollection())).thenAnswer(invocacao ->
+                ((Collection<Long>) invocacao.getArgument(0)).stream().map(RESULTADOS::get).toList());
+        doAnswer(invocacao -> {
+            BiConsumer<Long, String> consumidor = invocacao.getArgument(1);
+            ((Collection<Long>) invocacao.getArgument(0))
+                    .forEach(pautaId -> VOTANTES.get(pautaId).forEach(associado -> consumidor.accept(pautaId, associado)));
+            return null;
+        }).when(voteStore).percorrerVotantes(anyCollection(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        participacaoService.encerrar();
+    }
+
+    @Test
+    void testCalcularPorPeriodoEGuardarPeriodosFechados() {
+        LocalDateTime agora = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        ParticipacaoDto participacao = participacaoService.calcular(
+                LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 1), Periodicidade.MES, agora);
+
+        assertThat(participacao.getPeriodos())
+                .as("Verifica os totais de cada mês, inclusive o mês sem sessões")
+                .extracting(ParticipacaoPeriodoDto::getInicio, ParticipacaoPeriodoDto::getSessoes,
+                        ParticipacaoPeriodoDto::getVotos, ParticipacaoPeriodoDto::getMediaVotosPorSessao,
+                        ParticipacaoPeriodoDto::getProporcaoSim, ParticipacaoPeriodoDto::getAssociadosDistintos)
+                .containsExactly(
+                        tuple(LocalDate.of(2024, 1, 1), 2L, 5L, 2.5, 0.6, 4L),
+                        tuple(LocalDate.of(2024, 2, 1), 0L, 0L, 0.0, null, 0L),
+                        tuple(LocalDate.of(2024, 3, 1), 1L, 3L, 3.0, null, 3L));
+        assertThat(participacao.getTotal())
+                .as("Verifica se o associado que votou nos dois meses conta uma única vez no total")
+                .extracting(ParticipacaoPeriodoDto::getInicio, ParticipacaoPeriodoDto::getFim,
+                        ParticipacaoPeriodoDto::getVotos, ParticipacaoPeriodoDto::getAssociadosDistintos)
+                .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 1), 8L, 6L);
+        assertThat(participacao.getPeriodos()).allMatch(ParticipacaoPeriodoDto::isFechado);
+
+        ParticipacaoDto repetida = participacaoService.calcular(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Periodicidade.MES, agora);
+
+        assertThat(repetida.getTotal().getAssociadosDistintos()).isEqualTo(6L);
+        verify(voteStore, times(1)).listarSessoesIniciadasEntre(any(), any());
+    }
+
+    @Test
+    void testNaoGuardarPeriodoDentroDaCarencia() {
+        LocalDateTime agora = LocalDateTime.of(2024, 4, 10, 0, 0);
+
+        ParticipacaoDto participacao = participacaoService.calcular(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Periodicidade.TRIMESTRE, agora);
+        participacaoService.calcular(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Periodicidade.TRIMESTRE, agora);
+
+        assertThat(participacao.getPeriodos())
+                .singleElement()
+                .extracting(ParticipacaoPeriodoDto::getSessoes, ParticipacaoPeriodoDto::isFechado)
+                .containsExactly(3L, false);
+        verify(voteStore, times(2)).listarSessoesIniciadasEntre(
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 4, 1, 0, 0));
+    }
+
+    @Test
+    void testIntervaloInvertido() {
+        assertThatThrownBy(() -> participacaoService.calcular(
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 1, 1), Periodicidade.MES, LocalDateTime.now()))
+                .isInstanceOf(IntervaloInvalidoException.class);
+    }
+}
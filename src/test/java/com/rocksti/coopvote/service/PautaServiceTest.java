@@ -1,12 +1,22 @@
 package com.rocksti.coopvote.service;
 
+import com.rocksti.coopvote.dto.AberturaSessaoPautaDto;
+import com.rocksti.coopvote.dto.AberturaSessoesDto;
+import com.rocksti.coopvote.dto.CadastroPautaDto;
 import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.PautasCadastradasDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.ResultadosPautasDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.dto.SessoesAbertasDto;
 import com.rocksti.coopvote.entity.Pauta;
-import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.enums.SituacaoAberturaSessao;
 import com.rocksti.coopvote.enums.TipoVoto;
 import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.exception.LoteInvalidoException;
 import com.rocksti.coopvote.exception.NotFoundException;
-import com.rocksti.coopvote.repository.PautaRepository;
+import com.rocksti.coopvote.exception.OpcaoInvalidaException;
+import com.rocksti.coopvote.store.VoteStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -14,8 +24,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -23,6 +35,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,7 +46,10 @@ import static org.mockito.Mockito.when;
 class PautaServiceTest {
 
     @Mock
-    private PautaRepository pautaRepository;
+    private VoteStore voteStore;
+
+    @Mock
+    private BuscaPautaService buscaPautaService;
 
     @InjectMocks
     private PautaService pautaService;
@@ -52,7 +71,7 @@ class PautaServiceTest {
                 .descricao("Descrição da pauta")
                 .build();
 
-        when(pautaRepository.save(any(Pauta.class))).thenReturn(expectedPauta);
+        when(voteStore.salvarPauta(any(Pauta.class))).thenReturn(expectedPauta);
 
         Pauta resultado = pautaService.cadastrarPauta(pautaDto);
 
@@ -61,11 +80,38 @@ class PautaServiceTest {
         assertEquals(expectedPauta.getId(), resultado.getId(), "O ID deve ser igual ao esperado");
 
         ArgumentCaptor<Pauta> captor = ArgumentCaptor.forClass(Pauta.class);
-        verify(pautaRepository, times(1)).save(captor.capture());
+        verify(voteStore, times(1)).salvarPauta(captor.capture());
         Pauta pautaSalva = captor.getValue();
 
         assertNotNull(pautaSalva, "A pauta salva não deve ser nula");
         assertEquals(pautaDto.getDescricao(), pautaSalva.getDescricao(), "A descrição da pauta salva deve ser igual ao DTO");
+        assertEquals(List.of("SIM", "NÃO"), pautaSalva.getOpcoes(), "Sem opções informadas a pauta deve ser simples");
+        verify(buscaPautaService).indexar(expectedPauta);
+    }
+
+    @Test
+    void testCadastrarPautaComOpcoes() {
+        PautaDto pautaDto = PautaDto.builder()
+                .descricao("Eleição")
+                .opcoes(List.of(" Chapa 1 ", "Chapa 2", "Abstenção"))
+                .build();
+        when(voteStore.salvarPauta(any(Pauta.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        Pauta pauta = pautaService.cadastrarPauta(pautaDto);
+
+        assertEquals(List.of("Chapa 1", "Chapa 2", "Abstenção"), pauta.getOpcoes(), "As opções devem manter a ordem informada");
+    }
+
+    @Test
+    void testCadastrarPautaComOpcoesInvalidas() {
+        PautaDto umaOpcao = PautaDto.builder().descricao("Pauta").opcoes(List.of("Única")).build();
+        PautaDto repetidas = PautaDto.builder().descricao("Pauta").opcoes(List.of("A", "B", "A")).build();
+        PautaDto vazia = PautaDto.builder().descricao("Pauta").opcoes(java.util.Arrays.asList("A", " ", null)).build();
+
+        assertThrows(OpcaoInvalidaException.class, () -> pautaService.cadastrarPauta(umaOpcao));
+        assertThrows(OpcaoInvalidaException.class, () -> pautaService.cadastrarPauta(repetidas));
+        assertThrows(OpcaoInvalidaException.class, () -> pautaService.cadastrarPauta(vazia));
+        verify(voteStore, never()).salvarPauta(any());
     }
 
     @Test
@@ -73,16 +119,13 @@ class PautaServiceTest {
         Long pautaId = 1L;
         Long tempoSessao = 1L;
 
-        Pauta pauta = Pauta.builder()
-                .id(pautaId)
-                .inicioSessao(java.time.LocalDateTime.now())
-                .build();
-
-        when(pautaRepository.findById(pautaId)).thenReturn(java.util.Optional.of(pauta));
+        when(voteStore.abrirSessoes(eq(List.of(pautaId)), any(LocalDateTime.class), eq(tempoSessao)))
+                .thenReturn(Map.of(pautaId, SituacaoAberturaSessao.JA_ABERTA));
 
         ConflictRequestException exception = assertThrows(ConflictRequestException.class, () -> pautaService.abrirSessao(pautaId, tempoSessao));
 
         assertEquals("A sessão já foi aberta para esta pauta", exception.getMessage(), "A mensagem de erro deve ser 'A sessão já foi aberta para esta pauta'");
+        verify(voteStore, never()).buscarPauta(any());
     }
 
     @Test
@@ -93,23 +136,20 @@ class PautaServiceTest {
         Pauta pauta = Pauta.builder()
                 .id(pautaId)
                 .descricao("Descrição da pauta")
+                .inicioSessao(LocalDateTime.now())
+                .tempoSessaoMinutos(tempoSessao)
                 .build();
 
-        when(pautaRepository.findById(pautaId)).thenReturn(java.util.Optional.of(pauta));
-        when(pautaRepository.save(any(Pauta.class))).thenReturn(pauta);
+        when(voteStore.abrirSessoes(eq(List.of(pautaId)), any(LocalDateTime.class), eq(tempoSessao)))
+                .thenReturn(Map.of(pautaId, SituacaoAberturaSessao.ABERTA));
+        when(voteStore.buscarPauta(pautaId)).thenReturn(java.util.Optional.of(pauta));
 
         Pauta resultado = pautaService.abrirSessao(pautaId, tempoSessao);
 
         assertNotNull(resultado, "O resultado não deve ser nulo");
         assertEquals(pautaId, resultado.getId(), "O ID deve ser igual ao esperado");
         assertEquals(tempoSessao, resultado.getTempoSessaoMinutos(), "O tempo de sessão deve ser igual ao esperado");
-
-        ArgumentCaptor<Pauta> captor = ArgumentCaptor.forClass(Pauta.class);
-        verify(pautaRepository, times(1)).save(captor.capture());
-        Pauta pautaSalva = captor.getValue();
-
-        assertNotNull(pautaSalva, "A pauta salva não deve ser nula");
-        assertEquals(tempoSessao, pautaSalva.getTempoSessaoMinutos(), "O tempo de sessão da pauta salva deve ser igual ao esperado");
+        verify(voteStore, times(1)).abrirSessoes(eq(List.of(pautaId)), any(LocalDateTime.class), eq(tempoSessao));
     }
 
     @Test
@@ -117,13 +157,77 @@ class PautaServiceTest {
         Long pautaId = 1L;
         Long tempoSessao = 1L;
 
-        when(pautaRepository.findById(pautaId)).thenReturn(java.util.Optional.empty());
+        when(voteStore.abrirSessoes(eq(List.of(pautaId)), any(LocalDateTime.class), eq(tempoSessao)))
+                .thenReturn(Map.of(pautaId, SituacaoAberturaSessao.NAO_ENCONTRADA));
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> pautaService.abrirSessao(pautaId, tempoSessao));
 
         assertEquals("Pauta não encontrada", exception.getMessage(), "A mensagem de erro deve ser 'Pauta não encontrada'");
     }
 
+    @Test
+    void testCadastrarPautasEmLoteComPautaInvalida() {
+        List<PautaDto> lote = List.of(
+                PautaDto.builder().descricao("Aprovação das contas").build(),
+                PautaDto.builder().descricao("Opção única").opcoes(List.of("Sim")).build(),
+                PautaDto.builder().descricao("Eleição do conselho").opcoes(List.of("Chapa 1", "Chapa 2")).build());
+        when(voteStore.cadastrarPautas(anyList())).thenAnswer(invocation -> {
+            List<Pauta> pautas = invocation.getArgument(0);
+            for (int i = 0; i < pautas.size(); i++) {
+                pautas.get(i).setId(10L + i);
+            }
+            return pautas;
+        });
+
+        PautasCadastradasDto resultado = pautaService.cadastrarPautas(lote);
+
+        assertEquals(2, resultado.getCadastradas());
+        assertEquals(1, resultado.getRejeitadas());
+        assertEquals(List.of(10L, 11L), resultado.getPautas().stream()
+                .map(CadastroPautaDto::getPautaId).filter(java.util.Objects::nonNull).toList());
+        assertEquals(1, resultado.getPautas().get(1).getIndice());
+        assertNotNull(resultado.getPautas().get(1).getErro(), "A pauta rejeitada deve informar o motivo");
+        verify(voteStore, times(1)).cadastrarPautas(anyList());
+        verify(buscaPautaService, times(2)).indexar(any(Pauta.class));
+    }
+
+    @Test
+    void testCadastrarPautasEmLoteVazio() {
+        assertThrows(LoteInvalidoException.class, () -> pautaService.cadastrarPautas(List.of()));
+        verify(voteStore, never()).cadastrarPautas(anyList());
+    }
+
+    @Test
+    void testAgendarSessoesEmLote() {
+        LocalDateTime inicio = LocalDateTime.now().plusHours(2);
+        when(voteStore.abrirSessoes(List.of(1L, 2L, 3L), inicio, 30L)).thenReturn(Map.of(
+                1L, SituacaoAberturaSessao.ABERTA,
+                2L, SituacaoAberturaSessao.JA_ABERTA,
+                3L, SituacaoAberturaSessao.NAO_ENCONTRADA));
+
+        SessoesAbertasDto resultado = pautaService.abrirSessoes(AberturaSessoesDto.builder()
+                .pautaIds(List.of(1L, 2L, 1L, 3L))
+                .tempoSessaoMinutos(30L)
+                .inicioSessao(inicio)
+                .build());
+
+        assertEquals(inicio, resultado.getInicioSessao());
+        assertEquals(List.of(SituacaoAberturaSessao.AGENDADA, SituacaoAberturaSessao.JA_ABERTA,
+                        SituacaoAberturaSessao.NAO_ENCONTRADA),
+                resultado.getPautas().stream().map(AberturaSessaoPautaDto::getSituacao).toList());
+    }
+
+    @Test
+    void testAgendarSessoesComInicioNoPassado() {
+        AberturaSessoesDto abertura = AberturaSessoesDto.builder()
+                .pautaIds(List.of(1L))
+                .inicioSessao(LocalDateTime.now().minusMinutes(5))
+                .build();
+
+        assertThrows(LoteInvalidoException.class, () -> pautaService.abrirSessoes(abertura));
+        verify(voteStore, never()).abrirSessoes(anyList(), any(), anyLong());
+    }
+
     @Test
     void testBuscarPautas() {
         Pauta pauta1 = Pauta.builder()
@@ -136,7 +240,7 @@ class PautaServiceTest {
                 .descricao("Descrição da pauta 2")
                 .build();
 
-        when(pautaRepository.findAll()).thenReturn(List.of(pauta1, pauta2));
+        when(voteStore.listarPautas()).thenReturn(List.of(pauta1, pauta2));
 
         var pautas = pautaService.listarPautas();
 
@@ -161,7 +265,7 @@ class PautaServiceTest {
                 .descricao("Descrição da pauta")
                 .build();
 
-        when(pautaRepository.findById(pautaId)).thenReturn(java.util.Optional.of(pauta));
+        when(voteStore.buscarPauta(pautaId)).thenReturn(java.util.Optional.of(pauta));
 
         Pauta resultado = pautaService.buscarPautaPorId(pautaId);
 
@@ -174,7 +278,7 @@ class PautaServiceTest {
     void testBuscarPautaPorIdPautaNaoEncontrada() {
         Long pautaId = 1L;
 
-        when(pautaRepository.findById(pautaId)).thenReturn(java.util.Optional.empty());
+        when(voteStore.buscarPauta(pautaId)).thenReturn(java.util.Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> pautaService.buscarPautaPorId(pautaId));
 
@@ -185,17 +289,8 @@ class PautaServiceTest {
     void testContarVotosComVotos() {
         Long pautaId = 1L;
 
-        Pauta pauta = Pauta.builder()
-                .id(pautaId)
-                .votos(new ArrayList<>())
-                .descricao("Descrição da pauta")
-                .build();
-
-        pauta.getVotos().add(Voto.builder().tipoVoto(TipoVoto.SIM).build());
-        pauta.getVotos().add(Voto.builder().tipoVoto(TipoVoto.SIM).build());
-        pauta.getVotos().add(Voto.builder().tipoVoto(TipoVoto.NAO).build());
-
-        when(pautaRepository.findById(pautaId)).thenReturn(java.util.Optional.of(pauta));
+        when(voteStore.buscarResultados(List.of(pautaId))).thenReturn(List.of(
+                ResultadoPautaDto.from(pautaId, "Descrição da pauta", TipoVoto.opcoesPadrao(), new long[]{2, 1})));
 
         String resultado = pautaService.contarVotos(pautaId);
 
@@ -204,16 +299,24 @@ class PautaServiceTest {
     }
 
     @Test
-    void testContarVotosSemVotos() {
+    void testContarVotosComOpcoes() {
         Long pautaId = 1L;
 
-        Pauta pauta = Pauta.builder()
-                .id(pautaId)
-                .votos(new ArrayList<>())
-                .descricao("Descrição da pauta")
-                .build();
+        when(voteStore.buscarResultados(List.of(pautaId))).thenReturn(List.of(ResultadoPautaDto.from(
+                pautaId, "Eleição", List.of("Chapa 1", "Chapa 2", "Abstenção"), new long[]{4, 0, 1})));
+
+        String resultado = pautaService.contarVotos(pautaId);
+
+        assertEquals("Resultado da votação para a pauta 'Eleição': Chapa 1 = 4, Chapa 2 = 0, Abstenção = 1", resultado,
+                "As opções devem aparecer na ordem da pauta, inclusive as sem votos");
+    }
+
+    @Test
+    void testContarVotosSemVotos() {
+        Long pautaId = 1L;
 
-        when(pautaRepository.findById(pautaId)).thenReturn(java.util.Optional.of(pauta));
+        when(voteStore.buscarResultados(List.of(pautaId))).thenReturn(List.of(
+                ResultadoPautaDto.from(pautaId, "Descrição da pauta", TipoVoto.opcoesPadrao(), new long[0])));
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> pautaService.contarVotos(pautaId));
 
@@ -224,7 +327,7 @@ class PautaServiceTest {
     void testContarVotosPautaNaoEncontrada() {
         Long pautaId = 1L;
 
-        when(pautaRepository.findById(pautaId)).thenReturn(java.util.Optional.empty());
+        when(voteStore.buscarResultados(List.of(pautaId))).thenReturn(List.of());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> pautaService.contarVotos(pautaId));
 
@@ -253,4 +356,71 @@ class PautaServiceTest {
 
         assertTrue(resultado, "O resultado deve ser verdadeiro");
     }
+
+    @Test
+    void testBuscarSessaoPorId() {
+        Long pautaId = 1L;
+        SessaoPautaDto sessao = new SessaoPautaDto(pautaId, java.time.LocalDateTime.now(), 5L);
+
+        when(voteStore.buscarSessao(pautaId)).thenReturn(java.util.Optional.of(sessao));
+
+        SessaoPautaDto resultado = pautaService.buscarSessaoPorId(pautaId);
+
+        assertEquals(sessao, resultado, "Deve retornar os dados da sessão da pauta");
+        verify(voteStore, never()).buscarPauta(any());
+    }
+
+    @Test
+    void testBuscarSessaoPorIdPautaNaoEncontrada() {
+        Long pautaId = 1L;
+
+        when(voteStore.buscarSessao(pautaId)).thenReturn(java.util.Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> pautaService.buscarSessaoPorId(pautaId));
+
+        assertEquals("Pauta não encontrada", exception.getMessage(), "A mensagem de erro deve ser 'Pauta não encontrada'");
+    }
+
+    @Test
+    void testIsSessaoExpiradaSessaoAtiva() {
+        SessaoPautaDto sessao = new SessaoPautaDto(1L, java.time.LocalDateTime.now(), 5L);
+
+        boolean resultado = pautaService.isSessaoExpirada(sessao);
+
+        assertFalse(resultado, "O resultado deve ser falso");
+    }
+
+    @Test
+    void testBuscarResultados() {
+        ResultadoPautaDto resultado1 = ResultadoPautaDto.from(1L, "Pauta 1", TipoVoto.opcoesPadrao(), new long[]{2, 1});
+        ResultadoPautaDto resultado3 = ResultadoPautaDto.from(3L, "Pauta 3", TipoVoto.opcoesPadrao(), new long[0]);
+
+        when(voteStore.buscarResultados(List.of(3L, 2L, 1L))).thenReturn(List.of(resultado1, resultado3));
+
+        ResultadosPautasDto resultados = pautaService.buscarResultados(List.of(3L, 2L, 3L, 1L));
+
+        assertEquals(List.of(resultado3, resultado1), resultados.getResultados(), "Os resultados devem seguir a ordem pedida");
+        assertEquals(List.of(2L), resultados.getNaoEncontradas(), "A pauta inexistente deve ser informada à parte");
+        assertEquals(3L, resultado1.getTotalVotos(), "O total deve somar as opções");
+        assertEquals(0L, resultado3.getOpcoes().getFirst().getVotos(), "Opções sem votos devem aparecer zeradas");
+    }
+
+    @Test
+    void testBuscarResultadosEmLotes() {
+        List<Long> pautaIds = LongStream.rangeClosed(1, 1200).boxed().toList();
+        when(voteStore.buscarResultados(anyList())).thenReturn(List.of());
+
+        ResultadosPautasDto resultados = pautaService.buscarResultados(pautaIds);
+
+        verify(voteStore, times(3)).buscarResultados(anyList());
+        assertEquals(1200, resultados.getNaoEncontradas().size(), "Todas as pautas devem ser informadas como não encontradas");
+    }
+
+    @Test
+    void testBuscarResultadosAcimaDoLimite() {
+        List<Long> pautaIds = LongStream.rangeClosed(1, 2001).boxed().toList();
+
+        assertThrows(LoteInvalidoException.class, () -> pautaService.buscarResultados(pautaIds));
+        verify(voteStore, never()).buscarResultados(anyList());
+    }
 }
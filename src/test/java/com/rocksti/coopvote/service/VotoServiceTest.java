@@ -1,33 +1,55 @@
 package com.rocksti.coopvote.service;
 
+import com.rocksti.coopvote.dto.HistoricoVotosDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.dto.SituacaoVotoDto;
 import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.elegibilidade.ElegibilidadeClient;
 import com.rocksti.coopvote.entity.Pauta;
 import com.rocksti.coopvote.entity.Voto;
 import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.AssociadoInelegivelException;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.exception.ElegibilidadeIndisponivelException;
+import com.rocksti.coopvote.exception.OpcaoInvalidaException;
 import com.rocksti.coopvote.exception.SessaoExpiradaException;
-import com.rocksti.coopvote.repository.PautaRepository;
-import com.rocksti.coopvote.repository.VotoRepository;
+import com.rocksti.coopvote.recebimento.RecebimentoProperties;
+import com.rocksti.coopvote.store.VoteStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class VotoServiceTest {
     @Mock
-    private VotoRepository votoRepository;
+    private VoteStore voteStore;
 
     @Mock
-    private PautaRepository pautaRepository;
+    private PautaService pautaService;
 
     @Mock
-    private PautaService pautaService;
+    private ElegibilidadeClient elegibilidadeClient;
+
+    @Spy
+    private RecebimentoProperties recebimentoProperties = new RecebimentoProperties();
 
     @InjectMocks
     private VotoService votoService;
@@ -35,6 +57,7 @@ class VotoServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(elegibilidadeClient.verificar(any())).thenReturn(CompletableFuture.completedFuture(true));
     }
 
     @Test
@@ -45,24 +68,27 @@ class VotoServiceTest {
                 .tipoVoto(TipoVoto.SIM)
                 .build();
 
-        Pauta pauta = Pauta.builder().id(1L).build();
+        SessaoPautaDto sessao = SessaoPautaDto.builder().pautaId(1L).build();
 
-        when(pautaService.buscarPautaPorId(votoDto.getPautaId())).thenReturn(pauta);
-        when(pautaService.isSessaoExpirada(pauta)).thenReturn(false);
-        when(votoRepository.existsByPautaAndAssociadoId(pauta, votoDto.getAssociadoId())).thenReturn(false);
+        when(pautaService.buscarSituacaoVoto(eq(votoDto.getPautaId()), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(eq(sessao), any(LocalDateTime.class))).thenReturn(false);
 
         Voto expectedVoto = Voto.builder()
-                .pauta(pauta)
-                .associadoId(votoDto.getAssociadoId())
-                .tipoVoto(votoDto.getTipoVoto())
+                .pauta(Pauta.builder().id(1L).build())
+                .opcao(TipoVoto.SIM.getCodigo())
                 .build();
 
-        when(votoRepository.save(any(Voto.class))).thenReturn(expectedVoto);
+        when(voteStore.registrarVoto(eq(1L), eq("1"), eq(0), any(LocalDateTime.class))).thenReturn(expectedVoto);
 
         Voto actualVoto = votoService.registrarVoto(votoDto);
 
         assertEquals(expectedVoto, actualVoto);
-        verify(votoRepository).save(any(Voto.class));
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(voteStore).registrarVoto(eq(1L), eq("1"), eq(0), captor.capture());
+        assertNotNull(captor.getValue(), "O horário de registro deve ser preenchido");
+        verify(pautaService, never()).buscarPautaPorId(any());
     }
 
     @Test
@@ -73,13 +99,236 @@ class VotoServiceTest {
                 .tipoVoto(TipoVoto.SIM)
                 .build();
 
-        Pauta pauta = Pauta.builder().id(1L).build();
+        SessaoPautaDto sessao = SessaoPautaDto.builder().pautaId(1L).build();
 
-        when(pautaService.buscarPautaPorId(votoDto.getPautaId())).thenReturn(pauta);
-        when(pautaService.isSessaoExpirada(pauta)).thenReturn(true);
+        when(pautaService.buscarSituacaoVoto(eq(votoDto.getPautaId()), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(eq(sessao), any(LocalDateTime.class))).thenReturn(true);
 
         SessaoExpiradaException exception = assertThrows(SessaoExpiradaException.class, () -> votoService.registrarVoto(votoDto));
 
         assertEquals("A sessão para esta pauta já expirou", exception.getMessage());
     }
+
+    @Test
+    void testRegistrarVotoAssociadoJaVotou() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .tipoVoto(TipoVoto.SIM)
+                .build();
+
+        SessaoPautaDto sessao = SessaoPautaDto.builder().pautaId(1L).build();
+
+        when(pautaService.buscarSituacaoVoto(eq(votoDto.getPautaId()), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, true, false));
+        when(pautaService.isSessaoExpirada(eq(sessao), any(LocalDateTime.class))).thenReturn(false);
+
+        ConflictRequestException exception = assertThrows(ConflictRequestException.class, () -> votoService.registrarVoto(votoDto));
+
+        assertEquals("Associado já votou nesta pauta", exception.getMessage());
+        verify(voteStore, never()).registrarVoto(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testRegistrarVotoAssociadoInelegivel() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .tipoVoto(TipoVoto.SIM)
+                .build();
+
+        SessaoPautaDto sessao = SessaoPautaDto.builder().pautaId(1L).build();
+
+        when(elegibilidadeClient.verificar("1")).thenReturn(CompletableFuture.completedFuture(false));
+        when(pautaService.buscarSituacaoVoto(eq(votoDto.getPautaId()), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(eq(sessao), any(LocalDateTime.class))).thenReturn(false);
+
+        AssociadoInelegivelException exception = assertThrows(AssociadoInelegivelException.class, () -> votoService.registrarVoto(votoDto));
+
+        assertEquals("Associado não está apto a votar", exception.getMessage());
+        verify(voteStore, never()).registrarVoto(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testRegistrarVotoElegibilidadeIndisponivel() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .tipoVoto(TipoVoto.SIM)
+                .build();
+
+        SessaoPautaDto sessao = SessaoPautaDto.builder().pautaId(1L).build();
+
+        when(elegibilidadeClient.verificar("1")).thenReturn(CompletableFuture.failedFuture(
+                new ElegibilidadeIndisponivelException("Serviço de elegibilidade indisponível")));
+        when(pautaService.buscarSituacaoVoto(eq(votoDto.getPautaId()), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(eq(sessao), any(LocalDateTime.class))).thenReturn(false);
+
+        assertThrows(ElegibilidadeIndisponivelException.class, () -> votoService.registrarVoto(votoDto));
+
+        verify(voteStore, never()).registrarVoto(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testRegistrarVotoRecebidoAntesDoFimDentroDaTolerancia() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .tipoVoto(TipoVoto.SIM)
+                .build();
+
+        // Sessão encerrada há 2 segundos; o voto chegou 3 segundos antes do encerramento e ficou em fila
+        LocalDateTime agora = LocalDateTime.now();
+        SessaoPautaDto sessao = new SessaoPautaDto(1L, agora.minusMinutes(1).minusSeconds(2), 1L);
+        LocalDateTime recebidoEm = agora.minusSeconds(5);
+        recebimentoProperties.setTolerancia(Duration.ofSeconds(10));
+
+        when(pautaService.buscarSituacaoVoto(eq(votoDto.getPautaId()), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(any(SessaoPautaDto.class), any(LocalDateTime.class))).thenCallRealMethod();
+        when(voteStore.registrarVoto(1L, "1", TipoVoto.SIM.getCodigo(), recebidoEm)).thenReturn(Voto.builder().build());
+
+        votoService.registrarVoto(votoDto, recebidoEm);
+
+        verify(voteStore).registrarVoto(1L, "1", TipoVoto.SIM.getCodigo(), recebidoEm);
+    }
+
+    @Test
+    void testRegistrarVotoRecebidoAntesDoFimForaDaTolerancia() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .tipoVoto(TipoVoto.SIM)
+                .build();
+
+        // Sessão encerrada há 20 segundos; o voto chegou a tempo, mas esperou mais do que a tolerância
+        LocalDateTime agora = LocalDateTime.now();
+        SessaoPautaDto sessao = new SessaoPautaDto(1L, agora.minusMinutes(1).minusSeconds(20), 1L);
+        LocalDateTime recebidoEm = agora.minusSeconds(25);
+        recebimentoProperties.setTolerancia(Duration.ofSeconds(10));
+
+        when(pautaService.buscarSituacaoVoto(eq(votoDto.getPautaId()), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(any(SessaoPautaDto.class), any(LocalDateTime.class))).thenCallRealMethod();
+
+        assertThrows(SessaoExpiradaException.class, () -> votoService.registrarVoto(votoDto, recebidoEm));
+
+        verify(voteStore, never()).registrarVoto(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testRegistrarVotoRecebidoDepoisDoFim() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .tipoVoto(TipoVoto.SIM)
+                .build();
+
+        LocalDateTime agora = LocalDateTime.now();
+        SessaoPautaDto sessao = new SessaoPautaDto(1L, agora.minusMinutes(1).minusSeconds(2), 1L);
+
+        when(pautaService.buscarSituacaoVoto(eq(votoDto.getPautaId()), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(any(SessaoPautaDto.class), any(LocalDateTime.class))).thenCallRealMethod();
+
+        assertThrows(SessaoExpiradaException.class, () -> votoService.registrarVoto(votoDto, agora.minusSeconds(1)));
+
+        verify(voteStore, never()).registrarVoto(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testRegistrarVotoPorOpcao() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .opcao(2)
+                .build();
+
+        SessaoPautaDto sessao = SessaoPautaDto.builder().pautaId(1L).quantidadeOpcoes(3).simples(false).build();
+
+        when(pautaService.buscarSituacaoVoto(eq(1L), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(eq(sessao), any(LocalDateTime.class))).thenReturn(false);
+        when(voteStore.registrarVoto(eq(1L), eq("1"), eq(2), any(LocalDateTime.class))).thenReturn(Voto.builder().build());
+
+        votoService.registrarVoto(votoDto);
+
+        verify(voteStore).registrarVoto(eq(1L), eq("1"), eq(2), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRegistrarVotoOpcaoForaDaPauta() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .opcao(3)
+                .build();
+
+        SessaoPautaDto sessao = SessaoPautaDto.builder().pautaId(1L).quantidadeOpcoes(3).simples(false).build();
+
+        when(pautaService.buscarSituacaoVoto(eq(1L), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(eq(sessao), any(LocalDateTime.class))).thenReturn(false);
+
+        OpcaoInvalidaException exception = assertThrows(OpcaoInvalidaException.class, () -> votoService.registrarVoto(votoDto));
+
+        assertEquals("Opção de voto inválida para esta pauta", exception.getMessage());
+        verify(voteStore, never()).registrarVoto(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testRegistrarVotoTipoVotoEmPautaComOpcoes() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .tipoVoto(TipoVoto.SIM)
+                .build();
+
+        SessaoPautaDto sessao = SessaoPautaDto.builder().pautaId(1L).quantidadeOpcoes(3).simples(false).build();
+
+        when(pautaService.buscarSituacaoVoto(eq(1L), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(eq(sessao), any(LocalDateTime.class))).thenReturn(false);
+
+        OpcaoInvalidaException exception = assertThrows(OpcaoInvalidaException.class, () -> votoService.registrarVoto(votoDto));
+
+        assertEquals("Tipo de voto não corresponde às opções desta pauta", exception.getMessage());
+        verify(voteStore, never()).registrarVoto(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testRegistrarVotoTipoVotoEmPautaDeDuasOpcoesNaoSimples() {
+        VotoDto votoDto = VotoDto.builder()
+                .pautaId(1L)
+                .associadoId("1")
+                .tipoVoto(TipoVoto.SIM)
+                .build();
+
+        // Duas opções, mas "Chapa A" e "Chapa B" em vez de SIM e NÃO
+        SessaoPautaDto sessao = SessaoPautaDto.builder().pautaId(1L).quantidadeOpcoes(2).simples(false).build();
+
+        when(pautaService.buscarSituacaoVoto(eq(1L), any()))
+                .thenReturn(new SituacaoVotoDto(sessao, false, false));
+        when(pautaService.isSessaoExpirada(eq(sessao), any(LocalDateTime.class))).thenReturn(false);
+
+        OpcaoInvalidaException exception = assertThrows(OpcaoInvalidaException.class, () -> votoService.registrarVoto(votoDto));
+
+        assertEquals("Tipo de voto não corresponde às opções desta pauta", exception.getMessage());
+        verify(voteStore, never()).registrarVoto(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testListarHistoricoAjustaLimite() {
+        HistoricoVotosDto historico = new HistoricoVotosDto("1", List.of(), null);
+        when(voteStore.listarVotosAssociado("1", 10L, 200)).thenReturn(historico);
+        when(voteStore.listarVotosAssociado("1", null, 1)).thenReturn(historico);
+
+        assertEquals(historico, votoService.listarHistorico("1", 10L, 5_000));
+        assertEquals(historico, votoService.listarHistorico("1", null, 0));
+        verify(voteStore).listarVotosAssociado("1", 10L, 200);
+        verify(voteStore).listarVotosAssociado("1", null, 1);
+    }
 }
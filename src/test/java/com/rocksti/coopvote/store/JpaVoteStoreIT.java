@@ -0,0 +1,107 @@
+package com.rocksti.coopvote.store;
+
+import com.rocksti.coopvote.dto.AberturaSessaoPautaDto;
+import com.rocksti.coopvote.dto.AberturaSessoesDto;
+import com.rocksti.coopvote.dto.CadastroPautaDto;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.PautasCadastradasDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.SessoesAbertasDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.SituacaoAberturaSessao;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.repository.ContadorSql;
+import com.rocksti.coopvote.repository.OrcamentoSql;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cenários do {@link VoteStoreContrato} sobre o backend JPA, com o esquema criado pelas migrações no H2.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:contrato_jpa")
+@Import(ContadorSql.Configuracao.class)
+class JpaVoteStoreIT extends VoteStoreContrato {
+
+    @Autowired
+    private VoteStore voteStore;
+
+    @Override
+    protected VoteStore voteStore() {
+        return voteStore;
+    }
+
+    @Test
+    void testBuscarResultadosEmTresConsultas() {
+        List<Long> pautaIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Pauta pauta = pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta " + i).build());
+            pautaService().abrirSessao(pauta.getId(), 5L);
+            voteStore.registrarVoto(pauta.getId(), "11111111111", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+            pautaIds.add(pauta.getId());
+        }
+
+        // Uma consulta de pautas, uma de opções e uma de contagem, qualquer que seja a quantidade de pautas
+        List<ResultadoPautaDto> resultados = OrcamentoSql.instrucoes(3).linhas(40 + 80 + 40)
+                .verificar(() -> voteStore.buscarResultados(pautaIds));
+
+        assertThat(resultados).hasSize(40).allSatisfy(resultado -> assertThat(resultado.getTotalVotos()).isEqualTo(1));
+    }
+
+    @Test
+    void testOrcamentoSqlDoRegistroDeVoto() {
+        Pauta primeira = pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta do orçamento").build());
+        Pauta segunda = pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta do orçamento").build());
+        pautaService().abrirSessao(primeira.getId(), 5L);
+        pautaService().abrirSessao(segunda.getId(), 5L);
+
+        // Associado novo: consulta e cadastro no dicionário, depois o voto
+        OrcamentoSql.instrucoes(3).linhas(0).verificar(() ->
+                voteStore.registrarVoto(primeira.getId(), "orcamento-1", TipoVoto.SIM.getCodigo(), LocalDateTime.now()));
+        // Associado conhecido: consulta no dicionário e o voto, sem carregar a pauta
+        OrcamentoSql.instrucoes(2).linhas(1).verificar(() ->
+                voteStore.registrarVoto(segunda.getId(), "orcamento-1", TipoVoto.NAO.getCodigo(), LocalDateTime.now()));
+        OrcamentoSql.instrucoes(1).linhas(1).verificar(() -> voteStore.existeVoto(segunda.getId(), "orcamento-1"));
+        OrcamentoSql.instrucoes(1).linhas(1).verificar(() -> pautaService().buscarSessaoPorId(segunda.getId()));
+    }
+
+    @Test
+    void testOrcamentoSqlDaPauta() {
+        Pauta pauta = OrcamentoSql.instrucoes(3).linhas(0).verificar(() ->
+                pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta do orçamento").build()));
+        // A abertura condicional, sem ler a pauta antes, e a pauta devolvida, lida com as opções
+        OrcamentoSql.instrucoes(2).linhas(2).verificar(() -> pautaService().abrirSessao(pauta.getId(), 5L));
+        voteStore.registrarVoto(pauta.getId(), "orcamento-2", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+
+        String resultado = OrcamentoSql.instrucoes(3).linhas(4).verificar(() -> pautaService().contarVotos(pauta.getId()));
+
+        assertThat(resultado).contains("SIM = 1");
+    }
+
+    @Test
+    void testOrcamentoSqlDaAssembleia() {
+        List<PautaDto> pautas = IntStream.range(0, 100)
+                .mapToObj(i -> PautaDto.builder().descricao("Pauta da assembleia " + i).build())
+                .toList();
+
+        // Um lote de pautas e um de opções, qualquer que seja a quantidade de pautas
+        PautasCadastradasDto cadastro = OrcamentoSql.instrucoes(2).linhas(0)
+                .verificar(() -> pautaService().cadastrarPautas(pautas));
+        List<Long> pautaIds = cadastro.getPautas().stream().map(CadastroPautaDto::getPautaId).toList();
+        // O bloqueio das pautas e a abertura condicional de todas elas
+        SessoesAbertasDto abertura = OrcamentoSql.instrucoes(2).linhas(100).verificar(() ->
+                pautaService().abrirSessoes(AberturaSessoesDto.builder().pautaIds(pautaIds).tempoSessaoMinutos(30L).build()));
+
+        assertThat(pautaIds).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(abertura.getPautas()).extracting(AberturaSessaoPautaDto::getSituacao)
+                .containsOnly(SituacaoAberturaSessao.ABERTA);
+    }
+}
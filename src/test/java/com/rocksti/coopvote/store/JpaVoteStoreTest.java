@@ -0,0 +1,120 @@
+package com.rocksti.coopvote.store;
+
+import com.rocksti.coopvote.arquivo.ArquivoVotos;
+import com.rocksti.coopvote.dto.ContagemPautaDto;
+import com.rocksti.coopvote.dto.OpcaoPautaDto;
+import com.rocksti.coopvote.dto.ResultadoOpcaoDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.ResumoPautaDto;
+import com.rocksti.coopvote.entity.Associado;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.outbox.Outbox;
+import com.rocksti.coopvote.repository.PautaLoteRepository;
+import com.rocksti.coopvote.repository.PautaRepository;
+import com.rocksti.coopvote.repository.VotoRepository;
+import com.rocksti.coopvote.service.AssociadoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JpaVoteStoreTest {
+
+    @Mock
+    private PautaRepository pautaRepository;
+
+    @Mock
+    private PautaLoteRepository pautaLoteRepository;
+
+    @Mock
+    private VotoRepository votoRepository;
+
+    @Mock
+    private AssociadoService associadoService;
+
+    @Mock
+    private ArquivoVotos arquivoVotos;
+
+    @Mock
+    private Outbox outbox;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private JpaVoteStore voteStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRegistrarVoto() {
+        Pauta pauta = Pauta.builder().id(1L).build();
+        Associado associado = Associado.builder().id(10L).identificador("1").build();
+        LocalDateTime registradoEm = LocalDateTime.now();
+
+        when(pautaRepository.getReferenceById(1L)).thenReturn(pauta);
+        when(associadoService.obterOuCadastrar("1")).thenReturn(associado);
+        when(votoRepository.save(any(Voto.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        voteStore.registrarVoto(1L, "1", TipoVoto.SIM.getCodigo(), registradoEm);
+
+        ArgumentCaptor<Voto> captor = ArgumentCaptor.forClass(Voto.class);
+        verify(votoRepository).save(captor.capture());
+        assertSame(pauta, captor.getValue().getPauta(), "O voto deve referenciar a pauta sem carregá-la");
+        assertSame(associado, captor.getValue().getAssociado(), "O voto deve usar a entrada do dicionário de associados");
+        assertEquals(registradoEm, captor.getValue().getRegistradoEm(), "O horário de registro deve ser o informado");
+        verify(pautaRepository, never()).findById(any());
+    }
+
+    @Test
+    void testRegistrarVotoConcorrenteDuplicado() {
+        when(pautaRepository.getReferenceById(1L)).thenReturn(Pauta.builder().id(1L).build());
+        when(associadoService.obterOuCadastrar("1")).thenReturn(Associado.builder().id(10L).identificador("1").build());
+        when(votoRepository.save(any(Voto.class))).thenThrow(new DataIntegrityViolationException("uk_voto_pauta_associado"));
+
+        ConflictRequestException exception = assertThrows(ConflictRequestException.class,
+                () -> voteStore.registrarVoto(1L, "1", TipoVoto.SIM.getCodigo(), LocalDateTime.now()));
+
+        assertEquals("Associado já votou nesta pauta", exception.getMessage());
+    }
+
+    @Test
+    void testBuscarResultadosAcumulaContagemPorOrdinal() {
+        List<Long> ids = List.of(1L);
+        when(pautaRepository.findResumosByIdIn(ids)).thenReturn(List.of(new ResumoPautaDto(1L, "Eleição", false)));
+        when(pautaRepository.findOpcoesByIdIn(ids)).thenReturn(List.of(
+                new OpcaoPautaDto(1L, 0, "Chapa 1"), new OpcaoPautaDto(1L, 1, "Chapa 2"), new OpcaoPautaDto(1L, 2, "Abstenção")));
+        when(votoRepository.contarPorPautaEOpcao(List.of(1L))).thenReturn(List.of(new ContagemPautaDto(1L, (byte) 2, 3L)));
+
+        ResultadoPautaDto resultado = voteStore.buscarResultados(ids).getFirst();
+
+        assertEquals(List.of("Chapa 1", "Chapa 2", "Abstenção"),
+                resultado.getOpcoes().stream().map(ResultadoOpcaoDto::getDescricao).toList(),
+                "As opções devem vir na ordem dos ordinais");
+        assertEquals(List.of(0L, 0L, 3L), resultado.getOpcoes().stream().map(ResultadoOpcaoDto::getVotos).toList(),
+                "Opções sem votos devem aparecer com zero");
+        assertEquals(3L, resultado.getTotalVotos());
+        verify(arquivoVotos, never()).buscar(any());
+    }
+}
@@ -0,0 +1,485 @@
+package com.rocksti.coopvote.store;
+
+import com.rocksti.coopvote.analise.AnaliseProperties;
+import com.rocksti.coopvote.busca.BuscaProperties;
+import com.rocksti.coopvote.cooperativa.CooperativaProperties;
+import com.rocksti.coopvote.cooperativa.Cooperativas;
+import com.rocksti.coopvote.dto.AberturaSessaoPautaDto;
+import com.rocksti.coopvote.dto.AberturaSessoesDto;
+import com.rocksti.coopvote.dto.BuscaPautasDto;
+import com.rocksti.coopvote.dto.CadastroPautaDto;
+import com.rocksti.coopvote.dto.HistoricoVotosDto;
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.PautaEncontradaDto;
+import com.rocksti.coopvote.dto.PautasCadastradasDto;
+import com.rocksti.coopvote.dto.ParticipacaoDto;
+import com.rocksti.coopvote.dto.ParticipacaoPeriodoDto;
+import com.rocksti.coopvote.dto.ResultadoOpcaoDto;
+import com.rocksti.coopvote.dto.ResultadoPautaDto;
+import com.rocksti.coopvote.dto.SessaoPautaDto;
+import com.rocksti.coopvote.dto.SessoesAbertasDto;
+import com.rocksti.coopvote.dto.SituacaoVotoDto;
+import com.rocksti.coopvote.dto.VotoAssociadoDto;
+import com.rocksti.coopvote.dto.VotoDto;
+import com.rocksti.coopvote.elegibilidade.PermitirTodosElegibilidadeClient;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.entity.Voto;
+import com.rocksti.coopvote.enums.Periodicidade;
+import com.rocksti.coopvote.enums.SituacaoAberturaSessao;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.ConflictRequestException;
+import com.rocksti.coopvote.exception.NotFoundException;
+import com.rocksti.coopvote.exception.OpcaoInvalidaException;
+import com.rocksti.coopvote.exception.SessaoExpiradaException;
+import com.rocksti.coopvote.recebimento.RecebimentoProperties;
+import com.rocksti.coopvote.service.BuscaPautaService;
+import com.rocksti.coopvote.service.ParticipacaoService;
+import com.rocksti.coopvote.service.PautaService;
+import com.rocksti.coopvote.service.VotoService;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Cenários dos serviços de pauta e voto executados sobre um backend real de {@link VoteStore}. Cada backend
+ * estende esta classe informando a instância a ser verificada.
+ */
+public abstract class VoteStoreContrato {
+
+    protected abstract VoteStore voteStore();
+
+    protected PautaService pautaService() {
+        return new PautaService(voteStore(), buscaPautaService());
+    }
+
+    private BuscaPautaService buscaPautaService() {
+        return new BuscaPautaService(voteStore(), new Cooperativas(new CooperativaProperties(), "jpa"),
+                new BuscaProperties());
+    }
+
+    protected VotoService votoService() {
+        return new VotoService(voteStore(), pautaService(), new PermitirTodosElegibilidadeClient(),
+                new RecebimentoProperties());
+    }
+
+    @Test
+    void testCadastrarEBuscarPauta() {
+        Pauta pauta = pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta do contrato").build());
+
+        assertThat(pauta.getId()).as("Verifica se a pauta recebeu ID").isNotNull();
+        assertThat(pautaService().buscarPautaPorId(pauta.getId()))
+                .as("Verifica se a pauta cadastrada pode ser buscada")
+                .extracting(Pauta::getDescricao)
+                .isEqualTo("Pauta do contrato");
+        assertThat(pautaService().listarPautas())
+                .as("Verifica se a pauta aparece na listagem")
+                .extracting(Pauta::getId)
+                .contains(pauta.getId());
+    }
+
+    @Test
+    void testAbrirSessaoDuasVezes() {
+        Pauta pauta = novaPautaComSessao();
+
+        assertThat(pautaService().buscarSessaoPorId(pauta.getId()).getInicioSessao())
+                .as("Verifica se a abertura da sessão foi gravada")
+                .isNotNull();
+        assertThatThrownBy(() -> pautaService().abrirSessao(pauta.getId(), 5L))
+                .isInstanceOf(ConflictRequestException.class);
+    }
+
+    @Test
+    void testVotarEContar() {
+        Pauta pauta = novaPautaComSessao();
+
+        Voto voto = votoService().registrarVoto(voto(pauta, "11111111111", TipoVoto.SIM));
+        votoService().registrarVoto(voto(pauta, "22222222222", TipoVoto.NAO));
+        votoService().registrarVoto(voto(pauta, "33333333333", TipoVoto.SIM));
+
+        assertThat(voto)
+                .as("Verifica se o voto retornado está completo")
+                .extracting(Voto::getAssociadoId, Voto::getOpcao, v -> v.getPauta().getId())
+                .containsExactly("11111111111", TipoVoto.SIM.getCodigo(), pauta.getId());
+        assertThat(voto.getId()).as("Verifica se o voto recebeu ID").isNotNull();
+        assertThat(voteStore().existeVoto(pauta.getId(), "22222222222")).isTrue();
+        assertThat(voteStore().existeVoto(pauta.getId(), "44444444444")).isFalse();
+        assertThat(voteStore().buscarSituacaoVoto(pauta.getId(), "22222222222"))
+                .as("Verifica se a sessão e o voto duplicado são lidos juntos")
+                .get()
+                .extracting(situacao -> situacao.getSessao().getPautaId(), SituacaoVotoDto::isVotou)
+                .containsExactly(pauta.getId(), true);
+        assertThat(voteStore().buscarSituacaoVoto(pauta.getId(), "44444444444"))
+                .get().extracting(SituacaoVotoDto::isVotou).isEqualTo(false);
+        assertThat(pautaService().contarVotos(pauta.getId()))
+                .as("Verifica a contagem dos votos")
+                .isEqualTo("Resultado da votação para a pauta 'Pauta do contrato': SIM = 2, NÃO = 1");
+    }
+
+    @Test
+    void testBuscarResultados() {
+        Pauta comVotos = novaPautaComSessao();
+        Pauta semVotos = pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta sem votos").build());
+        votoService().registrarVoto(voto(comVotos, "11111111111", TipoVoto.SIM));
+        votoService().registrarVoto(voto(comVotos, "22222222222", TipoVoto.NAO));
+        votoService().registrarVoto(voto(comVotos, "33333333333", TipoVoto.SIM));
+
+        List<ResultadoPautaDto> resultados = voteStore().buscarResultados(List.of(comVotos.getId(), semVotos.getId(), -1L));
+
+        assertThat(resultados)
+                .as("Verifica se apenas as pautas existentes foram retornadas")
+                .extracting(ResultadoPautaDto::getPautaId)
+                .containsExactlyInAnyOrder(comVotos.getId(), semVotos.getId());
+        ResultadoPautaDto resultado = resultados.stream()
+                .filter(r -> r.getPautaId().equals(comVotos.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(resultado.getDescricao()).isEqualTo("Pauta do contrato");
+        assertThat(resultado.getOpcoes())
+                .as("Verifica se as opções vêm na ordem da pauta com a contagem de cada uma")
+                .extracting(ResultadoOpcaoDto::getDescricao, ResultadoOpcaoDto::getVotos)
+                .containsExactly(tuple("SIM", 2L), tuple("NÃO", 1L));
+        assertThat(resultado.getTotalVotos()).isEqualTo(3);
+        assertThat(resultados)
+                .filteredOn(r -> r.getPautaId().equals(semVotos.getId()))
+                .singleElement()
+                .extracting(ResultadoPautaDto::getTotalVotos)
+                .isEqualTo(0L);
+    }
+
+    @Test
+    void testVotoDuplicado() {
+        Pauta pauta = novaPautaComSessao();
+        votoService().registrarVoto(voto(pauta, "11111111111", TipoVoto.SIM));
+
+        assertThatThrownBy(() -> votoService().registrarVoto(voto(pauta, "11111111111", TipoVoto.NAO)))
+                .isInstanceOf(ConflictRequestException.class)
+                .hasMessage("Associado já votou nesta pauta");
+        assertThatThrownBy(() -> voteStore().registrarVoto(pauta.getId(), "11111111111", TipoVoto.NAO.getCodigo(), LocalDateTime.now()))
+                .as("Verifica se o próprio armazenamento rejeita o voto que passou pela verificação prévia")
+                .isInstanceOf(ConflictRequestException.class);
+        assertThat(contagem(pauta.getId())).containsExactly(1L, 0L);
+    }
+
+    @Test
+    void testVotosConcorrentesDoMesmoAssociado() throws Exception {
+        Pauta pauta = novaPautaComSessao();
+        int tentativas = 8;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(tentativas)) {
+            for (int i = 0; i < tentativas; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        votoService().registrarVoto(voto(pauta, "55555555555", TipoVoto.SIM));
+                        return true;
+                    } catch (ConflictRequestException e) {
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+            long aceitos = 0;
+            for (Future<Boolean> resultado : resultados) {
+                aceitos += resultado.get() ? 1 : 0;
+            }
+            assertThat(aceitos).as("Verifica se apenas um dos votos concorrentes foi aceito").isEqualTo(1);
+        }
+        assertThat(contagem(pauta.getId())).containsExactly(1L, 0L);
+    }
+
+    @Test
+    void testCadastrarPautasEmLote() {
+        PautasCadastradasDto resultado = pautaService().cadastrarPautas(List.of(
+                PautaDto.builder().descricao("Aprovação das contas").build(),
+                PautaDto.builder().descricao("Pauta inválida").opcoes(List.of("Sim", "Sim")).build(),
+                PautaDto.builder().descricao("Eleição do conselho").opcoes(List.of("Chapa 1", "Chapa 2", "Chapa 3")).build()));
+
+        assertThat(resultado.getCadastradas()).isEqualTo(2);
+        assertThat(resultado.getRejeitadas()).isEqualTo(1);
+        assertThat(resultado.getPautas())
+                .extracting(CadastroPautaDto::getIndice, CadastroPautaDto::getDescricao, item -> item.getErro() != null)
+                .containsExactly(tuple(0, "Aprovação das contas", false), tuple(1, "Pauta inválida", true),
+                        tuple(2, "Eleição do conselho", false));
+        Long contas = resultado.getPautas().get(0).getPautaId();
+        Long eleicao = resultado.getPautas().get(2).getPautaId();
+        assertThat(voteStore().buscarOpcoes(contas)).containsExactly("SIM", "NÃO");
+        assertThat(voteStore().buscarOpcoes(eleicao)).containsExactly("Chapa 1", "Chapa 2", "Chapa 3");
+        assertThat(pautaService().buscarSessaoPorId(eleicao).getInicioSessao()).isNull();
+    }
+
+    @Test
+    void testAbrirSessoesEmLote() {
+        Pauta aberta = novaPautaComSessao();
+        List<Long> novas = pautaService().cadastrarPautas(List.of(
+                        PautaDto.builder().descricao("Pauta do lote 1").build(),
+                        PautaDto.builder().descricao("Pauta do lote 2").build()))
+                .getPautas().stream().map(CadastroPautaDto::getPautaId).toList();
+
+        SessoesAbertasDto resultado = pautaService().abrirSessoes(AberturaSessoesDto.builder()
+                .pautaIds(List.of(novas.get(0), aberta.getId(), 999_999L, novas.get(1)))
+                .tempoSessaoMinutos(30L)
+                .build());
+
+        assertThat(resultado.getPautas())
+                .extracting(AberturaSessaoPautaDto::getPautaId, AberturaSessaoPautaDto::getSituacao)
+                .containsExactly(tuple(novas.get(0), SituacaoAberturaSessao.ABERTA),
+                        tuple(aberta.getId(), SituacaoAberturaSessao.JA_ABERTA),
+                        tuple(999_999L, SituacaoAberturaSessao.NAO_ENCONTRADA),
+                        tuple(novas.get(1), SituacaoAberturaSessao.ABERTA));
+        assertThat(pautaService().buscarSessaoPorId(novas.get(1)))
+                .extracting(SessaoPautaDto::getTempoSessaoMinutos)
+                .isEqualTo(30L);
+        assertThat(pautaService().buscarSessaoPorId(aberta.getId()).getTempoSessaoMinutos())
+                .as("Verifica se a sessão já aberta não foi alterada")
+                .isEqualTo(5L);
+    }
+
+    @Test
+    void testAberturasConcorrentesDasMesmasPautas() throws Exception {
+        List<Long> pautaIds = pautaService().cadastrarPautas(IntStream.range(0, 20)
+                        .mapToObj(i -> PautaDto.builder().descricao("Pauta concorrente " + i).build())
+                        .toList())
+                .getPautas().stream().map(CadastroPautaDto::getPautaId).toList();
+        int operadores = 4;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<SessoesAbertasDto>> resultados = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(operadores)) {
+            for (int i = 0; i < operadores; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return pautaService().abrirSessoes(AberturaSessoesDto.builder().pautaIds(pautaIds).build());
+                }));
+            }
+            largada.countDown();
+            List<Long> abertas = new ArrayList<>();
+            for (Future<SessoesAbertasDto> resultado : resultados) {
+                resultado.get().getPautas().stream()
+                        .filter(pauta -> pauta.getSituacao() == SituacaoAberturaSessao.ABERTA)
+                        .forEach(pauta -> abertas.add(pauta.getPautaId()));
+            }
+            assertThat(abertas)
+                    .as("Verifica se cada pauta foi informada como aberta a um único operador")
+                    .containsExactlyInAnyOrderElementsOf(pautaIds);
+        }
+    }
+
+    @Test
+    void testVotarAntesDaSessaoAgendada() {
+        Pauta pauta = pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta agendada").build());
+        SessoesAbertasDto resultado = pautaService().abrirSessoes(AberturaSessoesDto.builder()
+                .pautaIds(List.of(pauta.getId()))
+                .inicioSessao(LocalDateTime.now().plusHours(1))
+                .tempoSessaoMinutos(10L)
+                .build());
+
+        assertThat(resultado.getPautas()).extracting(AberturaSessaoPautaDto::getSituacao)
+                .containsExactly(SituacaoAberturaSessao.AGENDADA);
+        assertThatThrownBy(() -> votoService().registrarVoto(voto(pauta, "11111111111", TipoVoto.SIM)))
+                .isInstanceOf(ConflictRequestException.class)
+                .hasMessageContaining("ainda não foi aberta");
+        assertThatThrownBy(() -> pautaService().abrirSessao(pauta.getId(), 5L))
+                .isInstanceOf(ConflictRequestException.class);
+    }
+
+    @Test
+    void testExportarVotos() throws IOException {
+        Pauta pauta = novaPautaComSessao();
+        votoService().registrarVoto(voto(pauta, "11111111111", TipoVoto.SIM));
+        votoService().registrarVoto(voto(pauta, "22222222222", TipoVoto.NAO));
+
+        ByteArrayOutputStream exportacao = new ByteArrayOutputStream();
+        pautaService().exportarVotos(pauta.getId(), exportacao);
+
+        assertThat(exportacao.toString(StandardCharsets.UTF_8).lines())
+                .as("Verifica o CSV exportado")
+                .containsExactlyInAnyOrder("associadoId,tipoVoto", "11111111111,SIM", "22222222222,NAO")
+                .first().isEqualTo("associadoId,tipoVoto");
+    }
+
+    @Test
+    void testPautaComOpcoes() throws IOException {
+        Pauta pauta = pautaService().cadastrarPauta(PautaDto.builder()
+                .descricao("Eleição do conselho")
+                .opcoes(List.of("Chapa 1", "Chapa 2", "Chapa 3"))
+                .build());
+        pautaService().abrirSessao(pauta.getId(), 5L);
+        votoService().registrarVoto(votoPorOpcao(pauta, "11111111111", 2));
+        votoService().registrarVoto(votoPorOpcao(pauta, "22222222222", 0));
+        votoService().registrarVoto(votoPorOpcao(pauta, "33333333333", 2));
+
+        assertThat(voteStore().buscarOpcoes(pauta.getId())).containsExactly("Chapa 1", "Chapa 2", "Chapa 3");
+        assertThat(pautaService().buscarSessaoPorId(pauta.getId()).getQuantidadeOpcoes()).isEqualTo(3);
+        assertThat(contagem(pauta.getId())).containsExactly(1L, 0L, 2L);
+        assertThat(pautaService().contarVotos(pauta.getId()))
+                .isEqualTo("Resultado da votação para a pauta 'Eleição do conselho': Chapa 1 = 1, Chapa 2 = 0, Chapa 3 = 2");
+        assertThatThrownBy(() -> votoService().registrarVoto(votoPorOpcao(pauta, "44444444444", 3)))
+                .isInstanceOf(OpcaoInvalidaException.class);
+        assertThatThrownBy(() -> votoService().registrarVoto(voto(pauta, "44444444444", TipoVoto.SIM)))
+                .as("Verifica se SIM/NÃO só é aceito em pautas de duas opções")
+                .isInstanceOf(OpcaoInvalidaException.class);
+
+        ByteArrayOutputStream exportacao = new ByteArrayOutputStream();
+        pautaService().exportarVotos(pauta.getId(), exportacao);
+        assertThat(exportacao.toString(StandardCharsets.UTF_8).lines())
+                .containsExactlyInAnyOrder("associadoId,opcao", "11111111111,Chapa 3", "22222222222,Chapa 1", "33333333333,Chapa 3")
+                .first().isEqualTo("associadoId,opcao");
+    }
+
+    @Test
+    void testHistoricoDoAssociado() {
+        Pauta primeira = novaPautaComSessao();
+        Pauta semVoto = novaPautaComSessao();
+        Pauta eleicao = pautaService().cadastrarPauta(PautaDto.builder()
+                .descricao("Eleição do conselho")
+                .opcoes(List.of("Chapa 1", "Chapa 2", "Chapa 3"))
+                .build());
+        pautaService().abrirSessao(eleicao.getId(), 5L);
+        votoService().registrarVoto(voto(primeira, "66666666666", TipoVoto.NAO));
+        votoService().registrarVoto(voto(semVoto, "77777777777", TipoVoto.SIM));
+        votoService().registrarVoto(votoPorOpcao(eleicao, "66666666666", 1));
+
+        HistoricoVotosDto pagina = votoService().listarHistorico("66666666666", null, 1);
+
+        assertThat(pagina.getVotos())
+                .as("Verifica se a primeira página traz o voto da pauta mais recente com as descrições")
+                .extracting(VotoAssociadoDto::getPautaId, VotoAssociadoDto::getDescricaoPauta,
+                        VotoAssociadoDto::getOpcao, VotoAssociadoDto::getDescricaoOpcao)
+                .containsExactly(tuple(eleicao.getId(), "Eleição do conselho", 1, "Chapa 2"));
+        assertThat(pagina.getProximoCursor()).isEqualTo(eleicao.getId());
+
+        pagina = votoService().listarHistorico("66666666666", pagina.getProximoCursor(), 1);
+        assertThat(pagina.getVotos())
+                .as("Verifica se a página seguinte pula a pauta em que o associado não votou")
+                .extracting(VotoAssociadoDto::getPautaId, VotoAssociadoDto::getDescricaoOpcao)
+                .containsExactly(tuple(primeira.getId(), "NÃO"));
+
+        pagina = votoService().listarHistorico("66666666666", pagina.getProximoCursor(), 1);
+        assertThat(pagina.getVotos()).isEmpty();
+        assertThat(pagina.getProximoCursor()).as("Verifica se o fim do histórico não tem cursor").isNull();
+        assertThat(votoService().listarHistorico("66666666666", null, 50).getVotos())
+                .extracting(VotoAssociadoDto::getPautaId)
+                .containsExactly(eleicao.getId(), primeira.getId());
+        assertThat(votoService().listarHistorico("88888888888", null, 50).getVotos())
+                .as("Verifica se um associado sem votos tem histórico vazio")
+                .isEmpty();
+    }
+
+    @Test
+    void testBuscarPautasCadastradasAntesDoIndice() {
+        Pauta reforma = pautaService().cadastrarPauta(PautaDto.builder()
+                .descricao("Reforma do refeitório da unidade Jacarandá").build());
+        Pauta orcamento = pautaService().cadastrarPauta(PautaDto.builder()
+                .descricao("Orçamento do refeitório e da reforma do refeitório").build());
+        BuscaPautaService busca = buscaPautaService();
+
+        assertThat(busca.sincronizar()).as("Verifica se a sincronização lê as pautas já gravadas").isGreaterThanOrEqualTo(2);
+        assertThat(busca.sincronizar()).as("Verifica se a sincronização seguinte só lê pautas novas").isZero();
+        BuscaPautasDto resultado = busca.buscar("REFEITORIO jacaranda", 0, 10);
+
+        assertThat(resultado.getPautas())
+                .as("Verifica se a busca ignora acentos e ordena pela relevância")
+                .extracting(PautaEncontradaDto::getPautaId)
+                .containsExactly(reforma.getId(), orcamento.getId());
+        assertThat(busca.buscar("orcam", 0, 10).getPautas())
+                .as("Verifica se o último termo é buscado como prefixo")
+                .extracting(PautaEncontradaDto::getDescricao)
+                .containsExactly("Orçamento do refeitório e da reforma do refeitório");
+    }
+
+    @Test
+    void testParticipacaoPorPeriodo() {
+        Pauta janeiro = pautaComSessaoEm(LocalDateTime.of(2001, 1, 10, 19, 0));
+        Pauta fevereiro = pautaComSessaoEm(LocalDateTime.of(2001, 2, 10, 19, 0));
+        voteStore().registrarVoto(janeiro.getId(), "91111111111", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+        voteStore().registrarVoto(janeiro.getId(), "92222222222", TipoVoto.NAO.getCodigo(), LocalDateTime.now());
+        voteStore().registrarVoto(fevereiro.getId(), "91111111111", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+
+        ParticipacaoDto participacao = new ParticipacaoService(voteStore(), new AnaliseProperties())
+                .calcular(LocalDate.of(2001, 1, 1), LocalDate.of(2001, 2, 28), Periodicidade.MES, LocalDateTime.now());
+
+        assertThat(participacao.getPeriodos())
+                .extracting(ParticipacaoPeriodoDto::getSessoes, ParticipacaoPeriodoDto::getVotos,
+                        ParticipacaoPeriodoDto::getProporcaoSim, ParticipacaoPeriodoDto::getAssociadosDistintos)
+                .containsExactly(tuple(1L, 2L, 0.5, 2L), tuple(1L, 1L, 1.0, 1L));
+        assertThat(participacao.getTotal().getAssociadosDistintos())
+                .as("Verifica se os votantes dos dois meses são combinados no total")
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void testContarSemVotos() {
+        Pauta pauta = novaPautaComSessao();
+
+        assertThatThrownBy(() -> pautaService().contarVotos(pauta.getId()))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Nenhum voto registrado para esta pauta");
+    }
+
+    @Test
+    void testVotarEmPautaInexistente() {
+        assertThatThrownBy(() -> votoService().registrarVoto(VotoDto.builder()
+                .pautaId(999_999L).associadoId("1").tipoVoto(TipoVoto.SIM).build()))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(voteStore().buscarPauta(999_999L)).isEmpty();
+        assertThat(voteStore().buscarSessao(999_999L)).isEmpty();
+        assertThat(voteStore().buscarSituacaoVoto(999_999L, "1")).isEmpty();
+    }
+
+    @Test
+    void testVotarComSessaoExpirada() {
+        Pauta pauta = pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta do contrato").build());
+        pauta.setInicioSessao(LocalDateTime.now().minusMinutes(10));
+        pauta.setTempoSessaoMinutos(1L);
+        voteStore().salvarPauta(pauta);
+
+        assertThatThrownBy(() -> votoService().registrarVoto(voto(pauta, "11111111111", TipoVoto.SIM)))
+                .isInstanceOf(SessaoExpiradaException.class);
+    }
+
+    // Métodos auxiliares
+
+    protected Pauta novaPautaComSessao() {
+        Pauta pauta = pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta do contrato").build());
+        return pautaService().abrirSessao(pauta.getId(), 5L);
+    }
+
+    protected Pauta pautaComSessaoEm(LocalDateTime inicioSessao) {
+        Pauta pauta = pautaService().cadastrarPauta(PautaDto.builder().descricao("Pauta do contrato").build());
+        pauta.setInicioSessao(inicioSessao);
+        pauta.setTempoSessaoMinutos(60L);
+        return voteStore().salvarPauta(pauta);
+    }
+
+    protected static VotoDto voto(Pauta pauta, String associadoId, TipoVoto tipoVoto) {
+        return VotoDto.builder().pautaId(pauta.getId()).associadoId(associadoId).tipoVoto(tipoVoto).build();
+    }
+
+    protected static VotoDto votoPorOpcao(Pauta pauta, String associadoId, int opcao) {
+        return VotoDto.builder().pautaId(pauta.getId()).associadoId(associadoId).opcao(opcao).build();
+    }
+
+    /**
+     * Votos de cada opção da pauta, na ordem das opções.
+     */
+    protected List<Long> contagem(Long pautaId) {
+        return voteStore().buscarResultados(List.of(pautaId)).getFirst().getOpcoes().stream()
+                .map(ResultadoOpcaoDto::getVotos)
+                .toList();
+    }
+}
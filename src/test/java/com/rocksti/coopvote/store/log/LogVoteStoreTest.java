@@ -0,0 +1,234 @@
+package com.rocksti.coopvote.store.log;
+
+import com.rocksti.coopvote.dto.PautaDto;
+import com.rocksti.coopvote.dto.VotoAssociadoDto;
+import com.rocksti.coopvote.entity.Pauta;
+import com.rocksti.coopvote.enums.TipoVoto;
+import com.rocksti.coopvote.exception.SessaoExpiradaException;
+import com.rocksti.coopvote.store.VoteStore;
+import com.rocksti.coopvote.store.VoteStoreContrato;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LogVoteStoreTest extends VoteStoreContrato {
+
+    @TempDir
+    private Path diretorio;
+
+    private LogVoteStore voteStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        voteStore = abrir();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        voteStore.encerrar();
+    }
+
+    @Override
+    protected VoteStore voteStore() {
+        return voteStore;
+    }
+
+    @Test
+    void testRecuperarDoLogAposQueda() throws IOException {
+        Pauta pauta = novaPautaComSessao();
+        votoService().registrarVoto(voto(pauta, "11111111111", TipoVoto.SIM));
+        votoService().registrarVoto(voto(pauta, "22222222222", TipoVoto.NAO));
+
+        simularQueda();
+
+        assertThat(voteStore.buscarPauta(pauta.getId()))
+                .as("Verifica se a pauta foi reconstruída a partir do log")
+                .get()
+                .extracting(Pauta::getDescricao, Pauta::getInicioSessao)
+                .containsExactly(pauta.getDescricao(), pauta.getInicioSessao());
+        assertThat(contagem(pauta.getId())).containsExactly(1L, 1L);
+        assertThat(voteStore.existeVoto(pauta.getId(), "11111111111")).isTrue();
+        assertThat(pautaService().cadastrarPauta(PautaDto.builder().descricao("Outra").build()).getId())
+                .as("Verifica se os IDs continuam a partir dos já usados")
+                .isGreaterThan(pauta.getId());
+    }
+
+    @Test
+    void testDescartarGravacaoIncompletaNoFimDoLog() throws IOException {
+        Pauta pauta = novaPautaComSessao();
+        votoService().registrarVoto(voto(pauta, "11111111111", TipoVoto.SIM));
+        Path ultimoSegmento = segmentos().getLast();
+        Files.write(ultimoSegmento, new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 2, 0, 0}, StandardOpenOption.APPEND);
+
+        simularQueda();
+        votoService().registrarVoto(voto(pauta, "22222222222", TipoVoto.NAO));
+        simularQueda();
+
+        assertThat(contagem(pauta.getId()))
+                .as("Verifica se o registro incompleto foi descartado e o log continuou válido")
+                .containsExactly(1L, 1L);
+    }
+
+    @Test
+    void testRecuperarDoCheckpointEDoRestanteDoLog() throws IOException {
+        Pauta pauta = novaPautaComSessao();
+        votoService().registrarVoto(voto(pauta, "11111111111", TipoVoto.SIM));
+        voteStore.checkpoint();
+        votoService().registrarVoto(voto(pauta, "22222222222", TipoVoto.SIM));
+
+        assertThat(segmentos())
+                .as("Verifica se os segmentos anteriores ao checkpoint foram removidos")
+                .hasSize(1);
+
+        simularQueda();
+
+        assertThat(contagem(pauta.getId())).containsExactly(2L, 0L);
+        assertThat(voteStore.existeVoto(pauta.getId(), "11111111111"))
+                .as("Verifica se o índice de associados foi restaurado do checkpoint")
+                .isTrue();
+    }
+
+    @Test
+    void testCompactarPautaEncerrada() throws IOException {
+        Pauta encerrada = pautaService().cadastrarPauta(PautaDto.builder().descricao("Encerrada").build());
+        encerrada.setInicioSessao(LocalDateTime.now().minusHours(3));
+        encerrada.setTempoSessaoMinutos(1L);
+        voteStore.salvarPauta(encerrada);
+        voteStore.registrarVoto(encerrada.getId(), "11111111111", TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+        voteStore.registrarVoto(encerrada.getId(), "22222222222", TipoVoto.NAO.getCodigo(), LocalDateTime.now());
+        voteStore.registrarVoto(encerrada.getId(), "33333333333", TipoVoto.NAO.getCodigo(), LocalDateTime.now());
+        Pauta aberta = novaPautaComSessao();
+        votoService().registrarVoto(voto(aberta, "11111111111", TipoVoto.SIM));
+
+        assertThat(voteStore.compactarPautasEncerradas(LocalDateTime.now())).isEqualTo(1);
+
+        assertThat(diretorio.resolve("pauta-" + encerrada.getId() + ".seg")).exists();
+        assertThat(contagem(encerrada.getId())).containsExactly(1L, 2L);
+        assertThat(voteStore.existeVoto(encerrada.getId(), "22222222222"))
+                .as("Verifica se o voto é encontrado no arquivo compacto da pauta")
+                .isTrue();
+        assertThat(voteStore.existeVoto(encerrada.getId(), "44444444444")).isFalse();
+        assertThatThrownBy(() -> voteStore.registrarVoto(encerrada.getId(), "44444444444", TipoVoto.SIM.getCodigo(), LocalDateTime.now()))
+                .isInstanceOf(SessaoExpiradaException.class);
+        assertThat(voteStore.compactarPautasEncerradas(LocalDateTime.now()))
+                .as("Verifica se pautas já compactadas não são compactadas de novo")
+                .isZero();
+
+        simularQueda();
+
+        assertThat(contagem(encerrada.getId())).containsExactly(1L, 2L);
+        assertThat(voteStore.existeVoto(encerrada.getId(), "33333333333")).isTrue();
+        assertThat(voteStore.listarVotosAssociado("11111111111", null, 10).getVotos())
+                .as("Verifica se o histórico combina o índice em memória e o arquivo compacto")
+                .extracting(VotoAssociadoDto::getPautaId, VotoAssociadoDto::getDescricaoOpcao)
+                .containsExactly(tuple(aberta.getId(), "SIM"), tuple(encerrada.getId(), "SIM"));
+        assertThat(contagem(aberta.getId())).containsExactly(1L, 0L);
+    }
+
+    @Test
+    void testConsultarMaisPautasCompactadasQueOsArquivosMapeados() throws IOException {
+        voteStore.encerrar();
+        voteStore = abrir(1);
+        List<Long> encerradas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Pauta pauta = pautaService().cadastrarPauta(PautaDto.builder().descricao("Encerrada " + i).build());
+            pauta.setInicioSessao(LocalDateTime.now().minusHours(3));
+            pauta.setTempoSessaoMinutos(1L);
+            voteStore.salvarPauta(pauta);
+            voteStore.registrarVoto(pauta.getId(), "1111111111" + i, TipoVoto.SIM.getCodigo(), LocalDateTime.now());
+            encerradas.add(pauta.getId());
+        }
+        voteStore.compactarPautasEncerradas(LocalDateTime.now());
+
+        for (int rodada = 0; rodada < 2; rodada++) {
+            for (int i = 0; i < encerradas.size(); i++) {
+                assertThat(voteStore.existeVoto(encerradas.get(i), "1111111111" + i))
+                        .as("Verifica se o arquivo liberado é mapeado de novo na consulta seguinte")
+                        .isTrue();
+            }
+        }
+    }
+
+    @Test
+    void testHistoricoSemAbrirArquivosDasPautasCompactadas() throws IOException {
+        Pauta encerrada = pautaService().cadastrarPauta(PautaDto.builder().descricao("Encerrada").build());
+        encerrada.setInicioSessao(LocalDateTime.now().minusHours(3));
+        encerrada.setTempoSessaoMinutos(1L);
+        voteStore.salvarPauta(encerrada);
+        voteStore.registrarVoto(encerrada.getId(), "11111111111", TipoVoto.NAO.getCodigo(), LocalDateTime.now());
+        voteStore.compactarPautasEncerradas(LocalDateTime.now());
+        Pauta aberta = novaPautaComSessao();
+        votoService().registrarVoto(voto(aberta, "11111111111", TipoVoto.SIM));
+        Files.delete(diretorio.resolve("pauta-" + encerrada.getId() + ".seg"));
+
+        simularQueda();
+
+        assertThat(voteStore.listarVotosAssociado("11111111111", null, 10).getVotos())
+                .as("Verifica se o histórico vem do checkpoint e do log, sem o arquivo da pauta compactada")
+                .extracting(VotoAssociadoDto::getPautaId, VotoAssociadoDto::getDescricaoOpcao)
+                .containsExactly(tuple(aberta.getId(), "SIM"), tuple(encerrada.getId(), "NÃO"));
+        assertThat(voteStore.listarVotosAssociado("11111111111", aberta.getId(), 10).getVotos())
+                .extracting(VotoAssociadoDto::getPautaId)
+                .containsExactly(encerrada.getId());
+    }
+
+    @Test
+    void testRecuperarPautaComOpcoesDoLogEDoCheckpoint() throws IOException {
+        Pauta pauta = pautaService().cadastrarPauta(PautaDto.builder()
+                .descricao("Eleição")
+                .opcoes(List.of("Chapa 1", "Chapa 2", "Abstenção"))
+                .build());
+        pautaService().abrirSessao(pauta.getId(), 5L);
+        votoService().registrarVoto(votoPorOpcao(pauta, "11111111111", 2));
+        voteStore.checkpoint();
+        votoService().registrarVoto(votoPorOpcao(pauta, "22222222222", 1));
+
+        simularQueda();
+
+        assertThat(voteStore.buscarOpcoes(pauta.getId())).containsExactly("Chapa 1", "Chapa 2", "Abstenção");
+        assertThat(contagem(pauta.getId())).containsExactly(0L, 1L, 1L);
+    }
+
+    // Métodos auxiliares
+
+    private LogVoteStore abrir() throws IOException {
+        return abrir(new LogVoteStoreProperties().getMaximoSegmentosAbertos());
+    }
+
+    private LogVoteStore abrir(int maximoSegmentosAbertos) throws IOException {
+        LogVoteStoreProperties propriedades = new LogVoteStoreProperties();
+        propriedades.setDiretorio(diretorio);
+        propriedades.setMaximoSegmentosAbertos(maximoSegmentosAbertos);
+        LogVoteStore novo = new LogVoteStore(propriedades);
+        novo.iniciar();
+        return novo;
+    }
+
+    /**
+     * Abandona a instância atual sem checkpoint final, como em uma queda do processo, e abre outra sobre os
+     * mesmos arquivos.
+     */
+    private void simularQueda() throws IOException {
+        voteStore = abrir();
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().startsWith("segmento-")).sorted().toList();
+        }
+    }
+}